@@ -0,0 +1,113 @@
+package com.dtolabs.rundeck.core.plugins.configuration;
+
+import com.dtolabs.rundeck.core.plugins.Plugin;
+import com.dtolabs.rundeck.plugins.descriptions.PluginProperty;
+import com.dtolabs.rundeck.plugins.descriptions.SelectValues;
+import com.dtolabs.rundeck.plugins.util.DescriptionBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuring a plugin with 20 annotated properties
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PluginAdapterUtilityBenchmark {
+
+    @Plugin(name = "benchmark", service = "NodeExecutor")
+    public static class TwentyPropertyPlugin {
+        @PluginProperty String string1;
+        @PluginProperty String string2;
+        @PluginProperty String string3;
+        @PluginProperty String string4;
+        @PluginProperty String string5;
+        @PluginProperty String string6;
+        @PluginProperty(defaultValue = "default") String string7;
+        @PluginProperty(defaultValue = "default") String string8;
+        @PluginProperty @SelectValues(values = {"a", "b", "c"}) String select1;
+        @PluginProperty @SelectValues(values = {"a", "b", "c"}, freeSelect = true) String select2;
+        @PluginProperty int int1;
+        @PluginProperty int int2;
+        @PluginProperty Integer int3;
+        @PluginProperty Integer int4;
+        @PluginProperty long long1;
+        @PluginProperty Long long2;
+        @PluginProperty boolean bool1;
+        @PluginProperty boolean bool2;
+        @PluginProperty Boolean bool3;
+        @PluginProperty(defaultValue = "true") Boolean bool4;
+    }
+
+    private PropertyResolver resolver;
+    private Description description;
+
+    @Setup
+    public void setup() {
+        final Map<String, Object> values = new HashMap<>();
+        for (int i = 1; i <= 6; i++) {
+            values.put("string" + i, "value" + i);
+        }
+        values.put("select1", "b");
+        values.put("select2", "other");
+        values.put("int1", "1");
+        values.put("int2", "2");
+        values.put("int3", "3");
+        values.put("int4", "4");
+        values.put("long1", "10000000000");
+        values.put("long2", "20000000000");
+        values.put("bool1", "true");
+        values.put("bool2", "false");
+        values.put("bool3", "true");
+        resolver = new PropertyResolver() {
+            @Override
+            public Object resolvePropertyValue(final String name, final PropertyScope scope) {
+                return values.get(name);
+            }
+        };
+        description = PluginAdapterUtility.buildDescription(new TwentyPropertyPlugin(), DescriptionBuilder.builder());
+    }
+
+    /**
+     * Configure a new instance, building the description from annotations
+     */
+    @Benchmark
+    public Object configureProperties() {
+        final TwentyPropertyPlugin plugin = new TwentyPropertyPlugin();
+        PluginAdapterUtility.configureProperties(resolver, plugin);
+        return plugin;
+    }
+
+    /**
+     * Configure a new instance with a previously built description
+     */
+    @Benchmark
+    public Object configurePropertiesWithDescription() {
+        final TwentyPropertyPlugin plugin = new TwentyPropertyPlugin();
+        PluginAdapterUtility.configureProperties(resolver, description, plugin, PropertyScope.InstanceOnly);
+        return plugin;
+    }
+
+    /**
+     * Build the field properties for the class
+     */
+    @Benchmark
+    public Object buildFieldProperties() {
+        return PluginAdapterUtility.buildFieldProperties(TwentyPropertyPlugin.class);
+    }
+}
@@ -63,6 +63,19 @@ import java.util.regex.Pattern;
  * @version $Revision$
  */
 public class RundeckAPICentralDispatcher implements CentralDispatcher {
+    /**
+     * Minimum delay between output requests when following an execution
+     */
+    static final long FOLLOW_MIN_DELAY = 500;
+    /**
+     * Maximum delay between output requests when following an execution
+     */
+    static final long FOLLOW_MAX_DELAY = 5000;
+    /**
+     * Maximum log entries to request at once when following an execution
+     */
+    static final int FOLLOW_MAX_LINES = 500;
+    private static final Random FOLLOW_JITTER = new Random();
     /**
      * Webservice link prefix for a stored job.
      */
@@ -1044,10 +1057,7 @@ public class RundeckAPICentralDispatcher implements CentralDispatcher {
         //percent complete
         double percentage = 0.0;
         //delay between requests
-        final int BASE_DELAY = 1000;
-        final int MAX_DELAY = 5000;
-        long delay = BASE_DELAY;
-        float backoff = 1f;
+        long delay = FOLLOW_MIN_DELAY;
         String jobstatus=null;
 
         while (!complete && !interrupt && !receiverfinished) {
@@ -1062,7 +1072,7 @@ public class RundeckAPICentralDispatcher implements CentralDispatcher {
                 params.put("offset", offset.toString());
                 params.put("lastmod", rlastmod.toString());
             }
-            params.put("maxlines", "500");
+            params.put("maxlines", Integer.toString(FOLLOW_MAX_LINES));
 
             logger.debug("request" + rundeckApiExecOutputJobPath + " params: " + params);
             //2. send request via ServerService
@@ -1105,13 +1115,6 @@ public class RundeckAPICentralDispatcher implements CentralDispatcher {
                 percentage = percentLoaded;
             }
 
-            //update delay
-            if (null != unmodified && unmodified && delay < MAX_DELAY) {
-                delay = delay + (Math.round(backoff * BASE_DELAY));
-            } else if (null != unmodified && !unmodified) {
-                delay = BASE_DELAY;
-            }
-
             if(null!=iscompleted){
                 complete=iscompleted;
             }
@@ -1123,6 +1126,8 @@ public class RundeckAPICentralDispatcher implements CentralDispatcher {
             }
 
             final List list = result1.selectNodes("entries/entry");
+            //update delay
+            delay = nextFollowDelay(delay, null != unmodified && unmodified, list.size(), offset, totalsize);
             for (final Object obj : list) {
                 Node node = (Node) obj;
                 final String timeStr = stringNodeValue(node, "@time", null);
@@ -1138,10 +1143,12 @@ public class RundeckAPICentralDispatcher implements CentralDispatcher {
                 }
             }
             //sleep delay
-            try {
-                Thread.sleep(delay);
-            } catch (InterruptedException e) {
-                interrupt = true;
+            if (!complete && !receiverfinished && delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    interrupt = true;
+                }
             }
         }
         final boolean finalComplete = complete;
@@ -1169,6 +1176,41 @@ public class RundeckAPICentralDispatcher implements CentralDispatcher {
         };
     }
 
+    /**
+     * Determine the delay before the next output request when following an execution. Requests are made immediately
+     * while more output is available, otherwise the delay starts at {@link #FOLLOW_MIN_DELAY} when new output was
+     * received and doubles while the output is unmodified, up to {@link #FOLLOW_MAX_DELAY}. A random jitter spreads
+     * out requests from many concurrent clients.
+     *
+     * @param delay      previous delay
+     * @param unmodified true if the output was unmodified
+     * @param entries    number of entries received
+     * @param offset     current offset
+     * @param totalsize  total size of the output
+     *
+     * @return delay in milliseconds
+     */
+    static long nextFollowDelay(
+            final long delay,
+            final boolean unmodified,
+            final int entries,
+            final long offset,
+            final long totalsize
+    )
+    {
+        if (entries >= FOLLOW_MAX_LINES || (totalsize > 0 && offset < totalsize && entries > 0)) {
+            //more output is already available
+            return 0;
+        }
+        final long base;
+        if (unmodified || entries < 1) {
+            base = Math.min(Math.max(delay, FOLLOW_MIN_DELAY) * 2, FOLLOW_MAX_DELAY);
+        } else {
+            base = FOLLOW_MIN_DELAY;
+        }
+        return base + (long) (FOLLOW_JITTER.nextDouble() * base * 0.1);
+    }
+
     private String stringNodeValue(Node result1, final String path, final String defValue) {
         return null != result1.selectSingleNode(path) ? result1.selectSingleNode(path)
             .getStringValue() : defValue;
@@ -1184,7 +1226,7 @@ public class RundeckAPICentralDispatcher implements CentralDispatcher {
     private double floatNodeValue(final Node result1, final String path, final double defValue) {
         if (null != result1.selectSingleNode(path)) {
             try {
-                Float.parseFloat(result1.selectSingleNode(path).getStringValue());
+                return Float.parseFloat(result1.selectSingleNode(path).getStringValue());
             } catch (NumberFormatException e) {
 
             }
@@ -284,7 +284,12 @@ public abstract class BaseFormAuthenticator implements HttpAuthenticator {
                     }
                     final GetMethod get2 = new GetMethod(location);
                     //                    logger.debug("Result: " + res + ": " + location + ", following redirect");
-                    res = client.executeMethod(get2);
+                    try {
+                        res = client.executeMethod(get2);
+                    } finally {
+                        //return the connection to the shared connection manager
+                        get2.releaseConnection();
+                    }
                 } else if (res != HttpStatus.SC_OK) {
                     throw new HttpClientException("Login didn't seem to work: " + res + ": "
                                                   + login.getResponseBodyAsString());
@@ -37,6 +37,16 @@ import java.util.*;
 abstract class HttpClientChannel implements BaseHttpClient {
 
     static Logger logger = Logger.getLogger(HttpClientChannel.class.getName());
+    public static final int MAX_CONNECTIONS_PER_HOST = 20;
+    /**
+     * Connection manager shared by all channels, so that sequential requests to the server reuse connections
+     */
+    private static final MultiThreadedHttpConnectionManager CONNECTION_MANAGER = new MultiThreadedHttpConnectionManager();
+
+    static {
+        CONNECTION_MANAGER.getParams().setDefaultMaxConnectionsPerHost(MAX_CONNECTIONS_PER_HOST);
+        CONNECTION_MANAGER.getParams().setStaleCheckingEnabled(true);
+    }
     private HttpClient httpc;
     private HttpMethod httpMethod;
     private InputStream resultStream;
@@ -112,7 +122,7 @@ abstract class HttpClientChannel implements BaseHttpClient {
         }
         logger.debug("creating connection object to URL: " + requestUrl);
 
-        httpc = new HttpClient();
+        httpc = new HttpClient(CONNECTION_MANAGER);
         if (null != System.getProperty("http.proxyPort") && null != System.getProperty("http.proxyHost")) {
             Integer port = Integer.getInteger("http.proxyPort");
             if (null != port) {
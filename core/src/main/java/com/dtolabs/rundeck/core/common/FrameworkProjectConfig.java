@@ -1,16 +1,20 @@
 package com.dtolabs.rundeck.core.common;
 
 import com.dtolabs.rundeck.core.utils.PropertyLookup;
+import com.dtolabs.rundeck.core.utils.PropertyLookupException;
 import org.apache.log4j.Logger;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Config interface
@@ -19,19 +23,60 @@ public class FrameworkProjectConfig implements IRundeckProjectConfig, IRundeckPr
     public static final String PROP_FILENAME = "project.properties";
     public static final String ETC_DIR_NAME = "etc";
     public static final Logger logger = Logger.getLogger(FrameworkProjectConfig.class);
-    private String name;
     /**
-     * reference to PropertyLookup object providing access to project.properties
+     * System property defining the minimum milliseconds between checks of the property files for modification
      */
-    private PropertyLookup lookup;
+    public static final String SYSTEM_PROP_RELOAD_CHECK_INTERVAL = "rundeck.projectConfig.reloadCheckInterval";
+    public static final long DEFAULT_RELOAD_CHECK_INTERVAL = 1000L;
+    private String name;
     /**
-     * Direct projec properties
+     * Immutable view of the loaded properties, replaced as a whole when the property files change
      */
-    private PropertyLookup projectLookup;
+    private volatile Snapshot snapshot;
+    private volatile long lastReloadCheck = 0L;
+    private final AtomicBoolean reloadChecking = new AtomicBoolean(false);
+    private long reloadCheckInterval = Long.getLong(
+            SYSTEM_PROP_RELOAD_CHECK_INTERVAL,
+            DEFAULT_RELOAD_CHECK_INTERVAL
+    );
     private File propertyFile;
     private FilesystemFramework filesystemFramework;
 
-    private long propertiesLastReload = 0L;
+    /**
+     * Loaded state of the property files
+     */
+    private static final class Snapshot {
+        /**
+         * reference to PropertyLookup object providing access to project.properties
+         */
+        private final PropertyLookup lookup;
+        /**
+         * Direct project properties
+         */
+        private final PropertyLookup projectLookup;
+        /**
+         * copy of the lookup properties, for unsynchronized access
+         */
+        private final Map<String, String> properties;
+        private final long propertiesLastReload;
+
+        private Snapshot(
+                final PropertyLookup lookup,
+                final PropertyLookup projectLookup,
+                final long propertiesLastReload
+        )
+        {
+            this.lookup = lookup;
+            this.projectLookup = projectLookup;
+            this.propertiesLastReload = propertiesLastReload;
+            HashMap<String, String> props = new HashMap<>();
+            for (Object o : lookup.getPropertiesMap().entrySet()) {
+                Map.Entry entry = (Map.Entry) o;
+                props.put((String) entry.getKey(), (String) entry.getValue());
+            }
+            this.properties = Collections.unmodifiableMap(props);
+        }
+    }
 
     public FrameworkProjectConfig(
             final String name,
@@ -241,6 +286,23 @@ public class FrameworkProjectConfig implements IRundeckProjectConfig, IRundeckPr
         return propertyFile;
     }
 
+    /**
+     * Return the current snapshot, checking the property files for modification at most once per reload check
+     * interval. Only one thread performs the check, other threads continue to use the current snapshot.
+     */
+    private Snapshot currentSnapshot() {
+        final long now = System.currentTimeMillis();
+        if (now - lastReloadCheck >= reloadCheckInterval && reloadChecking.compareAndSet(false, true)) {
+            try {
+                lastReloadCheck = now;
+                checkReloadProperties();
+            } finally {
+                reloadChecking.set(false);
+            }
+        }
+        return snapshot;
+    }
+
     private synchronized void checkReloadProperties() {
         if (needsPropertiesReload()) {
             loadProperties();
@@ -248,6 +310,7 @@ public class FrameworkProjectConfig implements IRundeckProjectConfig, IRundeckPr
     }
 
     private boolean needsPropertiesReload() {
+        final long propertiesLastReload = snapshot.propertiesLastReload;
         final File fwkProjectPropertyFile = getFrameworkPropertyFile();
         final long fwkPropsLastModified = fwkProjectPropertyFile.lastModified();
         if (propertyFile.exists()) {
@@ -257,6 +320,21 @@ public class FrameworkProjectConfig implements IRundeckProjectConfig, IRundeckPr
         }
     }
 
+    /**
+     * @return minimum milliseconds between checks of the property files for modification
+     */
+    public long getReloadCheckInterval() {
+        return reloadCheckInterval;
+    }
+
+    /**
+     * @param reloadCheckInterval minimum milliseconds between checks of the property files for modification, 0 to
+     *                            check on every read
+     */
+    public void setReloadCheckInterval(final long reloadCheckInterval) {
+        this.reloadCheckInterval = reloadCheckInterval;
+    }
+
     private File getFrameworkPropertyFile() {
         return new File(
                 filesystemFramework.getConfigDir(),
@@ -298,16 +376,7 @@ public class FrameworkProjectConfig implements IRundeckProjectConfig, IRundeckPr
     }
 
     private synchronized void loadProperties(final File fwkProjectPropertyFile) {
-        //generic framework properties for a project
-        lookup = createProjectPropertyLookup(
-                filesystemFramework,
-                getName()
-        );
-        projectLookup = createDirectProjectPropertyLookup(
-                filesystemFramework,
-                getName()
-        );
-
+        final long propertiesLastReload;
         if (propertyFile.exists()) {
             logger.debug("loading existing project.properties: " + propertyFile.getAbsolutePath());
             final long fwkPropsLastModified = fwkProjectPropertyFile.lastModified();
@@ -317,6 +386,17 @@ public class FrameworkProjectConfig implements IRundeckProjectConfig, IRundeckPr
             logger.debug("loading instance-level project.properties: " + propertyFile.getAbsolutePath());
             propertiesLastReload = fwkProjectPropertyFile.lastModified();
         }
+        //generic framework properties for a project
+        final PropertyLookup lookup = createProjectPropertyLookup(
+                filesystemFramework,
+                getName()
+        );
+        final PropertyLookup projectLookup = createDirectProjectPropertyLookup(
+                filesystemFramework,
+                getName()
+        );
+        snapshot = new Snapshot(lookup, projectLookup, propertiesLastReload);
+        lastReloadCheck = System.currentTimeMillis();
     }
 
 
@@ -327,12 +407,12 @@ public class FrameworkProjectConfig implements IRundeckProjectConfig, IRundeckPr
 
     @Override
     public Map<String, String> getProperties() {
-        return lookup.getPropertiesMap();
+        return currentSnapshot().lookup.getPropertiesMap();
     }
 
     @Override
     public Map<String, String> getProjectProperties() {
-        return projectLookup.getPropertiesMap();
+        return currentSnapshot().projectLookup.getPropertiesMap();
     }
 
     /**
@@ -341,9 +421,12 @@ public class FrameworkProjectConfig implements IRundeckProjectConfig, IRundeckPr
      * @return the property value by name
      */
     @Override
-    public synchronized String getProperty(final String name) {
-        checkReloadProperties();
-        return lookup.getProperty(name);
+    public String getProperty(final String name) {
+        final String value = currentSnapshot().properties.get(name);
+        if (null == value) {
+            throw new PropertyLookupException("property not found: " + name);
+        }
+        return value;
     }
 
 
@@ -402,9 +485,8 @@ public class FrameworkProjectConfig implements IRundeckProjectConfig, IRundeckPr
 
 
     @Override
-    public synchronized boolean hasProperty(final String key) {
-        checkReloadProperties();
-        return lookup.hasProperty(key);
+    public boolean hasProperty(final String key) {
+        return currentSnapshot().properties.containsKey(key);
     }
 
     @Override
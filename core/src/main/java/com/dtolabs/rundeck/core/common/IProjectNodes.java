@@ -25,6 +25,11 @@ public interface IProjectNodes {
      */
     Map<String,Exception> getResourceModelSourceExceptionsMap();
 
+    /**
+     * @return latency and failure stats for loading nodes, by source name
+     */
+    Map<String, ResourceModelSourceStats> getResourceModelSourceStats();
+
     /**
      * list the configurations of resource model providers.
      *
@@ -15,6 +15,8 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,6 +33,16 @@ public class ProjectNodeSupport implements IProjectNodes {
     public static final String PROJECT_RESOURCES_MERGE_NODE_ATTRIBUTES = "project.resources.mergeNodeAttributes";
     public static final String PROJECT_RESOURCES_ALLOWED_URL_PREFIX = "project.resources.allowedURL.";
     public static final String FRAMEWORK_RESOURCES_ALLOWED_URL_PREFIX = "framework.resources.allowedURL.";
+    /**
+     * If true, load nodes from all sources concurrently
+     */
+    public static final String PROJECT_RESOURCES_PARALLEL = "project.resources.parallel";
+    /**
+     * Milliseconds to wait for sources when loading concurrently
+     */
+    public static final String PROJECT_RESOURCES_PARALLEL_TIMEOUT = "project.resources.parallel.timeout";
+    public static final long DEFAULT_PARALLEL_TIMEOUT = 30000L;
+    private static ExecutorService sourceLoadingExecutor;
 
     private IRundeckProjectConfig projectConfig;
     private Map<String,Exception> nodesSourceExceptions;
@@ -38,6 +50,11 @@ public class ProjectNodeSupport implements IProjectNodes {
     private List<ResourceModelSource> nodesSourceList;
     private ResourceFormatGeneratorService resourceFormatGeneratorService;
     private ResourceModelSourceService resourceModelSourceService;
+    private final Map<String, ResourceModelSourceStats> nodesSourceStats = new HashMap<>();
+    private final Map<ResourceModelSource, INodeSet> lastGoodNodes =
+            Collections.synchronizedMap(new IdentityHashMap<ResourceModelSource, INodeSet>());
+    private final Map<ResourceModelSource, Future<INodeSet>> inflightSources =
+            new IdentityHashMap<>();
 
     public ProjectNodeSupport(
             final IRundeckProjectConfig projectConfig,
@@ -85,69 +102,284 @@ public class ProjectNodeSupport implements IProjectNodes {
         //iterate through sources, and add nodes
         final NodeSetMerge list = getNodeSetMerge();
         Map<String,Exception> exceptions = Collections.synchronizedMap(new HashMap<String, Exception>());
-        int index=1;
         Set<String> validSources = new HashSet<>();
-        for (final ResourceModelSource nodesSource : getResourceModelSources()) {
-            try {
-                INodeSet nodes = nodesSource.getNodes();
-                if (null == nodes) {
-                    logger.warn("Empty nodes result from [" + nodesSource.toString() + "]");
-                } else {
-                    list.addNodeSet(nodes);
+        final Collection<ResourceModelSource> sources = getResourceModelSources();
+        if (isParallelSourceLoading() && sources.size() > 1) {
+            getNodeSetParallel(sources, list, exceptions, validSources);
+        } else {
+            int index = 1;
+            for (final ResourceModelSource nodesSource : sources) {
+                final String ident = index + ".source";
+                final ResourceModelSourceStats stats = getStatsForSource(ident);
+                long start = System.currentTimeMillis();
+                INodeSet nodes = null;
+                Throwable error = null;
+                try {
+                    nodes = nodesSource.getNodes();
+                } catch (Throwable e) {
+                    error = e;
                 }
-                boolean hasErrors=false;
-                if(nodesSource instanceof ResourceModelSourceErrors){
-                    ResourceModelSourceErrors nodeerrors = (ResourceModelSourceErrors) nodesSource;
-                    List<String> modelSourceErrors = nodeerrors.getModelSourceErrors();
-                    if(modelSourceErrors!=null && modelSourceErrors.size()>0){
-                        hasErrors=true;
-                        logger.error("Some errors getting nodes from [" +
-                                     nodesSource.toString() +
-                                     "]: " +
-                                     modelSourceErrors);
-                        exceptions.put(
-                                index + ".source",
-                                new ResourceModelSourceException(
-                                        TextUtils.join(
-                                                modelSourceErrors.toArray(new String[modelSourceErrors.size()]),
-                                                ';'
-                                        )
-                                )
-                        );
-                    }
+                addSourceResult(
+                        ident,
+                        nodesSource,
+                        nodes,
+                        error,
+                        System.currentTimeMillis() - start,
+                        stats,
+                        list,
+                        exceptions,
+                        validSources
+                );
+                index++;
+            }
+        }
+        synchronized (nodesSourceExceptions){
+            nodesSourceExceptions.putAll(exceptions);
+            for (String validSource : validSources) {
+                nodesSourceExceptions.remove(validSource);
+            }
+        }
+        return list;
+
+    }
+
+    /**
+     * Load nodes from all sources concurrently, waiting at most the configured timeout for each source. Sources which
+     * do not complete in time contribute the last nodes they successfully returned, and a source still running from a
+     * previous call is not invoked again until it completes.
+     */
+    private void getNodeSetParallel(
+            final Collection<ResourceModelSource> sources,
+            final NodeSetMerge list,
+            final Map<String, Exception> exceptions,
+            final Set<String> validSources
+    )
+    {
+        final long timeout = getParallelSourceTimeout();
+        final List<Future<INodeSet>> futures = new ArrayList<>();
+        final List<Long> startTimes = new ArrayList<>();
+        for (final ResourceModelSource nodesSource : sources) {
+            Future<INodeSet> future;
+            synchronized (inflightSources) {
+                future = inflightSources.get(nodesSource);
+                if (null == future) {
+                    future = getSourceLoadingExecutor().submit(
+                            new Callable<INodeSet>() {
+                                @Override
+                                public INodeSet call() throws Exception {
+                                    return nodesSource.getNodes();
+                                }
+                            }
+                    );
+                    inflightSources.put(nodesSource, future);
                 }
-                if(!hasErrors) {
-                    validSources.add(index + ".source");
+            }
+            futures.add(future);
+            startTimes.add(System.currentTimeMillis());
+        }
+        final long deadline = System.currentTimeMillis() + timeout;
+        int index = 1;
+        for (final ResourceModelSource nodesSource : sources) {
+            final String ident = index + ".source";
+            final ResourceModelSourceStats stats = getStatsForSource(ident);
+            final Future<INodeSet> future = futures.get(index - 1);
+            INodeSet nodes = null;
+            Throwable error = null;
+            boolean complete = true;
+            try {
+                nodes = future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                complete = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                complete = false;
+            } catch (ExecutionException e) {
+                error = null != e.getCause() ? e.getCause() : e;
+            }
+            if (complete) {
+                synchronized (inflightSources) {
+                    inflightSources.remove(nodesSource);
+                }
+                addSourceResult(
+                        ident,
+                        nodesSource,
+                        nodes,
+                        error,
+                        System.currentTimeMillis() - startTimes.get(index - 1),
+                        stats,
+                        list,
+                        exceptions,
+                        validSources
+                );
+            } else {
+                stats.timeout();
+                INodeSet lastNodes = lastGoodNodes.get(nodesSource);
+                logger.warn(
+                        "Timed out after " + timeout + "ms getting nodes from [" + nodesSource.toString() + "], " +
+                        (null != lastNodes ? "using previous result" : "no previous result available")
+                );
+                if (null != lastNodes) {
+                    list.addNodeSet(lastNodes);
+                } else {
+                    exceptions.put(
+                            ident,
+                            new ResourceModelSourceException(
+                                    "Timed out after " + timeout + "ms getting nodes from source"
+                            )
+                    );
                 }
-            } catch (ResourceModelSourceException | RuntimeException e) {
-                logger.error("Cannot get nodes from [" + nodesSource.toString() + "]: " + e.getMessage());
-                logger.debug("Cannot get nodes from [" + nodesSource.toString() + "]: " + e.getMessage(), e);
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Add the result of loading nodes from a source
+     *
+     * @param ident        source identifier
+     * @param nodesSource  source
+     * @param nodes        result nodes, or null
+     * @param error        error thrown by the source, or null
+     * @param duration     time taken in milliseconds
+     * @param stats        stats for the source
+     * @param list         merged node set
+     * @param exceptions   exceptions by source identifier
+     * @param validSources set of source identifiers without errors
+     */
+    private void addSourceResult(
+            final String ident,
+            final ResourceModelSource nodesSource,
+            final INodeSet nodes,
+            final Throwable error,
+            final long duration,
+            final ResourceModelSourceStats stats,
+            final NodeSetMerge list,
+            final Map<String, Exception> exceptions,
+            final Set<String> validSources
+    )
+    {
+        if (null != error) {
+            stats.failure(duration);
+            logger.error("Cannot get nodes from [" + nodesSource.toString() + "]: " + error.getMessage());
+            logger.debug("Cannot get nodes from [" + nodesSource.toString() + "]: " + error.getMessage(), error);
+            if (error instanceof ResourceModelSourceException || error instanceof RuntimeException) {
                 exceptions.put(
-                        index+".source",
+                        ident,
                         new ResourceModelSourceException(
-                                e.getMessage(), e
+                                error.getMessage(), (Exception) error
                         )
                 );
-            } catch (Throwable e) {
-                logger.error("Cannot get nodes from [" + nodesSource.toString() + "]: " + e.getMessage());
-                logger.debug("Cannot get nodes from [" + nodesSource.toString() + "]: " + e.getMessage(), e);
+            } else {
                 exceptions.put(
-                        index+".source",
+                        ident,
                         new ResourceModelSourceException(
-                                e.getMessage()
+                                error.getMessage()
                         )
                 );
             }
-            index++;
+            return;
         }
-        synchronized (nodesSourceExceptions){
-            nodesSourceExceptions.putAll(exceptions);
-            for (String validSource : validSources) {
-                nodesSourceExceptions.remove(validSource);
+        if (null == nodes) {
+            logger.warn("Empty nodes result from [" + nodesSource.toString() + "]");
+        } else {
+            list.addNodeSet(nodes);
+            lastGoodNodes.put(nodesSource, nodes);
+        }
+        boolean hasErrors=false;
+        if(nodesSource instanceof ResourceModelSourceErrors){
+            ResourceModelSourceErrors nodeerrors = (ResourceModelSourceErrors) nodesSource;
+            List<String> modelSourceErrors = nodeerrors.getModelSourceErrors();
+            if(modelSourceErrors!=null && modelSourceErrors.size()>0){
+                hasErrors=true;
+                logger.error("Some errors getting nodes from [" +
+                             nodesSource.toString() +
+                             "]: " +
+                             modelSourceErrors);
+                exceptions.put(
+                        ident,
+                        new ResourceModelSourceException(
+                                TextUtils.join(
+                                        modelSourceErrors.toArray(new String[modelSourceErrors.size()]),
+                                        ';'
+                                )
+                        )
+                );
             }
         }
-        return list;
+        if (hasErrors) {
+            stats.failure(duration);
+        } else {
+            stats.success(duration);
+            validSources.add(ident);
+        }
+    }
+
+    private ResourceModelSourceStats getStatsForSource(final String ident) {
+        synchronized (nodesSourceStats) {
+            ResourceModelSourceStats stats = nodesSourceStats.get(ident);
+            if (null == stats) {
+                stats = new ResourceModelSourceStats();
+                nodesSourceStats.put(ident, stats);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * @return true if project property {@value #PROJECT_RESOURCES_PARALLEL} is true
+     */
+    private boolean isParallelSourceLoading() {
+        return projectConfig.hasProperty(PROJECT_RESOURCES_PARALLEL) && "true".equals(
+                projectConfig.getProperty(PROJECT_RESOURCES_PARALLEL)
+        );
+    }
+
+    /**
+     * @return timeout in milliseconds from project property {@value #PROJECT_RESOURCES_PARALLEL_TIMEOUT}
+     */
+    private long getParallelSourceTimeout() {
+        if (projectConfig.hasProperty(PROJECT_RESOURCES_PARALLEL_TIMEOUT)) {
+            try {
+                return Long.parseLong(projectConfig.getProperty(PROJECT_RESOURCES_PARALLEL_TIMEOUT));
+            } catch (NumberFormatException e) {
+                logger.warn(
+                        "Invalid value for " + PROJECT_RESOURCES_PARALLEL_TIMEOUT + ": " +
+                        projectConfig.getProperty(PROJECT_RESOURCES_PARALLEL_TIMEOUT)
+                );
+            }
+        }
+        return DEFAULT_PARALLEL_TIMEOUT;
+    }
 
+    private static synchronized ExecutorService getSourceLoadingExecutor() {
+        if (null == sourceLoadingExecutor) {
+            sourceLoadingExecutor = Executors.newCachedThreadPool(
+                    new ThreadFactory() {
+                        private final AtomicInteger count = new AtomicInteger();
+
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(
+                                    null,
+                                    r,
+                                    "ResourceModelSource-" + count.incrementAndGet()
+                            );
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    }
+            );
+        }
+        return sourceLoadingExecutor;
+    }
+
+    /**
+     * @return latency and failure stats for each source, by source name
+     */
+    @Override
+    public Map<String, ResourceModelSourceStats> getResourceModelSourceStats() {
+        synchronized (nodesSourceStats) {
+            return Collections.unmodifiableMap(new HashMap<>(nodesSourceStats));
+        }
     }
 
     /**
@@ -174,6 +406,10 @@ public class ProjectNodeSupport implements IProjectNodes {
         final long lastMod = projectConfig.getConfigLastModifiedTime()!=null? projectConfig.getConfigLastModifiedTime().getTime():0;
         if (lastMod > nodesSourcesLastReload) {
             nodesSourceList = new ArrayList<>();
+            lastGoodNodes.clear();
+            synchronized (nodesSourceStats) {
+                nodesSourceStats.clear();
+            }
             loadResourceModelSources();
         }
         return nodesSourceList;
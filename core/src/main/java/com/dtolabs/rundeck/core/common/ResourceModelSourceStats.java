@@ -0,0 +1,93 @@
+package com.dtolabs.rundeck.core.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and failure counts for loading nodes from a single resource model source
+ */
+public class ResourceModelSourceStats {
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalDuration = new AtomicLong();
+    private volatile long lastDuration = -1;
+    private volatile long maxDuration = -1;
+
+    void success(long duration) {
+        count.incrementAndGet();
+        recordDuration(duration);
+    }
+
+    void failure(long duration) {
+        count.incrementAndGet();
+        failures.incrementAndGet();
+        recordDuration(duration);
+    }
+
+    void timeout() {
+        count.incrementAndGet();
+        timeouts.incrementAndGet();
+    }
+
+    private void recordDuration(final long duration) {
+        totalDuration.addAndGet(duration);
+        lastDuration = duration;
+        if (duration > maxDuration) {
+            maxDuration = duration;
+        }
+    }
+
+    /**
+     * @return total number of attempts to load nodes
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return number of attempts that failed with an error
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return number of attempts that did not complete within the timeout
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * @return duration in milliseconds of the last completed attempt, or -1
+     */
+    public long getLastDuration() {
+        return lastDuration;
+    }
+
+    /**
+     * @return maximum duration in milliseconds of a completed attempt, or -1
+     */
+    public long getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * @return mean duration in milliseconds of completed attempts, or -1
+     */
+    public long getMeanDuration() {
+        long completed = count.get() - timeouts.get();
+        return completed > 0 ? totalDuration.get() / completed : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceModelSourceStats{" +
+               "count=" + getCount() +
+               ", failures=" + getFailures() +
+               ", timeouts=" + getTimeouts() +
+               ", lastDuration=" + getLastDuration() +
+               ", meanDuration=" + getMeanDuration() +
+               '}';
+    }
+}
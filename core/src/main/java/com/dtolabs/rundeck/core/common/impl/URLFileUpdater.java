@@ -27,17 +27,24 @@ import com.dtolabs.rundeck.core.common.FileUpdater;
 import com.dtolabs.rundeck.core.common.FileUpdaterException;
 import com.dtolabs.rundeck.core.common.URLFileUpdaterFactory;
 import com.dtolabs.utils.Streams;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.httpclient.*;
 import org.apache.commons.httpclient.auth.AuthScope;
 import org.apache.commons.httpclient.methods.GetMethod;
 import org.apache.commons.httpclient.params.HttpClientParams;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
 import org.apache.log4j.Logger;
 
 import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * URLUpdater updates a file by getting the contents of a url, with optional caching, and mime type accept header.
@@ -51,7 +58,19 @@ public class URLFileUpdater implements FileUpdater {
     public static final String IF_NONE_MATCH = "If-None-Match";
     public static final String LAST_MODIFIED = "Last-Modified";
     public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    /**
+     * Cache metadata property storing the SHA-1 hash of the cached content
+     */
+    public static final String CONTENT_SHA1 = "Content-SHA1";
     public static final int DEFAULT_TIMEOUT = 60;
+    public static final int MAX_CONNECTIONS_PER_HOST = 10;
+    public static final int MAX_TOTAL_CONNECTIONS = 100;
+    /**
+     * Connection manager shared by all updaters, allowing connections to be reused between requests
+     */
+    private static final MultiThreadedHttpConnectionManager CONNECTION_MANAGER = createConnectionManager();
     public static final Factory FACTORY = new Factory();
     URL url;
     File cacheMetadata;
@@ -65,6 +84,17 @@ public class URLFileUpdater implements FileUpdater {
     private String username;
     private String password;
     private httpClientInteraction interaction=new normalInteraction();
+    private String contentHash;
+    private boolean contentModified = true;
+
+    private static MultiThreadedHttpConnectionManager createConnectionManager() {
+        final MultiThreadedHttpConnectionManager manager = new MultiThreadedHttpConnectionManager();
+        final HttpConnectionManagerParams params = manager.getParams();
+        params.setDefaultMaxConnectionsPerHost(MAX_CONNECTIONS_PER_HOST);
+        params.setMaxTotalConnections(MAX_TOTAL_CONNECTIONS);
+        params.setStaleCheckingEnabled(true);
+        return manager;
+    }
 
     public void setInteraction(final httpClientInteraction interaction) {
         this.interaction = interaction;
@@ -228,7 +258,7 @@ public class URLFileUpdater implements FileUpdater {
             params.setSoTimeout(timeout * 1000);
         }
 
-        final HttpClient client = new HttpClient(params);
+        final HttpClient client = new HttpClient(params, CONNECTION_MANAGER);
         AuthScope authscope = null;
         UsernamePasswordCredentials cred = null;
         boolean doauth = false;
@@ -266,6 +296,7 @@ public class URLFileUpdater implements FileUpdater {
         } else {
             interaction.setRequestHeader("Accept", "*/*");
         }
+        interaction.setRequestHeader(ACCEPT_ENCODING, "gzip, deflate");
 
         if (useCaching) {
             applyCacheHeaders(cacheProperties, interaction);
@@ -277,13 +308,20 @@ public class URLFileUpdater implements FileUpdater {
             reasonCode = interaction.getStatusText();
             if (useCaching && HttpStatus.SC_NOT_MODIFIED == resultCode) {
                 logger.debug("Content NOT MODIFIED: file up to date");
+                contentModified = false;
+                contentHash = cacheProperties.getProperty(CONTENT_SHA1);
             } else if (HttpStatus.SC_OK == resultCode) {
                 determineContentType(interaction);
 
-                //write to file
+                //write decoded content to file, computing the hash
+                final MessageDigest digest = createDigest();
+                InputStream input = decodeContent(interaction, interaction.getResponseBodyAsStream());
+                if (null != digest) {
+                    input = new DigestInputStream(input, digest);
+                }
                 FileOutputStream output=new FileOutputStream(destinationFile);
                 try{
-                    Streams.copyStream(interaction.getResponseBodyAsStream(), output);
+                    Streams.copyStream(input, output);
                 }finally{
                     output.close();
                 }
@@ -293,7 +331,14 @@ public class URLFileUpdater implements FileUpdater {
                         logger.warn("Failed to remove empty file: " + destinationFile.getAbsolutePath());
                     }
                 }
+                contentHash = null != digest ? new String(Hex.encodeHex(digest.digest())) : null;
                 if (useCaching) {
+                    contentModified = null == contentHash || !contentHash.equals(
+                            cacheProperties.getProperty(CONTENT_SHA1)
+                    );
+                    if (!contentModified) {
+                        logger.debug("Content unchanged: content hash matches cached content");
+                    }
                     cacheResponseInfo(interaction, cacheMetadata);
                 }
             } else {
@@ -309,6 +354,34 @@ public class URLFileUpdater implements FileUpdater {
         }
     }
 
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            logger.debug("SHA-1 not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Wrap the response stream to decode the Content-Encoding of the response if necessary
+     */
+    private static InputStream decodeContent(final httpClientInteraction method, final InputStream input)
+            throws IOException
+    {
+        final Header header = method.getResponseHeader(CONTENT_ENCODING);
+        if (null == header || null == header.getValue()) {
+            return input;
+        }
+        final String encoding = header.getValue().trim();
+        if ("gzip".equalsIgnoreCase(encoding) || "x-gzip".equalsIgnoreCase(encoding)) {
+            return new GZIPInputStream(input);
+        } else if ("deflate".equalsIgnoreCase(encoding)) {
+            return new InflaterInputStream(input);
+        }
+        return input;
+    }
+
     /**
      * Add appropriate cache headers to the request method, but only if there is valid data in the cache (content type
      * as well as file content)
@@ -387,6 +460,9 @@ public class URLFileUpdater implements FileUpdater {
         if (null != method.getResponseHeader(CONTENT_TYPE)) {
             newprops.setProperty(CONTENT_TYPE, method.getResponseHeader(CONTENT_TYPE).getValue());
         }
+        if (newprops.size() > 0 && null != contentHash) {
+            newprops.setProperty(CONTENT_SHA1, contentHash);
+        }
         if (newprops.size() > 0) {
             try {
                 final FileOutputStream fileOutputStream = new FileOutputStream(cacheFile);
@@ -417,4 +493,19 @@ public class URLFileUpdater implements FileUpdater {
     public String getReasonCode() {
         return reasonCode;
     }
+
+    /**
+     * @return SHA-1 hash of the content retrieved, or of the cached content if the server responded Not Modified,
+     * or null if it is not known
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * @return false if the server responded Not Modified, or the content hash matched the previously cached content
+     */
+    public boolean isContentModified() {
+        return contentModified;
+    }
 }
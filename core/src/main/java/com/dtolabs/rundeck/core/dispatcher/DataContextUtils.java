@@ -502,10 +502,9 @@ public class DataContextUtils {
         if (null == framework) {
             throw new NullPointerException("framework cannot be null");
         }
-        //use ReplaceTokens to replace tokens within the content
-        final Reader read = new StringReader(script);
+        //use the compiled template to replace tokens within the content
         final Map<String, String> toks = flattenDataContext(dataContext);
-        final ReplaceTokenReader replaceTokens = new ReplaceTokenReader(read, toks, true, '@', '@');
+        final Reader replaceTokens = ScriptTemplate.forScript(script).renderReader(toks);
         final File temp;
         if (null != destination) {
             ScriptfileUtils.writeScriptFile(null, null, replaceTokens, style, destination);
@@ -0,0 +1,185 @@
+package com.dtolabs.rundeck.core.dispatcher;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.*;
+
+/**
+ * A script parsed once into literal text and &#64;key.name&#64; token slots, which can be rendered for many data
+ * contexts without rescanning the script. Tokens are recognized the same way as by {@link ReplaceTokenReader} with
+ * '&#64;' delimiters, and missing values are replaced with blank.
+ */
+public class ScriptTemplate {
+    public static final String NODE_TOKEN_PREFIX = "node.";
+    static final int MAX_CACHED_TEMPLATES = 32;
+    private static final Map<String, ScriptTemplate> compiled = Collections.synchronizedMap(
+            new LinkedHashMap<String, ScriptTemplate>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, ScriptTemplate> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            }
+    );
+
+    /**
+     * literal segments, and token keys at odd indexes
+     */
+    private final List<String> segments;
+    private final Set<String> keys;
+    private final boolean nodeDependent;
+    private final int literalLength;
+
+    private ScriptTemplate(final List<String> segments) {
+        this.segments = segments;
+        final Set<String> keys = new LinkedHashSet<>();
+        int length = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (i % 2 == 1) {
+                keys.add(segments.get(i));
+            } else {
+                length += segments.get(i).length();
+            }
+        }
+        boolean node = false;
+        for (final String key : keys) {
+            if (key.startsWith(NODE_TOKEN_PREFIX)) {
+                node = true;
+                break;
+            }
+        }
+        this.keys = Collections.unmodifiableSet(keys);
+        this.nodeDependent = node;
+        this.literalLength = length;
+    }
+
+    /**
+     * @param script script content
+     *
+     * @return the compiled template for the script, reusing a previous compilation of the same content
+     */
+    public static ScriptTemplate forScript(final String script) {
+        ScriptTemplate template = compiled.get(script);
+        if (null == template) {
+            template = compile(script);
+            compiled.put(script, template);
+        }
+        return template;
+    }
+
+    /**
+     * @param script script content
+     *
+     * @return compiled template
+     */
+    public static ScriptTemplate compile(final String script) {
+        try {
+            return compile(new StringReader(script));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param reader script content
+     *
+     * @return compiled template
+     *
+     * @throws IOException on io error
+     */
+    public static ScriptTemplate compile(final Reader reader) throws IOException {
+        final char delim = ReplaceTokenReader.DEFAULT_TOKEN_START;
+        final List<String> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        final StringBuilder token = new StringBuilder();
+        boolean inToken = false;
+        final char[] buf = new char[8192];
+        int len;
+        while ((len = reader.read(buf)) != -1) {
+            for (int i = 0; i < len; i++) {
+                final char c = buf[i];
+                if (!inToken) {
+                    if (c == delim) {
+                        inToken = true;
+                    } else {
+                        literal.append(c);
+                    }
+                } else if (c == delim) {
+                    segments.add(literal.toString());
+                    segments.add(token.toString());
+                    literal.setLength(0);
+                    token.setLength(0);
+                    inToken = false;
+                } else if (ReplaceTokenReader.DEFAULT_ALLOWED_PREDICATE.evaluate(c)) {
+                    token.append(c);
+                } else {
+                    //not an allowed token character
+                    literal.append(delim).append(token).append(c);
+                    token.setLength(0);
+                    inToken = false;
+                }
+            }
+        }
+        if (inToken) {
+            literal.append(delim).append(token);
+        }
+        segments.add(literal.toString());
+        return new ScriptTemplate(segments);
+    }
+
+    /**
+     * @return true if any token refers to the "node" data context
+     */
+    public boolean isNodeDependent() {
+        return nodeDependent;
+    }
+
+    /**
+     * @return token keys referenced by the template
+     */
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * @param tokens token values
+     *
+     * @return the values of the referenced tokens, missing values are null
+     */
+    public List<String> values(final Map<String, String> tokens) {
+        final List<String> values = new ArrayList<>(keys.size());
+        for (final String key : keys) {
+            values.add(tokens.get(key));
+        }
+        return values;
+    }
+
+    /**
+     * @param tokens token values
+     *
+     * @return rendered content
+     */
+    public String render(final Map<String, String> tokens) {
+        final StringBuilder sb = new StringBuilder(literalLength + 16 * keys.size());
+        for (int i = 0; i < segments.size(); i++) {
+            if (i % 2 == 0) {
+                sb.append(segments.get(i));
+            } else {
+                final String value = tokens.get(segments.get(i));
+                if (null != value) {
+                    sb.append(value);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param tokens token values
+     *
+     * @return reader of the rendered content
+     */
+    public Reader renderReader(final Map<String, String> tokens) {
+        return new StringReader(render(tokens));
+    }
+}
@@ -300,6 +300,20 @@ public class ExecArgList {
             return this;
         }
 
+        /**
+         * Add all args of another arg list
+         *
+         * @param args arg list
+         *
+         * @return builder
+         */
+        public Builder args(ExecArgList args) {
+            for (ExecArg arg : args.getList()) {
+                argList.addArg(arg);
+            }
+            return this;
+        }
+
         /**
          * Start a buidler for a sublist of args
          *
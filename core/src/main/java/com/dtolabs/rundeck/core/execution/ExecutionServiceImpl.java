@@ -32,6 +32,8 @@ import com.dtolabs.rundeck.core.execution.dispatch.Dispatchable;
 import com.dtolabs.rundeck.core.execution.dispatch.DispatcherException;
 import com.dtolabs.rundeck.core.execution.dispatch.DispatcherResult;
 import com.dtolabs.rundeck.core.execution.dispatch.NodeDispatcher;
+import com.dtolabs.rundeck.core.execution.dispatch.NodeDispatcherService;
+import com.dtolabs.rundeck.core.execution.metrics.ExecutionMetrics;
 import com.dtolabs.rundeck.core.execution.service.*;
 import com.dtolabs.rundeck.core.execution.workflow.StepExecutionContext;
 import com.dtolabs.rundeck.core.execution.workflow.WorkflowExecutionListener;
@@ -109,12 +111,14 @@ class ExecutionServiceImpl implements ExecutionService {
         }
 
         StepExecutionResult result = null;
+        final long start = System.nanoTime();
         try {
             if (null != getWorkflowListener(context)) {
                 getWorkflowListener(context).beginStepExecution(executor, context, item);
             }
             result = executor.executeWorkflowStep(context, item);
         } finally {
+            ExecutionMetrics.STEP_EXECUTOR.record(item.getType(), start);
             if (null != getWorkflowListener(context)) {
                 getWorkflowListener(context).finishStepExecution(executor,result, context, item);
             }
@@ -142,6 +146,7 @@ class ExecutionServiceImpl implements ExecutionService {
         //create node context for node and substitute data references in command
 
         NodeStepResult result = null;
+        final long start = System.nanoTime();
         try {
             final ExecutionContextImpl nodeContext = new ExecutionContextImpl.Builder(context)
                     .singleNodeContext(node, true)
@@ -157,6 +162,7 @@ class ExecutionServiceImpl implements ExecutionService {
             result = new NodeStepResultImpl(t, StepFailureReason.Unknown, t.getMessage(), node);
             throw new NodeStepException(t, StepFailureReason.Unknown, node.getNodename());
         } finally {
+            ExecutionMetrics.NODE_STEP_EXECUTOR.record(item.getNodeStepType(), start);
             if (null != getWorkflowListener(context)) {
                 getWorkflowListener(context).finishExecuteNodeStep(result, context, item, node);
             }
@@ -173,9 +179,11 @@ class ExecutionServiceImpl implements ExecutionService {
         }
         final NodeDispatcher dispatcher = framework.getNodeDispatcherForContext(context);
         DispatcherResult result = null;
+        final long start = System.nanoTime();
         try {
             result = dispatcher.dispatch(context, item);
         } finally {
+            ExecutionMetrics.NODE_DISPATCH.record(NodeDispatcherService.getNodeDispatcherName(context), start);
             if (null != context.getExecutionListener()) {
                 context.getExecutionListener().finishNodeDispatch(result, context, item);
             }
@@ -192,9 +200,11 @@ class ExecutionServiceImpl implements ExecutionService {
         }
         final NodeDispatcher dispatcher = framework.getNodeDispatcherForContext(context);
         DispatcherResult result = null;
+        final long start = System.nanoTime();
         try {
             result = dispatcher.dispatch(context, item);
         } finally {
+            ExecutionMetrics.NODE_DISPATCH.record(NodeDispatcherService.getNodeDispatcherName(context), start);
             if (null != context.getExecutionListener()) {
                 context.getExecutionListener().finishNodeDispatch(result, context, item);
             }
@@ -222,6 +232,7 @@ class ExecutionServiceImpl implements ExecutionService {
             throw new FileCopierException(e.getMessage(), ServiceFailureReason.ServiceFailure, e);
         }
         String result = null;
+        final long start = System.nanoTime();
         try {
             if (null != destinationPath && copier instanceof DestinationFileCopier) {
                 DestinationFileCopier dcopier = (DestinationFileCopier) copier;
@@ -230,6 +241,7 @@ class ExecutionServiceImpl implements ExecutionService {
                 result = copier.copyFileStream(context, input, node);
             }
         } finally {
+            ExecutionMetrics.FILE_COPIER.record(getFileCopierName(context, node), start);
             if (null != context.getExecutionListener()) {
                 context.getExecutionListener().finishFileCopy(result, context, node);
             }
@@ -255,6 +267,7 @@ class ExecutionServiceImpl implements ExecutionService {
             throw new FileCopierException(e.getMessage(), ServiceFailureReason.ServiceFailure, e);
         }
         String result = null;
+        final long start = System.nanoTime();
         try {
             if (null != destinationPath && copier instanceof DestinationFileCopier) {
                 DestinationFileCopier dcopier = (DestinationFileCopier) copier;
@@ -263,6 +276,7 @@ class ExecutionServiceImpl implements ExecutionService {
                 result = copier.copyFile(context, file, node);
             }
         } finally {
+            ExecutionMetrics.FILE_COPIER.record(getFileCopierName(context, node), start);
             if (null != context.getExecutionListener()) {
                 context.getExecutionListener().finishFileCopy(result, context, node);
             }
@@ -287,6 +301,7 @@ class ExecutionServiceImpl implements ExecutionService {
             throw new FileCopierException(e.getMessage(), ServiceFailureReason.ServiceFailure, e);
         }
         String result = null;
+        final long start = System.nanoTime();
         try {
             if (null != destinationPath && copier instanceof DestinationFileCopier) {
                 DestinationFileCopier dcopier = (DestinationFileCopier) copier;
@@ -295,6 +310,7 @@ class ExecutionServiceImpl implements ExecutionService {
                 result = copier.copyScriptContent(context, script, node);
             }
         } finally {
+            ExecutionMetrics.FILE_COPIER.record(getFileCopierName(context, node), start);
             if (null != context.getExecutionListener()) {
                 context.getExecutionListener().finishFileCopy(result, context, node);
             }
@@ -329,9 +345,11 @@ class ExecutionServiceImpl implements ExecutionService {
 
         NodeExecutorResult result = null;
         String[] commandArray = commandList.toArray(new String[commandList.size()]);
+        final long start = System.nanoTime();
         try {
             result = nodeExecutor.executeCommand(nodeContext, commandArray, node);
         } finally {
+            ExecutionMetrics.NODE_EXECUTOR.record(getNodeExecutorName(context, node), start);
             if (null != context.getExecutionListener()) {
                 context.getExecutionListener().finishNodeExecution(result, context, commandArray, node);
             }
@@ -339,6 +357,33 @@ class ExecutionServiceImpl implements ExecutionService {
         return result;
     }
 
+    /**
+     * @return name of the file copier provider for the node, used to tag metrics, or null if metrics are disabled
+     */
+    private String getFileCopierName(final ExecutionContext context, final INodeEntry node) {
+        if (!ExecutionMetrics.isEnabled()) {
+            return null;
+        }
+        final FileCopierService service = framework.getFileCopierService();
+        return null != service ? service.getProviderNameForNodeAndProject(node, context.getFrameworkProject()) : null;
+    }
+
+    /**
+     * @return name of the node executor provider for the node, used to tag metrics, or null if metrics are disabled
+     */
+    private String getNodeExecutorName(final ExecutionContext context, final INodeEntry node) {
+        if (!ExecutionMetrics.isEnabled()) {
+            return null;
+        }
+        final NodeExecutorService service;
+        try {
+            service = framework.getNodeExecutorService();
+        } catch (ExecutionServiceException e) {
+            return null;
+        }
+        return null != service ? service.getProviderNameForNodeAndProject(node, context.getFrameworkProject()) : null;
+    }
+
     public String getName() {
         return SERVICE_NAME;
     }
@@ -47,15 +47,23 @@ public class NodeDispatcherService extends BaseProviderRegistryService<NodeDispa
     }
 
     public  NodeDispatcher getNodeDispatcher(ExecutionContext context) throws ExecutionServiceException {
+        return providerOfType(getNodeDispatcherName(context));
+    }
+
+    /**
+     * @return name of the dispatcher to use for the context
+     * @param context context
+     */
+    public static String getNodeDispatcherName(ExecutionContext context) {
         //this gets called for each node as well if we already have data then the parent orchestrator has fired
         if(context.getOrchestrator() != null && 
                 !context.getDataContext().containsKey(OrchestratorNodeDispatcher.ORCHESTRATOR_DATA)){
-            return providerOfType("orchestrator");
+            return "orchestrator";
         }
         if (context.getThreadCount() > 1 && context.getNodes().getNodeNames().size() > 1) {
-            return providerOfType("parallel");
+            return "parallel";
         }else{
-            return providerOfType("sequential");
+            return "sequential";
         }
     }
 
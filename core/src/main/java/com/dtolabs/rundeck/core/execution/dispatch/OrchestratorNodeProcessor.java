@@ -22,7 +22,9 @@ import java.util.concurrent.*;
 
 import com.dtolabs.rundeck.core.common.INodeEntry;
 import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepResult;
+import com.dtolabs.rundeck.plugins.orchestrator.NodeAvailabilityListener;
 import com.dtolabs.rundeck.plugins.orchestrator.Orchestrator;
+import com.dtolabs.rundeck.plugins.orchestrator.SignalingOrchestrator;
 
 /**
  * OrchestratorNodeProcessor is the class that deals with the concurrent processing of the jobs
@@ -30,12 +32,23 @@ import com.dtolabs.rundeck.plugins.orchestrator.Orchestrator;
  * @author Ashley Taylor
  */
 public class OrchestratorNodeProcessor {
+    /**
+     * Maximum time to wait before asking a non-signaling orchestrator for a node again, when it is not complete
+     * but has no node available and no nodes are running
+     */
+    public static final long DEFAULT_IDLE_POLL_MILLIS = 2000;
+    /**
+     * Marker placed on the result queue to wake the dispatch loop
+     */
+    private static final Result SIGNAL = new Result(null, true, null);
+
     private volatile boolean stop;
     private final int threadCount;
     private final boolean keepgoing;
     private final Orchestrator orchestrator;
     private final Map<INodeEntry, Callable<NodeStepResult>> executions;
     private final ExecutorService threadPool;
+    private long idlePollMillis = DEFAULT_IDLE_POLL_MILLIS;
 
     private Set<INodeEntry> processedNodes;
     private BlockingQueue<Result> resultqueue;
@@ -59,6 +72,23 @@ public class OrchestratorNodeProcessor {
 
         this.processedNodes = Collections.newSetFromMap(new ConcurrentHashMap<INodeEntry, Boolean>());
 
+        if (orchestrator instanceof SignalingOrchestrator) {
+            ((SignalingOrchestrator) orchestrator).setNodeAvailabilityListener(
+                    new NodeAvailabilityListener() {
+                        @Override
+                        public void nodesAvailable() {
+                            signal();
+                        }
+                    }
+            );
+        }
+    }
+
+    /**
+     * Wake the dispatch loop to ask the orchestrator for more nodes
+     */
+    public void signal() {
+        resultqueue.offer(SIGNAL);
     }
 
     public boolean execute() throws ExecutionException{
@@ -69,37 +99,51 @@ public class OrchestratorNodeProcessor {
         try {
             int completedNodes=0;
             while (completedNodes < executions.size() && !stop) {
-                try {
-                    Entry callable = getCallable();
-                    if (null != callable) {
-                        //node from orchestrator available, add it to queue, may block until runnable calls take()
-                        taskqueue.put(callable);
-                    } else if (completedNodes < processedNodes.size()) {
-                        //no nodes available, wait for previous tasks to complete
-                        Result result = resultqueue.take();
-                        if(!result.success){
-                            success=false;
+                //dispatch as many nodes as the orchestrator allows, up to the number of free threads
+                boolean dispatchFailed = false;
+                while (!dispatchFailed && processedNodes.size() - completedNodes < threadCount) {
+                    Entry callable = null;
+                    try {
+                        callable = getCallable();
+                    } catch (DispatcherException e) {
+                        e.printStackTrace();
+                        dispatchFailed = true;
+                    }
+                    if (null == callable) {
+                        break;
+                    }
+                    //a thread is free, so this will not block
+                    taskqueue.put(callable);
+                }
+                int running = processedNodes.size() - completedNodes;
+                if (running < 1 && orchestrator.isComplete()) {
+                    break;
+                }
+
+                //wait for a result or a signal from the orchestrator
+                Result result;
+                if (running > 0) {
+                    result = resultqueue.take();
+                } else {
+                    //no nodes available, orchestrator is not complete, wait for signal or poll again
+                    result = resultqueue.poll(idlePollMillis, TimeUnit.MILLISECONDS);
+                }
+                //process all results that have arrived, before asking for more nodes
+                while (null != result) {
+                    if (result != SIGNAL) {
+                        if (!result.success) {
+                            success = false;
                         }
-                        if(result.node!=null) {
+                        if (result.node != null) {
                             this.orchestrator.returnNode(result.node, result.success, result.result);
                         }
                         completedNodes++;
-                    }else if(!orchestrator.isComplete()) {
-                        //no nodes available, orchestrator is not complete, perform wait
-                        try {
-                            Thread.sleep(2000);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }else{
-                        break;
                     }
-                } catch (DispatcherException e) {
-                    e.printStackTrace();
+                    result = resultqueue.poll();
                 }
             }
         } catch (InterruptedException e) {
-
+            Thread.currentThread().interrupt();
         }finally{
             //attempt to fill the queue to tell waiting threads to stop
             int x=threadCount;
@@ -118,6 +162,21 @@ public class OrchestratorNodeProcessor {
         return !stop && success;
     }
 
+    /**
+     * @return maximum time in milliseconds to wait for a signal when the orchestrator has no nodes available
+     */
+    public long getIdlePollMillis() {
+        return idlePollMillis;
+    }
+
+    /**
+     * @param idlePollMillis maximum time in milliseconds to wait for a signal when the orchestrator has no nodes
+     *                       available
+     */
+    public void setIdlePollMillis(final long idlePollMillis) {
+        this.idlePollMillis = idlePollMillis;
+    }
+
     public class OrchestratorRunnable implements Callable<Boolean> {
         @Override
         public Boolean call() throws Exception {
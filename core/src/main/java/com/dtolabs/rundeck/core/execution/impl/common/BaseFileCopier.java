@@ -28,6 +28,7 @@ import com.dtolabs.rundeck.core.common.IFramework;
 import com.dtolabs.rundeck.core.common.INodeEntry;
 import com.dtolabs.rundeck.core.common.IRundeckProject;
 import com.dtolabs.rundeck.core.dispatcher.DataContextUtils;
+import com.dtolabs.rundeck.core.dispatcher.ScriptTemplate;
 import com.dtolabs.rundeck.core.execution.ExecutionContext;
 import com.dtolabs.rundeck.core.execution.script.ScriptfileUtils;
 import com.dtolabs.rundeck.core.execution.service.FileCopierException;
@@ -55,6 +56,10 @@ public class BaseFileCopier {
      * create unique strings
      */
     private static AtomicLong counter = new AtomicLong(0);
+    /**
+     * rendered script files shared by nodes
+     */
+    private static final SharedScriptTempFiles sharedScriptFiles = new SharedScriptTempFiles();
     /**
      * Copy a script file, script source stream, or script string into a temp file, and replace \
      * embedded tokens with values from the dataContext for the latter two. Marks the file as
@@ -174,6 +179,59 @@ public class BaseFileCopier {
         return tempfile;
     }
 
+    /**
+     * Write a script string into a temp file, replacing embedded tokens with values from the dataContext. If the
+     * script does not reference any node data, the rendered file is shared with other nodes rendering the same
+     * content at the same time. The file must be released by calling {@link #releaseScriptTempFile(java.io.File)}, it
+     * is deleted when no node is using it.
+     *
+     * @param context execution context
+     * @param script  file content string
+     * @param node    destination node entry, to provide node data context
+     *
+     * @return file where the script was stored
+     *
+     * @throws com.dtolabs.rundeck.core.execution.service.FileCopierException
+     *          if an IO problem occurs
+     */
+    public static File writeSharedScriptTempFile(
+            final ExecutionContext context,
+            final String script,
+            final INodeEntry node
+    ) throws FileCopierException
+    {
+        final ScriptTemplate template = ScriptTemplate.forScript(script);
+        if (template.isNodeDependent()) {
+            return writeScriptTempFile(context, null, null, script, node);
+        }
+        try {
+            return sharedScriptFiles.acquire(
+                    context.getFramework(),
+                    template,
+                    DataContextUtils.flattenDataContext(context.getDataContext()),
+                    ScriptfileUtils.lineEndingStyleForNode(node)
+            );
+        } catch (IOException e) {
+            throw new FileCopierException(
+                    "error writing script to tempfile: " + e.getMessage(),
+                    StepFailureReason.IOFailure, e
+            );
+        }
+    }
+
+    /**
+     * Release a file returned by {@link #writeSharedScriptTempFile(com.dtolabs.rundeck.core.execution.ExecutionContext,
+     * String, com.dtolabs.rundeck.core.common.INodeEntry)} or {@link #writeScriptTempFile(com.dtolabs.rundeck.core.execution.ExecutionContext,
+     * java.io.File, java.io.InputStream, String, com.dtolabs.rundeck.core.common.INodeEntry)}
+     *
+     * @param file the file
+     */
+    public static void releaseScriptTempFile(final File file) {
+        if (!sharedScriptFiles.release(file)) {
+            ScriptfileUtils.releaseTempFile(file);
+        }
+    }
+
     /**
      * @return the default file extension for a temp file based on the type of node
      * @param node node
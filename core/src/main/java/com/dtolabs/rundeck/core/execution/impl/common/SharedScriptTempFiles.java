@@ -0,0 +1,156 @@
+package com.dtolabs.rundeck.core.execution.impl.common;
+
+import com.dtolabs.rundeck.core.common.Framework;
+import com.dtolabs.rundeck.core.dispatcher.ScriptTemplate;
+import com.dtolabs.rundeck.core.execution.script.ScriptfileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rendered script temp files shared by all nodes which would render the same content at the same time. Files are
+ * reference counted, and deleted as soon as they are no longer used, because the content can include secure option
+ * values.
+ */
+class SharedScriptTempFiles {
+
+    private static class Key {
+        private final ScriptTemplate template;
+        private final ScriptfileUtils.LineEndingStyle style;
+        private final List<String> values;
+
+        Key(
+                final ScriptTemplate template,
+                final ScriptfileUtils.LineEndingStyle style,
+                final List<String> values
+        )
+        {
+            this.template = template;
+            this.style = style;
+            this.values = values;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return template == key.template && style == key.style && values.equals(key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(template);
+            result = 31 * result + (null != style ? style.hashCode() : 0);
+            result = 31 * result + values.hashCode();
+            return result;
+        }
+    }
+
+    private static class Entry {
+        final Key key;
+        File file;
+        int refs;
+
+        Entry(final Key key) {
+            this.key = key;
+        }
+    }
+
+    private final Map<Key, Entry> entries = new HashMap<>();
+    private final Map<File, Entry> files = new HashMap<>();
+
+    /**
+     * Return the rendered script file, rendering it if it does not exist. The file must be released with {@link
+     * #release(java.io.File)}.
+     *
+     * @param framework framework
+     * @param template  node independent template
+     * @param tokens    token values
+     * @param style     line ending style
+     *
+     * @return rendered file
+     *
+     * @throws IOException if an error occurs writing the file
+     */
+    File acquire(
+            final Framework framework,
+            final ScriptTemplate template,
+            final Map<String, String> tokens,
+            final ScriptfileUtils.LineEndingStyle style
+    ) throws IOException
+    {
+        final Key key = new Key(template, style, template.values(tokens));
+        final Entry entry;
+        synchronized (this) {
+            Entry found = entries.get(key);
+            if (null == found) {
+                found = new Entry(key);
+                entries.put(key, found);
+            }
+            found.refs++;
+            entry = found;
+        }
+        synchronized (entry) {
+            if (null == entry.file) {
+                try {
+                    final File file = ScriptfileUtils.writeScriptTempfile(
+                            framework,
+                            template.renderReader(tokens),
+                            style
+                    );
+                    ScriptfileUtils.setExecutePermissions(file);
+                    synchronized (this) {
+                        entry.file = file;
+                        files.put(file, entry);
+                    }
+                } catch (IOException e) {
+                    synchronized (this) {
+                        if (--entry.refs == 0) {
+                            entries.remove(entry.key);
+                        }
+                    }
+                    throw e;
+                }
+            }
+            return entry.file;
+        }
+    }
+
+    /**
+     * Release a file returned by {@link #acquire(com.dtolabs.rundeck.core.common.Framework,
+     * com.dtolabs.rundeck.core.dispatcher.ScriptTemplate, java.util.Map,
+     * com.dtolabs.rundeck.core.execution.script.ScriptfileUtils.LineEndingStyle)}, the file is deleted when it is no
+     * longer used
+     *
+     * @param file file
+     *
+     * @return true if the file is a shared file
+     */
+    synchronized boolean release(final File file) {
+        final Entry entry = files.get(file);
+        if (null == entry) {
+            return false;
+        }
+        if (--entry.refs <= 0) {
+            entries.remove(entry.key);
+            files.remove(file);
+            ScriptfileUtils.releaseTempFile(file);
+        }
+        return true;
+    }
+
+    /**
+     * @return number of shared files
+     */
+    synchronized int size() {
+        return files.size();
+    }
+}
@@ -29,7 +29,6 @@ import com.dtolabs.rundeck.core.dispatcher.DataContextUtils;
 import com.dtolabs.rundeck.core.execution.ExecutionContext;
 import com.dtolabs.rundeck.core.execution.ExecutionException;
 import com.dtolabs.rundeck.core.execution.ExecutionListener;
-import com.dtolabs.rundeck.core.execution.impl.common.AntSupport;
 import com.dtolabs.rundeck.core.execution.script.ExecTaskParameterGenerator;
 import com.dtolabs.rundeck.core.execution.script.ExecTaskParameterGeneratorImpl;
 import com.dtolabs.rundeck.core.execution.script.ExecTaskParameters;
@@ -38,10 +37,14 @@ import com.dtolabs.rundeck.core.execution.service.NodeExecutorResult;
 import com.dtolabs.rundeck.core.execution.service.NodeExecutorResultImpl;
 import com.dtolabs.rundeck.core.execution.workflow.steps.StepFailureReason;
 import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepFailureReason;
-import org.apache.tools.ant.BuildException;
+import com.dtolabs.rundeck.core.utils.ProcessStreamPump;
 import org.apache.tools.ant.Project;
-import org.apache.tools.ant.taskdefs.ExecTask;
+import org.apache.tools.ant.util.LineOrientedOutputStream;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -62,16 +65,10 @@ public class LocalNodeExecutor implements NodeExecutor {
     public NodeExecutorResult executeCommand(final ExecutionContext context, final String[] command,
                                              final INodeEntry node)  {
         final ExecutionListener listener = context.getExecutionListener();
-        final Project project = new Project();
-        AntSupport.addAntBuildListener(listener, project);
 
-        String propName = System.currentTimeMillis() + ".node." + node.getNodename() + ".LocalNodeExecutor.result";
-
-        boolean success = false;
-        final ExecTask execTask;
-        //perform jsch sssh command
+        final ProcessBuilder processBuilder;
         try {
-            execTask = buildExecTask(project, parameterGenerator.generate(node, true, null, command),
+            processBuilder = buildProcess(parameterGenerator.generate(node, true, null, command),
                 context.getDataContext());
         } catch (ExecutionException e) {
             return NodeExecutorResultImpl.createFailure(StepFailureReason.ConfigurationFailure,
@@ -79,23 +76,29 @@ public class LocalNodeExecutor implements NodeExecutor {
                                                         node);
         }
 
-        execTask.setResultProperty(propName);
-
+        int result = -1;
+        final LineLoggingOutputStream out = new LineLoggingOutputStream(listener, Project.MSG_INFO);
+        final LineLoggingOutputStream err = new LineLoggingOutputStream(listener, Project.MSG_WARN);
+        Process process = null;
         try {
-            execTask.execute();
-            success = true;
-        } catch (BuildException e) {
+            process = processBuilder.start();
+            process.getOutputStream().close();
+            result = ProcessStreamPump.getInstance().pump(process, out, err);
+        } catch (IOException e) {
             context.getExecutionListener().log(0, e.getMessage());
-        }
-
-        int result = success ? 0 : -1;
-        if (project.getProperty(propName) != null) {
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            context.getExecutionListener().log(0, "Interrupted: " + e.getMessage());
+        } finally {
             try {
-                result = Integer.parseInt(project.getProperty(propName));
-            } catch (NumberFormatException e) {
-
+                out.close();
+                err.close();
+            } catch (IOException e) {
+                //ignore
             }
         }
+
         final boolean status = 0==result;
         if(status) {
             return NodeExecutorResultImpl.createSuccess(node);
@@ -105,26 +108,44 @@ public class LocalNodeExecutor implements NodeExecutor {
         }
     }
 
-    private ExecTask buildExecTask(Project project, ExecTaskParameters taskParameters,
-                                   Map<String, Map<String, String>> dataContext) {
-        final ExecTask execTask = new ExecTask();
-        execTask.setTaskType("exec");
-        execTask.setFailonerror(false);
-        execTask.setProject(project);
-
-        execTask.setExecutable(taskParameters.getCommandexecutable());
+    private ProcessBuilder buildProcess(ExecTaskParameters taskParameters,
+                                        Map<String, Map<String, String>> dataContext) {
+        final List<String> commandList = new ArrayList<String>();
+        commandList.add(taskParameters.getCommandexecutable());
         String[] commandargs = taskParameters.getCommandArgs();
         if(null!=commandargs){
-            for (int i = 0; i < commandargs.length; i++) {
-                String commandarg = commandargs[i];
-                execTask.createArg().setValue(commandarg);
+            commandList.addAll(Arrays.asList(commandargs));
+        }
+        final ProcessBuilder processBuilder = new ProcessBuilder(commandList);
+
+        //add environment variables from the data context
+        final Map<String, String> environment = DataContextUtils.generateEnvVarsFromContext(dataContext);
+        if (null != environment) {
+            for (final Map.Entry<String, String> entry : environment.entrySet()) {
+                if (null != entry.getKey() && null != entry.getValue()) {
+                    processBuilder.environment().put(entry.getKey(), entry.getValue());
+                }
             }
         }
+        return processBuilder;
+    }
 
-        //add Env elements to pass environment variables to the exec
+    /**
+     * Logs each line of output to the execution listener at a log level
+     */
+    static class LineLoggingOutputStream extends LineOrientedOutputStream {
+        private final ExecutionListener listener;
+        private final int level;
 
-        DataContextUtils.addEnvVarsFromContextForExec(execTask, dataContext);
-        return execTask;
+        LineLoggingOutputStream(final ExecutionListener listener, final int level) {
+            this.listener = listener;
+            this.level = level;
+        }
+
+        @Override
+        protected void processLine(final String line) throws IOException {
+            listener.log(level, line);
+        }
     }
 
 }
@@ -0,0 +1,118 @@
+package com.dtolabs.rundeck.core.execution.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Latency histograms for the execution pipeline. Each set is tagged by plugin provider name (or step type).
+ * Recording can be disabled with the system property {@value #SYSTEM_PROP_ENABLED}=false.
+ */
+public final class ExecutionMetrics {
+    public static final String SYSTEM_PROP_ENABLED = "rundeck.execution.metrics.enabled";
+    private static volatile boolean enabled = !"false".equals(System.getProperty(SYSTEM_PROP_ENABLED));
+
+    /**
+     * NodeDispatcher.dispatch, tagged by dispatcher
+     */
+    public static final LatencyHistograms NODE_DISPATCH = new LatencyHistograms("nodeDispatch");
+    /**
+     * NodeExecutor.executeCommand, tagged by node executor provider
+     */
+    public static final LatencyHistograms NODE_EXECUTOR = new LatencyHistograms("nodeExecutor");
+    /**
+     * FileCopier calls, tagged by file copier provider
+     */
+    public static final LatencyHistograms FILE_COPIER = new LatencyHistograms("fileCopier");
+    /**
+     * StepExecutor.executeWorkflowStep, tagged by step type
+     */
+    public static final LatencyHistograms STEP_EXECUTOR = new LatencyHistograms("stepExecutor");
+    /**
+     * NodeStepExecutor.executeNodeStep, tagged by node step type
+     */
+    public static final LatencyHistograms NODE_STEP_EXECUTOR = new LatencyHistograms("nodeStepExecutor");
+    /**
+     * SSH session connection, tagged by provider
+     */
+    public static final LatencyHistograms SSH_CONNECT = new LatencyHistograms("sshConnect");
+    /**
+     * StreamingLogWriter.addEvent, tagged by log writer
+     */
+    public static final LatencyHistograms LOG_WRITE = new LatencyHistograms("logWrite");
+    /**
+     * Workflow state updates, tagged by update type
+     */
+    public static final LatencyHistograms STATE_UPDATE = new LatencyHistograms("stateUpdate");
+
+    private static final List<LatencyHistograms> ALL = Collections.unmodifiableList(
+            Arrays.asList(
+                    NODE_DISPATCH,
+                    NODE_EXECUTOR,
+                    FILE_COPIER,
+                    STEP_EXECUTOR,
+                    NODE_STEP_EXECUTOR,
+                    SSH_CONNECT,
+                    LOG_WRITE,
+                    STATE_UPDATE
+            )
+    );
+
+    private static final List<LatencyHistogramListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private ExecutionMetrics() {
+    }
+
+    /**
+     * @return all histogram sets
+     */
+    public static List<LatencyHistograms> getAll() {
+        return ALL;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        ExecutionMetrics.enabled = enabled;
+    }
+
+    /**
+     * Add a listener, and call it with each existing histogram. A histogram created while the listener is added may
+     * be passed to it twice.
+     *
+     * @param listener listener
+     */
+    public static void addListener(final LatencyHistogramListener listener) {
+        LISTENERS.add(listener);
+        for (LatencyHistograms histograms : ALL) {
+            for (LatencyHistogram histogram : histograms.getHistograms()) {
+                listener.histogramCreated(histogram);
+            }
+        }
+    }
+
+    /**
+     * @param listener listener to remove
+     */
+    public static void removeListener(final LatencyHistogramListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    static void histogramCreated(final LatencyHistogram histogram) {
+        for (LatencyHistogramListener listener : LISTENERS) {
+            listener.histogramCreated(histogram);
+        }
+    }
+
+    /**
+     * Remove all recorded histograms
+     */
+    public static void reset() {
+        for (LatencyHistograms histograms : ALL) {
+            histograms.clear();
+        }
+    }
+}
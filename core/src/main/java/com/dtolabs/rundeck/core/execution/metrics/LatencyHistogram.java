@@ -0,0 +1,126 @@
+package com.dtolabs.rundeck.core.execution.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records latencies into power-of-two buckets. Recording does not allocate or lock, so it can be used around calls
+ * on the execution hot path. Percentiles are approximate: the upper bound of the bucket containing the percentile
+ * is returned, limited to the maximum recorded value.
+ */
+public class LatencyHistogram {
+    /**
+     * Number of buckets, bucket {@code i} counts values less than {@code 2^i} nanoseconds and at least
+     * {@code 2^(i-1)}
+     */
+    static final int BUCKETS = 64;
+    private final String name;
+    private final String tag;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram(final String name, final String tag) {
+        this.name = name;
+        this.tag = tag;
+    }
+
+    static int bucketFor(final long nanos) {
+        if (nanos < 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Record a duration
+     *
+     * @param nanos duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = nanos < 0 ? 0 : nanos;
+        buckets.incrementAndGet(bucketFor(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        long max;
+        while (value > (max = maxNanos.get())) {
+            if (maxNanos.compareAndSet(max, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Record the time elapsed since a start time
+     *
+     * @param startNanos start time from {@link System#nanoTime()}
+     */
+    public void recordSince(final long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @param percentile percentile between 0 and 1
+     *
+     * @return approximate value at the percentile in nanoseconds
+     */
+    public long getPercentileNanos(final double percentile) {
+        final long total = count.get();
+        if (total < 1) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                final long upper = i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upper, getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * @return name of the measured operation
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return provider or type of the measured operation
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getMeanNanos() {
+        final long total = count.get();
+        return total > 0 ? totalNanos.get() / total : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+               "name='" + name + '\'' +
+               ", tag='" + tag + '\'' +
+               ", count=" + getCount() +
+               ", meanNanos=" + getMeanNanos() +
+               ", maxNanos=" + getMaxNanos() +
+               '}';
+    }
+}
@@ -0,0 +1,13 @@
+package com.dtolabs.rundeck.core.execution.metrics;
+
+/**
+ * Receives the {@link LatencyHistogram}s of {@link ExecutionMetrics} as they are created
+ */
+public interface LatencyHistogramListener {
+    /**
+     * Called once for each new histogram, on the thread which recorded the first value for its tag
+     *
+     * @param histogram the histogram
+     */
+    void histogramCreated(LatencyHistogram histogram);
+}
@@ -0,0 +1,73 @@
+package com.dtolabs.rundeck.core.execution.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A named set of {@link LatencyHistogram}s, one for each provider or type tag. Lookups of existing histograms do not
+ * allocate. Listeners added to {@link ExecutionMetrics} are notified when a histogram is created.
+ */
+public class LatencyHistograms {
+    private final String name;
+    private final ConcurrentMap<String, LatencyHistogram> byTag = new ConcurrentHashMap<>();
+
+    public LatencyHistograms(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param tag provider or type name
+     *
+     * @return histogram for the tag
+     */
+    public LatencyHistogram forTag(final String tag) {
+        final String key = null != tag ? tag : "";
+        final LatencyHistogram histogram = byTag.get(key);
+        if (null != histogram) {
+            return histogram;
+        }
+        final LatencyHistogram created = new LatencyHistogram(name, key);
+        final LatencyHistogram existing = byTag.putIfAbsent(key, created);
+        if (null != existing) {
+            return existing;
+        }
+        ExecutionMetrics.histogramCreated(created);
+        return created;
+    }
+
+    /**
+     * Record the time elapsed since a start time, if metrics are enabled
+     *
+     * @param tag        provider or type name
+     * @param startNanos start time from {@link System#nanoTime()}
+     */
+    public void record(final String tag, final long startNanos) {
+        if (ExecutionMetrics.isEnabled()) {
+            forTag(tag).recordSince(startNanos);
+        }
+    }
+
+    /**
+     * @return name of the measured operation
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the histograms, one per tag
+     */
+    public List<LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableList(new ArrayList<>(byTag.values()));
+    }
+
+    /**
+     * Remove all histograms
+     */
+    public void clear() {
+        byTag.clear();
+    }
+}
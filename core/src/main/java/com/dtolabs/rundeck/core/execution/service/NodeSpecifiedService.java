@@ -46,14 +46,24 @@ public abstract class NodeSpecifiedService<T> extends PluggableProviderRegistryS
      */
     public T getProviderForNodeAndProject(final INodeEntry node, final String project) throws
         ExecutionServiceException {
+        //try to acquire supplier from registry
+        return providerOfType(getProviderNameForNodeAndProject(node, project));
+    }
+
+    /**
+     * @return name of the service provider to use for the node, from the node's attribute if it exists, otherwise
+     * the default provider name
+     * @param node node
+     * @param project project
+     */
+    public String getProviderNameForNodeAndProject(final INodeEntry node, final String project) {
         String copiername = getDefaultProviderNameForNodeAndProject(node, project);
         //look up node's attribute if it exists
         if (null != node.getAttributes() && null != node.getAttributes().get(getServiceProviderNodeAttributeForNode(
             node))) {
             copiername = node.getAttributes().get(getServiceProviderNodeAttributeForNode(node));
         }
-        //try to acquire supplier from registry
-        return providerOfType(copiername);
+        return copiername;
     }
 
     /**
@@ -65,6 +65,15 @@ public class ResponderTask implements Callable<ResponderTask.ResponderResult> {
     private String failureReason;
     private ResultHandler resultHandler;
     private PartialLineBuffer partialLineBuffer;
+    private InputStream inputStream;
+    /**
+     * Interval to check for available input if the input stream does not signal new data
+     */
+    static final long INPUT_POLL_INTERVAL = 10;
+    /**
+     * Maximum time to wait for notification from a piped input stream, in case the writer does not flush
+     */
+    static final long PIPE_MAX_WAIT = 500;
 
     /**
      * Create a ResponderTask with a responder, io streams, and result handler which can be null.
@@ -75,17 +84,26 @@ public class ResponderTask implements Callable<ResponderTask.ResponderResult> {
      */
     public ResponderTask(final Responder responder, final InputStream inputStream, final OutputStream outputStream,
                          final ResultHandler resultHandler) {
-        this(responder, new InputStreamReader(inputStream), outputStream, resultHandler, new PartialLineBuffer());
+        this(
+                responder,
+                inputStream,
+                new InputStreamReader(inputStream),
+                outputStream,
+                resultHandler,
+                new PartialLineBuffer()
+        );
     }
 
     /**
      * Internal constructor
      */
     private ResponderTask(final Responder responder,
+                          final InputStream inputStream,
                           final InputStreamReader reader,
                           final OutputStream outputStream,
                           final ResultHandler resultHandler, final PartialLineBuffer buffer) {
         this.responder = responder;
+        this.inputStream = inputStream;
         this.outputStream = outputStream;
         this.reader = reader;
         this.resultHandler = resultHandler;
@@ -119,7 +137,7 @@ public class ResponderTask implements Callable<ResponderTask.ResponderResult> {
                     detected = detect(responder.getInputSuccessPattern(),
                                       responder.getInputFailurePattern(),
                                       responder.getInputMaxTimeout(),
-                                      responder.getInputMaxLines(), reader, partialLineBuffer);
+                                      responder.getInputMaxLines(), inputStream, reader, partialLineBuffer);
                     logger.debug("Success detected? " + detected);
                     if (Thread.currentThread().isInterrupted()) {
                         logger.debug("interrupted");
@@ -165,7 +183,7 @@ public class ResponderTask implements Callable<ResponderTask.ResponderResult> {
                     succeeded = detect(responder.getResponseSuccessPattern(),
                                        responder.getResponseFailurePattern(),
                                        responder.getResponseMaxTimeout(),
-                                       responder.getResponseMaxLines(), reader, partialLineBuffer);
+                                       responder.getResponseMaxLines(), inputStream, reader, partialLineBuffer);
                     if (Thread.currentThread().isInterrupted()) {
                         logger.debug("interrupted");
                         return;
@@ -215,7 +233,7 @@ public class ResponderTask implements Callable<ResponderTask.ResponderResult> {
      * another responder.
      */
     private ResponderTask chainResponder(final Responder responder, final ResultHandler resultHandler) {
-        return new ResponderTask(responder, reader, outputStream, resultHandler, partialLineBuffer);
+        return new ResponderTask(responder, inputStream, reader, outputStream, resultHandler, partialLineBuffer);
     }
 
     /**
@@ -259,6 +277,17 @@ public class ResponderTask implements Callable<ResponderTask.ResponderResult> {
     static boolean detect(final String detectPattern, final String failurePattern, final long timeout,
                           final int maxLines, final InputStreamReader reader,
                           final PartialLineBuffer buffer) throws IOException, ThreshholdException {
+        return detect(detectPattern, failurePattern, timeout, maxLines, null, reader, buffer);
+    }
+
+    /**
+     * Look for the detect pattern in the input, if seen return true.  If the failure pattern is detected, return false.
+     * If a max timeout or max number of lines to read is exceeded, throw threshhold error. If the input stream is a
+     * {@link PipedInputStream}, wait to be notified of new data instead of polling the reader.
+     */
+    static boolean detect(final String detectPattern, final String failurePattern, final long timeout,
+                          final int maxLines, final InputStream input, final InputStreamReader reader,
+                          final PartialLineBuffer buffer) throws IOException, ThreshholdException {
         if (null == detectPattern && null == failurePattern) {
             throw new IllegalArgumentException("detectPattern or failurePattern required");
         }
@@ -315,7 +344,7 @@ public class ResponderTask implements Callable<ResponderTask.ResponderResult> {
 
             if (!reader.ready()) {
                 try {
-                    Thread.sleep(500);
+                    awaitInput(input, start + timeout - System.currentTimeMillis());
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     return false;
@@ -346,6 +375,30 @@ public class ResponderTask implements Callable<ResponderTask.ResponderResult> {
         }
     }
 
+    /**
+     * Wait until input may be available, or the timeout has elapsed. A writer to a {@link PipedInputStream} notifies
+     * waiting readers when it flushes, so the wait ends as soon as new data arrives.
+     *
+     * @param input   input stream, or null
+     * @param timeout maximum time to wait in milliseconds
+     */
+    private static void awaitInput(final InputStream input, final long timeout)
+            throws InterruptedException, IOException
+    {
+        if (timeout <= 0) {
+            return;
+        }
+        if (input instanceof PipedInputStream) {
+            synchronized (input) {
+                if (input.available() < 1) {
+                    input.wait(Math.min(timeout, PIPE_MAX_WAIT));
+                }
+            }
+        } else {
+            Thread.sleep(Math.min(timeout, INPUT_POLL_INTERVAL));
+        }
+    }
+
     /**
      * Threshold type
      */
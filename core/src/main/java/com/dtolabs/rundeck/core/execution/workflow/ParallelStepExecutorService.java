@@ -0,0 +1,257 @@
+package com.dtolabs.rundeck.core.execution.workflow;
+
+import com.dtolabs.rundeck.core.common.Framework;
+import com.dtolabs.rundeck.core.common.FrameworkSupportService;
+import com.dtolabs.rundeck.core.utils.IPropertyLookup;
+import org.apache.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs parallel workflow steps within a server-wide limit on the number of step threads.
+ * <p>
+ * The thread calling {@link #executeSteps(List, int, boolean)} always runs steps itself, and starts additional
+ * threads only while permits are available from the shared limit, so nested parallel workflows always make progress
+ * and a burst of parallel executions cannot create an unbounded number of threads. Step threads are started by the
+ * calling thread rather than taken from a reusable pool, so that thread-inherited state such as the log output
+ * streams is bound to the right execution.
+ * </p>
+ */
+public class ParallelStepExecutorService implements FrameworkSupportService {
+    private static final Logger logger = Logger.getLogger(ParallelStepExecutorService.class);
+    public static final String SERVICE_NAME = "ParallelStepExecutor";
+    /**
+     * Framework property: maximum number of threads running parallel workflow steps, in addition to the execution
+     * threads
+     */
+    public static final String FWK_PROP_MAX_THREADS = "framework.workflow.parallel.maxThreads";
+    /**
+     * Framework property: maximum number of steps of a single parallel workflow run at once, 0 for no limit
+     */
+    public static final String FWK_PROP_MAX_CONCURRENCY = "framework.workflow.parallel.maxConcurrency";
+    public static final int DEFAULT_MAX_THREADS = 100;
+
+    private final int maxThreads;
+    private final int maxConcurrency;
+    private final Semaphore threadPermits;
+    private final AtomicInteger activeSteps = new AtomicInteger();
+    private final AtomicInteger queuedSteps = new AtomicInteger();
+    private final AtomicLong completedSteps = new AtomicLong();
+    private final AtomicLong cancelledSteps = new AtomicLong();
+    private final AtomicLong callerRunSteps = new AtomicLong();
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    /**
+     * @param maxThreads     maximum number of step threads across all executions
+     * @param maxConcurrency maximum number of steps of one workflow to run at once, 0 for no limit
+     */
+    public ParallelStepExecutorService(final int maxThreads, final int maxConcurrency) {
+        this.maxThreads = Math.max(0, maxThreads);
+        this.maxConcurrency = Math.max(0, maxConcurrency);
+        this.threadPermits = new Semaphore(this.maxThreads);
+    }
+
+    public String getName() {
+        return SERVICE_NAME;
+    }
+
+    public static ParallelStepExecutorService getInstanceForFramework(final Framework framework) {
+        synchronized (framework) {
+            if (null == framework.getService(SERVICE_NAME)) {
+                final IPropertyLookup lookup = framework.getPropertyLookup();
+                final ParallelStepExecutorService service = new ParallelStepExecutorService(
+                        intProperty(lookup, FWK_PROP_MAX_THREADS, DEFAULT_MAX_THREADS),
+                        intProperty(lookup, FWK_PROP_MAX_CONCURRENCY, 0)
+                );
+                framework.setService(SERVICE_NAME, service);
+                return service;
+            }
+            return (ParallelStepExecutorService) framework.getService(SERVICE_NAME);
+        }
+    }
+
+    private static int intProperty(final IPropertyLookup lookup, final String prop, final int defval) {
+        if (null != lookup && lookup.hasProperty(prop)) {
+            try {
+                return Integer.parseInt(lookup.getProperty(prop));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value for " + prop + ": " + lookup.getProperty(prop));
+            }
+        }
+        return defval;
+    }
+
+    /**
+     * Run the steps, and wait for all started steps to complete.  Each step returns true if successful.
+     *
+     * @param steps         steps to run
+     * @param limit         maximum number of the steps to run at once, 0 to use the configured limit
+     * @param stopOnFailure if true, steps not yet started are skipped after a step fails
+     *
+     * @return number of steps which were not started
+     *
+     * @throws InterruptedException if interrupted while waiting for steps to complete
+     */
+    public int executeSteps(final List<? extends Callable<Boolean>> steps, final int limit, final boolean stopOnFailure)
+            throws InterruptedException
+    {
+        int concurrency = steps.size();
+        if (limit > 0) {
+            concurrency = Math.min(concurrency, limit);
+        }
+        if (maxConcurrency > 0) {
+            concurrency = Math.min(concurrency, maxConcurrency);
+        }
+        final StepBatch batch = new StepBatch(steps, stopOnFailure);
+        queuedSteps.addAndGet(steps.size());
+        final String name = Thread.currentThread().getName();
+        for (int i = 1; i < concurrency && threadPermits.tryAcquire(); i++) {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        batch.runSteps(false);
+                    } finally {
+                        threadPermits.release();
+                        batch.workerFinished();
+                    }
+                }
+            }, name + "-ParallelStep-" + threadCounter.incrementAndGet());
+            batch.workerStarted();
+            try {
+                thread.start();
+            } catch (Error e) {
+                threadPermits.release();
+                batch.workerFinished();
+                throw e;
+            }
+        }
+        try {
+            batch.runSteps(true);
+            batch.awaitWorkers();
+        } finally {
+            int skipped = batch.notStarted();
+            queuedSteps.addAndGet(-skipped);
+            cancelledSteps.addAndGet(skipped);
+        }
+        return batch.notStarted();
+    }
+
+    /**
+     * @return the number of steps currently running
+     */
+    public int getActiveSteps() {
+        return activeSteps.get();
+    }
+
+    /**
+     * @return the number of steps waiting to run
+     */
+    public int getQueuedSteps() {
+        return queuedSteps.get();
+    }
+
+    /**
+     * @return the total number of steps which have run
+     */
+    public long getCompletedSteps() {
+        return completedSteps.get();
+    }
+
+    /**
+     * @return the total number of steps skipped after a failure
+     */
+    public long getCancelledSteps() {
+        return cancelledSteps.get();
+    }
+
+    /**
+     * @return the total number of steps run by the execution thread rather than an additional step thread
+     */
+    public long getCallerRunSteps() {
+        return callerRunSteps.get();
+    }
+
+    /**
+     * @return the number of step threads currently running
+     */
+    public int getActiveThreads() {
+        return maxThreads - threadPermits.availablePermits();
+    }
+
+    /**
+     * @return the maximum number of step threads
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * @return the maximum number of steps of one workflow run at once, 0 for no limit
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private class StepBatch {
+        private final List<? extends Callable<Boolean>> steps;
+        private final boolean stopOnFailure;
+        private final AtomicInteger next = new AtomicInteger();
+        private volatile boolean cancelled;
+        private int workers;
+
+        StepBatch(final List<? extends Callable<Boolean>> steps, final boolean stopOnFailure) {
+            this.steps = steps;
+            this.stopOnFailure = stopOnFailure;
+        }
+
+        void runSteps(final boolean caller) {
+            while (!cancelled) {
+                int index = next.getAndIncrement();
+                if (index >= steps.size()) {
+                    break;
+                }
+                queuedSteps.decrementAndGet();
+                activeSteps.incrementAndGet();
+                if (caller) {
+                    callerRunSteps.incrementAndGet();
+                }
+                boolean success = false;
+                try {
+                    success = Boolean.TRUE.equals(steps.get(index).call());
+                } catch (Exception e) {
+                    logger.debug("Parallel step failed: " + e.getMessage(), e);
+                } finally {
+                    activeSteps.decrementAndGet();
+                    completedSteps.incrementAndGet();
+                }
+                if (!success && stopOnFailure) {
+                    cancelled = true;
+                }
+            }
+        }
+
+        int notStarted() {
+            return Math.max(0, steps.size() - next.get());
+        }
+
+        synchronized void workerStarted() {
+            workers++;
+        }
+
+        synchronized void workerFinished() {
+            workers--;
+            notifyAll();
+        }
+
+        synchronized void awaitWorkers() throws InterruptedException {
+            while (workers > 0) {
+                wait();
+            }
+        }
+    }
+}
@@ -39,9 +39,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -50,8 +49,10 @@ import java.util.concurrent.TimeUnit;
  *
  * Failure of 'any' sub-steps results in failure of the workflow regardless of keep-going
  *
+ * If keep-going is false, steps which have not yet started are skipped once a step fails. The number of steps run
+ * at once is limited by the {@link ParallelStepExecutorService}.
+ *
  * TODO: parallel execution can be extended into and_parallel, or_parallel, xor_parallel, .. based on how failures are handled
- * TODO: Discuss and implement 'aborting' ongoing parallel steps if any of parallel steps fail beforehand and keep_going == false
  *
  * <br>
  * The WorkflowExecutionResult will contain as the resultSet a map of Node name to list of step execution results on that node
@@ -128,21 +129,21 @@ public class ParallelWorkflowStrategy extends BaseWorkflowStrategy {
 
         final WorkflowExecutionListener wlistener = getWorkflowListener(executionContext);
 
-        // Prepare runnables for each step
+        // Prepare callables for each step
         int numCommands = iWorkflowCmdItems.size();
-        ExecutorService es = Executors.newFixedThreadPool(numCommands);
         List<Map<Integer, StepExecutionResult>> stepFailedMaps = new ArrayList<Map<Integer, StepExecutionResult>>(numCommands);
-        final Map<Integer, StepExecutionResult> stepExecutionResults =  new HashMap<Integer, StepExecutionResult>();
-        List<Runnable> parallelSteps = new ArrayList<Runnable>();
+        final Map<Integer, StepExecutionResult> stepExecutionResults =
+                new ConcurrentHashMap<Integer, StepExecutionResult>();
+        List<Callable<Boolean>> parallelSteps = new ArrayList<Callable<Boolean>>();
         for (int i = 0; i < iWorkflowCmdItems.size(); i++) {
             final Map<Integer, StepExecutionResult> stepFailedMap = new HashMap<Integer, StepExecutionResult>();
             final StepExecutionItem cmd = iWorkflowCmdItems.get(i);
             final int stepNum = executionContext.getStepNumber() + i;
             stepFailedMaps.add(stepFailedMap);
 
-            Runnable cmdExecution = new Runnable() {
+            Callable<Boolean> cmdExecution = new Callable<Boolean>() {
                 @Override
-                public void run() {
+                public Boolean call() {
                     try {
                         StepExecutionResult result = executeWorkflowStep(
                                 wlistener,
@@ -151,9 +152,12 @@ public class ParallelWorkflowStrategy extends BaseWorkflowStrategy {
                                 stepFailedMap,
                                 stepNum);
                         stepExecutionResults.put(stepNum, result);
-                        failedMap.putAll(stepFailedMap);
+                        synchronized (failedMap) {
+                            failedMap.putAll(stepFailedMap);
+                        }
+                        return result.isSuccess();
                     } catch (Exception ex) {
-                        String message = String.format("Exception while executing step [%i]: \t[%s]",
+                        String message = String.format("Exception while executing step [%d]: \t[%s]",
                                 stepNum,
                                 ex.getMessage());
                         executionContext.getExecutionListener().log(Constants.ERR_LEVEL, message);
@@ -164,20 +168,18 @@ public class ParallelWorkflowStrategy extends BaseWorkflowStrategy {
             parallelSteps.add(cmdExecution);
         }
 
-        // Execute them
-        for (Runnable step : parallelSteps) {
-            es.execute(step);
-        }
-
-        // Wait for them to complete.
-        // TODO: Write runnable consumer that polls workflow results and fails upon first failure if keepGoing == false
+        // Execute them within the server-wide parallel step limit, and wait for them to complete.
         // TODO: handle condition where step uses FlowControl to call Halt()
-        es.shutdown();
         try {
-            if (!es.awaitTermination(Long.MAX_VALUE, TimeUnit.MINUTES)) {
-              es.shutdownNow();
+            int skipped = getParallelStepExecutorService().executeSteps(parallelSteps, 0, !keepgoing);
+            if (skipped > 0) {
+                executionContext.getExecutionListener().log(
+                        Constants.WARN_LEVEL,
+                        "A step failed, " + skipped + " remaining step(s) not started"
+                );
             }
         }catch (InterruptedException ioex) {
+            Thread.currentThread().interrupt();
             executionContext.getExecutionListener().log(Constants.WARN_LEVEL, "Workflow execution interrupted");
         }
         // Poll results, fail if there is any result is missing or not successful
@@ -191,6 +193,13 @@ public class ParallelWorkflowStrategy extends BaseWorkflowStrategy {
         return workflowResult(true, null, ControlBehavior.Continue);
     }
 
+    /**
+     * @return the service used to run steps in parallel
+     */
+    protected ParallelStepExecutorService getParallelStepExecutorService() {
+        return ParallelStepExecutorService.getInstanceForFramework(framework);
+    }
+
     /**
      * Executes a step
      *
@@ -25,11 +25,11 @@ package com.dtolabs.rundeck.core.execution.workflow.steps.node.impl;
 
 import com.dtolabs.rundeck.core.common.Framework;
 import com.dtolabs.rundeck.core.common.INodeEntry;
+import com.dtolabs.rundeck.core.common.IRundeckProject;
 import com.dtolabs.rundeck.core.execution.ExecArgList;
 import com.dtolabs.rundeck.core.execution.ExecutionContext;
 import com.dtolabs.rundeck.core.execution.ExecutionService;
 import com.dtolabs.rundeck.core.execution.impl.common.BaseFileCopier;
-import com.dtolabs.rundeck.core.execution.script.ScriptfileUtils;
 import com.dtolabs.rundeck.core.execution.service.FileCopierException;
 import com.dtolabs.rundeck.core.execution.service.NodeExecutorResult;
 import com.dtolabs.rundeck.core.execution.workflow.StepExecutionContext;
@@ -52,6 +52,13 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class ScriptFileNodeStepExecutor implements NodeStepExecutor {
     public static final String SERVICE_IMPLEMENTATION_NAME = "script";
     public static final String SCRIPT_FILE_REMOVE_TMP = "script-step-remove-tmp-file";
+    /**
+     * Node attribute, or project/framework property with "project."/"framework." prefix, to run chmod, the script and
+     * the removal of the file in a single command on unix nodes
+     */
+    public static final String SCRIPT_FILE_COMBINED_EXEC = "script-step-combined-exec";
+    public static final String PROJECT_SCRIPT_FILE_COMBINED_EXEC = "project." + SCRIPT_FILE_COMBINED_EXEC;
+    public static final String FRAMEWORK_SCRIPT_FILE_COMBINED_EXEC = "framework." + SCRIPT_FILE_COMBINED_EXEC;
     private Framework framework;
 
     public ScriptFileNodeStepExecutor(Framework framework) {
@@ -145,7 +152,7 @@ public class ScriptFileNodeStepExecutor implements NodeStepExecutor {
                 );
             } finally {
                 //clean up
-                ScriptfileUtils.releaseTempFile(temp);
+                BaseFileCopier.releaseScriptTempFile(temp);
             }
         } catch (FileCopierException e) {
             throw new NodeStepException(
@@ -170,7 +177,8 @@ public class ScriptFileNodeStepExecutor implements NodeStepExecutor {
     /**
      * Copy the script input to a temp file and expand embedded tokens,
      * if it is a string or inputstream.  If it is a local file,
-     * use the original without modification
+     * use the original without modification. The file should be released with
+     * {@link BaseFileCopier#releaseScriptTempFile(java.io.File)}
      *
 
      * @param context context
@@ -192,10 +200,8 @@ public class ScriptFileNodeStepExecutor implements NodeStepExecutor {
         File temp;
         if (null != scriptString) {
             //expand tokens in the script
-            temp = BaseFileCopier.writeScriptTempFile(
+            temp = BaseFileCopier.writeSharedScriptTempFile(
                     context,
-                    null,
-                    null,
                     scriptString,
                     node
             );
@@ -284,6 +290,13 @@ public class ScriptFileNodeStepExecutor implements NodeStepExecutor {
                                                      final String scriptInterpreter,
                                                      final boolean interpreterargsquoted,
                                                      final boolean removeFile) throws NodeStepException {
+        if (!"windows".equalsIgnoreCase(node.getOsFamily()) && isCombinedExec(context, framework, node)) {
+            return framework.getExecutionService().executeCommand(
+                    context,
+                    combinedScriptArgList(filepath, args, scriptInterpreter, interpreterargsquoted, removeFile),
+                    node
+            );
+        }
         /**
          * TODO: Avoid this horrific hack. Discover how to get SCP task to preserve the execute bit.
          */
@@ -322,6 +335,57 @@ public class ScriptFileNodeStepExecutor implements NodeStepExecutor {
         return nodeExecutorResult;
     }
 
+    /**
+     * @return true if the combined script invocation is enabled for the node, by node attribute, project property or
+     * framework property
+     */
+    static boolean isCombinedExec(final ExecutionContext context, final Framework framework, final INodeEntry node) {
+        if (null != node.getAttributes() && null != node.getAttributes().get(SCRIPT_FILE_COMBINED_EXEC)) {
+            return Boolean.parseBoolean(node.getAttributes().get(SCRIPT_FILE_COMBINED_EXEC));
+        }
+        if (null != context.getFrameworkProject()) {
+            final IRundeckProject project = framework.getFrameworkProjectMgr().getFrameworkProject(
+                    context.getFrameworkProject()
+            );
+            if (null != project && project.hasProperty(PROJECT_SCRIPT_FILE_COMBINED_EXEC)) {
+                return Boolean.parseBoolean(project.getProperty(PROJECT_SCRIPT_FILE_COMBINED_EXEC));
+            }
+        }
+        return framework.hasProperty(FRAMEWORK_SCRIPT_FILE_COMBINED_EXEC)
+               && Boolean.parseBoolean(framework.getProperty(FRAMEWORK_SCRIPT_FILE_COMBINED_EXEC));
+    }
+
+    /**
+     * Return ExecArgList for a single unix shell command which sets the execute bit on the file, executes the script,
+     * and optionally removes the file, exiting with the result of the script
+     *
+     * @param filepath              the remote path for the script
+     * @param args                  arguments to script
+     * @param scriptInterpreter     interpreter used to invoke the script
+     * @param interpreterargsquoted if true, pass the file and script args as a single argument to the interpreter
+     * @param removeFile            if true, remove the file after execution
+     *
+     * @return arg list
+     */
+    public static ExecArgList combinedScriptArgList(
+            final String filepath,
+            final String[] args,
+            final String scriptInterpreter,
+            final boolean interpreterargsquoted,
+            final boolean removeFile
+    )
+    {
+        ExecArgList.Builder builder = ExecArgList.builder().args(new String[]{"sh", "-c"}, false);
+        ExecArgList.Builder sub = builder.subList(true);
+        sub.args(new String[]{"chmod", "+x", filepath, "||", "exit", "$?", ";"}, false);
+        sub.args(ScriptExecUtil.createScriptArgList(filepath, null, args, scriptInterpreter, interpreterargsquoted));
+        if (removeFile) {
+            sub.args(new String[]{";", "rc=$?", ";", "rm", "-f", filepath, ";", "exit", "$rc"}, false);
+        }
+        sub.parent();
+        return builder.build();
+    }
+
     /**
      * Return ExecArgList for removing a file for the given OS family
      * @param filepath path
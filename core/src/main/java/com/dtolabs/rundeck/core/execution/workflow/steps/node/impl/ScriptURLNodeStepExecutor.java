@@ -54,10 +54,17 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 
 /**
- * ScriptURLNodeStepExecutor is a NodeStepExecutor for executing a script retrieved from a URL.
+ * ScriptURLNodeStepExecutor is a NodeStepExecutor for executing a script retrieved from a URL. Downloads are shared by
+ * the nodes of an execution: a URL is requested once, concurrent requests for the same URL wait for the download in
+ * progress, and a completed download is reused for the same execution within the reuse window, set with the framework
+ * property {@value #FWK_PROP_DOWNLOAD_REUSE_WINDOW} (milliseconds).
  *
  * @author Greg Schueler <a href="mailto:greg@dtosolutions.com">greg@dtosolutions.com</a>
  */
@@ -67,8 +74,11 @@ public class ScriptURLNodeStepExecutor implements NodeStepExecutor {
 
     public static final int DEFAULT_TIMEOUT = 30;
     public static final boolean USE_CACHE = true;
+    public static final String FWK_PROP_DOWNLOAD_REUSE_WINDOW = "framework.script-url.download.reuse.window";
+    public static final long DEFAULT_DOWNLOAD_REUSE_WINDOW = 60000;
 
     private File cacheDir;
+    private final ConcurrentMap<String, Download> downloads = new ConcurrentHashMap<>();
 
     private Framework framework;
     URLFileUpdater.httpClientInteraction interaction;
@@ -90,6 +100,32 @@ public class ScriptURLNodeStepExecutor implements NodeStepExecutor {
         }
         return Integer.toString(url.hashCode());
     }
+    /**
+     * A URL download shared by the node threads requesting it
+     */
+    static class Download {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile UpdateUtils.UpdateException failure;
+        private volatile long completed;
+
+        void complete(final UpdateUtils.UpdateException failure) {
+            this.failure = failure;
+            this.completed = System.currentTimeMillis();
+            done.countDown();
+        }
+
+        void await() throws UpdateUtils.UpdateException, InterruptedException {
+            done.await();
+            if (null != failure) {
+                throw failure;
+            }
+        }
+
+        boolean isExpired(final long now, final long window) {
+            return done.getCount() == 0 && now - completed > window;
+        }
+    }
+
     static enum Reason implements FailureReason{
         /**
          * Failed to download required URL
@@ -131,11 +167,15 @@ public class ScriptURLNodeStepExecutor implements NodeStepExecutor {
         if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
             throw new RuntimeException("Unable to create cachedir: " + cacheDir.getAbsolutePath());
         }
-        //create node context for node and substitute data references in command
-        final Map<String, Map<String, String>> nodeDataContext =
-            DataContextUtils.addContext("node", DataContextUtils.nodeData(node), context.getDataContext());
-
-        final String finalUrl = expandUrlString(script.getURLString(), nodeDataContext);
+        final String finalUrl;
+        if (isNodeSpecific(script.getURLString())) {
+            //create node context for node and substitute data references in command
+            final Map<String, Map<String, String>> nodeDataContext =
+                DataContextUtils.addContext("node", DataContextUtils.nodeData(node), context.getDataContext());
+            finalUrl = expandUrlString(script.getURLString(), nodeDataContext);
+        } else {
+            finalUrl = expandUrlString(script.getURLString(), context.getDataContext());
+        }
         final URL url;
         try {
             url = new URL(finalUrl);
@@ -163,14 +203,40 @@ public class ScriptURLNodeStepExecutor implements NodeStepExecutor {
                 .setUseCaching(true);
         }
         final URLFileUpdater updater = urlFileUpdaterBuilder.createURLFileUpdater();
-        try {
-            if (null != interaction) {
+        if (null != interaction) {
             //allow mock
-                updater.setInteraction(interaction);
+            updater.setInteraction(interaction);
+        }
+        final String downloadKey = downloadKey(context, url);
+        expireDownloads();
+        final Download download = new Download();
+        final Download inProgress = downloads.putIfAbsent(downloadKey, download);
+        try {
+            if (null == inProgress) {
+                try {
+                    UpdateUtils.update(updater, destinationTempFile);
+                    download.complete(null);
+                } catch (UpdateUtils.UpdateException e) {
+                    downloads.remove(downloadKey, download);
+                    download.complete(e);
+                    throw e;
+                } catch (RuntimeException e) {
+                    downloads.remove(downloadKey, download);
+                    download.complete(new UpdateUtils.UpdateException(e));
+                    throw e;
+                }
+                logger.debug("Updated nodes resources file: " + destinationTempFile);
+            } else {
+                inProgress.await();
+                logger.debug("Reused download for nodes resources file: " + destinationTempFile);
             }
-            UpdateUtils.update(updater, destinationTempFile);
-
-            logger.debug("Updated nodes resources file: " + destinationTempFile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NodeStepException(
+                "Interrupted waiting for URL Script: " + cleanUrl,
+                e,
+                StepFailureReason.Interrupted,
+                node.getNodename());
         } catch (UpdateUtils.UpdateException e) {
             if (!destinationTempFile.isFile() || destinationTempFile.length() < 1) {
                 throw new NodeStepException(
@@ -186,6 +252,47 @@ public class ScriptURLNodeStepExecutor implements NodeStepExecutor {
         return destinationTempFile;
     }
 
+    /**
+     * @return true if the URL string contains node data references
+     */
+    static boolean isNodeSpecific(final String urlString) {
+        return urlString.contains("${node.");
+    }
+
+    /**
+     * @return key for sharing the download of the URL by the nodes of the execution
+     */
+    private static String downloadKey(final StepExecutionContext context, final URL url) {
+        final String execid = null != context.getDataContext() && null != context.getDataContext().get("job")
+                              ? context.getDataContext().get("job").get("execid")
+                              : null;
+        return (null != execid ? execid : "") + "/" + url.toExternalForm();
+    }
+
+    /**
+     * Remove completed downloads older than the reuse window
+     */
+    private void expireDownloads() {
+        final long window = getDownloadReuseWindow();
+        final long now = System.currentTimeMillis();
+        for (final Iterator<Download> iterator = downloads.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().isExpired(now, window)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private long getDownloadReuseWindow() {
+        if (framework.hasProperty(FWK_PROP_DOWNLOAD_REUSE_WINDOW)) {
+            try {
+                return Long.parseLong(framework.getProperty(FWK_PROP_DOWNLOAD_REUSE_WINDOW));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value for " + FWK_PROP_DOWNLOAD_REUSE_WINDOW + ": " + e.getMessage());
+            }
+        }
+        return DEFAULT_DOWNLOAD_REUSE_WINDOW;
+    }
+
     public static final Converter<String, String> urlPathEncoder = new Converter<String, String>() {
         public String convert(String s) {
             try {
@@ -0,0 +1,47 @@
+package com.dtolabs.rundeck.core.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+
+/**
+ * Allows storing a file incrementally while the execution is running. Parts of the file which have been written are
+ * stored in order with {@link #storePart(String, int, long, java.io.InputStream, long)}, and after the execution
+ * completes any remaining content is stored as the last part, followed by {@link #commitParts(String, int, long,
+ * java.util.Date)}. Parts are never modified after they are stored, and the file is their concatenation.
+ */
+public interface ExecutionCheckpointFileStorage extends ExecutionFileStorage {
+    /**
+     * Store a part of a file
+     *
+     * @param filetype filetype or extension of the file
+     * @param index    index of the part, starting at 0
+     * @param offset   byte offset of the part within the file
+     * @param stream   the part content
+     * @param length   the part length
+     *
+     * @return true if successful
+     *
+     * @throws java.io.IOException if an IO error occurs
+     * @throws com.dtolabs.rundeck.core.logging.ExecutionFileStorageException if other errors occur
+     */
+    boolean storePart(String filetype, int index, long offset, InputStream stream, long length)
+            throws IOException, ExecutionFileStorageException;
+
+    /**
+     * Complete the file from the stored parts. The file is then expected to be available to {@link
+     * #retrieve(String, java.io.OutputStream)}.
+     *
+     * @param filetype     filetype or extension of the file
+     * @param count        number of parts stored
+     * @param length       the total file length
+     * @param lastModified the file modification time
+     *
+     * @return true if successful
+     *
+     * @throws java.io.IOException if an IO error occurs
+     * @throws com.dtolabs.rundeck.core.logging.ExecutionFileStorageException if other errors occur
+     */
+    boolean commitParts(String filetype, int count, long length, Date lastModified)
+            throws IOException, ExecutionFileStorageException;
+}
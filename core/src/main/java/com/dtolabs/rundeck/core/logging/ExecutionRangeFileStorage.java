@@ -0,0 +1,38 @@
+package com.dtolabs.rundeck.core.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Allows reading byte ranges of a stored file, so that parts of a log file can be read without retrieving the entire
+ * file first.
+ */
+public interface ExecutionRangeFileStorage extends ExecutionFileStorage {
+    /**
+     * Return the length of a stored file
+     *
+     * @param filetype filetype or extension of the file
+     *
+     * @return the file length
+     *
+     * @throws java.io.IOException if an IO error occurs
+     * @throws com.dtolabs.rundeck.core.logging.ExecutionFileStorageException if other errors occur
+     */
+    long getLength(String filetype) throws IOException, ExecutionFileStorageException;
+
+    /**
+     * Write a range of a file of the given file type to the given stream
+     *
+     * @param filetype filetype or extension of the file
+     * @param offset   byte offset of the range within the file
+     * @param length   length of the range
+     * @param stream   the output stream
+     *
+     * @return true if successful
+     *
+     * @throws java.io.IOException if an IO error occurs
+     * @throws com.dtolabs.rundeck.core.logging.ExecutionFileStorageException if other errors occur
+     */
+    boolean retrieveRange(String filetype, long offset, long length, OutputStream stream)
+            throws IOException, ExecutionFileStorageException;
+}
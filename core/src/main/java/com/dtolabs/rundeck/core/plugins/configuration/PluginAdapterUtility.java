@@ -25,6 +25,9 @@
 package com.dtolabs.rundeck.core.plugins.configuration;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -39,11 +42,87 @@ import com.dtolabs.rundeck.plugins.util.PropertyBuilder;
 
 /**
  * Utility for creating {@link Description}s from Plugin class annotations and setting property values for annotated
- * property fields.
+ * property fields. The annotated fields of each class are introspected once, and the resulting properties and field
+ * setters are cached with the class.
  *
  * @author Greg Schueler <a href="mailto:greg@dtosolutions.com">greg@dtosolutions.com</a>
  */
 public class PluginAdapterUtility {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<ClassProperties> CLASS_PROPERTIES = new ClassValue<ClassProperties>() {
+        @Override
+        protected ClassProperties computeValue(final Class<?> type) {
+            return new ClassProperties(type);
+        }
+    };
+
+    /**
+     * Sets the value of an annotated property field
+     */
+    private static final class FieldBinder {
+        private final Field field;
+        private final Property.Type fieldType;
+        private final MethodHandle setter;
+
+        private FieldBinder(final Field field) {
+            this.field = field;
+            this.fieldType = propertyTypeFromFieldType(field.getType());
+            MethodHandle handle = null;
+            try {
+                if (!field.isAccessible()) {
+                    field.setAccessible(true);
+                }
+                handle = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException | SecurityException e) {
+                //final field or inaccessible, use reflection when setting
+            }
+            this.setter = handle;
+        }
+
+        private void set(final Object object, final Object value) throws IllegalAccessException {
+            if (null == setter) {
+                setFieldValue(field, value, object);
+                return;
+            }
+            try {
+                setter.invokeExact(object, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new RuntimeException("Unable to configure plugin: " + throwable.getMessage(), throwable);
+            }
+        }
+    }
+
+    /**
+     * Properties and field binders for the {@link PluginProperty} annotated fields of a class
+     */
+    private static final class ClassProperties {
+        private final List<Property> properties;
+        private final Map<String, FieldBinder> binders;
+
+        private ClassProperties(final Class<?> aClass) {
+            final ArrayList<Property> list = new ArrayList<>();
+            final HashMap<String, FieldBinder> map = new HashMap<>();
+            for (final Field field : collectClassFields(aClass)) {
+                final PluginProperty annotation = field.getAnnotation(PluginProperty.class);
+                if (null == annotation) {
+                    continue;
+                }
+                final String name = "".equals(annotation.name()) ? field.getName() : annotation.name();
+                if (!map.containsKey(name)) {
+                    map.put(name, new FieldBinder(field));
+                }
+                final Property pbuild = propertyFromField(field, annotation);
+                if (null != pbuild) {
+                    list.add(pbuild);
+                }
+            }
+            this.properties = Collections.unmodifiableList(list);
+            this.binders = map;
+        }
+    }
 
     /**
      * @param object potential plugin object annotated with {@link com.dtolabs.rundeck.core.plugins.Plugin}
@@ -137,46 +216,22 @@ public class PluginAdapterUtility {
      * @param builder builder
      */
     public static void buildFieldProperties(final Class<?> aClass, final DescriptionBuilder builder) {
-        for (final Field field : collectClassFields(aClass)) {
-            final PluginProperty annotation = field.getAnnotation(PluginProperty.class);
-            if (null == annotation) {
-                continue;
-            }
-            final Property pbuild = propertyFromField(field, annotation);
-            if (null == pbuild) {
-                continue;
-            }
-            builder.property(pbuild);
-        }
-    }
-
-    private static Field fieldForPropertyName(final String name, final Object object) {
-        for (final Field field : collectFields(object)) {
-            final PluginProperty annotation = field.getAnnotation(PluginProperty.class);
-            if (null == annotation) {
-                continue;
-            }
-            if (!"".equals(annotation.name()) && name.equals(annotation.name())) {
-                return field;
-            } else if ("".equals(annotation.name()) && name.equals(field.getName())) {
-                return field;
-            }
+        for (final Property property : CLASS_PROPERTIES.get(aClass).properties) {
+            builder.property(property);
         }
-        return null;
     }
 
-    private static Collection<Field> collectFields(final Object object){
-        return collectClassFields(object.getClass());
+    private static FieldBinder binderForPropertyName(final String name, final Object object) {
+        return CLASS_PROPERTIES.get(object.getClass()).binders.get(name);
     }
 
     private static Collection<Field> collectClassFields(final Class<?> aClass) {
         ArrayList<Field> fields = new ArrayList<Field>();
         Class<?> clazz = aClass;
-        do{
-          fields.addAll(Arrays.asList(clazz.getDeclaredFields()));
-          clazz = clazz.getSuperclass();
+        while (null != clazz && clazz != Object.class) {
+            fields.addAll(Arrays.asList(clazz.getDeclaredFields()));
+            clazz = clazz.getSuperclass();
         }
-        while(clazz != Object.class);
         return fields;
     }
 
@@ -449,12 +504,13 @@ public class PluginAdapterUtility {
      * Set instance field value for the given property, returns true if the field value was set, false otherwise
      */
     private static boolean setValueForProperty(final Property property, final Object value, final Object object) {
-        final Field field = fieldForPropertyName(property.getName(), object);
-        if (null == field) {
+        final FieldBinder binder = binderForPropertyName(property.getName(), object);
+        if (null == binder) {
             return false;
         }
+        final Field field = binder.field;
         final Property.Type type = property.getType();
-        final Property.Type ftype = propertyTypeFromFieldType(field.getType());
+        final Property.Type ftype = binder.fieldType;
         if (ftype != property.getType()
                 && !(ftype == Property.Type.String
                 && (property.getType() == Property.Type.Select
@@ -524,7 +580,7 @@ public class PluginAdapterUtility {
             return false;
         }
         try {
-            setFieldValue(field, resolvedValue, object);
+            binder.set(object, resolvedValue);
         } catch (IllegalAccessException e) {
             throw new RuntimeException("Unable to configure plugin: " + e.getMessage(), e);
         }
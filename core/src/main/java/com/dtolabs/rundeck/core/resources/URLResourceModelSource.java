@@ -58,6 +58,20 @@ public class URLResourceModelSource implements ResourceModelSource, Configurable
     private File destinationCacheData;
     private String tempFileName;
     URLFileUpdater.httpClientInteraction interaction;
+    /**
+     * Nodes parsed from the last retrieved content
+     */
+    private volatile ParsedContent lastParsed;
+
+    private static final class ParsedContent {
+        private final INodeSet nodes;
+        private final String contentHash;
+
+        private ParsedContent(final INodeSet nodes, final String contentHash) {
+            this.nodes = nodes;
+            this.contentHash = contentHash;
+        }
+    }
 
     public URLResourceModelSource(final Framework framework) {
         this.framework = framework;
@@ -313,8 +327,16 @@ public class URLResourceModelSource implements ResourceModelSource, Configurable
             logger.debug("Determined URL content format from MIME type: " + mimetype);
         }
         if (destinationTempFile.isFile() && destinationTempFile.length() > 0) {
+            final String contentHash = updater.getContentHash();
+            final ParsedContent parsed = lastParsed;
+            if (null != parsed && null != contentHash && contentHash.equals(parsed.contentHash)) {
+                logger.debug("URL content unchanged, not parsing: " + configuration.nodesUrl);
+                return parsed.nodes;
+            }
             try {
-                return parser.parseDocument(destinationTempFile);
+                final INodeSet nodes = parser.parseDocument(destinationTempFile);
+                lastParsed = new ParsedContent(nodes, contentHash);
+                return nodes;
             } catch (ResourceFormatParserException e) {
                 throw new ResourceModelSourceException(
                     "Error requesting URL Resource Model Source: " + configuration.nodesUrl
@@ -25,6 +25,7 @@ package com.dtolabs.rundeck.core.tasks.net;
 
 import com.dtolabs.rundeck.core.common.INodeEntry;
 import com.dtolabs.rundeck.core.dispatcher.DataContextUtils;
+import com.dtolabs.rundeck.core.execution.metrics.ExecutionMetrics;
 import com.dtolabs.rundeck.core.utils.SSHAgentProcess;
 import com.dtolabs.rundeck.plugins.PluginLogger;
 import com.dtolabs.utils.Streams;
@@ -62,6 +63,7 @@ import java.util.Properties;
 public class SSHTaskBuilder {
     public static final String SSH_CONFIG_SERVER_ALIVE_COUNT_MAX = "ServerAliveCountMax";
     public static final String SSH_CONFIG_SERVER_ALIVE_INTERVAL = "ServerAliveInterval";
+    static final String SSH_CONNECT_TAG = "jsch";
 
     private static Map<String, String> DEFAULT_SSH_CONFIG = Collections.unmodifiableMap(new HashMap<String, String>() {{
         //use keyboard-interactive last
@@ -168,7 +170,12 @@ public class SSHTaskBuilder {
         }
         SSHTaskBuilder.configureSession(base.getSshConfig(), session);
 
-        session.connect();
+        final long start = System.nanoTime();
+        try {
+            session.connect();
+        } finally {
+            ExecutionMetrics.SSH_CONNECT.record(SSH_CONNECT_TAG, start);
+        }
         return session;
     }
 
@@ -0,0 +1,293 @@
+package com.dtolabs.rundeck.core.utils;
+
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the stdout and stderr of many child processes using a small set of shared pump threads, instead of two copy
+ * threads per process.
+ * <p>
+ * Pump threads only read data which is already available, so a single thread can service many processes. The data is
+ * handed to the thread which called {@link #pump(Process, OutputStream, OutputStream)}, which writes it to the output
+ * streams. Output streams bound to the calling thread (such as the execution log streams) therefore receive the data
+ * on the correct thread. Each process has a bounded buffer: if the caller does not write the data out fast enough,
+ * reading from that process stops, and the process blocks when its pipe is full.
+ * </p>
+ */
+public class ProcessStreamPump {
+    static final Logger logger = Logger.getLogger(ProcessStreamPump.class);
+    /**
+     * System property defining the number of shared pump threads
+     */
+    public static final String SYSTEM_PROP_THREADS = "rundeck.process.pump.threads";
+    public static final int DEFAULT_THREADS = 2;
+    public static final int CHUNK_SIZE = 8192;
+    public static final int DEFAULT_MAX_BUFFERED_CHUNKS = 32;
+    static final long MIN_IDLE_SLEEP = 1;
+    static final long MAX_IDLE_SLEEP = 50;
+    private static ProcessStreamPump instance;
+
+    private final PumpThread[] threads;
+    private final int maxBufferedChunks;
+    private int nextThread = 0;
+
+    /**
+     * @param threadCount       number of pump threads
+     * @param maxBufferedChunks maximum chunks of output buffered per process
+     */
+    public ProcessStreamPump(final int threadCount, final int maxBufferedChunks) {
+        this.threads = new PumpThread[threadCount > 0 ? threadCount : 1];
+        this.maxBufferedChunks = maxBufferedChunks > 0 ? maxBufferedChunks : 1;
+    }
+
+    /**
+     * @return shared instance
+     */
+    public static synchronized ProcessStreamPump getInstance() {
+        if (null == instance) {
+            instance = new ProcessStreamPump(
+                    Integer.getInteger(SYSTEM_PROP_THREADS, DEFAULT_THREADS),
+                    DEFAULT_MAX_BUFFERED_CHUNKS
+            );
+        }
+        return instance;
+    }
+
+    /**
+     * Copy the stdout and stderr of the process to the output streams, and wait for the process to finish. The
+     * process input stream is not modified.
+     *
+     * @param process      process
+     * @param outputStream destination for stdout
+     * @param errorStream  destination for stderr
+     *
+     * @return exit value of the process
+     *
+     * @throws IOException          if reading the process output or writing to the streams fails
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int pump(final Process process, final OutputStream outputStream, final OutputStream errorStream)
+            throws IOException, InterruptedException
+    {
+        final PumpedProcess pumped = new PumpedProcess(process, maxBufferedChunks);
+        final PumpThread thread = assignThread();
+        thread.add(pumped);
+        try {
+            while (true) {
+                final Chunk chunk = pumped.queue.poll(MAX_IDLE_SLEEP, TimeUnit.MILLISECONDS);
+                if (null != chunk) {
+                    (chunk.error ? errorStream : outputStream).write(chunk.data, 0, chunk.length);
+                } else if (pumped.done && pumped.queue.isEmpty()) {
+                    break;
+                }
+            }
+        } finally {
+            pumped.cancelled = true;
+        }
+        final int result = process.waitFor();
+        outputStream.flush();
+        errorStream.flush();
+        process.getInputStream().close();
+        process.getErrorStream().close();
+        if (null != pumped.exception) {
+            throw pumped.exception;
+        }
+        return result;
+    }
+
+    /**
+     * @return number of processes currently being pumped
+     */
+    public int getActiveProcesses() {
+        int count = 0;
+        synchronized (threads) {
+            for (PumpThread thread : threads) {
+                if (null != thread) {
+                    count += thread.processes.size();
+                }
+            }
+        }
+        return count;
+    }
+
+    private PumpThread assignThread() {
+        synchronized (threads) {
+            int index = nextThread;
+            nextThread = (nextThread + 1) % threads.length;
+            if (null == threads[index]) {
+                threads[index] = new PumpThread("ProcessStreamPump-" + (index + 1));
+                threads[index].start();
+            }
+            return threads[index];
+        }
+    }
+
+    private static final class Chunk {
+        final boolean error;
+        final byte[] data;
+        final int length;
+
+        Chunk(final boolean error, final byte[] data, final int length) {
+            this.error = error;
+            this.data = data;
+            this.length = length;
+        }
+    }
+
+    /**
+     * A stream of a process being read
+     */
+    private static final class PumpedStream {
+        final InputStream input;
+        final boolean error;
+        boolean finished;
+
+        PumpedStream(final InputStream input, final boolean error) {
+            this.input = input;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Pump state for a process
+     */
+    private static final class PumpedProcess {
+        final Process process;
+        final PumpedStream[] streams;
+        final BlockingQueue<Chunk> queue;
+        volatile boolean done;
+        volatile boolean cancelled;
+        volatile IOException exception;
+
+        PumpedProcess(final Process process, final int maxBufferedChunks) {
+            this.process = process;
+            this.streams = new PumpedStream[]{
+                    new PumpedStream(process.getInputStream(), false),
+                    new PumpedStream(process.getErrorStream(), true)
+            };
+            this.queue = new ArrayBlockingQueue<>(maxBufferedChunks);
+        }
+
+        /**
+         * Read available data from the process streams
+         *
+         * @return true if any data was read
+         */
+        boolean pumpAvailable() {
+            if (cancelled) {
+                done = true;
+                return false;
+            }
+            boolean read = false;
+            boolean exited = false;
+            boolean checkedExit = false;
+            boolean finished = true;
+            for (PumpedStream stream : streams) {
+                if (stream.finished) {
+                    continue;
+                }
+                try {
+                    //read all available data, unless the buffer is full
+                    int available;
+                    while (queue.remainingCapacity() > 0 && (available = stream.input.available()) > 0) {
+                        final byte[] data = new byte[Math.min(available, CHUNK_SIZE)];
+                        final int count = stream.input.read(data);
+                        if (count < 0) {
+                            stream.finished = true;
+                            break;
+                        }
+                        queue.offer(new Chunk(stream.error, data, count));
+                        read = true;
+                    }
+                    if (!stream.finished && queue.remainingCapacity() > 0 && stream.input.available() < 1) {
+                        if (!checkedExit) {
+                            exited = hasExited(process);
+                            checkedExit = true;
+                        }
+                        stream.finished = exited && stream.input.available() < 1;
+                    }
+                } catch (IOException e) {
+                    if (null == exception) {
+                        exception = e;
+                    }
+                    stream.finished = true;
+                }
+                finished &= stream.finished;
+            }
+            if (finished) {
+                done = true;
+            }
+            return read;
+        }
+    }
+
+    private static boolean hasExited(final Process process) {
+        try {
+            process.exitValue();
+            return true;
+        } catch (IllegalThreadStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Polls the available data of a set of processes
+     */
+    private static final class PumpThread extends Thread {
+        final List<PumpedProcess> processes = new CopyOnWriteArrayList<>();
+
+        PumpThread(final String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        void add(final PumpedProcess process) {
+            processes.add(process);
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void run() {
+            long idleSleep = MIN_IDLE_SLEEP;
+            while (true) {
+                try {
+                    synchronized (this) {
+                        while (processes.isEmpty()) {
+                            wait();
+                        }
+                    }
+                    boolean read = false;
+                    for (PumpedProcess process : processes) {
+                        try {
+                            read |= process.pumpAvailable();
+                        } catch (RuntimeException e) {
+                            logger.error("Error reading process output: " + e.getMessage(), e);
+                            process.done = true;
+                        }
+                        if (process.done) {
+                            processes.remove(process);
+                        }
+                    }
+                    if (read) {
+                        idleSleep = MIN_IDLE_SLEEP;
+                    } else {
+                        Thread.sleep(idleSleep);
+                        idleSleep = Math.min(idleSleep * 2, MAX_IDLE_SLEEP);
+                    }
+                } catch (InterruptedException e) {
+                    logger.debug("pump thread interrupted, continuing");
+                }
+            }
+        }
+    }
+}
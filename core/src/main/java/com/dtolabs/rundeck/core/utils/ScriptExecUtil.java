@@ -28,7 +28,6 @@ import com.dtolabs.rundeck.core.cli.CLIUtils;
 import com.dtolabs.rundeck.core.common.INodeEntry;
 import com.dtolabs.rundeck.core.dispatcher.DataContextUtils;
 import com.dtolabs.rundeck.core.execution.ExecArgList;
-import com.dtolabs.utils.Streams;
 import org.apache.commons.collections.Predicate;
 import org.apache.commons.collections.PredicateUtils;
 import org.apache.tools.ant.taskdefs.Execute;
@@ -213,25 +212,7 @@ public class ScriptExecUtil {
         final Runtime runtime = Runtime.getRuntime();
         final Process exec = runtime.exec(command, envarr, workingdir);
         exec.getOutputStream().close();
-        final Streams.StreamCopyThread errthread = Streams.copyStreamThread(exec.getErrorStream(), errorStream);
-        final Streams.StreamCopyThread outthread = Streams.copyStreamThread(exec.getInputStream(), outputStream);
-        errthread.start();
-        outthread.start();
-        final int result = exec.waitFor();
-
-        outputStream.flush();
-        errorStream.flush();
-        errthread.join();
-        outthread.join();
-        exec.getInputStream().close();
-        exec.getErrorStream().close();
-        if (null != outthread.getException()) {
-            throw outthread.getException();
-        }
-        if (null != errthread.getException()) {
-            throw errthread.getException();
-        }
-        return result;
+        return ProcessStreamPump.getInstance().pump(exec, outputStream, errorStream);
     }
 
     /**
@@ -0,0 +1,13 @@
+package com.dtolabs.rundeck.plugins.orchestrator;
+
+/**
+ * Callback used by a {@link SignalingOrchestrator} to tell the node processor that new nodes may be available from
+ * {@link Orchestrator#nextNode()}
+ */
+public interface NodeAvailabilityListener {
+    /**
+     * Indicates that {@link Orchestrator#nextNode()} may now return a node, or that {@link
+     * Orchestrator#isComplete()} may have changed. Safe to call from any thread.
+     */
+    public void nodesAvailable();
+}
@@ -0,0 +1,15 @@
+package com.dtolabs.rundeck.plugins.orchestrator;
+
+/**
+ * An Orchestrator which can make nodes available independently of {@link #returnNode(com.dtolabs.rundeck.core.common.INodeEntry,
+ * boolean, com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepResult)}, and signals the node processor
+ * when that happens instead of relying on it to poll.
+ */
+public interface SignalingOrchestrator extends Orchestrator {
+    /**
+     * Set the listener to notify when nodes become available
+     *
+     * @param listener listener
+     */
+    public void setNodeAvailabilityListener(NodeAvailabilityListener listener);
+}
@@ -0,0 +1,18 @@
+package com.dtolabs.rundeck.plugins.scm;
+
+import java.io.IOException;
+
+/**
+ * A JobSerializer which can report a hash of the serialized content, allowing callers to detect unchanged content
+ * without comparing the full serialized form
+ */
+public interface HashedJobSerializer extends JobSerializer {
+
+    /**
+     * @param format format name: 'xml' or 'yaml'
+     *
+     * @return hex encoded SHA-1 hash of the content that {@link #serialize(String, java.io.OutputStream)} writes for
+     * the format
+     */
+    String getContentHash(String format) throws IOException;
+}
@@ -0,0 +1,88 @@
+package com.dtolabs.rundeck.core.common
+
+import com.dtolabs.rundeck.core.utils.PropertyLookupException
+import spock.lang.Specification
+
+class FrameworkProjectConfigSpec extends Specification {
+    File baseDir
+    File projectsDir
+    File propFile
+
+    def setup() {
+        baseDir = File.createTempFile("FrameworkProjectConfigSpec", "-test")
+        baseDir.delete()
+        projectsDir = new File(baseDir, 'projects')
+        new File(baseDir, 'etc').mkdirs()
+        new File(baseDir, 'etc/framework.properties').text = 'framework.server.name=test\nfwk.prop=fwkvalue\n'
+        new File(baseDir, 'etc/project.properties').text = 'project.prop=value\n'
+        propFile = new File(projectsDir, 'test1/etc/project.properties')
+        propFile.parentFile.mkdirs()
+        propFile.text = 'a.prop=value1\n'
+    }
+
+    def cleanup() {
+        baseDir.deleteDir()
+    }
+
+    private FrameworkProjectConfig create() {
+        FrameworkProjectConfig.create('test1', propFile, new FilesystemFramework(baseDir, projectsDir))
+    }
+
+    def "read properties"() {
+        given:
+        def config = create()
+
+        expect:
+        config.hasProperty('a.prop')
+        config.getProperty('a.prop') == 'value1'
+        config.getProperty('fwk.prop') == 'fwkvalue'
+        config.getProperty('project.name') == 'test1'
+        !config.hasProperty('b.prop')
+        config.properties['a.prop'] == 'value1'
+        config.projectProperties['a.prop'] == 'value1'
+        config.projectProperties['fwk.prop'] == null
+    }
+
+    def "missing property throws exception"() {
+        given:
+        def config = create()
+
+        when:
+        config.getProperty('b.prop')
+
+        then:
+        thrown(PropertyLookupException)
+    }
+
+    def "external file change is not read until check interval has passed"() {
+        given:
+        def config = create()
+        config.reloadCheckInterval = 60000L
+
+        when:
+        propFile.text = 'a.prop=value2\n'
+        propFile.setLastModified(System.currentTimeMillis() + 5000)
+
+        then:
+        config.getProperty('a.prop') == 'value1'
+
+        when:
+        config.reloadCheckInterval = 0L
+
+        then:
+        config.getProperty('a.prop') == 'value2'
+    }
+
+    def "modification via config is visible immediately"() {
+        given:
+        def config = create()
+        config.reloadCheckInterval = 60000L
+
+        when:
+        config.mergeProjectProperties([('b.prop'): 'bvalue'] as Properties, null)
+
+        then:
+        config.getProperty('a.prop') == 'value1'
+        config.getProperty('b.prop') == 'bvalue'
+    }
+}
@@ -0,0 +1,119 @@
+package com.dtolabs.rundeck.core.common
+
+import com.dtolabs.rundeck.core.resources.ResourceModelSource
+import com.dtolabs.rundeck.core.resources.ResourceModelSourceException
+import com.dtolabs.rundeck.core.resources.ResourceModelSourceService
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class ProjectNodeSupportSpec extends Specification {
+
+    static class TestSourceService extends ResourceModelSourceService {
+        Map<String, ResourceModelSource> sources
+
+        TestSourceService(Map<String, ResourceModelSource> sources) {
+            super(null)
+            this.sources = sources
+        }
+
+        @Override
+        ResourceModelSource getSourceForConfiguration(final String type, final Properties configuration) {
+            sources[configuration.getProperty('directory')]
+        }
+    }
+
+    private IRundeckProjectConfig projectConfig(Map props) {
+        def all = [
+                'resources.source.1.type': 'directory',
+                'resources.source.1.config.directory': '/tmp/a',
+                'resources.source.2.type': 'directory',
+                'resources.source.2.config.directory': '/tmp/b',
+        ] + props
+        Stub(IRundeckProjectConfig) {
+            getName() >> 'test1'
+            getProperties() >> all
+            hasProperty(_) >> { String key -> all.containsKey(key) }
+            getProperty(_) >> { String key -> all[key] }
+            getConfigLastModifiedTime() >> new Date(1000)
+        }
+    }
+
+    private static INodeSet nodeSet(String... names) {
+        def set = new NodeSetImpl()
+        names.each { set.putNode(new NodeEntryImpl(it)) }
+        set
+    }
+
+    private ProjectNodeSupport support(Map props, ResourceModelSource source1, ResourceModelSource source2) {
+        def service = new TestSourceService([('/tmp/a'): source1, ('/tmp/b'): source2])
+        new ProjectNodeSupport(projectConfig(props), null, service)
+    }
+
+    def "parallel loading merges nodes from all sources"() {
+        given:
+        def latch = new CountDownLatch(2)
+        def source1 = { latch.countDown(); latch.await(5, TimeUnit.SECONDS); nodeSet('a') } as ResourceModelSource
+        def source2 = { latch.countDown(); latch.await(5, TimeUnit.SECONDS); nodeSet('b') } as ResourceModelSource
+        def nodeSupport = support(['project.resources.parallel': 'true'], source1, source2)
+
+        when:
+        def result = nodeSupport.getNodeSet()
+
+        then:
+        result.nodeNames as Set == ['a', 'b'] as Set
+        latch.count == 0
+        nodeSupport.resourceModelSourceStats['1.source'].count == 1
+        nodeSupport.resourceModelSourceStats['2.source'].count == 1
+    }
+
+    def "parallel loading uses last good result on timeout"() {
+        given:
+        def block = new CountDownLatch(1)
+        def calls = 0
+        def source1 = { nodeSet('a') } as ResourceModelSource
+        def source2 = {
+            calls++
+            if (calls > 1) {
+                block.await(5, TimeUnit.SECONDS)
+            }
+            nodeSet('b')
+        } as ResourceModelSource
+        def nodeSupport = support(
+                ['project.resources.parallel': 'true', 'project.resources.parallel.timeout': '200'],
+                source1,
+                source2
+        )
+
+        when:
+        def result1 = nodeSupport.getNodeSet()
+        def result2 = nodeSupport.getNodeSet()
+        block.countDown()
+
+        then:
+        result1.nodeNames as Set == ['a', 'b'] as Set
+        result2.nodeNames as Set == ['a', 'b'] as Set
+        nodeSupport.resourceModelSourceStats['2.source'].timeouts == 1
+        nodeSupport.resourceModelSourceExceptionsMap.isEmpty()
+    }
+
+    def "source failure is recorded"() {
+        given:
+        def source1 = { throw new ResourceModelSourceException('failed') } as ResourceModelSource
+        def source2 = { nodeSet('b') } as ResourceModelSource
+        def nodeSupport = support(['project.resources.parallel': parallel], source1, source2)
+
+        when:
+        def result = nodeSupport.getNodeSet()
+
+        then:
+        result.nodeNames as Set == ['b'] as Set
+        nodeSupport.resourceModelSourceExceptionsMap['1.source'] != null
+        nodeSupport.resourceModelSourceStats['1.source'].failures == 1
+        nodeSupport.resourceModelSourceStats['2.source'].failures == 0
+
+        where:
+        parallel << ['true', 'false']
+    }
+}
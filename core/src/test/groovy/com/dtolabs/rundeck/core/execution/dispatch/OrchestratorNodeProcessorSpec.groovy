@@ -4,7 +4,9 @@ import com.dtolabs.rundeck.core.common.INodeEntry
 import com.dtolabs.rundeck.core.common.NodeEntryImpl
 import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepResult
 import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepResultImpl
+import com.dtolabs.rundeck.plugins.orchestrator.NodeAvailabilityListener
 import com.dtolabs.rundeck.plugins.orchestrator.Orchestrator
+import com.dtolabs.rundeck.plugins.orchestrator.SignalingOrchestrator
 import spock.lang.Specification
 
 import java.util.concurrent.Callable
@@ -419,4 +421,120 @@ class OrchestratorNodeProcessorSpec extends Specification {
         returned.containsAll(batch1)
         returned.containsAll(batch2)
     }
+
+    /**
+     * orchestrator allows one node at a time, next node is dispatched as soon as the previous is returned
+     */
+    def "rate limited orchestrator does not wait between batches"() {
+        given:
+        def nodes = (1..5).collect { new NodeEntryImpl("node${it}") }
+        def sent = new ArrayList(nodes)
+        def returned = []
+        def running = 0
+
+        def orchestrator = new Orchestrator() {
+            @Override
+            synchronized INodeEntry nextNode() {
+                if (running > 0 || sent.size() < 1) {
+                    return null
+                }
+                running++
+                return sent.remove(0)
+            }
+
+            @Override
+            synchronized void returnNode(final INodeEntry node, boolean success, NodeStepResult result) {
+                running--
+                returned << node
+            }
+
+            @Override
+            synchronized boolean isComplete() {
+                return sent.size() == 0
+            }
+        }
+        Map<INodeEntry, Callable<NodeStepResult>> executions = new HashMap<>()
+        nodes.each { node ->
+            executions.put(node, { -> new NodeStepResultImpl(node) })
+        }
+
+        def onp = new OrchestratorNodeProcessor(3, false, orchestrator, executions)
+        onp.idlePollMillis = 60000
+
+        when:
+        def start = System.currentTimeMillis()
+        def result = onp.execute()
+        def duration = System.currentTimeMillis() - start
+
+        then:
+        result
+        returned == nodes
+        duration < 10000
+    }
+
+    /**
+     * signaling orchestrator wakes the processor when nodes become available
+     */
+    def "signaling orchestrator"() {
+        given:
+        def node1 = new NodeEntryImpl("node1")
+        def node2 = new NodeEntryImpl("node2")
+        def batch = [node1]
+        def returned = []
+        def complete = new CountDownLatch(1)
+        def node1return = new CountDownLatch(1)
+        NodeAvailabilityListener listener = null
+
+        def orchestrator = new SignalingOrchestrator() {
+            @Override
+            void setNodeAvailabilityListener(final NodeAvailabilityListener l) {
+                listener = l
+            }
+
+            @Override
+            synchronized INodeEntry nextNode() {
+                return batch.size() > 0 ? batch.remove(0) : null
+            }
+
+            @Override
+            synchronized void returnNode(final INodeEntry node, boolean success, NodeStepResult result) {
+                returned << node
+                node1return.countDown()
+            }
+
+            @Override
+            synchronized boolean isComplete() {
+                return returned.size() == 2
+            }
+        }
+        Map<INodeEntry, Callable<NodeStepResult>> executions = new HashMap<>()
+        [node1, node2].each { node ->
+            executions.put(node, { -> new NodeStepResultImpl(node) })
+        }
+
+        def onp = new OrchestratorNodeProcessor(1, false, orchestrator, executions)
+        onp.idlePollMillis = 60000
+
+        expect:
+        listener != null
+        def result = false
+
+        new Thread({
+            result = onp.execute()
+            complete.countDown()
+        }
+        ).start()
+
+        node1return.await(10, TimeUnit.SECONDS)
+        returned == [node1]
+
+        synchronized (orchestrator) {
+            batch << node2
+        }
+        listener.nodesAvailable()
+
+        complete.await(10, TimeUnit.SECONDS)
+        result
+        returned == [node1, node2]
+    }
 }
@@ -0,0 +1,111 @@
+package com.dtolabs.rundeck.core.execution.workflow
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ParallelStepExecutorServiceSpec extends Specification {
+
+    def "steps run concurrently"() {
+        given:
+        def service = new ParallelStepExecutorService(10, 0)
+        def ready = new CountDownLatch(3)
+        def steps = (1..3).collect {
+            ({ ->
+                ready.countDown()
+                ready.await(10, TimeUnit.SECONDS)
+            } as Callable<Boolean>)
+        }
+
+        when:
+        def skipped = service.executeSteps(steps, 0, false)
+
+        then:
+        skipped == 0
+        ready.count == 0
+        service.completedSteps == 3
+        service.activeSteps == 0
+        service.queuedSteps == 0
+        service.activeThreads == 0
+    }
+
+    def "no threads available runs steps on calling thread"() {
+        given:
+        def service = new ParallelStepExecutorService(0, 0)
+        def threads = []
+        def steps = (1..3).collect {
+            ({ ->
+                threads << Thread.currentThread()
+                true
+            } as Callable<Boolean>)
+        }
+
+        when:
+        def skipped = service.executeSteps(steps, 0, false)
+
+        then:
+        skipped == 0
+        threads == [Thread.currentThread()] * 3
+        service.callerRunSteps == 3
+    }
+
+    def "concurrency limit"() {
+        given:
+        def service = new ParallelStepExecutorService(10, maxConcurrency)
+        def running = new AtomicInteger()
+        def peak = new AtomicInteger()
+        def steps = (1..6).collect {
+            ({ ->
+                def count = running.incrementAndGet()
+                synchronized (peak) {
+                    peak.set(Math.max(peak.get(), count))
+                }
+                Thread.sleep(50)
+                running.decrementAndGet()
+                true
+            } as Callable<Boolean>)
+        }
+
+        when:
+        service.executeSteps(steps, limit, false)
+
+        then:
+        peak.get() <= expected
+        service.completedSteps == 6
+
+        where:
+        maxConcurrency | limit | expected
+        0              | 2     | 2
+        3              | 0     | 3
+        2              | 4     | 2
+    }
+
+    def "stop on failure skips remaining steps"() {
+        given:
+        def service = new ParallelStepExecutorService(0, 0)
+        def ran = []
+        def steps = (1..4).collect { num ->
+            ({ ->
+                ran << num
+                num != 2
+            } as Callable<Boolean>)
+        }
+
+        when:
+        def skipped = service.executeSteps(steps, 0, stopOnFailure)
+
+        then:
+        skipped == expectSkipped
+        ran == expectRan
+        service.cancelledSteps == expectSkipped
+        service.queuedSteps == 0
+
+        where:
+        stopOnFailure | expectSkipped | expectRan
+        true          | 2             | [1, 2]
+        false         | 0             | [1, 2, 3, 4]
+    }
+}
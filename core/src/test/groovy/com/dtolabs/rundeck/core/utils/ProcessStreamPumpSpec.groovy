@@ -0,0 +1,73 @@
+package com.dtolabs.rundeck.core.utils
+
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+@IgnoreIf({ !new File('/bin/sh').canExecute() })
+class ProcessStreamPumpSpec extends Specification {
+
+    private static Process sh(String script) {
+        def process = new ProcessBuilder('/bin/sh', '-c', script).start()
+        process.outputStream.close()
+        process
+    }
+
+    def "pump stdout and stderr and return exit value"() {
+        given:
+        def pump = new ProcessStreamPump(1, 4)
+        def out = new ByteArrayOutputStream()
+        def err = new ByteArrayOutputStream()
+
+        when:
+        def result = pump.pump(sh('echo output; echo error >&2; exit 3'), out, err)
+
+        then:
+        result == 3
+        out.toString() == 'output\n'
+        err.toString() == 'error\n'
+        pump.activeProcesses == 0
+    }
+
+    def "output larger than the buffer is copied completely"() {
+        given:
+        def pump = new ProcessStreamPump(1, 2)
+        def out = new ByteArrayOutputStream()
+        def err = new ByteArrayOutputStream()
+
+        when:
+        def result = pump.pump(sh('i=0; while [ $i -lt 20000 ]; do echo "line $i"; i=$((i+1)); done'), out, err)
+
+        then:
+        result == 0
+        def lines = out.toString().readLines()
+        lines.size() == 20000
+        lines[0] == 'line 0'
+        lines[19999] == 'line 19999'
+    }
+
+    def "many processes share the pump threads"() {
+        given:
+        def pump = new ProcessStreamPump(2, 4)
+        def executor = Executors.newFixedThreadPool(20)
+
+        when:
+        def futures = (1..40).collect { num ->
+            executor.submit({
+                def out = new ByteArrayOutputStream()
+                def err = new ByteArrayOutputStream()
+                def result = pump.pump(sh("echo out$num; echo err$num >&2"), out, err)
+                [result, out.toString(), err.toString()]
+            } as Callable)
+        }
+        def results = futures*.get()
+        executor.shutdown()
+
+        then:
+        results.eachWithIndex { r, i ->
+            assert r == [0, "out${i + 1}\n".toString(), "err${i + 1}\n".toString()]
+        }
+    }
+}
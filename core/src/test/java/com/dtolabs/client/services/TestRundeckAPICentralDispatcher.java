@@ -171,6 +171,36 @@ public class TestRundeckAPICentralDispatcher extends TestCase {
         assertEquals("blah", params.get("filter"));
         assertEquals("false", params.get("exclude-precedence"));
     }
+
+    public void testNextFollowDelayMoreOutput() throws Exception {
+        //remaining output is requested immediately
+        assertEquals(0, RundeckAPICentralDispatcher.nextFollowDelay(2000, false, 10, 100, 500));
+        assertEquals(0, RundeckAPICentralDispatcher.nextFollowDelay(
+                2000,
+                false,
+                RundeckAPICentralDispatcher.FOLLOW_MAX_LINES,
+                100,
+                0
+        ));
+    }
+
+    public void testNextFollowDelayIdleBackoff() throws Exception {
+        long delay = RundeckAPICentralDispatcher.nextFollowDelay(0, true, 0, 100, 100);
+        assertTrue(delay >= RundeckAPICentralDispatcher.FOLLOW_MIN_DELAY * 2);
+        long next = RundeckAPICentralDispatcher.nextFollowDelay(delay, true, 0, 100, 100);
+        assertTrue(next >= delay * 2 || next >= RundeckAPICentralDispatcher.FOLLOW_MAX_DELAY);
+        for (int i = 0; i < 10; i++) {
+            next = RundeckAPICentralDispatcher.nextFollowDelay(next, true, 0, 100, 100);
+        }
+        assertTrue(next >= RundeckAPICentralDispatcher.FOLLOW_MAX_DELAY);
+        assertTrue(next <= RundeckAPICentralDispatcher.FOLLOW_MAX_DELAY * 11 / 10);
+    }
+
+    public void testNextFollowDelayResetOnOutput() throws Exception {
+        long delay = RundeckAPICentralDispatcher.nextFollowDelay(4000, false, 5, 100, 100);
+        assertTrue(delay >= RundeckAPICentralDispatcher.FOLLOW_MIN_DELAY);
+        assertTrue(delay <= RundeckAPICentralDispatcher.FOLLOW_MIN_DELAY * 11 / 10);
+    }
     static class TestServerService extends ServerService{
         public TestServerService(final String url, final String username, final String password) {
             super(url, username, password);
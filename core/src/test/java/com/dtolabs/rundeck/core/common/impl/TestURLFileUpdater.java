@@ -29,11 +29,14 @@ import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpMethod;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * TestURLFileUpdater is ...
@@ -195,6 +198,89 @@ public class TestURLFileUpdater extends TestCase {
 
     }
 
+    public void testUpdateGzipEncoding() throws Exception {
+        URLFileUpdater updater = new URLFileUpdater(new URL("http://example.com/test"), null, -1, null, null, false,
+            null, null);
+
+        final test1 test1 = new test1();
+        test1.httpResultCode = 200;
+        test1.httpStatusText = "OK";
+        test1.responseHeaders.put("Content-Type", new Header("Content-Type", "text/yaml"));
+        test1.responseHeaders.put("Content-Encoding", new Header("Content-Encoding", "gzip"));
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+        gzip.write(YAML_NODES_TEST.getBytes());
+        gzip.close();
+        test1.bodyStream = new ByteArrayInputStream(compressed.toByteArray());
+        updater.setInteraction(test1);
+        File tempfile = File.createTempFile("test", ".yaml");
+        tempfile.deleteOnExit();
+        updater.updateFile(tempfile);
+
+        assertEquals("gzip, deflate", test1.requestHeaders.get("Accept-Encoding"));
+        assertEquals(YAML_NODES_TEST, readFile(tempfile));
+        assertNotNull(updater.getContentHash());
+    }
+
+    public void testUpdateCachingSameContent() throws Exception {
+        File tempfile = File.createTempFile("test", ".yaml");
+        tempfile.deleteOnExit();
+        File cachemeta = File.createTempFile("test", ".properties");
+        cachemeta.deleteOnExit();
+
+        final test1 test1 = new test1();
+        test1.httpResultCode = 200;
+        test1.httpStatusText = "OK";
+        test1.responseHeaders.put("Content-Type", new Header("Content-Type", "text/yaml"));
+        test1.bodyStream = new ByteArrayInputStream(YAML_NODES_TEST.getBytes());
+        URLFileUpdater updater = new URLFileUpdater(new URL("http://example.com/test"), null, -1, cachemeta, tempfile,
+            true, null, null);
+        updater.setInteraction(test1);
+        updater.updateFile(tempfile);
+        assertTrue(updater.isContentModified());
+        String hash = updater.getContentHash();
+        assertNotNull(hash);
+
+        //same content without etag or last-modified
+        final test1 test2 = new test1();
+        test2.httpResultCode = 200;
+        test2.httpStatusText = "OK";
+        test2.responseHeaders.put("Content-Type", new Header("Content-Type", "text/yaml"));
+        test2.bodyStream = new ByteArrayInputStream(YAML_NODES_TEST.getBytes());
+        URLFileUpdater updater2 = new URLFileUpdater(new URL("http://example.com/test"), null, -1, cachemeta,
+            tempfile, true, null, null);
+        updater2.setInteraction(test2);
+        updater2.updateFile(tempfile);
+        assertFalse(updater2.isContentModified());
+        assertEquals(hash, updater2.getContentHash());
+
+        //not modified response uses the cached hash
+        final test1 test3 = new test1();
+        test3.httpResultCode = 304;
+        test3.httpStatusText = "Not Modified";
+        URLFileUpdater updater3 = new URLFileUpdater(new URL("http://example.com/test"), null, -1, cachemeta,
+            tempfile, true, null, null);
+        updater3.setInteraction(test3);
+        updater3.updateFile(tempfile);
+        assertFalse(updater3.isContentModified());
+        assertEquals(hash, updater3.getContentHash());
+    }
+
+    private static String readFile(File file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FileInputStream in = new FileInputStream(file);
+        try {
+            byte[] buf = new byte[1024];
+            int c;
+            while ((c = in.read(buf)) > 0) {
+                out.write(buf, 0, c);
+            }
+        } finally {
+            in.close();
+        }
+        return out.toString();
+    }
+
     /**
      * Test use of file: url
      */
@@ -0,0 +1,70 @@
+package com.dtolabs.rundeck.core.dispatcher;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+@RunWith(JUnit4.class)
+public class ScriptTemplateTest {
+
+    @Test
+    public void renderSameAsReplaceTokenReader() throws IOException {
+        String[] inputs = {
+                "",
+                "no tokens",
+                "@value1@",
+                "@value1@, @value2@, @value3@",
+                "@value1@@valueDNE@@value3@",
+                "@value1monkeypotato",
+                "prefixed text value, @value3@, final tet",
+                "test script some data @test.data\ntest line 2 some data @test.data2@\n",
+                "test script some data @test.data:@\ntest line 2 some data @test.data@\n",
+                "email@example.com @ test@@ @@value1@",
+                "@node.name@ @test.data@@",
+        };
+        Map<String, String> tokens = defaultTokens();
+        for (String input : inputs) {
+            StringWriter writer = new StringWriter();
+            ReplaceTokenReaderTest.writeReader(new ReplaceTokenReader(new StringReader(input), tokens, true), writer);
+            Assert.assertEquals(input, writer.toString(), ScriptTemplate.compile(input).render(tokens));
+        }
+    }
+
+    @Test
+    public void nodeDependent() {
+        Assert.assertFalse(ScriptTemplate.compile("echo @option.a@ @job.name@").isNodeDependent());
+        Assert.assertFalse(ScriptTemplate.compile("echo node.name @node.name").isNodeDependent());
+        Assert.assertTrue(ScriptTemplate.compile("echo @option.a@ @node.name@").isNodeDependent());
+    }
+
+    @Test
+    public void referencedValues() {
+        ScriptTemplate template = ScriptTemplate.compile("@value1@ @valueDNE@ @value1@");
+        Assert.assertEquals(Arrays.asList("value1", "valueDNE"), Arrays.asList(template.getKeys().toArray()));
+        Assert.assertEquals(Arrays.asList("a value", null), template.values(defaultTokens()));
+    }
+
+    @Test
+    public void forScriptReusesTemplate() {
+        String script = "echo @value1@";
+        Assert.assertSame(ScriptTemplate.forScript(script), ScriptTemplate.forScript(new String(script)));
+    }
+
+    private Map<String, String> defaultTokens() {
+        HashMap<String, String> tokens = new HashMap<String, String>();
+        tokens.put("value1", "a value");
+        tokens.put("value2", "b value");
+        tokens.put("value3", "c value");
+        tokens.put("test.data", "this is a test");
+        tokens.put("node.name", "node1");
+        return tokens;
+    }
+}
@@ -0,0 +1,76 @@
+package com.dtolabs.rundeck.core.execution.impl.common;
+
+import com.dtolabs.rundeck.core.common.Framework;
+import com.dtolabs.rundeck.core.dispatcher.ScriptTemplate;
+import com.dtolabs.rundeck.core.execution.script.ScriptfileUtils;
+import com.dtolabs.rundeck.core.tools.AbstractBaseTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestSharedScriptTempFiles extends AbstractBaseTest {
+    public TestSharedScriptTempFiles(final String name) {
+        super(name);
+    }
+
+    private static String read(final File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), "UTF-8");
+    }
+
+    public void testAcquireSameContent() throws Exception {
+        final Framework framework = getFrameworkInstance();
+        final SharedScriptTempFiles files = new SharedScriptTempFiles();
+        final ScriptTemplate template = ScriptTemplate.compile("echo @option.a@\n");
+        final Map<String, String> tokens = new HashMap<>();
+        tokens.put("option.a", "hello");
+        tokens.put("option.b", "other");
+
+        final File file1 = files.acquire(framework, template, tokens, ScriptfileUtils.LineEndingStyle.UNIX);
+        tokens.put("option.b", "changed");
+        final File file2 = files.acquire(framework, template, tokens, ScriptfileUtils.LineEndingStyle.UNIX);
+        assertSame(file1, file2);
+        assertEquals("echo hello\n", read(file1));
+
+        tokens.put("option.a", "bye");
+        final File file3 = files.acquire(framework, template, tokens, ScriptfileUtils.LineEndingStyle.UNIX);
+        final File file4 = files.acquire(framework, template, tokens, ScriptfileUtils.LineEndingStyle.WINDOWS);
+        assertNotSame(file1, file3);
+        assertNotSame(file3, file4);
+        assertEquals("echo bye\n", read(file3));
+        assertEquals("echo bye\r\n", read(file4));
+        assertEquals(3, files.size());
+
+        assertTrue(files.release(file1));
+        assertTrue("file in use by another node should not be removed", file1.exists());
+        assertTrue(files.release(file2));
+        assertFalse(file1.exists());
+        assertTrue(files.release(file3));
+        assertTrue(files.release(file4));
+        assertFalse(file3.exists());
+        assertFalse(file4.exists());
+        assertFalse(files.release(new File("other")));
+        assertEquals(0, files.size());
+    }
+
+    public void testReleaseDeletesUnused() throws Exception {
+        final Framework framework = getFrameworkInstance();
+        final SharedScriptTempFiles files = new SharedScriptTempFiles();
+        final ScriptTemplate template = ScriptTemplate.compile("echo @option.a@\n");
+        final Map<String, String> tokens = new HashMap<>();
+        tokens.put("option.a", "hello");
+
+        final File file1 = files.acquire(framework, template, tokens, ScriptfileUtils.LineEndingStyle.UNIX);
+        assertTrue(files.release(file1));
+        assertFalse(file1.exists());
+        assertEquals(0, files.size());
+
+        final File file2 = files.acquire(framework, template, tokens, ScriptfileUtils.LineEndingStyle.UNIX);
+        assertTrue("released file should be rendered again", file2.exists());
+        assertEquals("echo hello\n", read(file2));
+        assertTrue(files.release(file2));
+        assertFalse(file2.exists());
+    }
+}
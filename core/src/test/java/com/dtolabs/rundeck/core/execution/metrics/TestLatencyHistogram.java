@@ -0,0 +1,90 @@
+package com.dtolabs.rundeck.core.execution.metrics;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TestLatencyHistogram extends TestCase {
+
+    public void testBucketFor() {
+        assertEquals(0, LatencyHistogram.bucketFor(0));
+        assertEquals(1, LatencyHistogram.bucketFor(1));
+        assertEquals(2, LatencyHistogram.bucketFor(2));
+        assertEquals(2, LatencyHistogram.bucketFor(3));
+        assertEquals(3, LatencyHistogram.bucketFor(4));
+        assertEquals(63, LatencyHistogram.bucketFor(Long.MAX_VALUE));
+    }
+
+    public void testRecord() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "tag");
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050000L, histogram.getTotalNanos());
+        assertEquals(50500L, histogram.getMeanNanos());
+        assertEquals(100000L, histogram.getMaxNanos());
+        long p50 = histogram.getPercentileNanos(0.5);
+        assertTrue("p50 " + p50, p50 >= 50000L && p50 < 100000L);
+        long p99 = histogram.getPercentileNanos(0.99);
+        assertTrue("p99 " + p99, p99 >= 99000L && p99 <= 100000L);
+    }
+
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "tag");
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.getPercentileNanos(0.9));
+    }
+
+    public void testHistogramsByTag() {
+        LatencyHistograms histograms = new LatencyHistograms("test");
+        LatencyHistogram a = histograms.forTag("test-provider");
+        assertEquals("test-provider", a.getTag());
+        assertEquals("test", a.getName());
+        assertSame(a, histograms.forTag("test-provider"));
+        LatencyHistogram b = histograms.forTag(null);
+        assertEquals("", b.getTag());
+        assertEquals(2, histograms.getHistograms().size());
+    }
+
+    public void testListener() {
+        ExecutionMetrics.reset();
+        LatencyHistogram existing = ExecutionMetrics.NODE_EXECUTOR.forTag("a");
+        final List<LatencyHistogram> created = new ArrayList<>();
+        LatencyHistogramListener listener = new LatencyHistogramListener() {
+            @Override
+            public void histogramCreated(final LatencyHistogram histogram) {
+                created.add(histogram);
+            }
+        };
+        ExecutionMetrics.addListener(listener);
+        try {
+            assertEquals(Collections.singletonList(existing), created);
+            LatencyHistogram b = ExecutionMetrics.FILE_COPIER.forTag("b");
+            ExecutionMetrics.FILE_COPIER.forTag("b");
+            assertEquals(Arrays.asList(existing, b), created);
+        } finally {
+            ExecutionMetrics.removeListener(listener);
+            ExecutionMetrics.reset();
+        }
+        ExecutionMetrics.FILE_COPIER.forTag("c");
+        assertEquals(2, created.size());
+    }
+
+    public void testRecordDisabled() {
+        LatencyHistograms histograms = new LatencyHistograms("test");
+        ExecutionMetrics.setEnabled(false);
+        try {
+            histograms.record("a", System.nanoTime());
+        } finally {
+            ExecutionMetrics.setEnabled(true);
+        }
+        assertEquals(0, histograms.getHistograms().size());
+        histograms.record("a", System.nanoTime());
+        assertEquals(1, histograms.forTag("a").getCount());
+    }
+}
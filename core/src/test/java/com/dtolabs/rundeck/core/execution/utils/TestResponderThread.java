@@ -29,6 +29,8 @@ import junit.framework.TestCase;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStreamReader;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.util.concurrent.Callable;
 
 
@@ -152,6 +154,31 @@ public class TestResponderThread extends TestCase {
         }
     }
 
+    public void testDetectPipedInputNotified() throws Exception {
+        final PipedInputStream input = new PipedInputStream();
+        final PipedOutputStream output = new PipedOutputStream(input);
+        final Thread writer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                    output.write("Test1\nPassword: ".getBytes());
+                    output.flush();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        };
+        final long start = System.currentTimeMillis();
+        writer.start();
+        boolean result = ResponderTask.detect("^Password: .*", null, 5000, 20, input, new InputStreamReader(input),
+                                              new PartialLineBuffer());
+        final long duration = System.currentTimeMillis() - start;
+        writer.join();
+        assertTrue(result);
+        assertTrue("expected prompt to be detected soon after it was written: " + duration, duration < 450);
+    }
+
     static class testResponder implements Responder{
         private String inputSuccessPattern;
         private String inputFailurePattern;
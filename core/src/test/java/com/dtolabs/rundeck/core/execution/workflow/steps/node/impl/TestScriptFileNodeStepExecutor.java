@@ -518,6 +518,107 @@ public class TestScriptFileNodeStepExecutor extends AbstractBaseTest {
         }
     }
 
+    /**
+     * Unix target node with combined exec enabled will copy using file copier, then chmod, execute and remove the file
+     * in a single command
+     */
+    public void testInterpretCommandScriptContentCombinedExec() throws Exception {
+        final Framework frameworkInstance = getFrameworkInstance();
+        ScriptFileNodeStepExecutor interpret = new ScriptFileNodeStepExecutor(getFrameworkInstance());
+
+        //setup nodeexecutor for local node
+        multiTestNodeExecutor testexec = new multiTestNodeExecutor();
+        NodeExecutorService service = NodeExecutorService.getInstanceForFramework(getFrameworkInstance());
+        service.registerInstance("local", testexec);
+
+        testFileCopier testcopier = new testFileCopier();
+        FileCopierService copyservice = FileCopierService.getInstanceForFramework(getFrameworkInstance());
+        copyservice.registerInstance("local", testcopier);
+
+        //execute command interpreter on local node
+        final NodeEntryImpl test1 = new NodeEntryImpl("testhost1", "test1");
+        test1.setOsFamily("unix");
+        test1.setAttribute(ScriptFileNodeStepExecutor.SCRIPT_FILE_COMBINED_EXEC, "true");
+        final StepExecutionContext context = ExecutionContextImpl.builder()
+            .frameworkProject(PROJ_NAME)
+            .framework(frameworkInstance)
+            .user("blah")
+            .build();
+        final String testScript = "a script\n";
+
+        ScriptFileCommand command = new ScriptFileCommandBase() {
+            public String getScript() {
+                return testScript;
+            }
+
+            public String[] getArgs() {
+                return new String[]{"some", "arg s"};
+            }
+        };
+        {
+            final ArrayList<NodeExecutorResult> nodeExecutorResults = new ArrayList<NodeExecutorResult>();
+            nodeExecutorResults.add(NodeExecutorResultImpl.createSuccess(null));
+            testexec.testResult = nodeExecutorResults;
+            testcopier.testResult = "/test/file/path";
+            final NodeStepResult interpreterResult = interpret.executeNodeStep(context, command, test1);
+
+            assertNotNull(interpreterResult);
+            assertTrue(interpreterResult.isSuccess());
+            assertEquals(interpreterResult, nodeExecutorResults.get(0));
+            assertEquals(testScript, testcopier.testFileContents);
+
+            //test nodeexecutor was called once
+            assertEquals(1, testexec.index);
+            final String[] strings = testexec.testCommand.get(0);
+            assertEquals(3, strings.length);
+            assertEquals("sh", strings[0]);
+            assertEquals("-c", strings[1]);
+            assertTrue(strings[2].startsWith("'chmod +x "));
+            final String filepath = strings[2].substring(10, strings[2].indexOf(" ||"));
+            assertTrue(filepath.endsWith("." + UNIX_FILE_EXT));
+            assertEquals(
+                    "'chmod +x " + filepath + " || exit $? ; " + filepath + " some '\"'\"'arg s'\"'\"' ; " +
+                    "rc=$? ; rm -f " + filepath + " ; exit $rc'",
+                    strings[2]
+            );
+            assertEquals(test1, testexec.testNode.get(0));
+        }
+    }
+
+    /**
+     * Windows target node ignores combined exec
+     */
+    public void testCombinedExecWindows() throws Exception {
+        final NodeEntryImpl test1 = new NodeEntryImpl("testhost1", "test1");
+        test1.setOsFamily("windows");
+        test1.setAttribute(ScriptFileNodeStepExecutor.SCRIPT_FILE_COMBINED_EXEC, "true");
+        final StepExecutionContext context = ExecutionContextImpl.builder()
+            .frameworkProject(PROJ_NAME)
+            .framework(getFrameworkInstance())
+            .user("blah")
+            .build();
+        assertTrue(ScriptFileNodeStepExecutor.isCombinedExec(context, getFrameworkInstance(), test1));
+
+        multiTestNodeExecutor testexec = new multiTestNodeExecutor();
+        NodeExecutorService service = NodeExecutorService.getInstanceForFramework(getFrameworkInstance());
+        service.registerInstance("local", testexec);
+        final ArrayList<NodeExecutorResult> nodeExecutorResults = new ArrayList<NodeExecutorResult>();
+        nodeExecutorResults.add(NodeExecutorResultImpl.createSuccess(null));
+        nodeExecutorResults.add(NodeExecutorResultImpl.createSuccess(null));
+        testexec.testResult = nodeExecutorResults;
+
+        ScriptFileNodeStepExecutor.executeRemoteScript(
+                context,
+                getFrameworkInstance(),
+                test1,
+                new String[0],
+                "C:\\test.bat"
+        );
+        assertEquals(2, testexec.index);
+        assertEquals("C:\\test.bat", testexec.testCommand.get(0)[0]);
+        assertEquals("del", testexec.testCommand.get(1)[0]);
+    }
+
     /**
      * Unix target node will copy using file copier, then exec "chmod +x [destfile]", then execute the
      * filepath.
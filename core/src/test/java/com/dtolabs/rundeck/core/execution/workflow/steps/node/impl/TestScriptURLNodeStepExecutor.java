@@ -193,6 +193,7 @@ public class TestScriptURLNodeStepExecutor extends AbstractBaseTest {
         IOException toThrowResponseBody;
         boolean releaseConnectionCalled;
         Boolean followRedirects;
+        int executeCount;
         HashMap<String, String> requestHeaders = new HashMap<String, String>();
         HashMap<String, Header> responseHeaders = new HashMap<String, Header>();
 
@@ -205,6 +206,7 @@ public class TestScriptURLNodeStepExecutor extends AbstractBaseTest {
         }
 
         public int executeMethod() throws IOException {
+            executeCount++;
             return httpResultCode;
         }
 
@@ -580,6 +582,93 @@ public class TestScriptURLNodeStepExecutor extends AbstractBaseTest {
         }
     }
 
+    /**
+     * URL is downloaded once for multiple nodes in the same execution
+     */
+    public void testExecuteNodeStep_downloadSharedByNodes() throws Exception {
+        final Framework frameworkInstance = getFrameworkInstance();
+        ScriptURLNodeStepExecutor interpret = new ScriptURLNodeStepExecutor(frameworkInstance);
+
+        //setup nodeexecutor for local node
+        multiTestNodeExecutor testexec = new multiTestNodeExecutor();
+        NodeExecutorService service = NodeExecutorService.getInstanceForFramework(getFrameworkInstance());
+        service.registerInstance("local", testexec);
+
+        testFileCopier testcopier = new testFileCopier();
+        FileCopierService copyservice = FileCopierService.getInstanceForFramework(getFrameworkInstance());
+        copyservice.registerInstance("local", testcopier);
+
+        final NodeEntryImpl node1 = new NodeEntryImpl("testhost1", "test1");
+        node1.setOsFamily("unix");
+        final NodeEntryImpl node2 = new NodeEntryImpl("testhost2", "test2");
+        node2.setOsFamily("unix");
+        node2.setAttribute(NodeExecutorService.NODE_SERVICE_SPECIFIER_ATTRIBUTE, "local");
+        node2.setAttribute(FileCopierService.REMOTE_NODE_SERVICE_SPECIFIER_ATTRIBUTE, "local");
+
+        final Map<String, Map<String, String>> dataContext = new HashMap<String, Map<String, String>>();
+        dataContext.put("job", Collections.singletonMap("execid", "123"));
+        final StepExecutionContext context = ExecutionContextImpl.builder()
+            .frameworkProject(PROJ_NAME)
+            .framework(frameworkInstance)
+            .user("blah")
+            .dataContext(dataContext)
+            .build();
+        final String urlString = "http://test.com/shared";
+
+        ScriptURLCommandBase command = new ScriptURLCommandBase() {
+            public String getURLString() {
+                return urlString;
+            }
+
+            public String[] getArgs() {
+                return new String[0];
+            }
+
+            public StepExecutionItem getFailureHandler() {
+                return null;
+            }
+
+            public boolean isKeepgoingOnSuccess() {
+                return false;
+            }
+
+            public String getScriptInterpreter() {
+                return null;
+            }
+
+            @Override
+            public String getFileExtension() {
+                return null;
+            }
+
+            public boolean getInterpreterArgsQuoted() {
+                return false;
+            }
+        };
+        final ArrayList<NodeExecutorResult> nodeExecutorResults = new ArrayList<NodeExecutorResult>();
+        for (int i = 0; i < 6; i++) {
+            nodeExecutorResults.add(NodeExecutorResultImpl.createSuccess(null));
+        }
+        testexec.testResult = nodeExecutorResults;
+        testcopier.testResult = "/test/file/path";
+        final test1 interaction = new TestScriptURLNodeStepExecutor.test1();
+
+        interaction.httpResultCode = 200;
+        interaction.httpStatusText = "OK";
+        interaction.responseHeaders.put("Content-Type", new Header("Content-Type", "text/plain"));
+        interaction.bodyStream = new ByteArrayInputStream("test script content".getBytes());
+
+        interpret.setInteraction(interaction);
+
+        assertTrue(interpret.executeNodeStep(context, command, node1).isSuccess());
+        assertTrue(interpret.executeNodeStep(context, command, node2).isSuccess());
+
+        assertEquals(1, interaction.executeCount);
+        assertEquals(6, testexec.index);
+        assertEquals(node2, testcopier.testNode);
+        assertTrue(testcopier.testFile.exists());
+    }
+
     public void testExpandUrlString() throws Exception {
         final Map<String, Map<String, String>> stringMapMap = new HashMap<String, Map<String, String>>();
         HashMap<String, String> nodeData = new HashMap<String, String>();
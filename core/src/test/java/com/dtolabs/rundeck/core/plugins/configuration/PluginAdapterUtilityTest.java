@@ -706,4 +706,46 @@ public class PluginAdapterUtilityTest extends TestCase {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Final field is set without a method handle setter
+     */
+    @Plugin(name = "finalTest", service = "x")
+    static class finalFieldTest {
+        @PluginProperty final String testString = null;
+        @PluginProperty int testint1;
+    }
+
+    public void testConfigurePropertiesFinalField() throws Exception {
+        finalFieldTest test = new finalFieldTest();
+        HashMap<String, Object> configuration = new HashMap<String, Object>();
+        configuration.put("testString", "monkey");
+        configuration.put("testint1", "3");
+        Map<String, Object> remaining = PluginAdapterUtility.configureProperties(new mapResolver(configuration), test);
+        assertEquals(3, test.testint1);
+        assertEquals("monkey", finalFieldTest.class.getDeclaredField("testString").get(test));
+        assertEquals(0, remaining.size());
+    }
+
+    public void testConfigurePropertiesRepeated() throws Exception {
+        HashMap<String, Object> configuration = new HashMap<String, Object>();
+        configuration.put("testString", "monkey");
+        configuration.put("testint1", "1");
+        configuretest1 test1 = new configuretest1();
+        PluginAdapterUtility.configureProperties(new mapResolver(configuration), test1);
+
+        configuration.put("testString", "banana");
+        configuration.put("testint1", "2");
+        configuretest1 test2 = new configuretest1();
+        PluginAdapterUtility.configureProperties(new mapResolver(configuration), test2);
+
+        assertEquals("monkey", test1.testString);
+        assertEquals(1, test1.testint1);
+        assertEquals("banana", test2.testString);
+        assertEquals(2, test2.testint1);
+        assertEquals(
+                PluginAdapterUtility.buildFieldProperties(configuretest1.class).size(),
+                PluginAdapterUtility.buildFieldProperties(new configuretest1()).size()
+        );
+    }
 }
@@ -47,6 +47,10 @@ class BaseGitPlugin {
     JobFileMapper mapper
     RawTextComparator COMP = RawTextComparator.DEFAULT
     Map<String, Map> jobStateMap = Collections.synchronizedMap([:])
+    /**
+     * Content hash, size and modification time of files last written by {@link #serialize}, keyed by file path
+     */
+    Map<String, Map> serializedFileMap = Collections.synchronizedMap([:])
 
     BaseGitPlugin(Common commonConfig) {
         this.input = commonConfig.rawInput
@@ -73,6 +77,18 @@ class BaseGitPlugin {
                 )
             }
         }
+        String hash = null
+        if (job.jobSerializer instanceof HashedJobSerializer) {
+            try {
+                hash = ((HashedJobSerializer) job.jobSerializer).getContentHash(format)
+            } catch (IOException e) {
+                hash = null
+            }
+            if (hash && isSerializedFileCurrent(outfile, hash)) {
+                //unchanged content was already written to the file
+                return
+            }
+        }
         File temp = new File(outfile.parentFile, outfile.name + ".tmp")
         try {
             temp.withOutputStream { out ->
@@ -91,6 +107,23 @@ class BaseGitPlugin {
             )
         }
         Files.move(temp.toPath(), outfile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+        if (hash) {
+            serializedFileMap[outfile.absolutePath] = [hash: hash, size: outfile.length(), modified: outfile.lastModified()]
+        } else {
+            serializedFileMap.remove(outfile.absolutePath)
+        }
+    }
+
+    /**
+     * @param file file
+     * @param hash content hash
+     * @return true if the file was last written with content having the given hash, and has not been modified since
+     */
+    boolean isSerializedFileCurrent(File file, String hash) {
+        def written = serializedFileMap[file.absolutePath]
+        written && written.hash == hash && file.isFile() &&
+                written.size == file.length() &&
+                written.modified == file.lastModified()
     }
 
     def serializeTemp(final JobExportReference job, format) {
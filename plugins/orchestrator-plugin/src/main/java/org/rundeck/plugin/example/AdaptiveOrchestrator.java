@@ -0,0 +1,234 @@
+package org.rundeck.plugin.example;
+
+import java.util.*;
+
+import org.apache.log4j.Logger;
+
+import com.dtolabs.rundeck.core.common.INodeEntry;
+import com.dtolabs.rundeck.core.execution.workflow.StepExecutionContext;
+import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepResult;
+import com.dtolabs.rundeck.plugins.orchestrator.Orchestrator;
+
+/**
+ * Grows the number of concurrent nodes like TCP slow-start while recent results are healthy, and backs off when the
+ * error rate or 95th percentile latency of recent results crosses a threshold. Stops handing out nodes if the error
+ * rate crosses the halt threshold.
+ */
+public class AdaptiveOrchestrator implements Orchestrator {
+    public static final Logger logger = Logger.getLogger(AdaptiveOrchestrator.class);
+    /**
+     * Minimum number of results before health thresholds are evaluated
+     */
+    public static final int MIN_SAMPLES = 5;
+
+    /**
+     * Source of time used to measure node latency
+     */
+    public static interface Clock {
+        long currentTimeMillis();
+    }
+
+    public static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    private final StepExecutionContext context;
+    private final Clock clock;
+    private final List<INodeEntry> list;
+    private final Map<INodeEntry, Long> started = new HashMap<INodeEntry, Long>();
+    private final LinkedList<Sample> samples = new LinkedList<Sample>();
+    private final int maxConcurrency;
+    private final int sampleSize;
+    private final int errorThreshold;
+    private final int haltThreshold;
+    private final long latencyThreshold;
+
+    private double limit;
+    private int slowStartThreshold;
+    private int running;
+    private boolean halted;
+
+    /**
+     * @param context            context, or null
+     * @param nodes              nodes
+     * @param initialConcurrency initial number of concurrent nodes
+     * @param maxConcurrency     maximum number of concurrent nodes, 0 for no limit
+     * @param sampleSize         number of recent results used to measure error rate and latency
+     * @param errorThreshold     percentage error rate above which concurrency is reduced
+     * @param haltThreshold      percentage error rate at which no more nodes are started, 0 to never halt
+     * @param latencyThreshold   95th percentile latency in milliseconds above which concurrency is reduced, 0 to
+     *                           ignore latency
+     * @param clock              clock
+     */
+    public AdaptiveOrchestrator(
+            StepExecutionContext context,
+            Collection<INodeEntry> nodes,
+            int initialConcurrency,
+            int maxConcurrency,
+            int sampleSize,
+            int errorThreshold,
+            int haltThreshold,
+            long latencyThreshold,
+            Clock clock
+    )
+    {
+        this.context = context;
+        this.clock = clock;
+        this.list = new ArrayList<INodeEntry>(nodes);
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Math.max(1, nodes.size());
+        this.limit = Math.min(Math.max(1, initialConcurrency), this.maxConcurrency);
+        this.slowStartThreshold = this.maxConcurrency;
+        this.sampleSize = Math.max(MIN_SAMPLES, sampleSize);
+        this.errorThreshold = Math.min(100, Math.max(0, errorThreshold));
+        this.haltThreshold = Math.min(100, Math.max(0, haltThreshold));
+        this.latencyThreshold = latencyThreshold;
+        log(
+                3,
+                "AdaptiveOrchestrator starting with " + getConcurrency() + " of max " + this.maxConcurrency +
+                " concurrent nodes"
+        );
+    }
+
+    @Override
+    public INodeEntry nextNode() {
+        if (halted || list.size() < 1 || running >= getConcurrency()) {
+            return null;
+        }
+        running++;
+        INodeEntry node = list.remove(0);
+        started.put(node, clock.currentTimeMillis());
+        return node;
+    }
+
+    @Override
+    public void returnNode(final INodeEntry node, final boolean success, final NodeStepResult result) {
+        running--;
+        Long start = started.remove(node);
+        long latency = null != start ? clock.currentTimeMillis() - start : 0;
+        samples.addLast(new Sample(success, latency));
+        while (samples.size() > sampleSize) {
+            samples.removeFirst();
+        }
+        if (halted) {
+            return;
+        }
+        if (samples.size() >= MIN_SAMPLES) {
+            int errorRate = errorRate();
+            if (haltThreshold > 0 && errorRate >= haltThreshold) {
+                halted = true;
+                log(
+                        1,
+                        "AdaptiveOrchestrator halting: error rate " + errorRate + "% reached " + haltThreshold +
+                        "%, " + list.size() + " nodes will not be processed"
+                );
+                return;
+            }
+            long p95 = latencyPercentile(95);
+            if (errorRate > errorThreshold || latencyThreshold > 0 && p95 > latencyThreshold) {
+                backoff(errorRate, p95);
+                return;
+            }
+        }
+        if (success) {
+            grow();
+        }
+    }
+
+    @Override
+    public boolean isComplete() {
+        return halted || list.size() == 0;
+    }
+
+    private void grow() {
+        if (limit < slowStartThreshold) {
+            //slow start: one more node for each success, doubling each round
+            limit += 1;
+        } else {
+            //congestion avoidance: one more node per round
+            limit += 1 / limit;
+        }
+        limit = Math.min(limit, maxConcurrency);
+    }
+
+    private void backoff(final int errorRate, final long p95) {
+        slowStartThreshold = Math.max(1, getConcurrency() / 2);
+        limit = slowStartThreshold;
+        //each sample only triggers one backoff
+        samples.clear();
+        log(
+                3,
+                "AdaptiveOrchestrator reducing concurrency to " + getConcurrency() + " (error rate " + errorRate +
+                "%, p95 latency " + p95 + "ms)"
+        );
+    }
+
+    /**
+     * @return percentage of failed results in the recent sample
+     */
+    protected int errorRate() {
+        if (samples.size() < 1) {
+            return 0;
+        }
+        int failed = 0;
+        for (Sample sample : samples) {
+            if (!sample.success) {
+                failed++;
+            }
+        }
+        return Math.round(failed * 100f / samples.size());
+    }
+
+    /**
+     * @param percentile percentile
+     *
+     * @return latency at the given percentile of the recent sample
+     */
+    protected long latencyPercentile(int percentile) {
+        if (samples.size() < 1) {
+            return 0;
+        }
+        long[] latencies = new long[samples.size()];
+        int i = 0;
+        for (Sample sample : samples) {
+            latencies[i++] = sample.latency;
+        }
+        Arrays.sort(latencies);
+        int index = (int) Math.ceil(percentile / 100d * latencies.length) - 1;
+        return latencies[Math.max(0, index)];
+    }
+
+    /**
+     * @return the current number of nodes allowed to run concurrently
+     */
+    public int getConcurrency() {
+        return (int) Math.floor(limit);
+    }
+
+    /**
+     * @return true if the orchestrator stopped starting nodes because of the error rate
+     */
+    public boolean isHalted() {
+        return halted;
+    }
+
+    private void log(int level, String message) {
+        if (context != null && context.getExecutionListener() != null) {
+            context.getExecutionListener().log(level, message);
+        } else {
+            logger.debug(message);
+        }
+    }
+
+    private static class Sample {
+        final boolean success;
+        final long latency;
+
+        Sample(final boolean success, final long latency) {
+            this.success = success;
+            this.latency = latency;
+        }
+    }
+}
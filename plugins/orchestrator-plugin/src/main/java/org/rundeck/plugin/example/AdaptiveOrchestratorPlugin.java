@@ -0,0 +1,70 @@
+package org.rundeck.plugin.example;
+
+import java.util.Collection;
+
+import com.dtolabs.rundeck.core.common.INodeEntry;
+import com.dtolabs.rundeck.core.execution.workflow.StepExecutionContext;
+import com.dtolabs.rundeck.core.plugins.Plugin;
+import com.dtolabs.rundeck.plugins.ServiceNameConstants;
+import com.dtolabs.rundeck.plugins.descriptions.PluginDescription;
+import com.dtolabs.rundeck.plugins.descriptions.PluginProperty;
+import com.dtolabs.rundeck.plugins.orchestrator.Orchestrator;
+import com.dtolabs.rundeck.plugins.orchestrator.OrchestratorPlugin;
+
+@Plugin(name = "adaptive", service = ServiceNameConstants.Orchestrator)
+@PluginDescription(title = "Adaptive",
+                   description = "Starts with a few nodes at a time and doubles the concurrency while recent " +
+                                 "results succeed quickly. Reduces the concurrency by half when the error rate or " +
+                                 "95th percentile latency of recent results crosses a threshold, and stops starting " +
+                                 "new nodes if the error rate reaches the halt threshold.\n\n" +
+                                 "Concurrency is never higher than the thread count configured for the Job.")
+public class AdaptiveOrchestratorPlugin implements OrchestratorPlugin {
+
+    @PluginProperty(title = "Initial Concurrency",
+                    description = "Number of nodes to process at once to start with",
+                    defaultValue = "1")
+    protected int initialConcurrency;
+
+    @PluginProperty(title = "Max Concurrency",
+                    description = "Maximum number of nodes to process at once, 0 for no limit",
+                    defaultValue = "0")
+    protected int maxConcurrency;
+
+    @PluginProperty(title = "Sample Size",
+                    description = "Number of most recent node results used to measure error rate and latency",
+                    defaultValue = "20")
+    protected int sampleSize;
+
+    @PluginProperty(title = "Error Threshold",
+                    description = "Percentage of failed nodes in the sample above which concurrency is reduced",
+                    defaultValue = "10")
+    protected int errorThreshold;
+
+    @PluginProperty(title = "Halt Threshold",
+                    description = "Percentage of failed nodes in the sample at which no more nodes are started, 0 " +
+                                  "to never halt",
+                    defaultValue = "50")
+    protected int haltThreshold;
+
+    @PluginProperty(title = "Latency Threshold",
+                    description = "95th percentile node duration in milliseconds above which concurrency is " +
+                                  "reduced, 0 to ignore latency",
+                    defaultValue = "0")
+    protected long latencyThreshold;
+
+    @Override
+    public Orchestrator createOrchestrator(StepExecutionContext context, Collection<INodeEntry> nodes) {
+        return new AdaptiveOrchestrator(
+                context,
+                nodes,
+                initialConcurrency,
+                maxConcurrency,
+                sampleSize,
+                errorThreshold,
+                haltThreshold,
+                latencyThreshold,
+                AdaptiveOrchestrator.SYSTEM_CLOCK
+        );
+    }
+
+}
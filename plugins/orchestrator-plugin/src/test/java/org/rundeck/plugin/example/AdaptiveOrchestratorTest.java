@@ -0,0 +1,161 @@
+package org.rundeck.plugin.example;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dtolabs.rundeck.core.common.INodeEntry;
+import com.dtolabs.rundeck.core.common.NodeEntryImpl;
+import com.dtolabs.rundeck.plugins.orchestrator.Orchestrator;
+
+public class AdaptiveOrchestratorTest {
+    static class TestClock implements AdaptiveOrchestrator.Clock {
+        long now;
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+    }
+
+    @Test
+    public void testSlowStart() {
+        AdaptiveOrchestrator plugin = new AdaptiveOrchestrator(
+                null, create(20), 1, 0, 20, 10, 50, 0, new TestClock()
+        );
+        assertEquals(1, plugin.getConcurrency());
+        INodeEntry node = plugin.nextNode();
+        assertNotNull(node);
+        assertNull(plugin.nextNode());
+
+        plugin.returnNode(node, true, null);
+        assertEquals(2, plugin.getConcurrency());
+
+        List<INodeEntry> batch = take(plugin);
+        assertEquals(2, batch.size());
+        for (INodeEntry entry : batch) {
+            plugin.returnNode(entry, true, null);
+        }
+        assertEquals(4, plugin.getConcurrency());
+        assertEquals(4, take(plugin).size());
+    }
+
+    @Test
+    public void testMaxConcurrency() {
+        AdaptiveOrchestrator plugin = new AdaptiveOrchestrator(
+                null, create(20), 2, 3, 20, 10, 50, 0, new TestClock()
+        );
+        for (int i = 0; i < 5; i++) {
+            for (INodeEntry entry : take(plugin)) {
+                plugin.returnNode(entry, true, null);
+            }
+        }
+        assertEquals(3, plugin.getConcurrency());
+    }
+
+    @Test
+    public void testBackoffOnErrors() {
+        AdaptiveOrchestrator plugin = new AdaptiveOrchestrator(
+                null, create(40), 8, 0, 10, 10, 0, 0, new TestClock()
+        );
+        List<INodeEntry> batch = take(plugin);
+        assertEquals(8, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            plugin.returnNode(batch.get(i), i % 4 != 0, null);
+        }
+        assertFalse(plugin.isHalted());
+        assertTrue(plugin.getConcurrency() < 8);
+    }
+
+    @Test
+    public void testBackoffOnLatency() {
+        TestClock clock = new TestClock();
+        AdaptiveOrchestrator plugin = new AdaptiveOrchestrator(
+                null, create(40), 8, 0, 10, 10, 0, 1000, clock
+        );
+        List<INodeEntry> batch = take(plugin);
+        clock.now = 5000;
+        for (INodeEntry entry : batch) {
+            plugin.returnNode(entry, true, null);
+        }
+        assertTrue(plugin.getConcurrency() < 8);
+    }
+
+    @Test
+    public void testHalt() {
+        AdaptiveOrchestrator plugin = new AdaptiveOrchestrator(
+                null, create(40), 8, 0, 10, 10, 50, 0, new TestClock()
+        );
+        for (INodeEntry entry : take(plugin)) {
+            plugin.returnNode(entry, false, null);
+        }
+        assertTrue(plugin.isHalted());
+        assertTrue(plugin.isComplete());
+        assertNull(plugin.nextNode());
+    }
+
+    @Test
+    public void testSimulationHealthy() {
+        OrchestratorSimulator.SimulationResult adaptive = OrchestratorSimulator.simulate(
+                adaptiveFactory(), 500, 32, OrchestratorSimulator.logNormal(1, 500, 0.5, 0, 0)
+        );
+        OrchestratorSimulator.SimulationResult serial = OrchestratorSimulator.simulate(
+                new OrchestratorSimulator.OrchestratorFactory() {
+                    @Override
+                    public Orchestrator create(
+                            final Collection<INodeEntry> nodes,
+                            final AdaptiveOrchestrator.Clock clock
+                    )
+                    {
+                        return new MaxPercentageOrchestator(null, nodes, 0);
+                    }
+                }, 500, 32, OrchestratorSimulator.logNormal(1, 500, 0.5, 0, 0)
+        );
+        assertEquals(500, adaptive.succeeded);
+        assertEquals(32, adaptive.peakConcurrency);
+        assertTrue(adaptive.throughput() > serial.throughput() * 10);
+    }
+
+    @Test
+    public void testSimulationFailing() {
+        OrchestratorSimulator.SimulationResult result = OrchestratorSimulator.simulate(
+                adaptiveFactory(), 500, 32, OrchestratorSimulator.logNormal(3, 500, 0.5, 0.8, 0)
+        );
+        assertTrue(result.skipped > 400);
+    }
+
+    private OrchestratorSimulator.OrchestratorFactory adaptiveFactory() {
+        return new OrchestratorSimulator.OrchestratorFactory() {
+            @Override
+            public Orchestrator create(final Collection<INodeEntry> nodes, final AdaptiveOrchestrator.Clock clock) {
+                return new AdaptiveOrchestrator(null, nodes, 1, 0, 20, 10, 50, 0, clock);
+            }
+        };
+    }
+
+    private List<INodeEntry> take(Orchestrator orchestrator) {
+        List<INodeEntry> taken = new ArrayList<INodeEntry>();
+        INodeEntry node = orchestrator.nextNode();
+        while (null != node) {
+            taken.add(node);
+            node = orchestrator.nextNode();
+        }
+        return taken;
+    }
+
+    private List<INodeEntry> create(int count) {
+        List<INodeEntry> nodes = new ArrayList<INodeEntry>();
+        for (int i = 0; i < count; i++) {
+            nodes.add(NodeEntryImpl.create("host" + i, "host" + i));
+        }
+        return nodes;
+    }
+}
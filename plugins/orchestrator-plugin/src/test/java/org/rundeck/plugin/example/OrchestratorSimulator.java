@@ -0,0 +1,207 @@
+package org.rundeck.plugin.example;
+
+import java.util.*;
+
+import com.dtolabs.rundeck.core.common.INodeEntry;
+import com.dtolabs.rundeck.core.common.NodeEntryImpl;
+import com.dtolabs.rundeck.plugins.orchestrator.Orchestrator;
+
+/**
+ * Replays synthetic node latency and failure distributions through an Orchestrator using simulated time, the same
+ * way the OrchestratorNodeProcessor drives it, to compare orchestrator throughput.
+ */
+public class OrchestratorSimulator {
+
+    /**
+     * Produces the simulated outcome for a node
+     */
+    public static interface NodeModel {
+        /**
+         * @param node   node
+         * @param active number of nodes running when the node starts
+         *
+         * @return latency in ms for the node
+         */
+        long latency(INodeEntry node, int active);
+
+        /**
+         * @param node node
+         *
+         * @return true if the node succeeds
+         */
+        boolean success(INodeEntry node);
+    }
+
+    public static interface OrchestratorFactory {
+        Orchestrator create(Collection<INodeEntry> nodes, AdaptiveOrchestrator.Clock clock);
+    }
+
+    public static class SimulationResult {
+        public long duration;
+        public int succeeded;
+        public int failed;
+        public int skipped;
+        public int peakConcurrency;
+
+        /**
+         * @return completed nodes per simulated second
+         */
+        public double throughput() {
+            return duration > 0 ? (succeeded + failed) * 1000d / duration : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "duration=%dms succeeded=%d failed=%d skipped=%d peak=%d throughput=%.2f/s",
+                    duration, succeeded, failed, skipped, peakConcurrency, throughput()
+            );
+        }
+    }
+
+    private static class Completion implements Comparable<Completion> {
+        final long time;
+        final long seq;
+        final INodeEntry node;
+        final boolean success;
+
+        Completion(final long time, final long seq, final INodeEntry node, final boolean success) {
+            this.time = time;
+            this.seq = seq;
+            this.node = node;
+            this.success = success;
+        }
+
+        @Override
+        public int compareTo(final Completion o) {
+            return time != o.time ? Long.compare(time, o.time) : Long.compare(seq, o.seq);
+        }
+    }
+
+    private static class SimulatedClock implements AdaptiveOrchestrator.Clock {
+        long now;
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+    }
+
+    /**
+     * Run a simulation
+     *
+     * @param factory     orchestrator factory
+     * @param nodeCount   number of nodes
+     * @param threadCount thread count
+     * @param model       node model
+     *
+     * @return result
+     */
+    public static SimulationResult simulate(
+            OrchestratorFactory factory,
+            int nodeCount,
+            int threadCount,
+            NodeModel model
+    )
+    {
+        List<INodeEntry> nodes = new ArrayList<INodeEntry>();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(new NodeEntryImpl("node" + i));
+        }
+        SimulatedClock clock = new SimulatedClock();
+        Orchestrator orchestrator = factory.create(nodes, clock);
+        PriorityQueue<Completion> running = new PriorityQueue<Completion>();
+        SimulationResult result = new SimulationResult();
+        long seq = 0;
+        while (true) {
+            while (running.size() < threadCount) {
+                INodeEntry node = orchestrator.nextNode();
+                if (null == node) {
+                    break;
+                }
+                long latency = model.latency(node, running.size() + 1);
+                running.add(new Completion(clock.now + latency, seq++, node, model.success(node)));
+            }
+            result.peakConcurrency = Math.max(result.peakConcurrency, running.size());
+            if (running.isEmpty()) {
+                //nothing running and no node available: simulation cannot advance
+                break;
+            }
+            Completion done = running.poll();
+            clock.now = done.time;
+            if (done.success) {
+                result.succeeded++;
+            } else {
+                result.failed++;
+            }
+            orchestrator.returnNode(done.node, done.success, null);
+        }
+        result.duration = clock.now;
+        result.skipped = nodeCount - result.succeeded - result.failed;
+        return result;
+    }
+
+    /**
+     * Latency drawn from a log-normal distribution, with a fixed failure rate
+     *
+     * @param seed        random seed
+     * @param medianMs    median latency
+     * @param sigma       spread of the distribution
+     * @param failureRate probability of failure
+     * @param loadFactor  additional latency fraction per concurrently running node, to model a shared backend
+     *
+     * @return model
+     */
+    public static NodeModel logNormal(
+            long seed,
+            final long medianMs,
+            final double sigma,
+            final double failureRate,
+            final double loadFactor
+    )
+    {
+        final Random random = new Random(seed);
+        return new NodeModel() {
+            @Override
+            public long latency(final INodeEntry node, final int active) {
+                double base = medianMs * Math.exp(sigma * random.nextGaussian());
+                return Math.max(1, Math.round(base * (1 + loadFactor * active)));
+            }
+
+            @Override
+            public boolean success(final INodeEntry node) {
+                return random.nextDouble() >= failureRate;
+            }
+        };
+    }
+
+    public static void main(String[] args) {
+        final int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        final int threads = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        Map<String, OrchestratorFactory> factories = new LinkedHashMap<String, OrchestratorFactory>();
+        factories.put("maxPercentage(33)", new OrchestratorFactory() {
+            @Override
+            public Orchestrator create(final Collection<INodeEntry> nodes, final AdaptiveOrchestrator.Clock clock) {
+                return new MaxPercentageOrchestator(null, nodes, 33);
+            }
+        });
+        factories.put("adaptive", new OrchestratorFactory() {
+            @Override
+            public Orchestrator create(final Collection<INodeEntry> nodes, final AdaptiveOrchestrator.Clock clock) {
+                return new AdaptiveOrchestrator(null, nodes, 1, 0, 20, 10, 50, 5000, clock);
+            }
+        });
+        Map<String, NodeModel> models = new LinkedHashMap<String, NodeModel>();
+        models.put("healthy", logNormal(1, 500, 0.5, 0.01, 0));
+        models.put("loaded backend", logNormal(2, 500, 0.5, 0.01, 0.05));
+        models.put("failing", logNormal(3, 500, 0.5, 0.6, 0));
+        for (Map.Entry<String, NodeModel> model : models.entrySet()) {
+            for (Map.Entry<String, OrchestratorFactory> factory : factories.entrySet()) {
+                System.out.println(
+                        model.getKey() + " / " + factory.getKey() + ": " +
+                        simulate(factory.getValue(), nodes, threads, model.getValue())
+                );
+            }
+        }
+    }
+}
@@ -4,6 +4,10 @@ import com.codahale.metrics.health.HealthCheckRegistry
 import com.dtolabs.launcher.Setup
 import com.dtolabs.rundeck.core.Constants
 import com.dtolabs.rundeck.core.VersionConstants
+import com.dtolabs.rundeck.core.execution.metrics.ExecutionMetrics
+import com.dtolabs.rundeck.core.execution.metrics.LatencyHistogram
+import com.dtolabs.rundeck.core.execution.metrics.LatencyHistogramListener
+import com.dtolabs.rundeck.core.execution.workflow.ParallelStepExecutorService
 import com.dtolabs.rundeck.core.utils.ThreadBoundOutputStream
 import com.dtolabs.rundeck.util.quartz.MetricsSchedulerListener
 import com.dtolabs.utils.Streams
@@ -306,6 +310,36 @@ class BootStrap {
          }))
          def counter = metricRegistry.counter(MetricRegistry.name("rundeck.scheduler.quartz", "scheduledJobs"))
          quartzScheduler.getListenerManager().addSchedulerListener(new MetricsSchedulerListener(counter))
+         //metrics for parallel workflow steps
+         def parallelSteps = ParallelStepExecutorService.getInstanceForFramework(frameworkService.rundeckFramework)
+         metricRegistry.register(MetricRegistry.name("rundeck.workflow.parallel","activeSteps"),new CallableGauge<Integer>({
+             parallelSteps.activeSteps
+         }))
+         metricRegistry.register(MetricRegistry.name("rundeck.workflow.parallel","queuedSteps"),new CallableGauge<Integer>({
+             parallelSteps.queuedSteps
+         }))
+         metricRegistry.register(MetricRegistry.name("rundeck.workflow.parallel","activeThreads"),new CallableGauge<Integer>({
+             parallelSteps.activeThreads
+         }))
+         //execution pipeline latency histograms, registered as each provider or step type is first recorded
+         ExecutionMetrics.addListener({ LatencyHistogram histogram ->
+             def millis = { long nanos -> nanos / 1000000.0d }
+             [
+                     count: { histogram.count },
+                     mean : { millis(histogram.meanNanos) },
+                     max  : { millis(histogram.maxNanos) },
+                     p50  : { millis(histogram.getPercentileNanos(0.5d)) },
+                     p90  : { millis(histogram.getPercentileNanos(0.9d)) },
+                     p99  : { millis(histogram.getPercentileNanos(0.99d)) },
+             ].each { String stat, Closure value ->
+                 def name = MetricRegistry.name("rundeck.execution.metrics", histogram.name, histogram.tag, stat)
+                 try {
+                     metricRegistry.register(name, new CallableGauge(value))
+                 } catch (IllegalArgumentException ignored) {
+                     //already registered
+                 }
+             }
+         } as LatencyHistogramListener)
 
          if (configurationService.executionModeActive) {
              log.info("Rundeck is ACTIVE: executions can be run.")
@@ -15,6 +15,7 @@ class UrlMappings {
             action=[GET:'apiExecution',DELETE: 'apiExecutionDelete']
         }
         "/api/$api_version/execution/$id/state"(controller: 'execution', action: 'apiExecutionState')
+        "/api/$api_version/execution/$id/profile"(controller: 'execution', action: 'apiExecutionProfile')
         "/api/$api_version/execution/$id/abort"(controller: 'execution', action: 'apiExecutionAbort')
         "/api/$api_version/execution/$id/output(.$format)?"(controller: 'execution', action: 'apiExecutionOutput')
         "/api/$api_version/execution/$id/output/state"(controller: 'execution', action: 'apiExecutionStateOutput')
@@ -147,6 +148,7 @@ class UrlMappings {
         ///////////////
 
         "/api/$api_version/system/info"(controller: 'api', action: 'apiSystemInfo')
+        "/api/$api_version/system/metrics/execution"(controller: 'api', action: 'apiExecutionMetrics')
         "/api/$api_version/system/logstorage"(controller: 'menu', action: 'apiLogstorageInfo')
         "/api/$api_version/system/logstorage/incomplete/resume"(controller: 'menu', action: 'apiResumeIncompleteLogstorage')
         "/api/$api_version/system/logstorage/incomplete"(controller: 'menu', action: 'apiLogstorageListIncompleteExecutions')
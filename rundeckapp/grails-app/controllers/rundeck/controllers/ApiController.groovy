@@ -1,6 +1,9 @@
 package rundeck.controllers
 
 import com.dtolabs.rundeck.core.authorization.AuthContext
+import com.dtolabs.rundeck.core.execution.metrics.ExecutionMetrics
+import com.dtolabs.rundeck.core.execution.metrics.LatencyHistogram
+import com.dtolabs.rundeck.core.execution.metrics.LatencyHistograms
 import rundeck.AuthToken
 import rundeck.User
 
@@ -240,6 +243,70 @@ class ApiController extends ControllerBase{
         }
     }
 
+    /**
+     * /api/17/system/metrics/execution: latency histograms for the execution pipeline
+     */
+    def apiExecutionMetrics() {
+        if (!apiService.requireVersion(request, response, ApiRequestFilters.V17)) {
+            return
+        }
+        AuthContext authContext = frameworkService.getAuthContextForSubject(session.subject)
+        if (!apiService.requireAuthorized(
+                frameworkService.authorizeApplicationResource(
+                        authContext,
+                        AuthConstants.RESOURCE_TYPE_SYSTEM,
+                        AuthConstants.ACTION_READ
+                ),
+                response,
+                [AuthConstants.ACTION_READ, 'System', 'Execution Metrics'].toArray()
+        )) {
+            return
+        }
+        def data = [:]
+        ExecutionMetrics.getAll().each { LatencyHistograms histograms ->
+            data[histograms.name] = histograms.histograms.sort { it.tag }.collectEntries { LatencyHistogram h ->
+                [h.tag, histogramData(h)]
+            }
+        }
+        withFormat {
+            json {
+                apiService.renderSuccessJson(response) {
+                    enabled = ExecutionMetrics.isEnabled()
+                    unit = 'ms'
+                    data.each { String name, Map values ->
+                        delegate.setProperty(name, values)
+                    }
+                }
+            }
+            xml {
+                apiService.renderSuccessXml(request, response) {
+                    delegate.'executionMetrics'(enabled: ExecutionMetrics.isEnabled(), unit: 'ms') {
+                        data.each { String name, Map values ->
+                            delegate.'metric'(name: name) {
+                                values.each { String tag, Map stats ->
+                                    delegate.'provider'([name: tag] + stats)
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Map histogramData(LatencyHistogram h) {
+        def millis = { long nanos -> nanos / 1000000.0d }
+        [
+                count: h.count,
+                total: millis(h.totalNanos),
+                mean : millis(h.meanNanos),
+                max  : millis(h.maxNanos),
+                p50  : millis(h.getPercentileNanos(0.5d)),
+                p90  : millis(h.getPercentileNanos(0.9d)),
+                p99  : millis(h.getPercentileNanos(0.99d)),
+        ]
+    }
+
     /**
      * /api/1/system/info: display stats and info about the server
      */
@@ -1,6 +1,7 @@
 package rundeck.controllers
 
 import com.dtolabs.client.utils.Constants
+import com.dtolabs.rundeck.app.internal.workflow.ExecutionProfile
 import com.dtolabs.rundeck.app.support.BuilderUtil
 import com.dtolabs.rundeck.app.support.ExecutionViewParams
 import com.dtolabs.rundeck.core.authorization.AuthContext
@@ -21,6 +22,7 @@ import rundeck.PluginStep
 import rundeck.ScheduledExecution
 import rundeck.filters.ApiRequestFilters
 import rundeck.services.ApiService
+import rundeck.services.ExecutionProfileService
 import rundeck.services.ExecutionService
 import rundeck.services.FrameworkService
 import rundeck.services.LoggingService
@@ -47,6 +49,7 @@ class ExecutionController extends ControllerBase{
     OrchestratorPluginService orchestratorPluginService
     ApiService apiService
     WorkflowService workflowService
+    ExecutionProfileService executionProfileService
 
     static allowedMethods = [
             delete:['POST','DELETE'],
@@ -1354,6 +1357,86 @@ class ExecutionController extends ControllerBase{
         }
     }
 
+    /**
+     * API: /api/execution/{id}/profile, version 17
+     */
+    def apiExecutionProfile(){
+        if (!apiService.requireVersion(request, response, ApiRequestFilters.V17)) {
+            return
+        }
+        def Execution e = Execution.get(params.id)
+
+        if(!apiService.requireExists(response,e,['Execution ID',params.id])){
+            return
+        }
+        AuthContext authContext = frameworkService.getAuthContextForSubjectAndProject(session.subject,e.project)
+        if(!apiService.requireAuthorized(
+                frameworkService.authorizeProjectExecutionAll(authContext,e,[AuthConstants.ACTION_READ]),
+                response,
+                [AuthConstants.ACTION_READ, "Execution", params.id] as Object[])){
+            return
+        }
+
+        def loader = executionProfileService.requestProfile(e)
+        def profile
+        if (!loader.profile) {
+            if (loader.state in [ExecutionLogState.WAITING, ExecutionLogState.AVAILABLE_REMOTE,
+                    ExecutionLogState.PENDING_LOCAL, ExecutionLogState.PENDING_REMOTE]) {
+                profile = [error: 'pending']
+            } else {
+                def errormap = [:]
+                if (loader.state in [ExecutionLogState.NOT_FOUND]) {
+                    errormap = [status: HttpServletResponse.SC_NOT_FOUND, code: "api.error.item.doesnotexist",
+                            args: ['Execution Profile ID', params.id]]
+                } else {
+                    errormap = [status: HttpServletResponse.SC_NOT_FOUND, code: loader.errorCode, args: loader.errorData]
+                }
+                withFormat {
+                    json {
+                        return apiService.renderErrorJson(response, errormap)
+                    }
+                    xml {
+                        return apiService.renderErrorXml(response, errormap)
+                    }
+                }
+                return
+            }
+        } else {
+            profile = ExecutionProfile.summarize(loader.profile)
+            if (params.spans in ['true', true]) {
+                profile.spans = loader.profile.spans
+            }
+        }
+        def convertXml = { Map map ->
+            Map newmap = [:] + map
+            if (map.slowestNodes != null) {
+                newmap.slowestNodes = [node: map.slowestNodes.collect { Map node ->
+                    BuilderUtil.toAttrMap('name', node.node) + node.findAll { it.key != 'node' }
+                }]
+            }
+            ['criticalPath', 'spans'].each { key ->
+                if (map[key] != null) {
+                    newmap[key] = [span: map[key]]
+                }
+            }
+            newmap
+        }
+        withFormat {
+            json{
+                return render(contentType: "application/json", encoding: "UTF-8",text:profile.encodeAsJSON())
+            }
+            xml{
+                return render(contentType: "text/xml", encoding: "UTF-8") {
+                    result(success: "true", apiversion: ApiRequestFilters.API_CURRENT_VERSION) {
+                        executionProfile(id:params.id){
+                            new BuilderUtil().mapToDom(convertXml(profile), delegate)
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * API: /api/execution/{id}/abort, version 1
      */
@@ -71,6 +71,7 @@ class FrameworkController extends ControllerBase implements ApplicationContextAw
     PasswordFieldsService fcopyPasswordFieldsService
 
     def metricService
+    def jobGroupIndexService
     def ApiService apiService
     def configStorageService
     def AuthorizationService authorizationService
@@ -1831,7 +1832,7 @@ class FrameworkController extends ControllerBase implements ApplicationContextAw
         //summary data
         def data= [
             project:project,
-            jobCount: ScheduledExecution.countByProject(project),
+            jobCount: jobGroupIndexService.jobCount(project),
             execCount: Execution.countByProjectAndDateStartedGreaterThan(project, today),
             userCount: users.size(),
             nodeCount:project1.nodeSet.nodeNames.size(),
@@ -2,6 +2,7 @@ package rundeck.controllers
 
 import com.dtolabs.client.utils.Constants
 import com.dtolabs.rundeck.app.support.BaseQuery
+import com.dtolabs.rundeck.app.support.JobSummary
 import com.dtolabs.rundeck.app.support.QueueQuery
 import com.dtolabs.rundeck.app.support.ScheduledExecutionQuery
 import com.dtolabs.rundeck.app.support.StoreFilterCommand
@@ -21,7 +22,6 @@ import com.dtolabs.rundeck.server.authorization.AuthConstants
 import com.dtolabs.rundeck.server.plugins.services.StorageConverterPluginProviderService
 import com.dtolabs.rundeck.server.plugins.services.StoragePluginProviderService
 import grails.converters.JSON
-import groovy.xml.MarkupBuilder
 import org.springframework.context.ApplicationContext
 import org.springframework.context.ApplicationContextAware
 import rundeck.Execution
@@ -240,16 +240,13 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
                 results
             }
             yaml{
-                final def encoded = JobsYAMLCodec.encode(results.nextScheduled as List)
-                render(text:encoded,contentType:"text/yaml",encoding:"UTF-8")
+                def jobs = scheduledExecutionService.iterateJobsForSummaries(results.nextScheduled)
+                renderJobsDefinition(jobs, 'text/yaml', JobsYAMLCodec.encodeToWriter)
             }
             xml{
                 response.setHeader(Constants.X_RUNDECK_RESULT_HEADER,"Jobs found: ${results.nextScheduled?.size()}")
-                def writer = new StringWriter()
-                def xml = new MarkupBuilder(writer)
-                JobsXMLCodec.encodeWithBuilder(results.nextScheduled,xml)
-                writer.flush()
-                render(text:writer.toString(),contentType:"text/xml",encoding:"UTF-8")
+                def jobs = scheduledExecutionService.iterateJobsForSummaries(results.nextScheduled)
+                renderJobsDefinition(jobs, 'text/xml', JobsXMLCodec.encodeToWriter)
             }
         }
     }
@@ -289,6 +286,14 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
         def results=listWorkflows(query,authContext,session.user)
         //fill scm status
         if(params['_no_scm']!=true) {
+            //full jobs are only loaded if a scm plugin needs them
+            List<ScheduledExecution> scmJobs = null
+            def loadScmJobs = {
+                if (null == scmJobs) {
+                    scmJobs = scheduledExecutionService.loadJobsForSummaries(results.nextScheduled)
+                }
+                scmJobs
+            }
             if (frameworkService.authorizeApplicationResourceAny(authContext,
                                                                  frameworkService.authResourceForProject(
                                                                          params.project
@@ -299,7 +304,7 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
                 try {
                     if (scmService.projectHasConfiguredExportPlugin(params.project)) {
                         pluginData.scmExportEnabled = true
-                        pluginData.scmStatus = scmService.exportStatusForJobs(results.nextScheduled)
+                        pluginData.scmStatus = scmService.exportStatusForJobs(loadScmJobs())
                         pluginData.scmExportStatus = scmService.exportPluginStatus(authContext, params.project)
                         pluginData.scmExportActions = scmService.exportPluginActions(authContext, params.project)
                         pluginData.scmExportRenamed = scmService.getRenamedJobPathsForProject(params.project)
@@ -320,7 +325,7 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
                 try {
                     if (scmService.projectHasConfiguredImportPlugin(params.project)) {
                         pluginData.scmImportEnabled = true
-                        pluginData.scmImportJobStatus = scmService.importStatusForJobs(results.nextScheduled)
+                        pluginData.scmImportJobStatus = scmService.importStatusForJobs(loadScmJobs())
                         pluginData.scmImportStatus = scmService.importPluginStatus(authContext, params.project)
                         pluginData.scmImportActions = scmService.importPluginActions(authContext, params.project)
                         results.putAll(pluginData)
@@ -379,7 +384,7 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
         if(null!=query){
             query.configureFilter()
         }
-        def qres = scheduledExecutionService.listWorkflows(query)
+        def qres = scheduledExecutionService.listJobSummaries(query)
         log.debug("service.listWorkflows: "+(System.currentTimeMillis()-start));
         long rest=System.currentTimeMillis()
         def schedlist=qres.schedlist
@@ -397,12 +402,12 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
         //collect all jobs and authorize the user for the set of available Job actions
         def jobnames=[:]
         Set res = new HashSet()
-        schedlist.each{ ScheduledExecution sched->
+        schedlist.each{ JobSummary sched->
             if(!jobnames[sched.generateFullName()]){
                 jobnames[sched.generateFullName()]=[]
             }
             jobnames[sched.generateFullName()]<<sched.id.toString()
-            res.add(frameworkService.authResourceForJob(sched))
+            res.add(frameworkService.authResourceForJob(sched.jobName, sched.groupPath))
         }
         // Filter the groups by what the user is authorized to see.
 
@@ -436,7 +441,7 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
          'group/name' -> [ jobs...]
          */
         def jobgroups=[:]
-        schedlist.each{ ScheduledExecution se->
+        schedlist.each{ JobSummary se->
             authorizemap[se.id.toString()]=jobauthorizations[AuthConstants.ACTION_READ]?.contains(se.id.toString())
             if(authorizemap[se.id.toString()]){
                 newschedlist<<se
@@ -1682,19 +1687,24 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
                                                         args: [query.errors.allErrors.collect { message(error: it) }.join("; ")]
                                                 ])
         }
+        //don't load scm status for api response
+        params['_no_scm']=true
         def results = jobsFragment(query)
 
         respondApiJobsList(results.nextScheduled)
     }
 
-    private void respondApiJobsList(List<ScheduledExecution> results) {
+    /**
+     * @param results list of ScheduledExecution or JobSummary
+     */
+    private void respondApiJobsList(List results) {
         def clusterModeEnabled = frameworkService.isClusterModeEnabled()
         def serverNodeUUID = frameworkService.serverUUID
         withFormat {
             xml {
                 return apiService.renderSuccessXml(request, response) {
                     delegate.'jobs'(count: results.size()) {
-                        results.each { ScheduledExecution se ->
+                        results.each { se ->
                             def jobparams = [id: se.extid, href: apiService.apiHrefForJob(se),
                                              permalink: apiService.guiHrefForJob(se)]
                             if (request.api_version >= ApiRequestFilters.V17) {
@@ -1718,7 +1728,7 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
             }
             json {
                 return apiService.renderSuccessJson(response) {
-                    results.each { ScheduledExecution se ->
+                    results.each { se ->
                         def jobparams = [id         : se.extid,
                                          name       : (se.jobName),
                                          group      : (se.groupPath),
@@ -1831,22 +1841,32 @@ class MenuController extends ControllerBase implements ApplicationContextAware{
         //don't load scm status for api response
         params['_no_scm']=true
         def results = jobsFragment(query)
+        def jobs = scheduledExecutionService.iterateJobsForSummaries(results.nextScheduled)
 
         withFormat{
             xml{
-                def writer = new StringWriter()
-                def xml = new MarkupBuilder(writer)
-                JobsXMLCodec.encodeWithBuilder(results.nextScheduled,xml)
-                writer.flush()
-                render(text:writer.toString(),contentType:"text/xml",encoding:"UTF-8")
+                renderJobsDefinition(jobs, 'text/xml', JobsXMLCodec.encodeToWriter)
             }
             yaml{
-                final def encoded = JobsYAMLCodec.encode(results.nextScheduled as List)
-                render(text:encoded,contentType:"text/yaml",encoding:"UTF-8")
+                renderJobsDefinition(jobs, 'text/yaml', JobsYAMLCodec.encodeToWriter)
             }
         }
     }
 
+    /**
+     * Write the job definitions directly to the response, without buffering the whole document
+     * @param jobs jobs
+     * @param contentType content type
+     * @param encoder codec closure accepting the jobs and a Writer
+     */
+    private def renderJobsDefinition(Iterable<ScheduledExecution> jobs, String contentType, Closure encoder){
+        response.contentType=contentType
+        response.characterEncoding='UTF-8'
+        response.outputStream.withWriter('UTF-8') { w ->
+            encoder(jobs, w)
+        }
+    }
+
     /**
      * API: /project/PROJECT/executions/running, version 14
      */
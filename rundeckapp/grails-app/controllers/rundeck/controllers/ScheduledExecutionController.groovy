@@ -2204,44 +2204,41 @@ class ScheduledExecutionController  extends ControllerBase{
             UserAndRolesAuthContext authContext = frameworkService.getAuthContextForSubjectAndProject(session.subject,params.project)
         
         def fileformat = params.fileformat ?: 'xml'
-        def parseresult
+        def input
         if(params.xmlBatch && params.xmlBatch instanceof String) {
-            String fileContent = params.xmlBatch
-            parseresult = scheduledExecutionService.parseUploadedFile(fileContent, fileformat)
+            input = params.xmlBatch
         } else if(params.xmlBatch && params.xmlBatch instanceof CommonsMultipartFile) {
-            InputStream fileContent = params.xmlBatch.inputStream
-            parseresult = scheduledExecutionService.parseUploadedFile(fileContent, fileformat)
+            input = params.xmlBatch.inputStream
         } else if (request instanceof MultipartHttpServletRequest) {
             def file = request.getFile("xmlBatch")
             if (!file || file.empty) {
                 request.message = "No file was uploaded."
                 return render(view: 'upload')
             }
-            parseresult = scheduledExecutionService.parseUploadedFile(file.getInputStream(), fileformat)
+            input = file.getInputStream()
         } else {
             request.message = "No file was uploaded."
             return render(view:'upload')
         }
-        def jobset
-        if(parseresult.errorCode){
-            parseresult.error=message(code:parseresult.errorCode,args:parseresult.args)
+        def changeinfo = [user: session.user,method:'upload']
+        String roleList = request.subject.getPrincipals(Group.class).collect {it.name}.join(",")
+        def loadresults = scheduledExecutionService.parseAndLoadJobs(input, fileformat, params.dupeOption,
+                params.uuidOption, changeinfo, authContext) { ScheduledExecution job ->
+            job.project = params.project
+        }
+        if(loadresults.errorCode){
+            loadresults.error=message(code:loadresults.errorCode,args:loadresults.args)
         }
-        if(parseresult.error){
+        if(loadresults.error){
             if(params.xmlreq){
-                flash.error = parseresult.error
+                flash.error = loadresults.error
                 return xmlerror()
             }else{
-                request.error=parseresult.error
+                request.error=loadresults.error
                 return render(view:'upload')
             }
         }
-        jobset=parseresult.jobset
-        jobset*.project=params.project
-        def changeinfo = [user: session.user,method:'upload']
-        String roleList = request.subject.getPrincipals(Group.class).collect {it.name}.join(",")
-        def loadresults = scheduledExecutionService.loadJobs(jobset, params.dupeOption, params.uuidOption,
-                 changeinfo,authContext)
-            scheduledExecutionService.issueJobChangeEvents(loadresults.jobChangeEvents)
+        scheduledExecutionService.issueJobChangeEvents(loadresults.jobChangeEvents)
 
 
         def jobs = loadresults.jobs
@@ -2845,13 +2842,15 @@ class ScheduledExecutionController  extends ControllerBase{
         }
         log.debug("ScheduledExecutionController: upload " + params)
         def fileformat = params.format ?: 'xml'
-        def parseresult
+        def input
         if(request.api_version >= ApiRequestFilters.V14 && request.format=='xml'){
             //xml input
-            parseresult = scheduledExecutionService.parseUploadedFile(request.getInputStream(), 'xml')
+            input = request.getInputStream()
+            fileformat = 'xml'
         }else if(request.api_version >= ApiRequestFilters.V14 && request.format=='yaml'){
             //yaml input
-            parseresult = scheduledExecutionService.parseUploadedFile(request.getInputStream(), 'yaml')
+            input = request.getInputStream()
+            fileformat = 'yaml'
         }else if (!apiService.requireParameters(params,response,['xmlBatch'])) {
             return
         }else if (request instanceof MultipartHttpServletRequest) {
@@ -2860,36 +2859,19 @@ class ScheduledExecutionController  extends ControllerBase{
                 return apiService.renderErrorFormat(response, [status: HttpServletResponse.SC_BAD_REQUEST,
                         code: 'api.error.jobs.import.missing-file', args: null])
             }
-            parseresult = scheduledExecutionService.parseUploadedFile(file.getInputStream(), fileformat)
+            input = file.getInputStream()
         }else if (params.xmlBatch) {
-            String fileContent = params.xmlBatch
-            parseresult = scheduledExecutionService.parseUploadedFile(fileContent, fileformat)
+            input = params.xmlBatch.toString()
         }else{
             return apiService.renderErrorFormat(response, [status: HttpServletResponse.SC_BAD_REQUEST,
                     code: 'api.error.jobs.import.missing-file', args: null])
         }
-        if (parseresult.errorCode) {
-            return apiService.renderErrorFormat(response, [status: HttpServletResponse.SC_BAD_REQUEST,
-                    code: parseresult.errorCode, args: parseresult.args])
-        }
-
-        if (parseresult.error) {
-            return apiService.renderErrorFormat(response, [status: HttpServletResponse.SC_BAD_REQUEST,
-                    code: 'api.error.jobs.import.invalid', args: [fileformat,parseresult.error]])
-        }
-        def jobset = parseresult.jobset
         if(request.api_version >= ApiRequestFilters.V14){
             //require project parameter
             if(!apiService.requireParameters(params,response, ['project'])){
                 return
             }
         }
-        if(request.api_version >= ApiRequestFilters.V8){
-            //v8 override project using parameter
-            if(params.project){
-                jobset*.project=params.project
-            }
-        }
         def changeinfo = [user: session.user,method:'apiJobsImport']
         def Framework framework = frameworkService.getRundeckFramework()
         //nb: loadJobs will get correct project auth context
@@ -2899,7 +2881,22 @@ class ScheduledExecutionController  extends ControllerBase{
         if (request.api_version < ApiRequestFilters.V9) {
             option = null
         }
-        def loadresults = scheduledExecutionService.loadJobs(jobset,params.dupeOption, option, changeinfo, authContext)
+        def loadresults = scheduledExecutionService.parseAndLoadJobs(input, fileformat, params.dupeOption, option,
+                changeinfo, authContext) { ScheduledExecution job ->
+            if(request.api_version >= ApiRequestFilters.V8 && params.project){
+                //v8 override project using parameter
+                job.project = params.project
+            }
+        }
+        if (loadresults.errorCode) {
+            return apiService.renderErrorFormat(response, [status: HttpServletResponse.SC_BAD_REQUEST,
+                    code: loadresults.errorCode, args: loadresults.args])
+        }
+
+        if (loadresults.error) {
+            return apiService.renderErrorFormat(response, [status: HttpServletResponse.SC_BAD_REQUEST,
+                    code: 'api.error.jobs.import.invalid', args: [fileformat,loadresults.error]])
+        }
         scheduledExecutionService.issueJobChangeEvents(loadresults.jobChangeEvents)
 
         def jobs = loadresults.jobs
@@ -817,6 +817,39 @@ class ScheduledExecution extends ExecutionContext {
         return this.uuid?:this.id.toString()
     }
 
+    /**
+     * Return the id, uuid, name and group path of all jobs in the project, without loading the jobs
+     * @param project project name
+     * @return list of [id, uuid, jobName, groupPath] values
+     */
+    static List findAllJobIdentsByProject(String project){
+        ScheduledExecution.createCriteria().list {
+            eq('project', project)
+            projections {
+                property('id')
+                property('uuid')
+                property('jobName')
+                property('groupPath')
+            }
+        }
+    }
+
+    /**
+     * Return the number of jobs in the project and the latest job update time, which change when any job in the
+     * project is created, updated or deleted
+     * @param project project name
+     * @return list of [count, lastUpdated] values
+     */
+    static List findJobsStampByProject(String project){
+        ScheduledExecution.createCriteria().get {
+            eq('project', project)
+            projections {
+                count('id')
+                max('lastUpdated')
+            }
+        }
+    }
+
     /**
      * Find all ScheduledExecutions with the given group, name and project
      * @param group
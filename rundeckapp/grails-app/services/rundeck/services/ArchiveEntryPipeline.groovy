@@ -0,0 +1,61 @@
+package rundeck.services
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+
+/**
+ * Renders items on a pool of worker threads, and passes the results in their original order to a consumer on the
+ * calling thread. At most {@link #queueSize} results are pending at a time, so rendering cannot run far ahead of the
+ * consumer.
+ */
+class ArchiveEntryPipeline {
+    final ExecutorService executor
+    final int queueSize
+
+    ArchiveEntryPipeline(ExecutorService executor, int queueSize) {
+        this.executor = executor
+        this.queueSize = Math.max(1, queueSize)
+    }
+
+    /**
+     * Render all items and consume the results
+     * @param items items to render
+     * @param render called on a worker thread with an item, returns the rendered result
+     * @param consume called on the calling thread with each result, in the order of the items
+     * @throws ProjectServiceException if rendering fails
+     */
+    void run(Iterator items, Closure render, Closure consume) throws ProjectServiceException {
+        Deque<Future> pending = new ArrayDeque<Future>()
+        try {
+            while (items.hasNext()) {
+                if (pending.size() >= queueSize) {
+                    consume.call(take(pending.removeFirst()))
+                }
+                def item = items.next()
+                pending.addLast(executor.submit({ render.call(item) } as Callable))
+            }
+            while (pending) {
+                consume.call(take(pending.removeFirst()))
+            }
+        } finally {
+            pending*.cancel(true)
+        }
+    }
+
+    private static Object take(Future future) throws ProjectServiceException {
+        try {
+            return future.get()
+        } catch (ExecutionException e) {
+            def cause = e.cause
+            if (cause instanceof ProjectServiceException) {
+                throw cause
+            }
+            throw new ProjectServiceException("Failed to process archive entry: " + cause?.message, cause)
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt()
+            throw new ProjectServiceException("Archive processing was interrupted", e)
+        }
+    }
+}
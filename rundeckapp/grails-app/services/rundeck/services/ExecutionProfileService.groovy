@@ -0,0 +1,164 @@
+package rundeck.services
+
+import com.dtolabs.rundeck.app.internal.workflow.ExecutionProfile
+import com.dtolabs.rundeck.app.internal.workflow.ExecutionProfileListener
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import grails.converters.JSON
+import org.springframework.beans.factory.InitializingBean
+import rundeck.Execution
+import rundeck.services.logging.ExecutionFile
+import rundeck.services.logging.ExecutionFileDeletePolicy
+import rundeck.services.logging.ExecutionFileProducer
+import rundeck.services.logging.ExecutionLogState
+import rundeck.services.logging.ExecutionProfileFileLoader
+import rundeck.services.logging.ProducedExecutionFile
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Records a timeline of workflow, step, node step and node phase spans for each execution, stored as the
+ * "profile.json" execution file, and summarizes it.
+ */
+class ExecutionProfileService implements ExecutionFileProducer, InitializingBean {
+    public static final String PROFILE_FILE_FILETYPE = "profile.json"
+    static transactional = false
+    final String executionFileType = PROFILE_FILE_FILETYPE
+
+    LogFileStorageService logFileStorageService
+    def configurationService
+    /**
+     * Cache of loaded profile data after executions complete
+     */
+    Cache<Long, Map> profileCache
+    /**
+     * profiles of running executions
+     */
+    Map<Long, ExecutionProfile> activeProfiles = new ConcurrentHashMap<Long, ExecutionProfile>()
+
+    @Override
+    void afterPropertiesSet() throws Exception {
+        def spec = configurationService?.getCacheSpecFor(
+                'executionProfileService',
+                'profileCache',
+                "maximumSize=20,expireAfterAccess=60s"
+        ) ?: "maximumSize=20,expireAfterAccess=60s"
+        profileCache = CacheBuilder.from(spec).build()
+    }
+
+    /**
+     * The profile is optional: executions from before profiling was added, or which ended before the profile was
+     * written, do not have one
+     */
+    @Override
+    boolean isExecutionFileGenerated() {
+        return true
+    }
+
+    /**
+     * @return the profile file, or null if it was not written for the execution
+     */
+    @Override
+    ExecutionFile produceStorageFileForExecution(final Execution e) {
+        def file = getProfileFileForExecution(e)
+        if (!file.exists()) {
+            return null
+        }
+        new ProducedExecutionFile(
+                localFile: file,
+                fileDeletePolicy: ExecutionFileDeletePolicy.WHEN_RETRIEVABLE
+        )
+    }
+
+    /**
+     * Return the file for the profile.json for the execution
+     * @param execution
+     */
+    File getProfileFileForExecution(Execution execution) {
+        logFileStorageService.getFileForExecutionFiletype(execution, PROFILE_FILE_FILETYPE, true)
+    }
+
+    /**
+     * Create a listener which records the profile for the execution, and writes it to the profile file when the
+     * workflow finishes
+     * @param execution execution
+     */
+    ExecutionProfileListener createProfileListenerForExecution(Execution execution) {
+        final long id = execution.id
+        int maxSpans = configurationService?.getInteger(
+                'executionProfile.maxSpans',
+                ExecutionProfile.DEFAULT_MAX_SPANS
+        ) ?: ExecutionProfile.DEFAULT_MAX_SPANS
+        def profile = new ExecutionProfile(id, maxSpans)
+        activeProfiles.put(id, profile)
+        File outfile = getProfileFileForExecution(execution)
+        def listener = new ExecutionProfileListener(profile)
+        listener.onComplete = { ExecutionProfile completed ->
+            persistProfile(id, completed, outfile)
+        }
+        listener
+    }
+
+    /**
+     * Write the profile for the execution if it is still active, i.e. the workflow did not finish normally
+     * @param execution execution
+     */
+    void finishProfile(Execution execution) {
+        def profile = activeProfiles[execution.id]
+        if (profile) {
+            persistProfile(execution.id, profile, getProfileFileForExecution(execution))
+        }
+    }
+
+    def persistProfile(Long id, ExecutionProfile profile, File file) {
+        try {
+            def data = profile.toMap()
+            file.withWriter('UTF-8') { w ->
+                w << (data as JSON).toString()
+            }
+            profileCache.put(id, data)
+            log.debug("${id}: execution profile.json persisted to file.")
+        } catch (IOException e) {
+            log.error("${id}: failed to write execution profile: ${e.message}", e)
+        } finally {
+            activeProfiles.remove(id)
+        }
+    }
+
+    Map deserializeProfile(File file) {
+        if (file.canRead()) {
+            return JSON.parse(file.getText('UTF-8')) as Map
+        }
+        return null
+    }
+
+    /**
+     * Return the profile data for the execution, from the running execution, or loaded from the profile file
+     * @param e execution
+     * @param performLoad if true, perform remote file transfer
+     */
+    ExecutionProfileFileLoader requestProfile(Execution e, boolean performLoad = true) {
+        def active = activeProfiles[e.id]
+        if (active) {
+            return new ExecutionProfileFileLoader(profile: active.toMap(), state: ExecutionLogState.AVAILABLE)
+        }
+        def data = profileCache.getIfPresent(e.id)
+        if (data) {
+            return new ExecutionProfileFileLoader(profile: data, state: ExecutionLogState.AVAILABLE)
+        }
+        def loader = logFileStorageService.requestLogFileLoad(e, PROFILE_FILE_FILETYPE, performLoad)
+        if (loader.file) {
+            data = deserializeProfile(loader.file)
+            if (data) {
+                profileCache.put(e.id, data)
+            }
+        }
+        new ExecutionProfileFileLoader(
+                profile: data,
+                state: loader.state,
+                errorCode: loader.errorCode,
+                errorData: loader.errorData,
+                file: loader.file
+        )
+    }
+}
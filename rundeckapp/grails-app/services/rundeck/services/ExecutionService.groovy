@@ -61,6 +61,7 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
     def ReportService reportService
     def LoggingService loggingService
     def WorkflowService workflowService
+    def ExecutionProfileService executionProfileService
     def StorageService storageService
 
     def ThreadBoundOutputStream sysThreadBoundOut
@@ -840,16 +841,21 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
             def wfEventListener = new WorkflowEventLoggerListener(executionListener)
             def logOutFlusher = new LogFlusher()
             def logErrFlusher = new LogFlusher()
+            def listeners = [
+                    executionListener, //manages context for logging
+                    wfEventListener, //emits state change events to log
+                    execStateListener, //updates WF execution state model
+                    logOutFlusher, //flushes stdout output after node steps
+                    logErrFlusher, //flush stderr output after node steps
+                    /*new EchoExecListener() */
+            ]
+            def profileListener = executionProfileService?.createProfileListenerForExecution(execution)
+            if (profileListener) {
+                listeners << profileListener //records execution profile timeline
+            }
             def multiListener = MultiWorkflowExecutionListener.create(
                     executionListener, //delegate for ExecutionListener
-                    [
-                            executionListener, //manages context for logging
-                            wfEventListener, //emits state change events to log
-                            execStateListener, //updates WF execution state model
-                            logOutFlusher, //flushes stdout output after node steps
-                            logErrFlusher, //flush stderr output after node steps
-                            /*new EchoExecListener() */
-                    ]
+                    listeners
             )
 
             if(scheduledExecution) {
@@ -894,6 +900,7 @@ class ExecutionService implements ApplicationContextAware, StepExecutor, NodeSte
         }catch(Exception e) {
             log.error("Failed while starting execution: ${execution.id}", e)
             loghandler.logError('Failed to start execution: ' + e.getClass().getName() + ": " + e.message)
+            executionProfileService?.finishProfile(execution)
             sysThreadBoundOut.close()
             sysThreadBoundOut.removeThreadStream()
             sysThreadBoundErr.close()
@@ -29,12 +29,14 @@ import static org.apache.tools.ant.util.StringUtils.getStackTrace
 class ExecutionUtilService {
     static transactional = false
     def metricService
+    def executionProfileService
     def ThreadBoundOutputStream sysThreadBoundOut
     def ThreadBoundOutputStream sysThreadBoundErr
 
     def finishExecution(Map execMap) {
         finishExecutionMetrics(execMap)
         finishExecutionLogging(execMap)
+        executionProfileService?.finishProfile(execMap.execution)
     }
     def  finishExecutionMetrics(Map execMap) {
         def ServiceThreadBase thread = execMap.thread
@@ -11,6 +11,7 @@ import rundeck.services.scm.ProjectJobChangeListener
 @Transactional
 class JobEventsService {
     def List<JobChangeListener> listeners = []
+    def jobSerializationCacheService
 
     def addListener(JobChangeListener plugin) {
         listeners << plugin
@@ -38,16 +39,20 @@ class JobEventsService {
         }
         JobSerializer serializer = null
         log.debug("job change: ${e.eventType} ${e.jobReference}")
-        if (e.eventType != JobChangeEvent.JobChangeEventType.DELETE) {
+        if (e.eventType == JobChangeEvent.JobChangeEventType.DELETE) {
+            jobSerializationCacheService?.invalidate(e.jobReference.id)
+        } else {
             ScheduledExecution job = null
             String xmlString = null
             String yamlString = null
+            long version = -1
             int retry = 10
             while (retry > 0) {
                 ScheduledExecution.withNewSession {
                     job = ScheduledExecution.getByIdOrUUID(e.jobReference.id)
                     if (job && job.version >= e.jobReference.version) {
                         retry = 0
+                        version = job.version
                         //add line end char
                         xmlString = job.encodeAsJobsXML() + '\n'
                         yamlString = job.encodeAsJobsYAML() + '\n'
@@ -65,7 +70,15 @@ class JobEventsService {
             if (!job) {
                 log.warn("JobChanged event: failed to load expected job changes, job data may be out of date")
             }
-            serializer = new FromStringSerializer([xml: xmlString, yaml: yamlString])
+            if (job && jobSerializationCacheService) {
+                serializer = jobSerializationCacheService.serializerForContent(
+                        e.jobReference.id,
+                        version,
+                        [xml: xmlString, yaml: yamlString]
+                )
+            } else {
+                serializer = new FromStringSerializer([xml: xmlString, yaml: yamlString])
+            }
         }
         listeners?.each { listener ->
             listener.jobChangeEvent(e, serializer)
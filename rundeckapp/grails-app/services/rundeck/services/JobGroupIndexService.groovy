@@ -0,0 +1,218 @@
+package rundeck.services
+
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.CacheLoader
+import com.google.common.cache.LoadingCache
+import com.dtolabs.rundeck.plugins.scm.JobChangeEvent
+import org.springframework.beans.factory.InitializingBean
+import org.springframework.transaction.support.TransactionSynchronizationAdapter
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import rundeck.ScheduledExecution
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Maintains an index for each project of the job name and group path of every job, so that the job group tree and
+ * job counts can be derived without loading jobs. The index for a project is built with a projection query when it
+ * is first requested, and is updated in place when a job in the project is created, changed or deleted. If a change
+ * races with loading the index, the index is discarded and rebuilt. In cluster mode jobs can also be changed by
+ * other cluster members, so the job count and latest update time of the project are checked before the index is
+ * used, and the index is rebuilt if they differ.
+ */
+class JobGroupIndexService implements InitializingBean {
+    static transactional = false
+    public static final String DEFAULT_CACHE_SPEC = "maximumSize=1000,expireAfterWrite=10m"
+    def configurationService
+    def frameworkService
+
+    LoadingCache<String, ProjectJobIndex> projectIndexCache
+    /**
+     * Incremented for a project each time its index is changed or invalidated
+     */
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>()
+
+    /**
+     * Name and group of an indexed job
+     */
+    static class IndexedJob {
+        final String jobName
+        final String groupPath
+
+        IndexedJob(String jobName, String groupPath) {
+            this.jobName = jobName
+            this.groupPath = groupPath ?: ''
+        }
+    }
+
+    /**
+     * Index of job ID to job name and group for a project
+     */
+    static class ProjectJobIndex {
+        /**
+         * generation of the project which the index reflects
+         */
+        volatile long generation
+        /**
+         * job count and latest update time of the project when the index was loaded, in cluster mode
+         */
+        final List stamp
+        final ConcurrentMap<String, IndexedJob> jobs
+
+        ProjectJobIndex(long generation, List stamp, Map<String, IndexedJob> jobs) {
+            this.generation = generation
+            this.stamp = stamp
+            this.jobs = new ConcurrentHashMap<>(jobs)
+        }
+    }
+
+    @Override
+    void afterPropertiesSet() throws Exception {
+        def spec = configurationService?.getCacheSpecFor(
+                "jobGroupIndexService",
+                "projectIndexCache",
+                DEFAULT_CACHE_SPEC
+        ) ?: DEFAULT_CACHE_SPEC
+        log.debug("projectIndexCache: creating from spec: ${spec}")
+        projectIndexCache = CacheBuilder.from(spec).recordStats().build(
+                new CacheLoader<String, ProjectJobIndex>() {
+                    @Override
+                    ProjectJobIndex load(String project) {
+                        return loadProjectIndex(project)
+                    }
+                }
+        )
+    }
+
+    private AtomicLong generationFor(String project) {
+        def generation = generations.get(project)
+        if (null == generation) {
+            def created = new AtomicLong()
+            generation = generations.putIfAbsent(project, created) ?: created
+        }
+        generation
+    }
+
+    private boolean isClusterMode() {
+        frameworkService?.isClusterModeEnabled()
+    }
+
+    /**
+     * @return job count and latest update time of the project
+     */
+    private static List jobsStamp(String project) {
+        def (count, lastUpdated) = ScheduledExecution.findJobsStampByProject(project)
+        [count as long, lastUpdated?.time]
+    }
+
+    /**
+     * Build the index for a project from the stored jobs
+     * @param project project
+     */
+    ProjectJobIndex loadProjectIndex(String project) {
+        long generation = generationFor(project).get()
+        def stamp = isClusterMode() ? jobsStamp(project) : null
+        def jobs = [:]
+        ScheduledExecution.findAllJobIdentsByProject(project).each { row ->
+            def (id, uuid, jobName, groupPath) = row
+            jobs.put(uuid ?: id.toString(), new IndexedJob(jobName, groupPath))
+        }
+        new ProjectJobIndex(generation, stamp, jobs)
+    }
+
+    /**
+     * Return the index for the project. An index loaded while a job in the project was changed is discarded and
+     * loaded again, as is an index whose jobs were changed by another cluster member.
+     * @param project project
+     */
+    private ProjectJobIndex projectIndex(String project) {
+        def index = projectIndexCache.get(project)
+        if (isClusterMode() && jobsStamp(project) != index.stamp) {
+            //reload, the new index is at least as recent as the stamp
+            projectIndexCache.asMap().remove(project, index)
+            index = projectIndexCache.get(project)
+        }
+        while (index.generation != generationFor(project).get()) {
+            projectIndexCache.asMap().remove(project, index)
+            index = projectIndexCache.get(project)
+        }
+        index
+    }
+
+    /**
+     * @param project project
+     * @return name and group path of each job in the project
+     */
+    Collection<IndexedJob> indexedJobs(String project) {
+        Collections.unmodifiableCollection(projectIndex(project).jobs.values())
+    }
+
+    /**
+     * @param project project
+     * @return number of jobs in the project
+     */
+    int jobCount(String project) {
+        projectIndex(project).jobs.size()
+    }
+
+    /**
+     * Discard the index for a project, it will be rebuilt when next requested
+     * @param project project
+     */
+    void invalidate(String project) {
+        generationFor(project).incrementAndGet()
+        projectIndexCache.invalidate(project)
+    }
+
+    /**
+     * Update the index for the project of a changed job, if it is loaded. If called within a transaction, the
+     * index is updated after commit.
+     * @param event job change
+     */
+    void jobChanged(JobChangeEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronizationAdapter() {
+                        @Override
+                        void afterCommit() {
+                            applyChange(event)
+                        }
+                    }
+            )
+        } else {
+            applyChange(event)
+        }
+    }
+
+    /**
+     * Add, update or remove the changed job in the loaded index for its project. If the index was loaded or
+     * changed concurrently, it is discarded instead.
+     * @param event job change
+     */
+    void applyChange(JobChangeEvent event) {
+        String project = event.jobReference.project
+        AtomicLong generation = generationFor(project)
+        synchronized (generation) {
+            long previous = generation.getAndIncrement()
+            ProjectJobIndex index = projectIndexCache.getIfPresent(project)
+            if (null == index) {
+                return
+            }
+            if (index.generation != previous || null != index.stamp) {
+                //loaded concurrently, or in cluster mode where the stamp has changed and the index will be reloaded
+                projectIndexCache.asMap().remove(project, index)
+                return
+            }
+            if (event.eventType == JobChangeEvent.JobChangeEventType.DELETE) {
+                index.jobs.remove(event.jobReference.id)
+            } else {
+                index.jobs.put(
+                        event.jobReference.id,
+                        new IndexedJob(event.jobReference.jobName, event.jobReference.groupPath)
+                )
+            }
+            index.generation = previous + 1
+        }
+    }
+}
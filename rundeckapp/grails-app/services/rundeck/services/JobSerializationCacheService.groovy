@@ -0,0 +1,128 @@
+package rundeck.services
+
+import com.dtolabs.rundeck.plugins.scm.JobSerializer
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import org.apache.commons.codec.digest.DigestUtils
+import org.springframework.beans.factory.InitializingBean
+import rundeck.ScheduledExecution
+import rundeck.services.scm.CachedJobSerializer
+
+/**
+ * Caches the serialized XML and YAML content of job versions, and the hash of the content, keyed by job ID, version
+ * and format.  Entries are populated when job change events are processed, so that SCM status checks can compare
+ * hashes and only render jobs that have changed.
+ */
+class JobSerializationCacheService implements InitializingBean {
+    static transactional = false
+    public static final String DEFAULT_CACHE_SPEC = "maximumSize=10000"
+    public static final List<String> FORMATS = ['xml', 'yaml']
+    def configurationService
+
+    Cache<String, SerializedJob> serializedJobCache = CacheBuilder.from(DEFAULT_CACHE_SPEC).build()
+
+    @Override
+    void afterPropertiesSet() throws Exception {
+        def spec = configurationService?.getCacheSpecFor(
+                "jobSerializationCacheService",
+                "serializedJobCache",
+                DEFAULT_CACHE_SPEC
+        ) ?: DEFAULT_CACHE_SPEC
+        log.debug("serializedJobCache: creating from spec: ${spec}")
+        serializedJobCache = CacheBuilder.from(spec).recordStats().build()
+    }
+
+    static class SerializedJob {
+        byte[] content
+        String hash
+
+        SerializedJob(String text) {
+            content = text.getBytes("UTF-8")
+            hash = DigestUtils.shaHex(content)
+        }
+    }
+
+    private static String cacheKey(String jobId, long version, String format) {
+        jobId + ':' + version + ':' + format
+    }
+
+    /**
+     * Return the cached serialized job, rendering and caching it if necessary
+     * @param jobId job ID
+     * @param version job version
+     * @param format format
+     * @param renderer closure accepting format string, returning the serialized string
+     * @return serialized job
+     */
+    SerializedJob serializedJob(String jobId, long version, String format, Closure<String> renderer) {
+        if (!(format in FORMATS)) {
+            throw new IllegalArgumentException("Format not supported: " + format)
+        }
+        def key = cacheKey(jobId, version, format)
+        def found = serializedJobCache.getIfPresent(key)
+        if (null == found) {
+            found = new SerializedJob(renderer.call(format))
+            serializedJobCache.put(key, found)
+        }
+        found
+    }
+
+    /**
+     * Store already serialized content for a job version
+     * @param jobId job ID
+     * @param version job version
+     * @param data map of format name to serialized string
+     */
+    void store(String jobId, long version, Map<String, String> data) {
+        data.each { format, text ->
+            if (null != text) {
+                serializedJobCache.put(cacheKey(jobId, version, format), new SerializedJob(text))
+            }
+        }
+    }
+
+    /**
+     * Remove all cached versions of a job
+     * @param jobId job ID
+     */
+    void invalidate(String jobId) {
+        def prefix = jobId + ':'
+        serializedJobCache.asMap().keySet().removeAll { it.startsWith(prefix) }
+    }
+
+    /**
+     * @param jobId job ID
+     * @param version job version
+     * @param data map of format name to serialized string
+     * @return serializer for the already serialized content, which is also cached
+     */
+    JobSerializer serializerForContent(String jobId, long version, Map<String, String> data) {
+        store(jobId, version, data)
+        new CachedJobSerializer(this, jobId, version, { String format ->
+            def s = data[format]
+            if (s == null) {
+                throw new IllegalArgumentException("Format not supported: " + format)
+            }
+            s
+        }
+        )
+    }
+
+    /**
+     * @param job job
+     * @return serializer which renders the job only if the job version is not cached
+     */
+    JobSerializer serializerForJob(ScheduledExecution job) {
+        new CachedJobSerializer(this, job.extid, job.version, { String format ->
+            switch (format) {
+                case 'xml':
+                    return job.encodeAsJobsXML() + '\n'
+                case 'yaml':
+                    return job.encodeAsJobsYAML() + '\n'
+                default:
+                    throw new IllegalArgumentException("Format not supported: " + format)
+            }
+        }
+        )
+    }
+}
@@ -4,9 +4,11 @@ import com.codahale.metrics.Counter
 import com.dtolabs.rundeck.app.internal.logging.FSStreamingLogReader
 import com.dtolabs.rundeck.app.internal.logging.FSStreamingLogWriter
 import com.dtolabs.rundeck.app.internal.logging.RundeckLogFormat
+import com.dtolabs.rundeck.core.logging.ExecutionCheckpointFileStorage
 import com.dtolabs.rundeck.core.logging.ExecutionFileStorage
 import com.dtolabs.rundeck.core.logging.ExecutionFileStorageOptions
 import com.dtolabs.rundeck.core.logging.ExecutionMultiFileStorage
+import com.dtolabs.rundeck.core.logging.ExecutionRangeFileStorage
 import com.dtolabs.rundeck.core.logging.LogFileState
 import com.dtolabs.rundeck.core.logging.ExecutionFileStorageException
 import com.dtolabs.rundeck.core.logging.StreamingLogReader
@@ -20,6 +22,8 @@ import org.springframework.beans.factory.InitializingBean
 import org.springframework.context.ApplicationContext
 import org.springframework.context.ApplicationContextAware
 import org.springframework.core.task.AsyncTaskExecutor
+import org.springframework.transaction.support.TransactionSynchronizationAdapter
+import org.springframework.transaction.support.TransactionSynchronizationManager
 import rundeck.Execution
 import rundeck.LogFileStorageRequest
 import rundeck.services.execution.ValueHolder
@@ -29,8 +33,11 @@ import rundeck.services.logging.ExecutionFileProducer
 import rundeck.services.logging.ExecutionFileUtil
 import rundeck.services.logging.ExecutionLogReader
 import rundeck.services.logging.ExecutionLogState
+import rundeck.services.logging.LogFileBlockCache
+import rundeck.services.logging.LogFileCheckpoint
 import rundeck.services.logging.LogFileLoader
 import rundeck.services.logging.MultiFileStorageRequestImpl
+import rundeck.services.logging.RangeRetrievalLogReader
 
 import java.util.concurrent.BlockingQueue
 import java.util.concurrent.ConcurrentHashMap
@@ -39,6 +46,7 @@ import java.util.concurrent.Executors
 import java.util.concurrent.LinkedBlockingQueue
 import java.util.concurrent.ScheduledExecutorService
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
 
 /**
  * Manage execution file storage retrieve and store requests.
@@ -46,8 +54,9 @@ import java.util.concurrent.TimeUnit
  * "logFileTaskExecutor" runs asynchronous tasks as well as two threads which process retrieve/storage queues
  * "scheduledExecutor" runs delayed tasks for retrying at a later time, OR runs periodic queue processing of resumed tasks
  *     this depends on whether using 'periodic' or 'delayed' strategy, default 'periodic'.
- * "retryIncompleteRequests" queue for resumed incomplete requests
+ * "retryIncompleteRequests" queue for resumed incomplete requests, claimed in batches by the periodic task
  * "storageRequests" blocking queue for storage requests
+ * "storageResults" queue of finished storage requests, updated in the database in batches
  * "retrievalRequests" blocking queue for retrieval requests
  */
 class LogFileStorageService implements InitializingBean,ApplicationContextAware{
@@ -82,6 +91,10 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
      * Queue of log storage requests
      */
     private BlockingQueue<Map> storageRequests = new LinkedBlockingQueue<Map>()
+    /**
+     * Queue of finished storage requests to update
+     */
+    private BlockingQueue<Map> storageResults = new LinkedBlockingQueue<Map>()
     /**
      * Queue of log retrieval requests
      */
@@ -95,6 +108,14 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
      */
     private ConcurrentHashMap<String, Map> logFileRetrievalRequests = new ConcurrentHashMap<String, Map>()
     private ConcurrentHashMap<String, Map> logFileRetrievalResults = new ConcurrentHashMap<String, Map>()
+    /**
+     * Map of log file checkpoints for running executions, by execution ID
+     */
+    private ConcurrentHashMap<Long, Map> logFileCheckpoints = new ConcurrentHashMap<Long, Map>()
+    /**
+     * Cache of blocks of remote log files read by range
+     */
+    private LogFileBlockCache rangeRetrievalCache
     @Override
     void afterPropertiesSet() throws Exception {
         def pluginName = getConfiguredPluginName()
@@ -102,16 +123,31 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
             //System.err.println("LogFileStoragePlugin not configured, disabling...")
             return
         }
-        logFileTaskExecutor?.execute( new TaskRunner<Map>(storageRequests,{ Map task ->
-            storageQueueCounter?.dec()
-            runStorageRequest(task)
-        }))
+        getConfiguredStorageThreads().times {
+            logFileTaskExecutor?.execute(new TaskRunner<Map>(storageRequests, { Map task ->
+                storageQueueCounter?.dec()
+                runStorageRequest(task)
+            }))
+        }
         logFileTaskExecutor?.execute( new TaskRunner<Map>(retrievalRequests,{ Map task ->
             runRetrievalRequest(task)
         }))
         if (getConfiguredResumeStrategy() == 'periodic') {
             long delay = getConfiguredStorageRetryDelay()
-            scheduledExecutor.scheduleAtFixedRate(this.&dequeueIncompleteLogStorage, delay, delay, TimeUnit.SECONDS)
+            long interval = getConfiguredResumeInterval()
+            scheduledExecutor.scheduleWithFixedDelay(
+                    {
+                        try {
+                            dequeueIncompleteLogStorage()
+                        } catch (Throwable t) {
+                            //an exception would cancel the periodic task
+                            log.error("dequeueIncompleteLogStorage failed: ${t.message}", t)
+                        }
+                    } as Runnable,
+                    delay,
+                    interval,
+                    TimeUnit.SECONDS
+            )
         }
     }
 
@@ -119,6 +155,38 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
         configurationService?.getString("logFileStorageService.resumeIncomplete.strategy", "periodic")?:'periodic'
     }
 
+    /**
+     * @return number of incomplete requests to claim at once when using the 'periodic' strategy
+     */
+    int getConfiguredResumeBatchSize() {
+        def size = configurationService?.getInteger("logFileStorageService.resumeIncomplete.batchSize", 0) ?: 0
+        size > 0 ? size : 25
+    }
+
+    /**
+     * @return seconds between claiming batches of incomplete requests when using the 'periodic' strategy
+     */
+    int getConfiguredResumeInterval() {
+        def interval = configurationService?.getInteger("logFileStorageService.resumeIncomplete.interval", 0) ?: 0
+        interval > 0 ? interval : 5
+    }
+
+    /**
+     * @return number of threads processing storage requests
+     */
+    int getConfiguredStorageThreads() {
+        def count = configurationService?.getInteger("logFileStorageService.storageRequest.threads", 0) ?: 0
+        count > 0 ? count : 1
+    }
+
+    /**
+     * @return maximum number of finished storage requests to update in one transaction
+     */
+    int getConfiguredStorageResultBatchSize() {
+        def size = configurationService?.getInteger("logFileStorageService.storageRequest.batchSize", 0) ?: 0
+        size > 0 ? size : 100
+    }
+
     Counter getStorageQueueCounter(){
         metricService?.counter(this.class.name + ".storageRequests","queued")
     }
@@ -131,6 +199,9 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
     Counter getStorageFailedCounter(){
         metricService?.counter(this.class.name + ".storageRequests","failed")
     }
+    Counter getStorageResumedCounter(){
+        metricService?.counter(this.class.name + ".storageRequests","resumed")
+    }
 
     List getCurrentRetrievalRequests(){
         return new ArrayList(retrievalRequests)
@@ -165,6 +236,9 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
         def filetype=task.filetype
         List<String> typelist = filetype != '*' ? (filetype.split(',') as List) : []
 
+        //parts stored by a stopped checkpoint must finish before the file is committed
+        task.checkpoint?.waitForCheckpoint()
+
         LogFileStorageRequest.withNewSession {
             Execution execution = Execution.get(task.request.execution.id)
 
@@ -207,17 +281,7 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
             if(getConfiguredStorageFailureCancel()){
                 log.error("Storage request [ID#${task.id}] FAILED ${retry} attempts, cancelling")
                 //if policy, remove the request from db
-                executorService.execute {
-                    //use executorService to run within hibernate session
-                    LogFileStorageRequest request = LogFileStorageRequest.get(task.requestId)
-                    while(!request){
-                        Thread.sleep(500)
-                        request = LogFileStorageRequest.get(task.requestId)
-                    }
-                    request.delete(flush:true)
-                    running.remove(task)
-                    log.debug("Storage request [ID#${task.id}] cancelled.")
-                }
+                queueStorageResult(task, false)
             }else{
                 log.error("Storage request [ID#${task.id}] FAILED ${retry} attempts, giving up")
                 running.remove(task)
@@ -226,22 +290,72 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
         } else {
             failedRequests.remove(task.requestId)
             failures.remove(task.requestId)
-            //use executorService to run within hibernate session
-            executorService.execute {
-                log.debug("executorService saving storage request status...")
-                LogFileStorageRequest request = LogFileStorageRequest.get(task.requestId)
-                while(!request){
-                    Thread.sleep(500)
-                    request = LogFileStorageRequest.get(task.requestId)
-                    if(request){
-                        log.debug("Loaded LogFileStorageRequest ${task.requestId} [ID#${task.id}] after retry")
+            queueStorageResult(task, true)
+        }
+    }
+
+    /**
+     * Queue a finished storage request to be updated in the database
+     * @param task storage task
+     * @param success true if completed, false if the request should be removed
+     */
+    private void queueStorageResult(Map task, boolean success) {
+        storageResults << [task: task, success: success]
+        //use executorService to run within hibernate session
+        executorService.execute {
+            processStorageResults()
+        }
+    }
+
+    /**
+     * Update the queued finished storage requests, in batches using one transaction per batch
+     */
+    void processStorageResults() {
+        int batchSize = getConfiguredStorageResultBatchSize()
+        List<Map> batch = []
+        while (storageResults.drainTo(batch, batchSize) > 0) {
+            try {
+                updateStorageResults(batch)
+            } catch (Throwable t) {
+                log.error("Failed to update ${batch.size()} storage requests, updating separately: ${t.message}")
+                log.debug("Failed to update ${batch.size()} storage requests: ${t.message}", t)
+                batch.each { Map result ->
+                    try {
+                        updateStorageResults([result])
+                    } catch (Throwable e) {
+                        log.error("Storage request [ID#${result.task.id}] could not be updated: ${e.message}", e)
+                    }
+                }
+            }
+            batch.each { Map result ->
+                running.remove(result.task)
+                if (result.success) {
+                    log.debug("Storage request [ID#${result.task.id}] complete.")
+                    getStorageSuccessCounter()?.inc()
+                } else {
+                    log.debug("Storage request [ID#${result.task.id}] cancelled.")
+                }
+            }
+            batch.clear()
+        }
+    }
+
+    private void updateStorageResults(List<Map> results) {
+        LogFileStorageRequest.withNewSession {
+            LogFileStorageRequest.withTransaction {
+                def requests = LogFileStorageRequest.getAll(results*.task*.requestId)
+                results.eachWithIndex { Map result, int i ->
+                    LogFileStorageRequest request = requests[i]
+                    if (!request) {
+                        //requests are queued after they are committed, so it was removed
+                        log.warn("Storage request [ID#${result.task.id}] was not found, it may have been removed")
+                    } else if (result.success) {
+                        request.completed = true
+                        request.save()
+                    } else {
+                        request.delete()
                     }
                 }
-                request.completed = success
-                request.save(flush: true)
-                running.remove(task)
-                log.debug("Storage request [ID#${task.id}] complete.")
-                getStorageSuccessCounter()?.inc()
             }
         }
     }
@@ -337,6 +451,52 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
         delay > 0 ? delay : 120
     }
 
+    /**
+     * @return whether log files should be stored incrementally while executions are running, if supported by the plugin
+     */
+    boolean getConfiguredCheckpointEnabled() {
+        configurationService?.getBoolean("execution.logs.fileStorage.checkpoint.enabled", false) ?: false
+    }
+    /**
+     * Return the configured size in bytes of log file parts stored by checkpoints
+     * @return
+     */
+    long getConfiguredCheckpointPartSize() {
+        def size = configurationService?.getLong("execution.logs.fileStorage.checkpoint.partSize", 0L) ?: 0L
+        size > 0 ? size : 8L * 1024 * 1024
+    }
+    /**
+     * Return the configured checkpoint interval in seconds
+     * @return
+     */
+    int getConfiguredCheckpointInterval() {
+        def delay = configurationService?.getInteger("execution.logs.fileStorage.checkpoint.interval", 0) ?: 0
+        delay > 0 ? delay : 60
+    }
+
+    /**
+     * @return whether log files can be read by range without retrieving the file, if supported by the plugin
+     */
+    boolean getConfiguredRangeRetrievalEnabled() {
+        configurationService?.getBoolean("execution.logs.fileStorage.rangeRetrieval.enabled", true) ?: false
+    }
+    /**
+     * Return the configured size in bytes of blocks read by range
+     * @return
+     */
+    int getConfiguredRangeRetrievalBlockSize() {
+        def size = configurationService?.getInteger("execution.logs.fileStorage.rangeRetrieval.blockSize", 0) ?: 0
+        size > 0 ? size : 256 * 1024
+    }
+    /**
+     * Return the configured maximum number of blocks to cache
+     * @return
+     */
+    int getConfiguredRangeRetrievalCacheBlocks() {
+        def count = configurationService?.getInteger("execution.logs.fileStorage.rangeRetrieval.cacheBlocks", 0) ?: 0
+        count > 0 ? count : 64
+    }
+
     /**
      * Return the configured plugin name
      * @return
@@ -372,15 +532,89 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
             } as ValueHolder
             filesizeWatcher.watch(value)
         }
+        if (getConfiguredCheckpointEnabled()) {
+            try {
+                startLogFileCheckpoint(e, file)
+            } catch (Throwable t) {
+                log.error("Checkpoint [ID#${e.id}] could not be started: ${t.message}")
+                log.debug("Checkpoint [ID#${e.id}] could not be started: ${t.message}", t)
+            }
+        }
         return writer
     }
 
+    /**
+     * Periodically store the completed parts of the log file while the execution is running, if the configured
+     * plugin supports {@link ExecutionCheckpointFileStorage}
+     * @param e execution
+     * @param file log file
+     */
+    private void startLogFileCheckpoint(Execution e, File file) {
+        def plugin = getConfiguredPluginForExecution(e, frameworkService.getFrameworkPropertyResolver(e.project))
+        if (!(plugin instanceof ExecutionCheckpointFileStorage) || !pluginSupportsStorage(plugin)) {
+            return
+        }
+        //the log file was truncated, so any previous checkpoint is not valid
+        LogFileCheckpoint.checkpointFileFor(file).delete()
+        def checkpoint = new LogFileCheckpoint(
+                file,
+                LoggingService.LOG_FILE_FILETYPE,
+                getConfiguredCheckpointPartSize()
+        )
+        def id = e.id
+        def running = new AtomicBoolean(false)
+        def interval = getConfiguredCheckpointInterval()
+        def future = scheduledExecutor.scheduleWithFixedDelay(
+                {
+                    //skip if the previous checkpoint is still storing
+                    if (running.compareAndSet(false, true)) {
+                        logFileTaskExecutor.execute {
+                            try {
+                                runLogFileCheckpoint(id, checkpoint, plugin)
+                            } finally {
+                                running.set(false)
+                            }
+                        }
+                    }
+                } as Runnable,
+                interval,
+                interval,
+                TimeUnit.SECONDS
+        )
+        logFileCheckpoints.put(id, [checkpoint: checkpoint, future: future])
+    }
+
+    private void runLogFileCheckpoint(Long id, LogFileCheckpoint checkpoint, ExecutionCheckpointFileStorage storage) {
+        try {
+            def count = checkpoint.checkpoint(storage)
+            log.debug("Checkpoint [ID#${id}]: stored ${count} parts, total ${checkpoint.offset} bytes")
+        } catch (Throwable t) {
+            log.error("Checkpoint [ID#${id}] error: ${t.message}")
+            log.debug("Checkpoint [ID#${id}] error: ${t.message}", t)
+        }
+    }
+
+    /**
+     * Stop the checkpoint for the execution, if any. Does not wait for a part being stored.
+     * @param id execution ID
+     * @return the stopped checkpoint, or null
+     */
+    private LogFileCheckpoint stopLogFileCheckpoint(Long id) {
+        def found = logFileCheckpoints.remove(id)
+        if (found) {
+            found.future.cancel(false)
+            found.checkpoint.stop()
+        }
+        found?.checkpoint
+    }
+
 
     /**
      * Submit asynchronous request to store log files for the execution
      * @param e
      */
     void submitForStorage(Execution e) {
+        def checkpoint = stopLogFileCheckpoint(e.id)
         def plugin = getConfiguredPluginForExecution(e, frameworkService.getFrameworkPropertyResolver(e.project))
         if(null==plugin || !pluginSupportsStorage(plugin)){
             return
@@ -389,7 +623,29 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
         LogFileStorageRequest request = createStorageRequest(e, '*')
         request.discard()
         def reqid = request.execution.id.toString() + ":" + request.filetype
-        storeLogFileAsync(reqid, plugin, request)
+        //the request must be visible to the storage threads
+        afterCommit {
+            storeLogFileAsync(reqid, plugin, request, 0, checkpoint)
+        }
+    }
+
+    /**
+     * Run the action after the current transaction is committed, or immediately if there is no transaction
+     * @param action
+     */
+    private static void afterCommit(Closure action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronizationAdapter() {
+                        @Override
+                        void afterCommit() {
+                            action.call()
+                        }
+                    }
+            )
+        } else {
+            action.call()
+        }
     }
 
     private LogFileStorageRequest createStorageRequest(Execution e, String filetype) {
@@ -439,30 +695,46 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
         }
     }
     /**
-     * resume task, triggered periodically, consumes a single request id from the queue if present
-     * and processes it by scheduling storage operation immediately
+     * resume task, triggered periodically, claims a batch of request ids from the queue if present
+     * and processes them by scheduling storage operations immediately. Only claims enough requests to fill the storage
+     * queue up to the batch size, so the backlog is processed as fast as the storage threads allow.
      * @return
      */
     def dequeueIncompleteLogStorage() {
-        def taskId = retryIncompleteRequests.poll(30, TimeUnit.SECONDS)
-        if(!taskId){
+        int capacity = getConfiguredResumeBatchSize() - storageRequests.size()
+        if (capacity <= 0) {
+            return
+        }
+        List<Long> taskIds = []
+        retryIncompleteRequests.drainTo(taskIds, capacity)
+        if(!taskIds){
             return
         }
-        log.debug("dequeueIncompleteLogStorage, processing ${taskId}")
+        log.debug("dequeueIncompleteLogStorage, processing ${taskIds.size()} requests")
         LogFileStorageRequest.withNewSession {
-            LogFileStorageRequest request = LogFileStorageRequest.get(taskId)
-            Execution e = request.execution
-            log.debug("re-queueing incomplete log storage request for execution ${e.id}")
-            def plugin = getConfiguredPluginForExecution(e, frameworkService.getFrameworkPropertyResolver(e.project))
-            if (null != plugin && pluginSupportsStorage(plugin)) {
-                //re-queue storage request immediately, pass -1 to skip counter increment
-                storeLogFileAsync(e.id.toString() + ":" + request.filetype, plugin, request,-1)
-            } else {
-                log.error(
-                        "cannot re-queue incomplete log storage request for execution ${e.id}, plugin was not available: ${getConfiguredPluginName()}"
-                )
+            List<LogFileStorageRequest> requests = LogFileStorageRequest.getAll(taskIds)
+            requests.eachWithIndex { LogFileStorageRequest request, int i ->
+                if (!request) {
+                    log.warn("cannot re-queue incomplete log storage request ${taskIds[i]}, it was not found")
+                    storageQueueCounter?.dec()
+                    return
+                }
+                Execution e = request.execution
+                log.debug("re-queueing incomplete log storage request for execution ${e.id}")
+                def plugin = getConfiguredPluginForExecution(e, frameworkService.getFrameworkPropertyResolver(e.project))
+                if (null != plugin && pluginSupportsStorage(plugin)) {
+                    //re-queue storage request immediately, pass -1 to skip counter increment
+                    storeLogFileAsync(e.id.toString() + ":" + request.filetype, plugin, request,-1)
+                    getStorageResumedCounter()?.inc()
+                } else {
+                    storageQueueCounter?.dec()
+                    log.error(
+                            "cannot re-queue incomplete log storage request for execution ${e.id}, plugin was not available: ${getConfiguredPluginName()}"
+                    )
+                }
             }
         }
+        log.info("resumeIncompleteLogStorage: re-queued ${taskIds.size()} requests, ${retryIncompleteRequests.size()} remaining")
     }
     Set<Long> getQueuedIncompleteRequestIds() {
         Collections.unmodifiableSet new HashSet<Long>(retryIncompleteRequests)
@@ -922,16 +1194,24 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
      * @param resolver @return
      */
     ExecutionLogReader requestLogFileReader(Execution e, String filetype, boolean performLoad = true) {
-        def loader= requestLogFileLoad(e, filetype, performLoad)
-        def reader=null
-        if(loader.file){
+        def loader= requestLogFileLoad(e, filetype, performLoad, true)
+        def reader=loader.reader
+        if(!reader && loader.file){
             reader = getLogReaderForFile(loader.file)
         }
         return new ExecutionLogReader(state: loader.state, reader: reader,
                 errorCode: loader.errorCode, errorData: loader.errorData)
     }
 
-    def LogFileLoader requestLogFileLoad(Execution e, String filetype, boolean performLoad) {
+    /**
+     * Return a loader containing the state of the file, and the local file if available
+     * @param e execution
+     * @param filetype filetype
+     * @param performLoad if true, perform remote file transfer
+     * @param rangeRetrieval if true, and the plugin supports it, return a log reader which reads the remote file by
+     * range instead of transferring it
+     */
+    def LogFileLoader requestLogFileLoad(Execution e, String filetype, boolean performLoad, boolean rangeRetrieval = false) {
         //handle cases where execution is still running or just started
         //and the file may not be available yet
         if (e.dateCompleted == null && e.dateStarted != null) {
@@ -950,18 +1230,65 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
         def result = getLogFileState(e, filetype, plugin)
         def state = result.state
         def file = null
+        StreamingLogReader reader = null
         switch (state) {
             case ExecutionLogState.AVAILABLE:
                 file= getFileForExecutionFiletype(e, filetype, true)
                 break
             case ExecutionLogState.AVAILABLE_REMOTE:
-                if (performLoad) {
+                if (performLoad && rangeRetrieval) {
+                    reader = getRangeRetrievalLogReader(e, filetype, plugin)
+                }
+                if (null != reader) {
+                    state = ExecutionLogState.AVAILABLE
+                } else if (performLoad) {
                     state = requestLogFileRetrieval(e, filetype, plugin)
                 }
         }
         log.debug("requestLogFileRetrieval(${e.id},${performLoad}): ${state}")
 
-        return new LogFileLoader(state: state, file: file, errorCode: result.errorCode, errorData: result.errorData)
+        return new LogFileLoader(state: state, file: file, reader: reader, errorCode: result.errorCode,
+                errorData: result.errorData)
+    }
+
+    /**
+     * Return a log reader which retrieves only the parts of the remote log file which are read, or null if the plugin
+     * does not support it
+     * @param e execution
+     * @param filetype filetype
+     * @param plugin plugin
+     */
+    private StreamingLogReader getRangeRetrievalLogReader(Execution e, String filetype, ExecutionFileStorage plugin) {
+        if (!(plugin instanceof ExecutionRangeFileStorage) || !getConfiguredRangeRetrievalEnabled()) {
+            return null
+        }
+        def key = logFileRetrievalKey(e, filetype)
+        try {
+            long length = plugin.getLength(filetype)
+            return new RangeRetrievalLogReader(
+                    plugin,
+                    filetype,
+                    key,
+                    length,
+                    e.dateCompleted ?: new Date(),
+                    getRangeRetrievalCache(),
+                    rundeckLogFormat
+            )
+        } catch (Throwable t) {
+            log.error("Range retrieval for ${key} is not available, retrieving file: ${t.message}")
+            log.debug("Range retrieval for ${key} is not available, retrieving file: ${t.message}", t)
+        }
+        return null
+    }
+
+    private synchronized LogFileBlockCache getRangeRetrievalCache() {
+        if (null == rangeRetrievalCache) {
+            rangeRetrievalCache = new LogFileBlockCache(
+                    getConfiguredRangeRetrievalBlockSize(),
+                    getConfiguredRangeRetrievalCacheBlocks()
+            )
+        }
+        rangeRetrievalCache
     }
 
     /**
@@ -1046,21 +1373,24 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
      * @param storage the storage method
      * @param executionLogStorage the persisted object that records the result
      * @param delay seconds to delay the request
+     * @param checkpoint stopped checkpoint of the log file, if any
      */
     private void storeLogFileAsync(
             String id,
             ExecutionFileStorage storage,
             LogFileStorageRequest executionLogStorage,
-            int delay = 0
+            int delay = 0,
+            LogFileCheckpoint checkpoint = null
     )
     {
         queueLogStorageRequest(
                 [
-                        id       : id,
-                        storage  : storage,
-                        filetype : executionLogStorage.filetype,
-                        request  : executionLogStorage,
-                        requestId: executionLogStorage.id
+                        id        : id,
+                        storage   : storage,
+                        filetype  : executionLogStorage.filetype,
+                        request   : executionLogStorage,
+                        requestId : executionLogStorage.id,
+                        checkpoint: checkpoint
                 ],
                 delay
         )
@@ -1091,7 +1421,7 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
     boolean areAllExecutionFilesPresent(Execution execution) {
         for (def bean : listExecutionFileProducers()) {
             if (!bean.isExecutionFileGenerated()) {
-                if (!bean.produceStorageFileForExecution(execution).localFile.exists()) {
+                if (!bean.produceStorageFileForExecution(execution)?.localFile?.exists()) {
                     return false
                 }
             }
@@ -1102,7 +1432,10 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
         Collection<ExecutionFileProducer> beans = listExecutionFileProducers(filters)
         def result = [:]
         beans?.each { bean ->
-            result[bean.getExecutionFileType()]= bean.produceStorageFileForExecution(execution)
+            def file = bean.produceStorageFileForExecution(execution)
+            if (file) {
+                result[bean.getExecutionFileType()] = file
+            }
         }
         log.debug("found beans of ExecutionFileProducer result: $result")
         result?:[:]
@@ -1143,10 +1476,24 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
         }
         def list = [:]
         def List<ExecutionFile> deletions=[]
-        if (storage instanceof ExecutionMultiFileStorage) {
-            list = storeMultiLogFiles(files, storage, ident)
+        def remaining = files
+        if (storage instanceof ExecutionCheckpointFileStorage) {
+            //commit files with stored parts
+            def checkpointed = files.findAll { type, file -> LogFileCheckpoint.hasCheckpoint(file.localFile) }
+            checkpointed.each { type, file ->
+                def (result, message) = commitLogFileCheckpoint(file.localFile, type, storage, ident)
+                if (!result) {
+                    list[type] = message
+                }
+            }
+            remaining = files.findAll { !(it.key in checkpointed.keySet()) }
+        }
+        if (!remaining) {
+            log.debug("Storage request [ID#${ident}], all files committed")
+        } else if (storage instanceof ExecutionMultiFileStorage) {
+            list.putAll(storeMultiLogFiles(remaining, storage, ident))
         } else {
-            files.each { type, file ->
+            remaining.each { type, file ->
                 def (result,message) = storeSingleLogFile(file.localFile, type, storage, ident)
                 if (!result) {
                     list[type]=message
@@ -1198,6 +1545,28 @@ class LogFileStorageService implements InitializingBean,ApplicationContextAware{
 
         failures
     }
+    /**
+     * Store the remaining part of a checkpointed log file and commit the parts
+     * @param file local file
+     * @param filetype file type
+     * @param storage plugin that is already initialized
+     * @param ident storage request ident
+     */
+    private def commitLogFileCheckpoint(File file, String filetype, ExecutionCheckpointFileStorage storage, String ident) {
+        log.debug("Storage request [ID#${ident}], commit checkpoint ${filetype}")
+        def success = false
+        String message = null
+        try {
+            success = new LogFileCheckpoint(file, filetype, getConfiguredCheckpointPartSize()).commit(storage)
+            message = "No message"
+        } catch (Throwable e) {
+            log.error("Storage request [ID#${ident}] error: ${e.message}")
+            log.debug("Storage request [ID#${ident}] error: ${e.message}", e)
+            message = e.message
+        }
+        log.debug("Storage request [ID#${ident}], commit checkpoint ${filetype}: ${success}")
+        return [success, message]
+    }
     /**
      * Store the log file for a completed execution using the storage method
      * @param execution
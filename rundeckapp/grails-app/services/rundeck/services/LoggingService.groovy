@@ -77,6 +77,7 @@ class LoggingService implements ExecutionFileProducer {
     )
     {
         List<StreamingLogWriter> plugins = []
+        List<String> pluginNames = []
         def names = listConfiguredStreamingWriterPluginNames()
         if (names) {
             HashMap<String, String> jobcontext = ExecutionService.exportContextForExecution(
@@ -99,6 +100,7 @@ class LoggingService implements ExecutionFileProducer {
                 try {
                     plugin.initialize(jobcontext)
                     plugins << DisablingLogWriter.create(plugin, "StreamingLogWriter(${name})")
+                    pluginNames << name
                 } catch (Throwable e) {
                     log.error("Failed to initialize plugin ${name}: " + e.message)
                     log.debug("Failed to initialize plugin ${name}: " + e.message, e)
@@ -113,12 +115,13 @@ class LoggingService implements ExecutionFileProducer {
                     defaultMeta,
                     threshold?.watcherForType(LoggingThreshold.TOTAL_FILE_SIZE)
             )
+            pluginNames << LOG_FILE_FILETYPE
             outfilepath = logFileStorageService.getFileForExecutionFiletype(execution, LOG_FILE_FILETYPE, false)
         } else {
             log.debug("File log writer disabled for execution ${execution.id}")
         }
 
-        def multiWriter = new MultiLogWriter(plugins)
+        def multiWriter = new MultiLogWriter(plugins, pluginNames)
         //add watchers for thresholds if present
         def nodeWatcher = threshold?.watcherForType(LoggingThreshold.LINES_PER_NODE)
         if (nodeWatcher) {
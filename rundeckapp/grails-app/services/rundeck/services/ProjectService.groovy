@@ -22,7 +22,6 @@ import rundeck.ExecReport
 import rundeck.Execution
 import rundeck.ScheduledExecution
 import rundeck.codecs.JobsXMLCodec
-import rundeck.controllers.JobXMLException
 import rundeck.services.logging.ExecutionFile
 import rundeck.services.logging.ExecutionFileDeletePolicy
 import rundeck.services.logging.ExecutionFileProducer
@@ -30,6 +29,8 @@ import rundeck.services.logging.ProducedExecutionFile
 
 import java.text.ParseException
 import java.text.SimpleDateFormat
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import java.util.jar.Attributes
 import java.util.jar.JarOutputStream
 import java.util.jar.Manifest
@@ -37,6 +38,9 @@ import java.util.regex.Matcher
 import java.util.regex.Pattern
 import java.util.zip.ZipInputStream
 import java.util.zip.ZipOutputStream
+import javax.xml.stream.XMLStreamConstants
+import javax.xml.stream.XMLStreamException
+import javax.xml.stream.XMLStreamReader
 
 class ProjectService implements InitializingBean, ExecutionFileProducer{
     public static final String EXECUTION_XML_LOG_FILETYPE = 'execution.xml'
@@ -50,6 +54,7 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
     def workflowService
     def authorizationService
     def scmService
+    def jobGroupIndexService
     static transactional = false
 
     private exportJob(ScheduledExecution job, Writer writer)
@@ -59,7 +64,12 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
         JobsXMLCodec.encodeWithBuilder([job], xml)
     }
 
-    def exportHistoryReport(ZipBuilder zip, BaseReport report, String name) throws ProjectServiceException {
+    /**
+     * Write report xml to the writer
+     * @param report report
+     * @param writer writer
+     */
+    def exportHistoryReportXml(BaseReport report, Writer writer) {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
         sdf.setTimeZone(TimeZone.getTimeZone("GMT"));
         def dateConvert = {
@@ -79,11 +89,8 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
 
             }
         }
-        //convert map to xml
-        zip.file("$name"){ Writer writer ->
-            def xml = new MarkupBuilder(writer)
-            builder.objToDom("report", map, xml)
-        }
+        def xml = new MarkupBuilder(writer)
+        builder.objToDom("report", map, xml)
     }
 
     @Override
@@ -140,23 +147,151 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
         def xml = new MarkupBuilder(writer)
         builder.objToDom("executions", [execution: map], xml)
     }
-    def exportExecution(ZipBuilder zip, Execution exec, String name) throws ProjectServiceException {
-
+    /**
+     * Render the archive entries for an execution: the execution xml, and the log file and state file if present
+     * @param exec execution
+     * @return list of entries: maps with keys 'name', and 'bytes' or 'file'
+     */
+    List<Map> executionEntries(Execution exec) {
+        def entries = []
         def File logfile = loggingService.getLogFileForExecution(exec)
-        String logfilepath=null
+        String logfilepath = null
         if (logfile && logfile.isFile()) {
             logfilepath = "output-${exec.id}.rdlog"
         }
-        //convert map to xml
-        zip.file("$name") { Writer writer ->
+        entries << [name: "execution-${exec.id}.xml", bytes: renderBytes { Writer writer ->
             exportExecutionXml(exec, writer, logfilepath)
-        }
-        if (logfile && logfile.isFile()) {
-            zip.file logfilepath, logfile
+        }]
+        if (logfilepath) {
+            entries << [name: logfilepath, file: logfile]
         }
         def File statefile = workflowService.getStateFileForExecution(exec)
         if (statefile && statefile.isFile()) {
-            zip.file "state-${exec.id}.state.json", statefile
+            entries << [name: "state-${exec.id}.state.json", file: statefile]
+        }
+        entries
+    }
+
+    /**
+     * Render the archive entries for a report
+     * @param report report
+     * @return list of entries: maps with keys 'name' and 'bytes'
+     */
+    List<Map> historyReportEntries(BaseReport report) {
+        [[name: "report-${report.id}.xml", bytes: renderBytes { Writer writer ->
+            exportHistoryReportXml(report, writer)
+        }]]
+    }
+
+    /**
+     * Render the archive entries for a batch of executions, using a new session
+     * @param ids execution IDs
+     * @return list of entries for each execution found, see {@link #executionEntries(rundeck.Execution)}
+     */
+    List<List<Map>> renderExecutionEntries(List<Long> ids) {
+        Execution.withNewSession {
+            Execution.getAll(ids).findAll { it }.collect { Execution exec ->
+                executionEntries(exec)
+            }
+        }
+    }
+
+    /**
+     * Render the archive entries for a batch of reports, using a new session
+     * @param ids report IDs
+     * @return list of entries for each report found, see {@link #historyReportEntries(rundeck.BaseReport)}
+     */
+    List<List<Map>> renderHistoryReportEntries(List<Long> ids) {
+        BaseReport.withNewSession {
+            BaseReport.getAll(ids).findAll { it }.collect { BaseReport report ->
+                historyReportEntries(report)
+            }
+        }
+    }
+
+    private static byte[] renderBytes(Closure render) {
+        def baos = new ByteArrayOutputStream()
+        def writer = new OutputStreamWriter(baos, "UTF-8")
+        render.call(writer)
+        writer.flush()
+        baos.toByteArray()
+    }
+
+    /**
+     * Write rendered entries to the zip
+     * @param zip zip
+     * @param entries entries
+     */
+    static void writeRenderedEntries(ZipBuilder zip, List<Map> entries) {
+        entries.each { Map entry ->
+            if (entry.file) {
+                zip.file(entry.name.toString(), (File) entry.file)
+            } else {
+                zip.file(entry.name.toString(), (byte[]) entry.bytes)
+            }
+        }
+    }
+
+    /**
+     * Render batches of items using the export pipeline, and write the entries to the zip in order
+     * @param zip zip
+     * @param ids item IDs
+     * @param render closure to render a batch of IDs, returning a list of entries for each item
+     * @param listener progress listener
+     * @param progress progress count for each item
+     */
+    private void exportRendered(
+            ZipBuilder zip,
+            List<Long> ids,
+            Closure render,
+            ProgressListener listener,
+            long progress
+    )
+    {
+        if (!ids) {
+            return
+        }
+        def config = grailsApplication.config.rundeck?.projectService?.export
+        int threads = config?.threads ? config.threads.toString().toInteger() : 4
+        int batchSize = config?.batchSize ? config.batchSize.toString().toInteger() : 50
+        int queueSize = config?.queueSize ? config.queueSize.toString().toInteger() : threads * 2
+        def batches = ids.collate(Math.max(1, batchSize))
+
+        runPipeline(
+                threads,
+                queueSize,
+                batches.iterator(),
+                { List<Long> batch -> [count: batch.size(), items: render.call(batch)] },
+                { Map rendered ->
+                    rendered.items.each { List<Map> entries ->
+                        writeRenderedEntries(zip, entries)
+                        listener?.inc('export', progress)
+                    }
+                    //items removed during the export are counted as done
+                    listener?.inc('export', progress * (rendered.count - rendered.items.size()))
+                }
+        )
+    }
+
+    /**
+     * Process items with the {@link ArchiveEntryPipeline} using a new thread pool, or on the current thread if
+     * threads is less than 2
+     * @param threads number of worker threads
+     * @param queueSize maximum pending results
+     * @param items items
+     * @param render closure called on a worker thread for each item
+     * @param consume closure called on the current thread with each result in order
+     */
+    private static void runPipeline(int threads, int queueSize, Iterator items, Closure render, Closure consume) {
+        if (threads < 2) {
+            items.each { consume.call(render.call(it)) }
+            return
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads)
+        try {
+            new ArchiveEntryPipeline(executor, queueSize).run(items, render, consume)
+        } finally {
+            executor.shutdownNow()
         }
     }
 
@@ -169,16 +304,35 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
      * @throws ProjectServiceException
      */
     def loadHistoryReport(xmlinput, Map execIdMap=null, Map jobsByOldIdMap =null, identity=null) throws ProjectServiceException {
-        Node doc = parseXml(xmlinput)
-        if (!doc) {
-            throw new ProjectServiceException("XML Document could not be parsed.")
-        }
-        if (doc.name() != 'report') {
-            throw new ProjectServiceException("Document root tag was not 'executions': '${doc.name()}'")
+        loadHistoryReportObject(parseHistoryReportObject(xmlinput), execIdMap, jobsByOldIdMap, identity)
+    }
+
+    /**
+     * Parse the report data from XML
+     * @param xmlinput xml source
+     * @return report data object
+     * @throws ProjectServiceException
+     */
+    def parseHistoryReportObject(xmlinput) throws ProjectServiceException {
+        def object = null
+        parseXmlElements(xmlinput, 'report', null, true) {
+            object = it
         }
+        object
+    }
 
+    /**
+     * Return a ExecReport/BaseReport object from parsed report data
+     * @param object report data, from {@link #parseHistoryReportObject(java.lang.Object)}
+     * @param execIdMap map of old execution IDs to new Ids
+     * @param jobsByOldIdMap map of old Job IDs to new Job entries
+     * @return Report object with remapped exec/job ID values
+     * @throws ProjectServiceException
+     */
+    def loadHistoryReportObject(object, Map execIdMap=null, Map jobsByOldIdMap =null, identity=null)
+            throws ProjectServiceException
+    {
         //load doc as report
-        def object = XmlParserUtil.toObject(doc)
         if (object instanceof Map) {
             //remap job id if necessary
             if (object.jcJobId && jobsByOldIdMap && jobsByOldIdMap[object.jcJobId]) {
@@ -234,23 +388,43 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
      * @throws ProjectServiceException if an error occurs
      */
     def loadExecutions(xmlinput, String projectName, Map jobIdMap=null, skipJobIds = []) throws ProjectServiceException {
-        Node doc = parseXml(xmlinput)
-        if (!doc) {
-            throw new ProjectServiceException("XML Document could not be parsed.")
-        }
-        if (doc.name() != 'executions') {
-            throw new ProjectServiceException("Document root tag was not 'executions': '${doc.name()}'")
+        loadExecutionObjects(parseExecutionObjects(xmlinput), projectName, jobIdMap, skipJobIds)
+    }
+
+    /**
+     * Parse the execution elements from an XML file
+     * @param xmlinput xml source
+     * @return list of data objects for each execution
+     * @throws ProjectServiceException if an error occurs
+     */
+    List parseExecutionObjects(xmlinput) throws ProjectServiceException {
+        def objects = []
+        parseXmlElements(xmlinput, 'executions', 'execution', false) {
+            objects << it
         }
-        if (!doc.execution || doc.execution.size() < 1) {
+        if (!objects) {
             throw new ProjectServiceException("No 'executions/execution' element was found")
         }
+        objects
+    }
 
+    /**
+     * Create Execution objects from parsed execution data
+     * @param objects execution data objects, from {@link #parseExecutionObjects(java.lang.Object)}
+     * @param jobIdMap map of UUID/ScheduledExecution IDs to new UUIDs for reassigning execution to jobs
+     * @param skipJobIds list of UUID/job id to skip execution import
+     * @return map data: 'executions' list of Executions that were parsed, 'execidmap' map of new Executions to the
+     * input IDs from the XML, 'retryidmap' map of new Executions to old the 'retry' execution ID
+     * @throws ProjectServiceException if an error occurs
+     */
+    def loadExecutionObjects(List objects, String projectName, Map jobIdMap=null, skipJobIds = [])
+            throws ProjectServiceException
+    {
         def execlist=[]
         def execidmap=[:]
         def retryidmap=[:]
         def ecount=0
-        doc.execution.each{ enode->
-            def object = XmlParserUtil.toObject(enode,false)
+        objects.each{ object->
             if (object instanceof Map) {
                 JobsXMLCodec.convertXmlWorkflowToMap(object.workflow)
                 //remap job id if necessary
@@ -298,9 +472,18 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
         [executions:execlist,execidmap:execidmap, retryidmap: retryidmap]
     }
 
-    private Node parseXml(xmlinput) {
-        def XmlParser parser = new XmlParser()
-        def doc
+    /**
+     * Parse xml with a streaming parser, producing the same data objects as {@link XmlParserUtil#toObject(groovy.util.Node, boolean)}
+     * @param xmlinput xml source: File, InputStream or String
+     * @param rootName expected name of the root element
+     * @param childName name of child elements to parse, or null to parse the root element
+     * @param analyze true to convert text values
+     * @param closure called with the data object for each parsed element
+     * @throws ProjectServiceException if an error occurs
+     */
+    private void parseXmlElements(xmlinput, String rootName, String childName, boolean analyze, Closure closure)
+            throws ProjectServiceException
+    {
         def reader
         def filestream
         if (xmlinput instanceof File ) {
@@ -315,15 +498,38 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
         }
 
         try {
-            doc = parser.parse(reader)
-        } catch (Exception e) {
+            XMLStreamReader xml = XmlParserUtil.createStreamReader(reader)
+            try {
+                xml.nextTag()
+                if (xml.localName != rootName) {
+                    throw new ProjectServiceException("Document root tag was not '${rootName}': '${xml.localName}'")
+                }
+                if (!childName) {
+                    closure.call(XmlParserUtil.toObject(xml, analyze))
+                    return
+                }
+                while (xml.hasNext()) {
+                    int event = xml.next()
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        if (xml.localName == childName) {
+                            closure.call(XmlParserUtil.toObject(xml, analyze))
+                        } else {
+                            XmlParserUtil.toObject(xml, false)
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        break
+                    }
+                }
+            } finally {
+                xml.close()
+            }
+        } catch (XMLStreamException e) {
             throw new ProjectServiceException("Unable to parse xml: ${e.message}",e)
         }finally{
             if(null!=filestream){
                 filestream.close()
             }
         }
-        doc
     }
 
     /**
@@ -521,25 +727,75 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
         ZipBuilder zip = new ZipBuilder(output)
 //        zip.debug = true
         String projectName = project.name
+        List<ScheduledExecution> jobs = []
+        List<Long> execIds = []
+        List<Long> reportIds = []
+        if(!options || options.all){
+            jobs = ScheduledExecution.findAllByProject(projectName)
+            execIds = Execution.createCriteria().list {
+                eq('project', projectName)
+                projections {
+                    property('id')
+                }
+                order('id', 'asc')
+            }
+            reportIds = BaseReport.createCriteria().list {
+                eq('ctxProject', projectName)
+                projections {
+                    property('id')
+                }
+                order('id', 'asc')
+            }
+        }else if(options.executionsOnly){
+            //find execs
+            List<Long> execIdList = []
+            List<String> execIdStrings = []
+            options.executionIds.each {
+                if(it instanceof Long){
+                    execIdList<<it
+                    execIdStrings<<it.toString()
+                }else if(it instanceof String){
+                    execIdList<<Long.parseLong(it)
+                    execIdStrings<<it
+                }
+            }
+            if (execIdList) {
+                execIds = Execution.createCriteria().list {
+                    eq('project', projectName)
+                    inList('id', execIdList)
+                    projections {
+                        property('id')
+                    }
+                    order('id', 'asc')
+                }
+                reportIds = ExecReport.createCriteria().list {
+                    eq('ctxProject', projectName)
+                    inList('jcExecId', execIdStrings)
+                    projections {
+                        property('id')
+                    }
+                    order('id', 'asc')
+                }
+            }
+        }
         if(!options ||options.all) {
             listener?.total(
                     'export',
-                    ScheduledExecution.countByProject(projectName) +
-                            3 * Execution.countByProject(projectName) +
-                            BaseReport.countByCtxProject(projectName) +
+                    jobs.size() +
+                            3 * execIds.size() +
+                            reportIds.size() +
                             4 //properties and other files
             )
         }else if(options.executionsOnly) {
             listener?.total(
                     'export',
-                    4 * options.executionIds.size()
+                    3 * execIds.size() + reportIds.size()
             )
         }
 
         zip.dir("rundeck-${projectName}/") {
             //export jobs
             if(!options ||options.all) {
-                def jobs = ScheduledExecution.findAllByProject(projectName)
                 dir('jobs/') {
                     jobs.each { ScheduledExecution job ->
                         zip.file("job-${job.extid.encodeAsURL()}.xml") { Writer writer ->
@@ -550,43 +806,15 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
                 }
             }
 
-            List<Execution> execs=[]
-            List<BaseReport> reports=[]
-            if(!options || options.all){
-                execs = Execution.findAllByProject(projectName)
-                reports = BaseReport.findAllByCtxProject(projectName)
-            }else if(options.executionsOnly){
-                //find execs
-                List<Long> execIds = []
-                List<String> execIdStrings = []
-                options.executionIds.each {
-                    if(it instanceof Long){
-                        execIds<<it
-                        execIdStrings<<it.toString()
-                    }else if(it instanceof String){
-                        execIds<<Long.parseLong(it)
-                        execIdStrings<<it
-                    }
-                }
-                execs = Execution.findAllByProjectAndIdInList(projectName,execIds)
-                reports=ExecReport.findAllByCtxProjectAndJcExecIdInList(projectName,execIdStrings)
-            }
-
             dir('executions/') {
                 //export executions
                 //export execution logs
-                execs.each { Execution exec ->
-                    exportExecution zip, exec, "execution-${exec.id}.xml"
-                    listener?.inc('export',3)
-                }
+                exportRendered(zip, execIds, this.&renderExecutionEntries, listener, 3)
             }
             //export history
 
             dir('reports/') {
-                reports.each { BaseReport report ->
-                    exportHistoryReport zip, report, "report-${report.id}.xml"
-                    listener?.inc('export',1)
-                }
+                exportRendered(zip, reportIds, this.&renderHistoryReportEntries, listener, 1)
             }
 
             //export config
@@ -782,63 +1010,55 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
         jobxml.each { File jxml ->
             def path = jobxmlmap[jxml].path
             def name = jobxmlmap[jxml].name
-            def jobset
-            jxml.withInputStream {
-                try {
-                    def reader = new InputStreamReader(it, "UTF-8")
-                    jobset = reader.decodeJobsXML()
-                } catch (JobXMLException e) {
-                    log.error("Failed parsing jobs from XML at archive path: ${path}${name}")
-                    loadjoberrors << "Job XML file at archive path: ${path}${name} had errors: ${e.message}"
-                    return
-                }
-                if (null == jobset) {
-                    log.error("failed decoding jobs xml from zip: ${path}${name}")
-                    return [errorCode: 'api.error.jobs.import.empty']
-                }
-                //contains list of old extids in input order
-                def oldids = jobset.collect { it.extid }
-                //change project name to the current project
-                jobset*.project = projectName
-                //remove uuid to reset it
-                def uuidBehavior = options.jobUuidOption ?: 'preserve'
-                switch (uuidBehavior) {
-                    case 'remove':
-                        jobset*.uuid = null
-                        break;
-                    case 'preserve':
-                        //no-op, leave UUIDs and attempt to import
-                        break;
-                        break;
-                }
-                def results = scheduledExecutionService.loadJobs(
-                        jobset,
+            //contains list of old extids in input order
+            def oldids = []
+            def uuidBehavior = options.jobUuidOption ?: 'preserve'
+            def results = jxml.withInputStream { stream ->
+                scheduledExecutionService.parseAndLoadJobs(
+                        stream,
+                        'xml',
                         'update',
                         null,
                         [:],
-                        authContext
+                        authContext,
+                        { ScheduledExecution job ->
+                            oldids << job.extid
+                            //change project name to the current project
+                            job.project = projectName
+                            //remove uuid to reset it
+                            if (uuidBehavior == 'remove') {
+                                job.uuid = null
+                            }
+                        },
+                        getImportConfig().batchSize
                 )
+            }
 
-                scheduledExecutionService.issueJobChangeEvents(results.jobChangeEvents)
-
-                if (results.errjobs) {
-                    log.error(
-                            "Failed loading (${results.errjobs.size()}) jobs from XML at archive path: ${path}${name}"
-                    )
-                    results.errjobs.each {
-                        loadjoberrors << "Job at index [${it.entrynum}] at archive path: ${path}${name} had errors: ${it.errmsg}"
-                        log.error("Job at index [${it.entrynum}] had errors: ${it.errmsg}")
-                        if (it.entrynum != null && oldids[it.entrynum - 1]) {
-                            skipJobIds << oldids[it.entrynum - 1]
-                        }
+            if (results.error) {
+                log.error("Failed parsing jobs from XML at archive path: ${path}${name}")
+                loadjoberrors << "Job XML file at archive path: ${path}${name} had errors: ${results.error}"
+                return
+            }
+
+            scheduledExecutionService.issueJobChangeEvents(results.jobChangeEvents)
+
+            if (results.errjobs) {
+                log.error(
+                        "Failed loading (${results.errjobs.size()}) jobs from XML at archive path: ${path}${name}"
+                )
+                results.errjobs.each {
+                    loadjoberrors << "Job at index [${it.entrynum}] at archive path: ${path}${name} had errors: ${it.errmsg}"
+                    log.error("Job at index [${it.entrynum}] had errors: ${it.errmsg}")
+                    if (it.entrynum != null && oldids[it.entrynum - 1]) {
+                        skipJobIds << oldids[it.entrynum - 1]
                     }
                 }
-                loadjobresults.addAll(results.jobs)
-                results.jobsi.each { jobi ->
-                    if (jobi.entrynum != null && oldids[jobi.entrynum - 1]) {
-                        jobIdMap[oldids[jobi.entrynum - 1]] = jobi.scheduledExecution.extid
-                        jobsByOldId[oldids[jobi.entrynum - 1]] = jobi.scheduledExecution
-                    }
+            }
+            loadjobresults.addAll(results.jobs)
+            results.jobsi.each { jobi ->
+                if (jobi.entrynum != null && oldids[jobi.entrynum - 1]) {
+                    jobIdMap[oldids[jobi.entrynum - 1]] = jobi.scheduledExecution.extid
+                    jobsByOldId[oldids[jobi.entrynum - 1]] = jobi.scheduledExecution
                 }
             }
         }
@@ -923,6 +1143,30 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
         project.setProjectProperties(newprops)
     }
 
+    /**
+     * Return the archive import configuration. Imported objects are still inserted one statement at a time, the batch
+     * size only sets how often the session is flushed and cleared, which keeps the session small during an import.
+     * @return map with keys: threads, the number of threads parsing XML files (default 1), and batchSize, the number
+     * of imported objects between session flushes and clears (default 100)
+     */
+    private Map getImportConfig() {
+        def config = grailsApplication.config.rundeck?.projectService?.import
+        [
+                threads  : config?.threads ? config.threads.toString().toInteger() : 1,
+                batchSize: Math.max(1, config?.batchSize ? config.batchSize.toString().toInteger() : 100)
+        ]
+    }
+
+    /**
+     * Flush and clear the session, used every batchSize objects when importing many objects
+     */
+    private static void flushAndClearSession() {
+        Execution.withSession { session ->
+            session.flush()
+            session.clear()
+        }
+    }
+
     /**
      * Import reports, and generate new reports for any executions with a missing report.
      * @param reportxml
@@ -932,41 +1176,70 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
      * @param projectName
      */
     private void importReportsToProject(ArrayList reportxml, jobsByOldId, reportxmlnames, Map execidmap, projectName,loadjoberrors) {
-        def loadedreports = []
-        def execids = new ArrayList<Long>(execidmap.values())
-        reportxml.each { rxml ->
-            def report
-            try {
-                report = loadHistoryReport(rxml, execidmap, jobsByOldId, reportxmlnames[rxml])
-            } catch (ProjectServiceException e) {
-                loadjoberrors<<"[${reportxmlnames[rxml]}] ${e.message}"
-                log.debug("[${reportxmlnames[rxml]}] ${e.message}",e)
-                log.error("[${reportxmlnames[rxml]}] ${e.message}")
-                return
-            }
-            if(!report){
-                log.debug("[${reportxmlnames[rxml]}] Report skipped: no matching execution imported.")
-                return
-            }
-            report.ctxProject = projectName
-            if (!report.save()) {
-                log.error("[${reportxmlnames[rxml]}] Unable to save report: ${report.errors}")
-                return
-            }
-            execids.remove(Long.parseLong(report.jcExecId))
-            loadedreports << report
-        }
+        def config = getImportConfig()
+        int threads = config.threads
+        int batchSize = config.batchSize
+        int loadedreports = 0
+        def execids = new LinkedHashSet<Long>(execidmap.values())
+        runPipeline(
+                threads,
+                threads * 2,
+                reportxml.iterator(),
+                { rxml ->
+                    try {
+                        [file: rxml, object: parseHistoryReportObject(rxml)]
+                    } catch (ProjectServiceException e) {
+                        [file: rxml, error: e]
+                    }
+                },
+                { Map parsed ->
+                    def rxml = parsed.file
+                    def report
+                    try {
+                        if (parsed.error) {
+                            throw parsed.error
+                        }
+                        report = loadHistoryReportObject(parsed.object, execidmap, jobsByOldId, reportxmlnames[rxml])
+                    } catch (ProjectServiceException e) {
+                        loadjoberrors<<"[${reportxmlnames[rxml]}] ${e.message}"
+                        log.debug("[${reportxmlnames[rxml]}] ${e.message}",e)
+                        log.error("[${reportxmlnames[rxml]}] ${e.message}")
+                        return
+                    }
+                    if(!report){
+                        log.debug("[${reportxmlnames[rxml]}] Report skipped: no matching execution imported.")
+                        return
+                    }
+                    report.ctxProject = projectName
+                    if (!report.save()) {
+                        log.error("[${reportxmlnames[rxml]}] Unable to save report: ${report.errors}")
+                        return
+                    }
+                    execids.remove(Long.parseLong(report.jcExecId))
+                    loadedreports++
+                    if (loadedreports % batchSize == 0) {
+                        flushAndClearSession()
+                    }
+                }
+        )
+        flushAndClearSession()
         //generate reports for executions without matching reports
-        execids.each { eid ->
-            Execution newe = Execution.get(eid)
-            def report = ExecReport.fromExec(newe)
-            if (!report.save()) {
-                log.error("Unable to save generated report: ${report.errors} (execution ${eid})")
-                return
+        new ArrayList<Long>(execids).collate(batchSize).each { List<Long> ids ->
+            Execution.getAll(ids).eachWithIndex { Execution newe, int i ->
+                if (!newe) {
+                    log.error("Unable to generate report: execution not found (execution ${ids[i]})")
+                    return
+                }
+                def report = ExecReport.fromExec(newe)
+                if (!report.save()) {
+                    log.error("Unable to save generated report: ${report.errors} (execution ${ids[i]})")
+                    return
+                }
+                loadedreports++
             }
-            loadedreports << report
+            flushAndClearSession()
         }
-        log.info("Loaded ${loadedreports.size()} reports")
+        log.info("Loaded ${loadedreports} reports")
     }
 
     /**
@@ -982,98 +1255,123 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
     private Map importExecutionsToProject(ArrayList execxml, Map<String, File> execout, projectName,
                                           Framework framework, jobIdMap, skipJobIds, Map execxmlmap, execerrors = [] )
     {
+        def config = getImportConfig()
+        int threads = config.threads
+        int batchSize = config.batchSize
         // map from old execution ID to new ID
         def execidmap = [:]
-        def oldidtoexec = [:]
+        // map from new execution ID to old retry execution ID
         def retryexecs= [:]
-        def loadexecresults = []
+        int loadexeccount = 0
         //load executions, and move/rewrite outputfile names
-        execxml.each { File exml ->
-            def results
-            try {
-                results = loadExecutions(exml,projectName, jobIdMap,skipJobIds)
-            } catch (ProjectServiceException e) {
-                log.debug("[${execxmlmap[exml]}] ${e.message}",e)
-                execerrors<<"[${execxmlmap[exml]}] ${e.message}"
-                return
-            }
-            def execlist = results.executions
-            def oldids = results.execidmap
-            retryexecs.putAll(results.retryidmap)
-            execlist.each { Execution e ->
-                e.project = projectName
-                if (e.orchestrator && !e.orchestrator.save()) {
-                    execerrors<<"[${execxmlmap[exml]}] Unable to save orchestrator for execution: ${e.orchestrator.errors}"
-                    log.error("[${execxmlmap[exml]}] Unable to save orchestrator for execution: ${e.orchestrator.errors}")
-                    return
-                }
-                if (e.workflow && !e.workflow.save()) {
-                    execerrors<<"[${execxmlmap[exml]}] Unable to save workflow for execution: ${e.workflow.errors}"
-                    log.error("[${execxmlmap[exml]}] Unable to save workflow for execution: ${e.workflow.errors}")
-                    return
-                }
-                if (!e.save()) {
-                    execerrors<<"[${execxmlmap[exml]}] Unable to save new execution: ${e.errors}"
-                    log.error("[${execxmlmap[exml]}] Unable to save new execution: ${e.errors}")
-                    return
-                }
-                loadexecresults << e
-                if (oldids[e]) {
-                    execidmap[oldids[e]] = e.id
-                    oldidtoexec[oldids[e]]=e
-                }
-                //check outputfile exists in mapping
-                if (e.outputfilepath && execout[e.outputfilepath]) {
-                    File oldfile = execout[e.outputfilepath]
-                    //move to appropriate location and update outputfilepath
-                    String filename = logFileStorageService.getFileForExecutionFiletype(e,
-                            LoggingService.LOG_FILE_FILETYPE, false)
-                    File newfile = new File(filename)
-                    try{
-                        FileUtils.moveFile(oldfile, newfile)
-                    }catch (IOException exc) {
-                        execerrors<<"Failed to move temp log file to destination: ${newfile.absolutePath} (old id ${oldids[e]}): ${exc.message}"
-                        log.error("Failed to move temp log file to destination: ${newfile.absolutePath} (old id ${oldids[e]})", exc)
+        runPipeline(
+                threads,
+                threads * 2,
+                execxml.iterator(),
+                { File exml ->
+                    try {
+                        [file: exml, objects: parseExecutionObjects(exml)]
+                    } catch (ProjectServiceException e) {
+                        [file: exml, error: e]
                     }
-                    e.outputfilepath = newfile.absolutePath
-                } else {
-                    execerrors<<"New execution ${e.id}, NO matching outfile: ${e.outputfilepath}"
-                    log.error("New execution ${e.id}, NO matching outfile: ${e.outputfilepath}")
-                }
-
-                //copy state.json file
-                if(execout["state-${oldids[e]}.state.json"]){
-                    File statefile= execout["state-${oldids[e]}.state.json"]
-                    String filename = logFileStorageService.getFileForExecutionFiletype(e,
-                            WorkflowService.STATE_FILE_FILETYPE, false)
-                    File newfile = new File(filename)
+                },
+                { Map parsed ->
+                    File exml = parsed.file
+                    def results
                     try {
-                        FileUtils.moveFile(statefile, newfile)
-                    } catch (IOException exc) {
-                        execerrors<<"Failed to move temp state file to destination: ${newfile.absolutePath} (old id ${oldids[e]}): ${exc.message}"
-                        log.error("Failed to move temp state file to destination: ${newfile.absolutePath} (old id ${oldids[e]})", exc)
+                        if (parsed.error) {
+                            throw parsed.error
+                        }
+                        results = loadExecutionObjects(parsed.objects, projectName, jobIdMap, skipJobIds)
+                    } catch (ProjectServiceException e) {
+                        log.debug("[${execxmlmap[exml]}] ${e.message}",e)
+                        execerrors<<"[${execxmlmap[exml]}] ${e.message}"
+                        return
+                    }
+                    def execlist = results.executions
+                    def oldids = results.execidmap
+                    execlist.each { Execution e ->
+                        e.project = projectName
+                        if (e.orchestrator && !e.orchestrator.save()) {
+                            execerrors<<"[${execxmlmap[exml]}] Unable to save orchestrator for execution: ${e.orchestrator.errors}"
+                            log.error("[${execxmlmap[exml]}] Unable to save orchestrator for execution: ${e.orchestrator.errors}")
+                            return
+                        }
+                        if (e.workflow && !e.workflow.save()) {
+                            execerrors<<"[${execxmlmap[exml]}] Unable to save workflow for execution: ${e.workflow.errors}"
+                            log.error("[${execxmlmap[exml]}] Unable to save workflow for execution: ${e.workflow.errors}")
+                            return
+                        }
+                        if (!e.save()) {
+                            execerrors<<"[${execxmlmap[exml]}] Unable to save new execution: ${e.errors}"
+                            log.error("[${execxmlmap[exml]}] Unable to save new execution: ${e.errors}")
+                            return
+                        }
+                        loadexeccount++
+                        if (oldids[e]) {
+                            execidmap[oldids[e]] = e.id
+                        }
+                        if (results.retryidmap[e]) {
+                            retryexecs[e.id] = results.retryidmap[e]
+                        }
+                        //check outputfile exists in mapping
+                        if (e.outputfilepath && execout[e.outputfilepath]) {
+                            File oldfile = execout[e.outputfilepath]
+                            //move to appropriate location and update outputfilepath
+                            String filename = logFileStorageService.getFileForExecutionFiletype(e,
+                                    LoggingService.LOG_FILE_FILETYPE, false)
+                            File newfile = new File(filename)
+                            try{
+                                FileUtils.moveFile(oldfile, newfile)
+                            }catch (IOException exc) {
+                                execerrors<<"Failed to move temp log file to destination: ${newfile.absolutePath} (old id ${oldids[e]}): ${exc.message}"
+                                log.error("Failed to move temp log file to destination: ${newfile.absolutePath} (old id ${oldids[e]})", exc)
+                            }
+                            e.outputfilepath = newfile.absolutePath
+                        } else {
+                            execerrors<<"New execution ${e.id}, NO matching outfile: ${e.outputfilepath}"
+                            log.error("New execution ${e.id}, NO matching outfile: ${e.outputfilepath}")
+                        }
+
+                        //copy state.json file
+                        if(execout["state-${oldids[e]}.state.json"]){
+                            File statefile= execout["state-${oldids[e]}.state.json"]
+                            String filename = logFileStorageService.getFileForExecutionFiletype(e,
+                                    WorkflowService.STATE_FILE_FILETYPE, false)
+                            File newfile = new File(filename)
+                            try {
+                                FileUtils.moveFile(statefile, newfile)
+                            } catch (IOException exc) {
+                                execerrors<<"Failed to move temp state file to destination: ${newfile.absolutePath} (old id ${oldids[e]}): ${exc.message}"
+                                log.error("Failed to move temp state file to destination: ${newfile.absolutePath} (old id ${oldids[e]})", exc)
+                            }
+                        }
+                        if (loadexeccount % batchSize == 0) {
+                            flushAndClearSession()
+                        }
                     }
                 }
-            }
-        }
+        )
+        flushAndClearSession()
         //reassign retry execution links
-        loadexecresults.each { Execution e ->
-            if (retryexecs[e]) {
-                Execution retryExec = oldidtoexec[retryexecs[e]]
-                if (retryExec) {
-                    e.retryExecution = retryExec
+        new ArrayList<Long>(retryexecs.keySet()).collate(batchSize).each { List<Long> ids ->
+            Execution.getAll(ids).findAll { it }.each { Execution e ->
+                def retryId = execidmap[retryexecs[e.id]]
+                if (retryId) {
+                    e.retryExecution = Execution.load(retryId)
                     if (!e.save()) {
                         execerrors<<"Unable to update execution retry link: ${e.errors} (Execution ${e.id})"
                         log.error("Unable to update execution retry link: ${e.errors} (Execution ${e.id})")
                         return
                     }
                 }else{
-                    execerrors<<"Failed to link retry for ${e.id} to ${retryexecs[e]}"
-                    log.error("Failed to link retry for ${e.id} to ${retryexecs[e]}")
+                    execerrors<<"Failed to link retry for ${e.id} to ${retryexecs[e.id]}"
+                    log.error("Failed to link retry for ${e.id} to ${retryexecs[e.id]}")
                 }
             }
+            flushAndClearSession()
         }
-        log.info("Loaded ${loadexecresults.size()} executions, map: ${execidmap}")
+        log.info("Loaded ${loadexeccount} executions, map: ${execidmap}")
         execidmap
     }
 
@@ -1123,6 +1421,7 @@ class ProjectService implements InitializingBean, ExecutionFileProducer{
         //if success, delete framework dir
         if(result.success){
             framework.getFrameworkProjectMgr().removeFrameworkProject(project.name)
+            jobGroupIndexService?.invalidate(project.name)
         }
         return result
     }
@@ -1160,7 +1459,7 @@ class ArchiveRequestProgress implements ProgressSummary,ProgressListener{
 
 
     @Override
-    void total(final String key, final long total) {
+    synchronized void total(final String key, final long total) {
         this.totals[key]=total
         if(counts[key]==null){
             counts[key]=0
@@ -1168,17 +1467,17 @@ class ArchiveRequestProgress implements ProgressSummary,ProgressListener{
     }
 
     @Override
-    void inc(final String key, final long count) {
+    synchronized void inc(final String key, final long count) {
         this.counts[key]=this.counts[key]?this.counts[key]+count:count
     }
 
     @Override
-    void done() {
+    synchronized void done() {
         counts.putAll(totals)
     }
 
     @Override
-    int percent() {
+    synchronized int percent() {
         Double sum=totals.keySet().inject(0){a,k->
             a + ( ( totals[k]>0 ? ( (counts[k]!=null?counts[k]:0d)/totals[k] ) : 1d) / totals.size() )
         }
@@ -1,5 +1,7 @@
 package rundeck.services
 
+import com.dtolabs.rundeck.app.support.JobChunkIterator
+import com.dtolabs.rundeck.app.support.JobSummary
 import com.dtolabs.rundeck.app.support.ScheduledExecutionQuery
 import com.dtolabs.rundeck.core.authorization.AuthContext
 import com.dtolabs.rundeck.core.authorization.UserAndRoles
@@ -9,10 +11,13 @@ import com.dtolabs.rundeck.core.jobs.JobReference
 import com.dtolabs.rundeck.core.jobs.JobRevReference
 import com.dtolabs.rundeck.plugins.scm.JobChangeEvent
 import com.dtolabs.rundeck.server.authorization.AuthConstants
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
 import grails.plugins.quartz.listeners.SessionBinderJobListener
 import grails.transaction.Transactional
 import org.apache.log4j.Logger
 import org.apache.log4j.MDC
+import org.hibernate.FlushMode
 import org.hibernate.StaleObjectStateException
 import org.quartz.*
 import org.quartz.impl.matchers.KeyMatcher
@@ -20,10 +25,12 @@ import org.springframework.beans.factory.InitializingBean
 import org.springframework.context.ApplicationContext
 import org.springframework.context.ApplicationContextAware
 import org.springframework.context.MessageSource
+import org.springframework.transaction.TransactionStatus
 import org.springframework.transaction.annotation.Propagation
 import org.springframework.web.context.request.RequestContextHolder
 import org.springframework.web.servlet.support.RequestContextUtils
 import rundeck.*
+import rundeck.codecs.JobsXMLCodec
 import rundeck.controllers.EditOptsController
 import rundeck.controllers.JobXMLException
 import rundeck.controllers.ScheduledExecutionController
@@ -33,6 +40,10 @@ import rundeck.quartzjobs.ExecutionJob
 import javax.servlet.http.HttpSession
 import java.text.MessageFormat
 import java.text.SimpleDateFormat
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 
 /**
  *  ScheduledExecutionService manages scheduling jobs with the Quartz scheduler
@@ -54,11 +65,35 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
 
     def MessageSource messageSource
     def grailsEvents
+    def configurationService
+    def metricService
+    def jobGroupIndexService
+
+    public static final String DEFAULT_NEXT_FIRE_TIME_CACHE_SPEC = "maximumSize=50000"
+    /**
+     * Cache of next fire time for scheduled jobs, keyed by Quartz job key. Values are a map of [cron: crontab
+     * expression, time: next fire Date], and are only used while the crontab expression matches and the time is in
+     * the future.
+     */
+    private Cache<JobKey, Map> nextFireTimeCache = CacheBuilder.from(DEFAULT_NEXT_FIRE_TIME_CACHE_SPEC).build()
 
     @Override
     void afterPropertiesSet() throws Exception {
         //add listener for every job
         quartzScheduler?.getListenerManager()?.addJobListener(sessionBinderListener)
+        def spec = configurationService?.getCacheSpecFor(
+                "scheduledExecutionService",
+                "nextFireTimeCache",
+                DEFAULT_NEXT_FIRE_TIME_CACHE_SPEC
+        ) ?: DEFAULT_NEXT_FIRE_TIME_CACHE_SPEC
+        nextFireTimeCache = CacheBuilder.from(spec).build()
+    }
+
+    private def withTimer(String name, Closure clos) {
+        if (metricService) {
+            return metricService.withTimer(this.class.name, name, clos)
+        }
+        clos()
     }
 
     /**
@@ -111,9 +146,52 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         return model
     }
     def listWorkflows(ScheduledExecutionQuery query) {
-        def txtfilters = ScheduledExecutionQuery.TEXT_FILTERS
-        def eqfilters=ScheduledExecutionQuery.EQ_FILTERS
-        def boolfilters=ScheduledExecutionQuery.BOOL_FILTERS
+        listJobs(query, false)
+    }
+
+    /**
+     * List jobs matching the query, as {@link JobSummary} objects loaded with a projection query, without loading
+     * the options, workflow or notifications of the jobs.
+     * @param query query
+     * @return map with keys: query, schedlist (list of JobSummary), total, _filters
+     */
+    def listJobSummaries(ScheduledExecutionQuery query) {
+        listJobs(query, true)
+    }
+
+    /**
+     * Load the full jobs for a list of job summaries, querying a chunk of IDs at a time
+     * (rundeck.scheduledExecutionService.loadJobs.chunkSize, default 500)
+     * @param summaries summaries
+     * @return list of ScheduledExecution in the same order as the summaries, excluding any which no longer exist
+     */
+    List<ScheduledExecution> loadJobsForSummaries(List<JobSummary> summaries) {
+        if (!summaries) {
+            return []
+        }
+        summaries*.id.collate(loadJobsChunkSize).collectMany { List ids ->
+            ScheduledExecution.getAll(ids).findAll { it != null }
+        }
+    }
+
+    /**
+     * Iterate over the full jobs for a list of job summaries, loading a chunk of jobs at a time
+     * (rundeck.scheduledExecutionService.loadJobs.chunkSize, default 500) and clearing the session before each
+     * chunk, so that all of the jobs are not held in memory at once. Used to export many jobs.
+     * @param summaries summaries
+     * @return jobs in the same order as the summaries, excluding any which no longer exist
+     */
+    Iterable<ScheduledExecution> iterateJobsForSummaries(List<JobSummary> summaries) {
+        List ids = summaries ? summaries*.id : []
+        int chunkSize = loadJobsChunkSize
+        return { -> new JobChunkIterator(ids, chunkSize) } as Iterable<ScheduledExecution>
+    }
+
+    private int getLoadJobsChunkSize() {
+        Math.max(1, configurationService?.getInteger("scheduledExecutionService.loadJobs.chunkSize", 500) ?: 500)
+    }
+
+    private def listJobs(ScheduledExecutionQuery query, boolean summary) {
         def filters = ScheduledExecutionQuery.ALL_FILTERS
 
         def idlist=[]
@@ -138,6 +216,11 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         def crit = ScheduledExecution.createCriteria()
 
         def scheduled = crit.list{
+            if (summary) {
+                projections {
+                    JobSummary.PROPERTIES.each { property(it) }
+                }
+            }
             if(query?.max && query.max.toInteger()>0){
                 maxResults(query.max.toInteger())
             }else{
@@ -147,6 +230,51 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
                 firstResult(query.offset.toInteger())
             }
 
+            def criteria = jobQueryCriteria(query, idlist)
+            criteria.delegate = delegate
+            criteria()
+
+            if(query && query.sortBy && filters[query.sortBy]){
+                order(filters[query.sortBy],query.sortOrder=='ascending'?'asc':'desc')
+            }else{
+                order("jobName","asc")
+            }
+        };
+        def schedlist = [];
+        scheduled.each{
+            schedlist << (summary ? JobSummary.fromRow(it) : it)
+        }
+
+        def total = schedlist.size()
+        if(query?.max && query.max.toInteger()>0) {
+            //count full result set
+            total = ScheduledExecution.createCriteria().count {
+                def criteria = jobQueryCriteria(query, idlist)
+                criteria.delegate = delegate
+                criteria()
+            }
+        }
+
+
+        return [
+            query:query,
+            schedlist:schedlist,
+            total: total,
+            _filters:filters
+            ]
+
+    }
+
+    /**
+     * Return a criteria closure applying the filters of the query
+     * @param query query
+     * @param idlist list of IDs or UUIDs to match
+     */
+    private Closure jobQueryCriteria(ScheduledExecutionQuery query, List idlist) {
+        def txtfilters = ScheduledExecutionQuery.TEXT_FILTERS
+        def eqfilters=ScheduledExecutionQuery.EQ_FILTERS
+        def boolfilters=ScheduledExecutionQuery.BOOL_FILTERS
+        def criteria = {
             if(idlist){
                 or{
                     idlist.each{ theid->
@@ -202,79 +330,11 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
                     isNull("groupPath")
                 }
             }
-
-            if(query && query.sortBy && filters[query.sortBy]){
-                order(filters[query.sortBy],query.sortOrder=='ascending'?'asc':'desc')
-            }else{
-                order("jobName","asc")
-            }
-        };
-        def schedlist = [];
-        scheduled.each{
-            schedlist << it
-        }
-
-        def total = schedlist.size()
-        if(query?.max && query.max.toInteger()>0) {
-            //count full result set
-            total = ScheduledExecution.createCriteria().count {
-
-                if (idlist) {
-                    or {
-                        idlist.each { theid ->
-                            if (theid instanceof Long) {
-                                eq("id", theid)
-                            } else {
-                                eq("uuid", theid)
-                            }
-                        }
-                    }
-                }
-
-                txtfilters.each { key, val ->
-                    if (query["${key}Filter"]) {
-                        ilike(val, '%' + query["${key}Filter"] + '%')
-                    }
-                }
-                eqfilters.each { key, val ->
-                    if (query["${key}Filter"]) {
-                        eq(val, query["${key}Filter"])
-                    }
-                }
-                boolfilters.each { key, val ->
-                    if (null != query["${key}Filter"]) {
-                        eq(val, query["${key}Filter"])
-                    }
-                }
-
-
-                if ('*' == query["groupPath"]) {
-                    //don't filter out any grouppath
-                } else if (query["groupPath"]) {
-                    or {
-                        like("groupPath", query["groupPath"] + "/%")
-                        eq("groupPath", query['groupPath'])
-                    }
-                } else {
-                    or {
-                        eq("groupPath", "")
-                        isNull("groupPath")
-                    }
-                }
-            }
         }
-
-
-        return [
-            query:query,
-            schedlist:schedlist,
-            total: total,
-            _filters:filters
-            ]
-
+        criteria.resolveStrategy = Closure.DELEGATE_FIRST
+        criteria
     }
 
-
     /**
      * return a map of defined group path to count of the number of jobs with that exact path
      */
@@ -283,9 +343,8 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
 
         //collect all jobs and authorize the user for the set of available Job actions
         Set res = new HashSet()
-        def schedlist= ScheduledExecution.findAllByProject(project)
-        schedlist.each { ScheduledExecution sched ->
-            res.add(frameworkService.authResourceForJob(sched))
+        jobGroupIndexService.indexedJobs(project).each { JobGroupIndexService.IndexedJob job ->
+            res.add(frameworkService.authResourceForJob(job.jobName, job.groupPath))
         }
         // Filter the groups by what the user is authorized to see.
 
@@ -394,6 +453,7 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
             def groupname = se.generateJobGroupName()
 
             quartzScheduler.deleteJob(new JobKey(jobname,groupname))
+            nextFireTimeCache.invalidate(new JobKey(jobname, groupname))
             log.info("Unscheduled job: ${se.id}")
         }
     }
@@ -436,16 +496,109 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
      * @return
      */
     def rescheduleJobs(String serverUUID=null) {
-        def schedJobs = serverUUID ? ScheduledExecution.findAllByScheduledAndServerNodeUUID(true, serverUUID) : ScheduledExecution.findAllByScheduled(true)
-        schedJobs.each { ScheduledExecution se ->
+        withTimer('rescheduleJobs') {
+            def schedJobs = serverUUID ? ScheduledExecution.findAllByScheduledAndServerNodeUUID(true, serverUUID) : ScheduledExecution.findAllByScheduled(true)
+            scheduleJobsBatch(schedJobs)
+        }
+    }
+
+    /**
+     * Register the jobs and triggers for a set of jobs with the scheduler, replacing any existing schedule.  Jobs
+     * are scheduled in batches (rundeck.scheduledExecutionService.reschedule.batchSize, default 500) per project,
+     * and projects are processed in parallel (rundeck.scheduledExecutionService.reschedule.threads, default 4). If a
+     * batch fails, the jobs in the batch are scheduled individually.
+     * @param jobs jobs to schedule
+     * @return map of [scheduled: count, failed: count]
+     */
+    def Map scheduleJobsBatch(Collection<ScheduledExecution> jobs) {
+        def result = [scheduled: 0, failed: 0]
+        if (!executionService.executionsAreActive) {
+            log.warn("Attempt to schedule ${jobs.size()} jobs, but executions are disabled.")
+            return result
+        }
+        int batchSize = Math.max(1, configurationService?.getInteger(
+                "scheduledExecutionService.reschedule.batchSize",
+                500
+        ) ?: 500)
+        int threads = Math.max(1, configurationService?.getInteger(
+                "scheduledExecutionService.reschedule.threads",
+                4
+        ) ?: 4)
+
+        //build job details and triggers while the domain objects are attached to the session
+        def batches = []
+        jobs.findAll { it.shouldScheduleExecution() }.groupBy { it.project }.each { project, projectJobs ->
+            def entries = []
+            projectJobs.each { ScheduledExecution se ->
+                try {
+                    def jobDetail = createJobDetail(se)
+                    jobDetail.getJobDataMap().put("bySchedule", true)
+                    entries << [id: se.id, jobDetail: jobDetail, trigger: createTrigger(se)]
+                } catch (Exception e) {
+                    log.debug("Job not rescheduled: ${se.id}: ${e.message}", e)
+                    log.error("Job not rescheduled: ${se.id}: ${e.message}")
+                    result.failed++
+                }
+            }
+            entries.collate(batchSize).each { batch ->
+                batches << [project: project, entries: batch]
+            }
+        }
+        if (!batches) {
+            return result
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, batches.size()))
+        try {
+            List<Future<Map>> futures = batches.collect { batch ->
+                pool.submit({ -> scheduleBatch(batch.project, batch.entries) } as Callable<Map>)
+            }
+            futures.each { Future<Map> future ->
+                def batchResult = future.get()
+                result.scheduled += batchResult.scheduled
+                result.failed += batchResult.failed
+            }
+        } finally {
+            pool.shutdown()
+        }
+        log.info("rescheduled ${result.scheduled} jobs, ${result.failed} failed")
+        result
+    }
+
+    /**
+     * Schedule a batch of jobs in a single scheduler operation, falling back to scheduling each job if it fails
+     * @param project project name
+     * @param entries list of maps of [id: job id, jobDetail: JobDetail, trigger: Trigger]
+     * @return map of [scheduled: count, failed: count]
+     */
+    private Map scheduleBatch(String project, List<Map> entries) {
+        def result = [scheduled: 0, failed: 0]
+        Map<JobDetail, Set<? extends Trigger>> triggersAndJobs = [:]
+        entries.each { entry ->
+            triggersAndJobs.put(entry.jobDetail, [entry.trigger] as Set)
+            nextFireTimeCache.invalidate(entry.jobDetail.key)
+        }
+        try {
+            quartzScheduler.scheduleJobs(triggersAndJobs, true)
+            result.scheduled = entries.size()
+            log.info("rescheduled ${entries.size()} jobs in project ${project}")
+            return result
+        } catch (Exception e) {
+            log.warn("Batch scheduling failed for project ${project}, scheduling jobs individually: ${e.message}")
+            log.debug("Batch scheduling failed for project ${project}: ${e.message}", e)
+        }
+        entries.each { entry ->
             try {
-                scheduleJob(se, null, null)
-                log.info("rescheduled job: ${se.id}")
+                quartzScheduler.scheduleJob(entry.jobDetail, [entry.trigger] as Set, true)
+                log.info("rescheduled job: ${entry.id}")
+                result.scheduled++
             } catch (Exception e) {
-                log.debug("Job not rescheduled: ${se.id}: ${e.message}",e)
-                log.error("Job not rescheduled: ${se.id}: ${e.message}")
+                log.debug("Job not rescheduled: ${entry.id}: ${e.message}", e)
+                log.error("Job not rescheduled: ${entry.id}: ${e.message}")
+                result.failed++
             }
         }
+        result
     }
     /**
      * Claim scheduling of jobs from the given fromServerUUID, and return a map identifying successfully claimed jobs
@@ -453,9 +606,13 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
      * @return map of job ID to [success:boolean, job:ScheduledExecution] indicating reclaim was successful or not.
      */
     def reclaimAndScheduleJobs(String fromServerUUID, boolean all=false, String project=null, String id=null){
-        def claimed=claimScheduledJobs(frameworkService.getServerUUID(), fromServerUUID, all, project, id)
-        rescheduleJobs(frameworkService.getServerUUID())
-        claimed
+        withTimer('reclaimAndScheduleJobs') {
+            def claimed = withTimer('claimScheduledJobs') {
+                claimScheduledJobs(frameworkService.getServerUUID(), fromServerUUID, all, project, id)
+            }
+            rescheduleJobs(frameworkService.getServerUUID())
+            claimed
+        }
     }
 
     /**
@@ -563,6 +720,7 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         if(success){
 
             def event = createJobChangeEvent(JobChangeEvent.JobChangeEventType.DELETE, originalRef)
+            jobGroupIndexService?.jobChanged(event)
 
             //issue event directly
             grailsEvents?.event(null, 'jobChanged', event)
@@ -633,7 +791,9 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
      */
     def deleteJob(String jobname, String groupname){
         log.info("deleting job from scheduler")
-        quartzScheduler.deleteJob(new JobKey(jobname,groupname))
+        def key = new JobKey(jobname, groupname)
+        nextFireTimeCache.invalidate(key)
+        quartzScheduler.deleteJob(key)
     }
 
     def userAuthorizedForJob(request,ScheduledExecution se, AuthContext authContext){
@@ -672,6 +832,8 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
             nextTime = quartzScheduler.scheduleJob(jobDetail, trigger)
         }
 
+        nextFireTimeCache.invalidate(jobDetail.key)
+
         log.info("scheduled job. next run: " + nextTime.toString())
         return nextTime
     }
@@ -815,7 +977,11 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         return jobDetailBuilder.build()
     }
 
-    def Trigger createTrigger(ScheduledExecution se) {
+    /**
+     * Create a cron trigger for the job
+     * @param se ScheduledExecution or JobSummary
+     */
+    def Trigger createTrigger(se) {
         def Trigger trigger
         def cronExpression = se.generateCrontabExression()
         try {
@@ -835,10 +1001,10 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
 
     /**
      * Return a map of job ID to next trigger Date
-     * @param scheduledExecutions
+     * @param scheduledExecutions ScheduledExecution or JobSummary objects
      * @return
      */
-    def Map nextExecutionTimes(Collection<ScheduledExecution> scheduledExecutions) {
+    def Map nextExecutionTimes(Collection scheduledExecutions) {
         def map = [ : ]
         scheduledExecutions.each {
             def next = nextExecutionTime(it)
@@ -851,10 +1017,10 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
 
     /**
      * Return a map of job ID to serverNodeUUID for any jobs which are scheduled on a different server, if cluster mode is enabled.
-     * @param scheduledExecutions
+     * @param scheduledExecutions ScheduledExecution or JobSummary objects
      * @return
      */
-    def Map clusterScheduledJobs(Collection<ScheduledExecution> scheduledExecutions) {
+    def Map clusterScheduledJobs(Collection scheduledExecutions) {
         def map = [ : ]
         if(frameworkService.isClusterModeEnabled()) {
             def serverUUID = frameworkService.getServerUUID()
@@ -870,13 +1036,27 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
      * Return the next scheduled or predicted execution time for the scheduled job, and if it is not scheduled
      * return a time in the future.  If the job is not scheduled on the current server (cluster mode), returns
      * the time that the job is expected to run on its configured server.
-     * @param se
+     * @param se ScheduledExecution or JobSummary
      * @return
      */
-    def Date nextExecutionTime(ScheduledExecution se) {
+    def Date nextExecutionTime(se) {
         if(!se.scheduled){
             return new Date(TWO_HUNDRED_YEARS)
         }
+        def key = JobKey.jobKey(se.generateJobScheduledName(), se.generateJobGroupName())
+        def cron = se.generateCrontabExression()
+        def cached = nextFireTimeCache.getIfPresent(key)
+        if (cached && cached.cron == cron && cached.time.after(new Date())) {
+            return cached.time
+        }
+        def next = lookupNextExecutionTime(se)
+        if (next) {
+            nextFireTimeCache.put(key, [cron: cron, time: next])
+        }
+        return next
+    }
+
+    private Date lookupNextExecutionTime(se) {
         def trigger = quartzScheduler.getTrigger(TriggerKey.triggerKey(se.generateJobScheduledName(), se.generateJobGroupName()))
         if(trigger){
             return trigger.getNextFireTime()
@@ -891,10 +1071,10 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
 
     /**
      * Return the Date for the next execution time for a scheduled job
-     * @param se
+     * @param se ScheduledExecution or JobSummary
      * @return
      */
-    def Date tempNextExecutionTime(ScheduledExecution se){
+    def Date tempNextExecutionTime(se){
         def trigger = createTrigger(se)
         return trigger.getFireTimeAfter(new Date())
     }
@@ -981,6 +1161,7 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
 
     /**
      * Given list of imported jobs, create, update or skip them as defined by the dupeOption parameter.
+     * @param batchSize if greater than 0, load the jobs in batches as described in {@link #loadJobsFrom}
      * @return map of load results, [jobs: List of ScheduledExecutions, jobsi: list of maps [scheduledExecution: (job), entrynum: (index)], errjobs: List of maps [scheduledExecution: jobdata, entrynum: i, errmsg: errmsg], skipjobs: list of maps [scheduledExecution: jobdata, entrynum: i, errmsg: errmsg]]
      */
     def loadJobs (
@@ -988,125 +1169,273 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
             String option,
             String uuidOption,
             Map changeinfo = [:],
-            UserAndRolesAuthContext authContext
+            UserAndRolesAuthContext authContext,
+            int batchSize = 0
+    ){
+        loadJobsFrom({ Closure load -> jobset.each(load) }, option, uuidOption, changeinfo, authContext, batchSize)
+    }
+
+    /**
+     * Create, update or skip imported jobs as defined by the dupeOption parameter, as they are produced by the source.
+     * If batchSize is greater than 0, the session is flushed and cleared once for each batchSize jobs instead of
+     * flushed for each job, queries do not flush the session within a batch, and the saved jobs are scheduled with
+     * a single scheduler update per batch after all jobs are loaded. A batch is ended early if a job has the same
+     * UUID or name as another job in the batch. The loaded jobs in the result are detached from the session.
+     * If the source throws an exception, the loaded jobs are not scheduled.
+     * @param source closure called with a closure that loads one job
+     * @param batchSize number of jobs per batch, or 0 to load and schedule each job separately
+     * @return map of load results, as for {@link #loadJobs}
+     */
+    def loadJobsFrom (
+            Closure source,
+            String option,
+            String uuidOption,
+            Map changeinfo,
+            UserAndRolesAuthContext authContext,
+            int batchSize
     ){
-        def jobs = []
-        def jobsi = []
+        def results = [jobs: [], jobsi: [], errjobs: [], skipjobs: [], jobChangeEvents: []]
         def i = 1
-        def errjobs = []
-        def skipjobs = []
-        def jobChangeEvents=[]
-        jobset.each { jobdata ->
-            log.debug("saving job data: ${jobdata}")
-            def ScheduledExecution scheduledExecution
-            def jobchange = new HashMap(changeinfo)
-            if(!jobdata.project){
-                errjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: "Project was not specified"]
-                i++
-                return
+        if (batchSize < 1) {
+            source.call { ScheduledExecution jobdata ->
+                loadJob(jobdata, i++, option, uuidOption, changeinfo, authContext, false, results)
             }
-            if(!frameworkService.existsFrameworkProject(jobdata.project)){
-                errjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: "Project does not exist: ${jobdata.project}"]
-                i++
-                return
-            }
-            if (uuidOption == 'remove') {
-                jobdata.uuid = null
-                jobdata.id = null
-            }
-            if (option == "update" || option == "skip") {
-                //look for dupe by name and group path and project
-                def schedlist
-                //first look for uuid
-                if (jobdata.uuid && jobdata.project) {
-                    scheduledExecution = ScheduledExecution.findByUuidAndProject(jobdata.uuid,jobdata.project)
-                } else if(jobdata.jobName && jobdata.project){
-                    schedlist = ScheduledExecution.findAllScheduledExecutions(jobdata.groupPath, jobdata.jobName, jobdata.project)
-                    if (schedlist && 1 == schedlist.size()) {
-                        scheduledExecution = schedlist[0]
-                    }
+            return results
+        }
+        def schedules = []
+        def batchKeys = new HashSet()
+        def count = 0
+        withCommitFlushMode {
+            source.call { ScheduledExecution jobdata ->
+                def keys = loadJobKeys(jobdata, uuidOption)
+                if (count >= batchSize || keys.any { batchKeys.contains(it) }) {
+                    flushAndClearSession()
+                    batchKeys.clear()
+                    count = 0
                 }
+                def schedule = loadJob(jobdata, i++, option, uuidOption, changeinfo, authContext, true, results)
+                if (schedule) {
+                    schedules << schedule
+                }
+                batchKeys.addAll(keys)
+                count++
             }
+            flushAndClearSession()
+            scheduleLoadedJobs(schedules, batchSize)
+        }
+        results
+    }
 
-            def project = scheduledExecution ? scheduledExecution.project : jobdata.project
+    /**
+     * @return keys identifying the existing job which an imported job may update
+     */
+    private static List loadJobKeys(ScheduledExecution jobdata, String uuidOption) {
+        def keys = []
+        if (jobdata.uuid && uuidOption != 'remove') {
+            keys << [jobdata.project, jobdata.uuid]
+        }
+        if (jobdata.jobName) {
+            keys << [jobdata.project, jobdata.groupPath ?: null, jobdata.jobName]
+        }
+        keys
+    }
 
-            def projectAuthContext = frameworkService.getAuthContextWithProject(authContext, project)
-            if (option == "skip" && scheduledExecution) {
-                jobdata.id = scheduledExecution.id
-                skipjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: "A Job named '${jobdata.jobName}' already exists"]
+    /**
+     * Call the closure with the session flush mode set to COMMIT, so that queries do not flush pending changes
+     */
+    private static def withCommitFlushMode(Closure closure) {
+        ScheduledExecution.withSession { session ->
+            if (!(session instanceof org.hibernate.Session)) {
+                return closure.call()
             }
-            else if (option == "update" && scheduledExecution) {
-                def success = false
-                def errmsg
-                jobchange.change = 'modify'
-                if (!frameworkService.authorizeProjectJobAll(projectAuthContext, scheduledExecution, [AuthConstants.ACTION_UPDATE], scheduledExecution.project)) {
-                    errmsg = "Unauthorized: Update Job ${scheduledExecution.id}"
-                } else {
-                    try {
-                        def result = _doupdateJob(scheduledExecution.id, jobdata, projectAuthContext, jobchange)
-                        success = result.success
-                        scheduledExecution = result.scheduledExecution
-                        if(success && result.jobChangeEvent){
-                            jobChangeEvents<<result.jobChangeEvent
-                        }
-                        if (!success && scheduledExecution && scheduledExecution.hasErrors()) {
-                            errmsg = "Validation errors: "+ scheduledExecution.errors.allErrors.collect{lookupMessageError(it)}.join("; ")
-                        } else {
-                            logJobChange(jobchange, scheduledExecution.properties)
-                        }
-                    } catch (Exception e) {
-                        errmsg = e.getMessage()
-                        System.err.println("caught exception: " + errmsg);
-                        e.printStackTrace()
+            FlushMode mode = session.flushMode
+            session.flushMode = FlushMode.COMMIT
+            try {
+                closure.call()
+            } finally {
+                session.flushMode = mode
+            }
+        }
+    }
+
+    /**
+     * Flush and clear the session, used when loading jobs in batches
+     */
+    private static void flushAndClearSession() {
+        ScheduledExecution.withSession { session ->
+            session.flush()
+            session.clear()
+        }
+    }
+
+    /**
+     * Create, update or skip one imported job, and add the outcome to the results
+     * @param i entry number of the job
+     * @param batched true if the job should not be flushed or scheduled
+     * @param results load results
+     * @return 'schedule' result data from {@link #_dosave} or {@link #_doupdateJob} if batched, or null
+     */
+    private Map loadJob(
+            ScheduledExecution jobdata,
+            int i,
+            String option,
+            String uuidOption,
+            Map changeinfo,
+            UserAndRolesAuthContext authContext,
+            boolean batched,
+            Map results
+    ){
+        def jobs = results.jobs
+        def jobsi = results.jobsi
+        def errjobs = results.errjobs
+        def skipjobs = results.skipjobs
+        def jobChangeEvents = results.jobChangeEvents
+        def schedule = null
+        log.debug("saving job data: ${jobdata}")
+        def ScheduledExecution scheduledExecution
+        def jobchange = new HashMap(changeinfo)
+        if(!jobdata.project){
+            errjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: "Project was not specified"]
+            return null
+        }
+        if(!frameworkService.existsFrameworkProject(jobdata.project)){
+            errjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: "Project does not exist: ${jobdata.project}"]
+            return null
+        }
+        if (uuidOption == 'remove') {
+            jobdata.uuid = null
+            jobdata.id = null
+        }
+        if (option == "update" || option == "skip") {
+            //look for dupe by name and group path and project
+            def schedlist
+            //first look for uuid
+            if (jobdata.uuid && jobdata.project) {
+                scheduledExecution = ScheduledExecution.findByUuidAndProject(jobdata.uuid,jobdata.project)
+            } else if(jobdata.jobName && jobdata.project){
+                schedlist = ScheduledExecution.findAllScheduledExecutions(jobdata.groupPath, jobdata.jobName, jobdata.project)
+                if (schedlist && 1 == schedlist.size()) {
+                    scheduledExecution = schedlist[0]
+                }
+            }
+        }
+
+        def project = scheduledExecution ? scheduledExecution.project : jobdata.project
+
+        def projectAuthContext = frameworkService.getAuthContextWithProject(authContext, project)
+        if (option == "skip" && scheduledExecution) {
+            jobdata.id = scheduledExecution.id
+            skipjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: "A Job named '${jobdata.jobName}' already exists"]
+        }
+        else if (option == "update" && scheduledExecution) {
+            def success = false
+            def errmsg
+            jobchange.change = 'modify'
+            if (!frameworkService.authorizeProjectJobAll(projectAuthContext, scheduledExecution, [AuthConstants.ACTION_UPDATE], scheduledExecution.project)) {
+                errmsg = "Unauthorized: Update Job ${scheduledExecution.id}"
+            } else {
+                try {
+                    def result = _doupdateJob(scheduledExecution.id, jobdata, projectAuthContext, jobchange, batched)
+                    success = result.success
+                    scheduledExecution = result.scheduledExecution
+                    if(success && result.jobChangeEvent){
+                        jobChangeEvents<<result.jobChangeEvent
                     }
+                    if (success) {
+                        schedule = result.schedule
+                    }
+                    if (!success && scheduledExecution && scheduledExecution.hasErrors()) {
+                        errmsg = "Validation errors: "+ scheduledExecution.errors.allErrors.collect{lookupMessageError(it)}.join("; ")
+                    } else {
+                        logJobChange(jobchange, scheduledExecution.properties)
+                    }
+                } catch (Exception e) {
+                    errmsg = e.getMessage()
+                    System.err.println("caught exception: " + errmsg);
+                    e.printStackTrace()
                 }
-                if (!success) {
+            }
+            if (!success) {
+                errjobs << [scheduledExecution: scheduledExecution, entrynum: i, errmsg: errmsg]
+            } else {
+                jobs << scheduledExecution
+                jobsi << [scheduledExecution: scheduledExecution, entrynum: i]
+            }
+        } else if (option == "create" || !scheduledExecution) {
+            def errmsg
+
+            if (!frameworkService.authorizeProjectResourceAll(projectAuthContext, AuthConstants.RESOURCE_TYPE_JOB,
+                                                              [AuthConstants.ACTION_CREATE], jobdata.project)) {
+                errmsg = "Unauthorized: Create Job"
+                errjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: errmsg]
+            } else {
+                try {
+                    jobchange.change = 'create'
+                    def result = _dosave(jobdata, projectAuthContext, jobchange, batched)
+                    scheduledExecution = result.scheduledExecution
+                    if (!result.success && scheduledExecution && scheduledExecution.hasErrors()) {
+                        errmsg = "Validation errors: " + scheduledExecution.errors.allErrors.collect { lookupMessageError(it) }.join("; ")
+                    } else if (!result.success) {
+                        errmsg = result.error ?: "Failed to save job"
+                    } else {
+                        logJobChange(jobchange, scheduledExecution.properties)
+                        jobChangeEvents<<result.jobChangeEvent
+                        schedule = result.schedule
+                    }
+                } catch (Exception e) {
+                    System.err.println("caught exception");
+                    e.printStackTrace()
+                    scheduledExecution = jobdata
+                    errmsg = e.getMessage()
+                }
+                if (scheduledExecution && !scheduledExecution.id) {
                     errjobs << [scheduledExecution: scheduledExecution, entrynum: i, errmsg: errmsg]
+                } else if (!scheduledExecution) {
+                    errjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: errmsg]
                 } else {
                     jobs << scheduledExecution
                     jobsi << [scheduledExecution: scheduledExecution, entrynum: i]
                 }
-            } else if (option == "create" || !scheduledExecution) {
-                def errmsg
+            }
+        }
+        schedule
+    }
 
-                if (!frameworkService.authorizeProjectResourceAll(projectAuthContext, AuthConstants.RESOURCE_TYPE_JOB,
-                                                                  [AuthConstants.ACTION_CREATE], jobdata.project)) {
-                    errmsg = "Unauthorized: Create Job"
-                    errjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: errmsg]
-                } else {
-                    try {
-                        jobchange.change = 'create'
-                        def result = _dosave(jobdata, projectAuthContext, jobchange)
-                        scheduledExecution = result.scheduledExecution
-                        if (!result.success && scheduledExecution && scheduledExecution.hasErrors()) {
-                            errmsg = "Validation errors: " + scheduledExecution.errors.allErrors.collect { lookupMessageError(it) }.join("; ")
-                        } else if (!result.success) {
-                            errmsg = result.error ?: "Failed to save job"
-                        } else {
-                            logJobChange(jobchange, scheduledExecution.properties)
-                            jobChangeEvents<<result.jobChangeEvent
-                        }
-                    } catch (Exception e) {
-                        System.err.println("caught exception");
-                        e.printStackTrace()
-                        scheduledExecution = jobdata
-                        errmsg = e.getMessage()
+    /**
+     * Schedule the jobs saved by a batched {@link #loadJobsFrom}, reloading batchSize jobs at a time and scheduling
+     * them with a single scheduler update, and remove the previous schedule of renamed or unscheduled jobs
+     * @param schedules 'schedule' result data from {@link #_dosave} or {@link #_doupdateJob}
+     * @param batchSize number of jobs to reload and schedule at a time
+     */
+    def scheduleLoadedJobs(List<Map> schedules, int batchSize) {
+        schedules.collate(Math.max(1, batchSize)).each { List<Map> batch ->
+            List<ScheduledExecution> loaded = ScheduledExecution.getAll(batch*.id)
+            def toschedule = []
+            batch.eachWithIndex { Map schedule, int n ->
+                ScheduledExecution se = loaded[n]
+                if (!se) {
+                    return
+                }
+                if (se.shouldScheduleExecution()) {
+                    if (schedule.renamed && schedule.oldjobname && schedule.oldjobgroup) {
+                        deleteJob(schedule.oldjobname, schedule.oldjobgroup)
                     }
-                    if (scheduledExecution && !scheduledExecution.id) {
-                        errjobs << [scheduledExecution: scheduledExecution, entrynum: i, errmsg: errmsg]
-                    } else if (!scheduledExecution) {
-                        errjobs << [scheduledExecution: jobdata, entrynum: i, errmsg: errmsg]
-                    } else {
-                        jobs << scheduledExecution
-                        jobsi << [scheduledExecution: scheduledExecution, entrynum: i]
+                    toschedule << se
+                } else if (schedule.oldsched && schedule.oldjobname && schedule.oldjobgroup) {
+                    deleteJob(schedule.oldjobname, schedule.oldjobgroup)
+                }
+            }
+            if (toschedule) {
+                scheduleJobsBatch(toschedule)
+                toschedule.each { ScheduledExecution se ->
+                    se.nextExecution = nextExecutionTime(se)
+                    if (!se.save()) {
+                        log.error("Unable to save second change to scheduledExec.")
                     }
                 }
             }
-
-            i++
-
+            flushAndClearSession()
         }
-        return [jobs: jobs, jobsi: jobsi, errjobs: errjobs, skipjobs: skipjobs,jobChangeEvents:jobChangeEvents]
     }
     static Logger jobChangeLogger = Logger.getLogger("com.dtolabs.rundeck.data.jobs.changes")
 
@@ -1154,6 +1483,7 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
     def void issueJobChangeEvent(JobChangeEvent event) {
         if (event) {
+            jobGroupIndexService?.jobChanged(event)
             grailsEvents?.event(null, 'jobChanged', event)
         }
     }
@@ -1942,7 +2272,24 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         }
         return [failed:failed,modified:addedNotifications]
     }
-    public Map _doupdateJob(id, ScheduledExecution params, UserAndRolesAuthContext authContext, changeinfo = [:]) {
+    /**
+     * Update a job from imported job data
+     * @param id job ID
+     * @param params imported job data
+     * @param authContext auth context
+     * @param changeinfo change info
+     * @param batched if true, the session is not flushed and the job is not scheduled, the result contains 'schedule'
+     * data to pass to {@link #scheduleLoadedJobs(java.util.List, int)}
+     * @return result map [success: boolean, scheduledExecution: job, jobChangeEvent: event]
+     */
+    public Map _doupdateJob(
+            id,
+            ScheduledExecution params,
+            UserAndRolesAuthContext authContext,
+            changeinfo = [:],
+            boolean batched = false
+    )
+    {
         log.debug("ScheduledExecutionController: update : attempting to update: " + id +
                   ". params: " + params)
         if (params.groupPath) {
@@ -2164,7 +2511,7 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
                 log.error("unable to save workflow: " + scheduledExecution.workflow.errors.allErrors.collect {lookupMessageError(it)}.join("\n"))
                 failed = true;
             } else {
-                scheduledExecution.workflow.save(flush: true)
+                scheduledExecution.workflow.save(flush: !batched)
             }
         }
         if (!failed) {
@@ -2173,8 +2520,17 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
             }
         }
 
-        if (!failed && scheduledExecution.save(flush:true)) {
-            if (scheduledExecution.shouldScheduleExecution()) {
+        if (!failed && scheduledExecution.save(flush: !batched)) {
+            def schedule = null
+            if (batched) {
+                schedule = [
+                        id         : scheduledExecution.id,
+                        oldsched   : oldsched,
+                        renamed    : renamed,
+                        oldjobname : oldjobname,
+                        oldjobgroup: oldjobgroup
+                ]
+            } else if (scheduledExecution.shouldScheduleExecution()) {
                 def nextdate = null
                 try {
                     nextdate = scheduleJob(scheduledExecution, renamed ? oldjobname : null, renamed ? oldjobgroup : null);
@@ -2196,7 +2552,7 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
 
             def event = createJobChangeEvent (eventType, scheduledExecution, originalRef)
 
-            return [success:true, scheduledExecution:  scheduledExecution,jobChangeEvent: event]
+            return [success:true, scheduledExecution:  scheduledExecution,jobChangeEvent: event, schedule: schedule]
         } else {
             todiscard.each {
                 it.discard()
@@ -2207,7 +2563,16 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
 
     }
 
-    public Map _dosave(params, UserAndRolesAuthContext authContext, changeinfo = [:]) {
+    /**
+     * Create a job
+     * @param params job data, Map or ScheduledExecution
+     * @param authContext auth context
+     * @param changeinfo change info
+     * @param batched if true, the session is not flushed and the job is not scheduled, the result contains 'schedule'
+     * data to pass to {@link #scheduleLoadedJobs(java.util.List, int)}
+     * @return result map [success: boolean, scheduledExecution: job, jobChangeEvent: event]
+     */
+    public Map _dosave(params, UserAndRolesAuthContext authContext, changeinfo = [:], boolean batched = false) {
         log.debug("ScheduledExecutionController: save : params: " + params)
         boolean failed = false;
         if (params.groupPath) {
@@ -2243,7 +2608,7 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
             return [success: false, error: "Unauthorized: Create Job ${scheduledExecution.generateFullName()}", unauthorized: true, scheduledExecution: scheduledExecution]
         }
         if (!failed && null != scheduledExecution.workflow) {
-            if (!scheduledExecution.workflow.save(flush: true)) {
+            if (!scheduledExecution.workflow.save(flush: !batched)) {
                 log.error(scheduledExecution.workflow.errors.allErrors.collect {lookupMessageError(it)}.join("\n"))
                 failed = true;
             }
@@ -2253,10 +2618,15 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         if (!scheduledExecution.uuid) {
             scheduledExecution.uuid = UUID.randomUUID().toString()
         }
-        if (!failed && scheduledExecution.save(flush:true)) {
-            rescheduleJob(scheduledExecution)
+        if (!failed && scheduledExecution.save(flush: !batched)) {
+            def schedule = null
+            if (batched) {
+                schedule = [id: scheduledExecution.id]
+            } else {
+                rescheduleJob(scheduledExecution)
+            }
             def event = createJobChangeEvent(JobChangeEvent.JobChangeEventType.CREATE, scheduledExecution)
-            return [success: true, scheduledExecution: scheduledExecution,jobChangeEvent: event]
+            return [success: true, scheduledExecution: scheduledExecution,jobChangeEvent: event, schedule: schedule]
 
         } else {
             scheduledExecution.discard()
@@ -2334,6 +2704,88 @@ class ScheduledExecutionService implements ApplicationContextAware, Initializing
         }
         return [jobset: jobset]
     }
+
+    /**
+     * Parse jobs from the input and load them in batches as with {@link #loadJobsFrom}, in a single transaction. XML
+     * input is parsed with a streaming parser, and each job is loaded as it is parsed. If the input cannot be parsed,
+     * the transaction is rolled back and no jobs are saved or scheduled.
+     * @param input either an inputStream, a File, or a String
+     * @param fileformat 'xml' or 'yaml'
+     * @param prepare closure called with each parsed job before it is loaded, or null
+     * @param batchSize number of jobs per batch, default: rundeck.scheduledExecutionService.loadJobs.batchSize, or 100
+     * @return map of load results as for {@link #loadJobs}, or a map containing 'error', or 'errorCode' and 'args', if
+     * the input could not be parsed
+     */
+    def parseAndLoadJobs (
+            input,
+            String fileformat,
+            String option,
+            String uuidOption,
+            Map changeinfo,
+            UserAndRolesAuthContext authContext,
+            Closure prepare = null,
+            Integer batchSize = null
+    ){
+        if (null == batchSize) {
+            batchSize = Math.max(
+                    1,
+                    configurationService?.getInteger("scheduledExecutionService.loadJobs.batchSize", 100) ?: 100
+            )
+        }
+        Closure source
+        if ('xml' == fileformat) {
+            source = { Closure load ->
+                JobsXMLCodec.decodeEach(input) { ScheduledExecution job ->
+                    prepare?.call(job)
+                    load(job)
+                }
+            }
+        } else {
+            def parseresult = parseUploadedFile(input, fileformat)
+            if (!parseresult.jobset) {
+                return parseresult
+            }
+            source = { Closure load ->
+                parseresult.jobset.each { ScheduledExecution job ->
+                    prepare?.call(job)
+                    load(job)
+                }
+            }
+        }
+        Exception parseError = null
+        def results = ScheduledExecution.withTransaction { TransactionStatus status ->
+            boolean loading = false
+            try {
+                loadJobsFrom({ Closure load ->
+                    try {
+                        source.call { ScheduledExecution job ->
+                            loading = true
+                            load(job)
+                            loading = false
+                        }
+                    } catch (Exception e) {
+                        if (!loading) {
+                            parseError = e
+                        }
+                        throw e
+                    }
+                }, option, uuidOption, changeinfo, authContext, batchSize)
+            } catch (Exception e) {
+                if (!parseError) {
+                    throw e
+                }
+                //discard the jobs loaded before the error
+                status.setRollbackOnly()
+                null
+            }
+        }
+        if (parseError) {
+            log.error("Error parsing upload Job XML: ${parseError}")
+            log.warn("Error parsing upload Job XML", parseError)
+            return [error: "${parseError}"]
+        }
+        results
+    }
     /**
      * Validate workflow command error handler types, return true if valid
      * @param workflow
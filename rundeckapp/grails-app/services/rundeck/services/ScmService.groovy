@@ -66,6 +66,7 @@ class ScmService {
     JobMetadataService jobMetadataService
     PluginConfigService pluginConfigService
     def StorageService storageService
+    def JobSerializationCacheService jobSerializationCacheService
     final Set<String> initedProjects = Collections.synchronizedSet(new HashSet())
     Map<String, ScmExportPlugin> loadedExportPlugins = Collections.synchronizedMap([:])
     Map<String, ScmImportPlugin> loadedImportPlugins = Collections.synchronizedMap([:])
@@ -740,6 +741,9 @@ class ScmService {
     }
 
     private JobSerializer lazySerializerForJob(ScheduledExecution job) {
+        if (jobSerializationCacheService) {
+            return jobSerializationCacheService.serializerForJob(job)
+        }
         { String format, OutputStream os ->
             switch (format) {
                 case 'xml':
@@ -19,7 +19,7 @@ interface ExecutionFileProducer {
 
     /**
      * @param e execution
-     * @return the file to store
+     * @return the file to store, or null if there is no file to store for the execution
      */
     ExecutionFile produceStorageFileForExecution(Execution e)
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package rundeck.services.logging
+
+/**
+ * Loaded execution profile data
+ */
+class ExecutionProfileFileLoader extends LogFileLoader{
+    Map profile
+}
@@ -0,0 +1,62 @@
+package rundeck.services.logging
+
+/**
+ * Least recently used cache of fixed size blocks of stored files, for reading ranges of files which are not
+ * available locally.
+ */
+class LogFileBlockCache {
+    final int blockSize
+    final int maxBlocks
+    private final BlockMap blocks
+
+    LogFileBlockCache(int blockSize, int maxBlocks) {
+        this.blockSize = blockSize
+        this.maxBlocks = maxBlocks
+        this.blocks = new BlockMap(maxBlocks)
+    }
+
+    /**
+     * Return a cached block, or load and cache it
+     * @param key file key
+     * @param index block index
+     * @param loader closure to load the block given the index, should return a byte array
+     * @return block content
+     */
+    byte[] getBlock(String key, long index, Closure<byte[]> loader) {
+        def id = key + ':' + index
+        byte[] block
+        synchronized (blocks) {
+            block = blocks.get(id)
+        }
+        if (null == block) {
+            block = loader.call(index)
+            synchronized (blocks) {
+                blocks.put(id, block)
+            }
+        }
+        block
+    }
+
+    /**
+     * @return number of cached blocks
+     */
+    int size() {
+        synchronized (blocks) {
+            blocks.size()
+        }
+    }
+
+    private static class BlockMap extends LinkedHashMap<String, byte[]> {
+        private final int max
+
+        BlockMap(int max) {
+            super(16, 0.75f, true)
+            this.max = max
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            size() > max
+        }
+    }
+}
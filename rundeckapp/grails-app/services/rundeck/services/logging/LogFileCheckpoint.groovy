@@ -0,0 +1,189 @@
+package rundeck.services.logging
+
+import com.dtolabs.rundeck.core.logging.ExecutionCheckpointFileStorage
+import com.dtolabs.rundeck.core.logging.ExecutionFileStorageException
+
+/**
+ * Stores the completed parts of a log file while it is still being written, using {@link
+ * ExecutionCheckpointFileStorage}. Parts have a fixed size, except for the last part stored when the file is committed.
+ * Progress is recorded in a ".checkpoint" file next to the log file, so that the parts can be committed after a
+ * restart.
+ */
+class LogFileCheckpoint {
+    public static final String CHECKPOINT_EXTENSION = '.checkpoint'
+    final File file
+    final String filetype
+    final long partSize
+    /**
+     * Number of parts stored
+     */
+    int parts
+    /**
+     * Length of the file content stored in parts
+     */
+    long offset
+    private volatile boolean stopped
+
+    LogFileCheckpoint(File file, String filetype, long partSize) {
+        this.file = file
+        this.filetype = filetype
+        this.partSize = partSize
+        load()
+    }
+
+    static File checkpointFileFor(File file) {
+        new File(file.parentFile, file.name + CHECKPOINT_EXTENSION)
+    }
+
+    /**
+     * @return true if a checkpoint exists for the file
+     */
+    static boolean hasCheckpoint(File file) {
+        checkpointFileFor(file).isFile()
+    }
+
+    private void load() {
+        def cpfile = checkpointFileFor(file)
+        if (!cpfile.isFile()) {
+            return
+        }
+        def props = new Properties()
+        cpfile.withInputStream { props.load(it) }
+        if (props.filetype == filetype && props.parts && props.offset) {
+            parts = props.parts as int
+            offset = props.offset as long
+        }
+    }
+
+    private void save() {
+        def cpfile = checkpointFileFor(file)
+        def temp = new File(cpfile.parentFile, cpfile.name + '.tmp')
+        def props = new Properties()
+        props.filetype = filetype
+        props.parts = parts.toString()
+        props.offset = offset.toString()
+        temp.withOutputStream { props.store(it, null) }
+        if (!temp.renameTo(cpfile)) {
+            cpfile.delete()
+            if (!temp.renameTo(cpfile)) {
+                throw new IOException("Unable to write checkpoint file: ${cpfile}")
+            }
+        }
+    }
+
+    /**
+     * Store all complete parts written since the last checkpoint
+     * @param storage storage
+     * @return number of parts stored
+     */
+    synchronized int checkpoint(ExecutionCheckpointFileStorage storage)
+            throws IOException, ExecutionFileStorageException
+    {
+        int count = 0
+        while (!stopped && file.length() - offset >= partSize) {
+            storePart(storage, partSize)
+            count++
+        }
+        count
+    }
+
+    /**
+     * Stop storing parts, a checkpoint in progress stops after the part being stored. Does not wait for it, use
+     * {@link #waitForCheckpoint()}
+     */
+    void stop() {
+        stopped = true
+    }
+
+    /**
+     * Wait for a checkpoint in progress to finish
+     */
+    synchronized void waitForCheckpoint() {
+    }
+
+    /**
+     * Store the remaining content of the file and commit the parts
+     * @param storage storage
+     * @return true if successful
+     */
+    synchronized boolean commit(ExecutionCheckpointFileStorage storage)
+            throws IOException, ExecutionFileStorageException
+    {
+        long length = file.length()
+        if (length < offset) {
+            //parts cannot be used, the file must be stored in full
+            checkpointFileFor(file).delete()
+            throw new IOException("Log file is shorter than the stored parts: ${file}")
+        }
+        while (length - offset > partSize) {
+            storePart(storage, partSize)
+        }
+        if (length > offset || parts == 0) {
+            storePart(storage, length - offset)
+        }
+        def success = storage.commitParts(filetype, parts, length, new Date(file.lastModified()))
+        if (success) {
+            checkpointFileFor(file).delete()
+        }
+        success
+    }
+
+    private void storePart(ExecutionCheckpointFileStorage storage, long length) {
+        boolean success = false
+        def raf = new RandomAccessFile(file, 'r')
+        try {
+            raf.seek(offset)
+            def stream = new BoundedInputStream(new FileInputStream(raf.getFD()), length)
+            success = storage.storePart(filetype, parts, offset, stream, length)
+        } finally {
+            raf.close()
+        }
+        if (!success) {
+            throw new ExecutionFileStorageException("Failed to store part ${parts} of ${filetype}")
+        }
+        parts++
+        offset += length
+        save()
+    }
+
+    /**
+     * Reads at most a number of bytes from the underlying stream
+     */
+    static class BoundedInputStream extends FilterInputStream {
+        private long remaining
+
+        BoundedInputStream(InputStream stream, long length) {
+            super(stream)
+            this.remaining = length
+        }
+
+        @Override
+        int read() throws IOException {
+            if (remaining <= 0) {
+                return -1
+            }
+            int c = super.read()
+            if (c >= 0) {
+                remaining--
+            }
+            c
+        }
+
+        @Override
+        int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1
+            }
+            int count = super.read(b, off, (int) Math.min(len, remaining))
+            if (count > 0) {
+                remaining -= count
+            }
+            count
+        }
+
+        @Override
+        void close() {
+            //underlying file is closed by the owner
+        }
+    }
+}
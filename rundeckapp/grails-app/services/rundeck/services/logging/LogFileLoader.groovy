@@ -16,6 +16,8 @@
 
 package rundeck.services.logging
 
+import com.dtolabs.rundeck.core.logging.StreamingLogReader
+
 /**
  * $INTERFACE is ...
  * User: greg
@@ -27,4 +29,8 @@ class LogFileLoader {
     String errorCode
     List errorData
     File file
+    /**
+     * Log reader for the remote file, if it can be read without transferring it
+     */
+    StreamingLogReader reader
 }
@@ -1,5 +1,7 @@
 package rundeck.services.logging
 
+import com.dtolabs.rundeck.core.execution.metrics.ExecutionMetrics
+import com.dtolabs.rundeck.core.execution.metrics.LatencyHistogram
 import com.dtolabs.rundeck.core.logging.LogEvent
 import com.dtolabs.rundeck.core.logging.StreamingLogWriter
 import org.apache.log4j.Logger
@@ -10,13 +12,19 @@ import org.apache.log4j.Logger
  * if an error occurs it will not be enabled.
  * Each enabled writer will then be passed events via addEvent and
  * closed via close().
+ * If names are given for the writers, the latency of each writer's addEvent is recorded
+ * in {@link ExecutionMetrics#LOG_WRITE}.
  */
 class MultiLogWriter implements StreamingLogWriter {
     public static final Logger log = Logger.getLogger(MultiLogWriter.class)
     List<StreamingLogWriter> writers
+    private List<LatencyHistogram> histograms
 
-    MultiLogWriter (List<StreamingLogWriter> writers) {
+    MultiLogWriter (List<StreamingLogWriter> writers, List<String> names = null) {
         this.writers = new ArrayList<StreamingLogWriter>(writers)
+        if (names && names.size() == writers.size()) {
+            this.histograms = names.collect { ExecutionMetrics.LOG_WRITE.forTag(it) }
+        }
     }
 
     @Override
@@ -26,7 +34,20 @@ class MultiLogWriter implements StreamingLogWriter {
 
     @Override
     void addEvent(LogEvent event) {
-        writers*.addEvent(event)
+        if (null == histograms || !ExecutionMetrics.isEnabled()) {
+            for (int i = 0; i < writers.size(); i++) {
+                writers.get(i).addEvent(event)
+            }
+            return
+        }
+        for (int i = 0; i < writers.size(); i++) {
+            long start = System.nanoTime()
+            try {
+                writers.get(i).addEvent(event)
+            } finally {
+                histograms.get(i).recordSince(start)
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,117 @@
+package rundeck.services.logging
+
+import com.dtolabs.rundeck.core.logging.ExecutionRangeFileStorage
+
+import java.nio.ByteBuffer
+import java.nio.channels.ClosedChannelException
+import java.nio.channels.NonWritableChannelException
+import java.nio.channels.SeekableByteChannel
+
+/**
+ * Read only channel for a stored file, which retrieves the blocks of the file as they are read using {@link
+ * ExecutionRangeFileStorage}, and caches them in a {@link LogFileBlockCache}
+ */
+class RangeRetrievalChannel implements SeekableByteChannel {
+    private final ExecutionRangeFileStorage storage
+    private final String filetype
+    private final String key
+    private final long length
+    private final LogFileBlockCache cache
+    private long pos
+    private boolean open = true
+
+    RangeRetrievalChannel(
+            ExecutionRangeFileStorage storage,
+            String filetype,
+            String key,
+            long length,
+            LogFileBlockCache cache
+    )
+    {
+        this.storage = storage
+        this.filetype = filetype
+        this.key = key
+        this.length = length
+        this.cache = cache
+    }
+
+    @Override
+    int read(ByteBuffer dst) throws IOException {
+        checkOpen()
+        if (pos >= length) {
+            return -1
+        }
+        int count = 0
+        while (dst.hasRemaining() && pos < length) {
+            long index = pos.intdiv(cache.blockSize)
+            byte[] block = cache.getBlock(key, index, this.&retrieveBlock)
+            int blockOffset = (int) (pos - index * cache.blockSize)
+            int len = Math.min(dst.remaining(), block.length - blockOffset)
+            dst.put(block, blockOffset, len)
+            pos += len
+            count += len
+        }
+        count
+    }
+
+    private byte[] retrieveBlock(long index) {
+        long offset = index * cache.blockSize
+        long len = Math.min((long) cache.blockSize, length - offset)
+        def out = new ByteArrayOutputStream((int) len)
+        if (!storage.retrieveRange(filetype, offset, len, out)) {
+            throw new IOException("Failed to retrieve range ${offset}+${len} of ${filetype}")
+        }
+        if (out.size() != len) {
+            throw new IOException("Retrieved ${out.size()} bytes for range ${offset}+${len} of ${filetype}")
+        }
+        out.toByteArray()
+    }
+
+    @Override
+    int write(ByteBuffer src) throws IOException {
+        throw new NonWritableChannelException()
+    }
+
+    @Override
+    long position() throws IOException {
+        checkOpen()
+        pos
+    }
+
+    @Override
+    SeekableByteChannel position(long newPosition) throws IOException {
+        checkOpen()
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Negative position: ${newPosition}")
+        }
+        pos = newPosition
+        this
+    }
+
+    @Override
+    long size() throws IOException {
+        checkOpen()
+        length
+    }
+
+    @Override
+    SeekableByteChannel truncate(long size) throws IOException {
+        throw new NonWritableChannelException()
+    }
+
+    @Override
+    boolean isOpen() {
+        open
+    }
+
+    @Override
+    void close() throws IOException {
+        open = false
+    }
+
+    private void checkOpen() {
+        if (!open) {
+            throw new ClosedChannelException()
+        }
+    }
+}
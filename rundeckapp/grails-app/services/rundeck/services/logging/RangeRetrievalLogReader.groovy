@@ -0,0 +1,54 @@
+package rundeck.services.logging
+
+import com.dtolabs.rundeck.app.internal.logging.FSStreamingLogReader
+import com.dtolabs.rundeck.app.internal.logging.RundeckLogFormat
+import com.dtolabs.rundeck.core.logging.ExecutionRangeFileStorage
+
+import java.nio.channels.SeekableByteChannel
+
+/**
+ * Log reader for a stored log file which is not available locally, reads only the blocks of the file needed for the
+ * requested offsets
+ */
+class RangeRetrievalLogReader extends FSStreamingLogReader {
+    private final ExecutionRangeFileStorage storage
+    private final String filetype
+    private final String key
+    private final long length
+    private final Date lastModified
+    private final LogFileBlockCache cache
+
+    RangeRetrievalLogReader(
+            ExecutionRangeFileStorage storage,
+            String filetype,
+            String key,
+            long length,
+            Date lastModified,
+            LogFileBlockCache cache,
+            RundeckLogFormat rundeckLogFormat
+    )
+    {
+        super(null, 'UTF-8', rundeckLogFormat)
+        this.storage = storage
+        this.filetype = filetype
+        this.key = key
+        this.length = length
+        this.lastModified = lastModified
+        this.cache = cache
+    }
+
+    @Override
+    protected SeekableByteChannel openChannel() {
+        new RangeRetrievalChannel(storage, filetype, key, length, cache)
+    }
+
+    @Override
+    long getTotalSize() {
+        length
+    }
+
+    @Override
+    Date getLastModified() {
+        lastModified
+    }
+}
@@ -0,0 +1,40 @@
+package rundeck.services.scm
+
+import com.dtolabs.rundeck.plugins.scm.HashedJobSerializer
+import rundeck.services.JobSerializationCacheService
+
+/**
+ * Serializes a job version using the serialized content cache, rendering it only if it is not cached
+ */
+class CachedJobSerializer implements HashedJobSerializer {
+    JobSerializationCacheService cacheService
+    String jobId
+    long version
+    /**
+     * Closure accepting format string, returning the serialized String
+     */
+    Closure<String> renderer
+
+    CachedJobSerializer(
+            final JobSerializationCacheService cacheService,
+            final String jobId,
+            final long version,
+            final Closure<String> renderer
+    )
+    {
+        this.cacheService = cacheService
+        this.jobId = jobId
+        this.version = version
+        this.renderer = renderer
+    }
+
+    @Override
+    void serialize(final String format, final OutputStream outputStream) {
+        outputStream.write(cacheService.serializedJob(jobId, version, format, renderer).content)
+    }
+
+    @Override
+    String getContentHash(final String format) {
+        cacheService.serializedJob(jobId, version, format, renderer).hash
+    }
+}
@@ -6,6 +6,10 @@ import groovy.xml.MarkupBuilder
 import rundeck.ScheduledExecution
 import rundeck.controllers.JobXMLException
 
+import javax.xml.stream.XMLStreamConstants
+import javax.xml.stream.XMLStreamException
+import javax.xml.stream.XMLStreamReader
+
 /*
  * Copyright 2010 DTO Labs, Inc. (http://dtolabs.com)
  *
@@ -28,6 +32,7 @@ import rundeck.controllers.JobXMLException
 * keys as field names in ScheduledExecution.  the output is the XML output string.  Alternatively, the
 * encodeWithBuilder method accepts a groovy Builder instance which will be used to build the document.
 * the decode method can accept an XML string, or a parsed groovy.util.Node instance.
+* the encodeToWriter and decodeEach methods write or read the XML one job at a time.
 *
 * User: greg
 * Created: Jul 24, 2008 11:17:29 AM
@@ -57,7 +62,19 @@ class JobsXMLCodec {
         }
         return xml
     }
+    /**
+     * Write the XML for a list of jobs to the writer, one job at a time
+     */
+    static encodeToWriter = { list, Writer writer ->
+        JobsXMLCodec.encodeWithBuilder(list, new MarkupBuilder(writer))
+        writer.flush()
+    }
     static decode = {str ->
+        if (!(str instanceof Node)) {
+            def list = []
+            JobsXMLCodec.decodeEach(str) { list << it }
+            return list
+        }
         def doc
         def reader
         def filestream
@@ -97,6 +114,70 @@ class JobsXMLCodec {
         }
         return JobsXMLCodec.convertToJobs(doc.job)
     }
+    /**
+     * Parse XML with a streaming parser and call the closure with each job as it is parsed, without parsing the
+     * whole document first
+     * @param input File, InputStream, Reader or String
+     * @param closure called with each ScheduledExecution
+     * @return number of jobs
+     */
+    static decodeEach = { input, Closure closure ->
+        def reader
+        def filestream
+        if (input instanceof File) {
+            filestream = new FileInputStream(input)
+            reader = new InputStreamReader(filestream, "UTF-8")
+        } else if (input instanceof InputStream) {
+            reader = new InputStreamReader(input, "UTF-8")
+        } else if (input instanceof Reader) {
+            reader = input
+        } else if (input instanceof String) {
+            reader = new StringReader(input)
+        } else {
+            throw new JobXMLException("Unexpected input: ${input}")
+        }
+        int count = 0
+        try {
+            XMLStreamReader xml = XmlParserUtil.createStreamReader(reader)
+            try {
+                while (xml.hasNext() && xml.next() != XMLStreamConstants.START_ELEMENT) {
+                    //skip to root element
+                }
+                if (!xml.isStartElement()) {
+                    throw new JobXMLException("XML Document could not be parsed.")
+                }
+                if (xml.localName != 'joblist') {
+                    throw new JobXMLException("Document root tag was not 'joblist': '${xml.localName}'")
+                }
+                while (xml.hasNext()) {
+                    int event = xml.next()
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        if (xml.localName == 'job') {
+                            def map = JobsXMLCodec.convertToJobMap(XmlParserUtil.toObject(xml, false))
+                            JobsYAMLCodec.createJobs([map]).each { closure.call(it) }
+                            count++
+                        } else {
+                            XmlParserUtil.toObject(xml, false)
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        break
+                    }
+                }
+            } finally {
+                xml.close()
+            }
+        } catch (XMLStreamException e) {
+            throw new JobXMLException("Unable to parse xml: ${e}")
+        } finally {
+            if (null != filestream) {
+                filestream.close()
+            }
+        }
+        if (count < 1) {
+            throw new JobXMLException("No 'job' element was found")
+        }
+        return count
+    }
     /**
      * Convert set of xml nodes to jobs
      */
@@ -107,13 +188,13 @@ class JobsXMLCodec {
     }
 
     /**
-     *  Convert structure produced by XmlParserUtil parsing jobs.xml, and produce map data suitable for passing to
+     *  Convert structure produced by XmlParserUtil parsing jobs.xml (a Node, or the data object for it), and produce map data suitable for passing to
      * {@link ScheduledExecution#fromMap(Map) }.
      * This should be the reverse process from convertJobMap
      *
      */
     static convertToJobMap={ data->
-        final Object object = XmlParserUtil.toObject(data, false)
+        final Object object = data instanceof Node ? XmlParserUtil.toObject(data, false) : data
         if(!(object instanceof Map)){
             throw new JobXMLException("Expected map data")
         }
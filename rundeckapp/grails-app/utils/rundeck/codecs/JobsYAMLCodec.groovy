@@ -30,18 +30,38 @@ class JobsYAMLCodec {
         }
         result
     }
-    static encode = {list ->
-        def writer = new StringWriter()
+    private static Yaml createDumper() {
         final DumperOptions dumperOptions = new ForceMultilineLiteralOptions();
         dumperOptions.lineBreak = DumperOptions.LineBreak.UNIX
         dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-        Yaml yaml = new Yaml(dumperOptions)
+        new Yaml(dumperOptions)
+    }
+    static encode = {list ->
+        def writer = new StringWriter()
+        Yaml yaml = createDumper()
 
         yaml.dump(list.collect {canonicalMap it.toMap()}, writer)
 
         return writer.toString()
     }
 
+    /**
+     * Write the YAML for a list of jobs to the writer, one job at a time. The output is the same as {@link #encode}
+     */
+    static encodeToWriter = { list, Writer writer ->
+        Yaml yaml = createDumper()
+        boolean empty = true
+        list.each {
+            //each job is written as a single item sequence, which concatenates to the full sequence
+            yaml.dump([canonicalMap(it.toMap())], writer)
+            empty = false
+        }
+        if (empty) {
+            yaml.dump([], writer)
+        }
+        writer.flush()
+    }
+
     static decodeFromStream = {InputStream stream ->
 
         Yaml yaml = new Yaml(new SafeConstructor())
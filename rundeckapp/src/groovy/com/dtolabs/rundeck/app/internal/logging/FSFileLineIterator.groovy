@@ -30,7 +30,6 @@ import com.dtolabs.rundeck.core.logging.OffsetIterator
  * Iterate the lines in a file, provide offset location of the current read position
  */
 class FSFileLineIterator implements OffsetIterator<String>{
-    private FileInputStream raf
     private InputStreamReader read
     private long offset
     private Queue<String> buffer = new ArrayDeque<String>()
@@ -38,13 +37,20 @@ class FSFileLineIterator implements OffsetIterator<String>{
     private static final String lineSep=System.getProperty("line.separator")
     boolean closed=false
     public FSFileLineIterator(FileInputStream raf,String encoding){
+        this(raf, raf.channel.position(), encoding)
+    }
+    /**
+     * @param stream stream positioned at the offset
+     * @param offset offset of the stream
+     * @param encoding encoding
+     */
+    public FSFileLineIterator(InputStream stream, long offset, String encoding){
         this.encoding=encoding
-        this.raf=raf
-        offset=raf.channel.position()
+        this.offset=offset
         if (encoding){
-            read = new InputStreamReader(raf, encoding)
+            read = new InputStreamReader(stream, encoding)
         }else{
-            read = new InputStreamReader(raf)
+            read = new InputStreamReader(stream)
         }
         readNext()
     }
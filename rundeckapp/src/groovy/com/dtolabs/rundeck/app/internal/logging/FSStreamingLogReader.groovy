@@ -4,6 +4,12 @@ import com.dtolabs.rundeck.core.logging.LogEvent
 import com.dtolabs.rundeck.core.logging.LogEventIterator
 import com.dtolabs.rundeck.core.logging.ReverseSeekingStreamingLogReader
 
+import java.nio.ByteBuffer
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
+import java.nio.channels.SeekableByteChannel
+import java.nio.file.StandardOpenOption
+
 /*
  * Copyright 2013 DTO Labs, Inc. (http://dtolabs.com)
  * 
@@ -44,10 +50,23 @@ class FSStreamingLogReader implements ReverseSeekingStreamingLogReader {
         this.encoding = encoding
         this.rundeckLogFormat=rundeckLogFormat
     }
+    /**
+     * @return a new channel for reading the log content
+     */
+    protected SeekableByteChannel openChannel() {
+        FileChannel.open(file.toPath(), StandardOpenOption.READ)
+    }
     private void detectLegacyLogFile(){
-        file.withReader('UTF-8') {reader->
-            detectedFormat=RundeckLogFormat.detectFormat(reader.readLine())
+        def channel = openChannel()
+        try {
+            //only the start of the first line is needed
+            def buf = ByteBuffer.allocate(RundeckLogFormat.FILE_START.getBytes('UTF-8').length)
+            while (buf.hasRemaining() && channel.read(buf) >= 0) {
+            }
+            detectedFormat=RundeckLogFormat.detectFormat(new String(buf.array(), 0, buf.position(), 'UTF-8'))
             detected=true
+        } finally {
+            channel.close()
         }
     }
     private LogEventIterator detectedIterator(FSFileLineIterator fsiter){
@@ -58,7 +77,7 @@ class FSStreamingLogReader implements ReverseSeekingStreamingLogReader {
             return new LogEventLineIterator(fsiter, rundeckLogFormat)
         } else {
             def iterator = new LegacyLogEventLineIterator(fsiter)
-            iterator.referenceDate = referenceDate ?: new Date(file.lastModified())
+            iterator.referenceDate = referenceDate ?: getLastModified()
             return iterator
         }
     }
@@ -66,11 +85,15 @@ class FSStreamingLogReader implements ReverseSeekingStreamingLogReader {
         if (!detected) {
             detectLegacyLogFile()
         }
-
-        if (detectedFormat) {
-            return LogEventLineIterator.seekBackwards(file, (int) offset, rundeckLogFormat)
-        } else {
-            return LegacyLogEventLineIterator.seekBackwards(file, (int) offset)
+        def channel = openChannel()
+        try {
+            if (detectedFormat) {
+                return rundeckLogFormat.seekBackwards(channel, (int) offset)
+            } else {
+                return LegacyLogEventLineIterator.seekBackwards(channel, (int) offset)
+            }
+        } finally {
+            channel.close()
         }
     }
 
@@ -99,9 +122,11 @@ class FSStreamingLogReader implements ReverseSeekingStreamingLogReader {
     }
 
     private LogEventIterator beginFromOffset(long offset) {
-        def raf = new FileInputStream(file)
-        raf.channel.position(offset)
-        def LogEventIterator iterator = detectedIterator(new FSFileLineIterator(raf, encoding))
+        def channel = openChannel()
+        channel.position(offset)
+        def LogEventIterator iterator = detectedIterator(
+                new FSFileLineIterator(Channels.newInputStream(channel), offset, encoding)
+        )
         return iterator
     }
 
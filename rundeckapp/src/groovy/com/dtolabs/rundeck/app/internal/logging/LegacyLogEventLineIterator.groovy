@@ -8,6 +8,9 @@ import com.dtolabs.rundeck.core.logging.OffsetIterator
 import com.dtolabs.rundeck.core.utils.Utility
 import rundeck.services.ExecutionService
 
+import java.nio.channels.FileChannel
+import java.nio.channels.SeekableByteChannel
+import java.nio.file.StandardOpenOption
 import java.text.ParseException
 import java.text.SimpleDateFormat
 
@@ -231,10 +234,19 @@ class LegacyLogEventLineIterator implements LogEventIterator{
      * @return
      */
     public static long seekBackwards(File file, int count){
+        def channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)
+        try {
+            return seekBackwards(channel, count)
+        } finally {
+            channel.close()
+        }
+    }
+
+    public static long seekBackwards(SeekableByteChannel channel, int count){
         //NB: we search for log entry ending indicators, so we have to skip 2 of them
         //1: the final sigil, 2: the end of the final entry, before we can seek back the number of entries
         //this might skip over a single entry if the log is not complete at the end of the file
-        long seek=Utility.seekBack(file, count + 2, "^^^${lSep}")
+        long seek=Utility.seekBack(channel, count + 2, "^^^${lSep}".toString(), null)
         if (seek>0){
             seek += "^^^${lSep}".getBytes("UTF-8").length
         }
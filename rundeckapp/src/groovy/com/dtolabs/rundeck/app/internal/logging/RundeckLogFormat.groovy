@@ -6,6 +6,9 @@ import com.dtolabs.rundeck.core.logging.LogUtil
 import com.dtolabs.rundeck.core.utils.Utility
 import com.google.common.base.Predicate
 
+import java.nio.channels.FileChannel
+import java.nio.channels.SeekableByteChannel
+import java.nio.file.StandardOpenOption
 import java.text.DateFormat
 import java.text.SimpleDateFormat
 
@@ -213,10 +216,25 @@ class RundeckLogFormat implements OutputLogFormat, LineLogFormat {
     }
 
     long seekBackwards(File file, int count) {
+        def channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)
+        try {
+            return seekBackwards(channel, count)
+        } finally {
+            channel.close()
+        }
+    }
+
+    /**
+     * Seek backwards in the log content of the channel
+     * @param channel channel
+     * @param count number of log messages
+     * @return position of the log message
+     */
+    long seekBackwards(SeekableByteChannel channel, int count) {
         //seek backwards to log entry ending strings, using the LogMessagePositionTester to
         //verify that the following line is a log message, not some other entry type
         String lSep = System.getProperty("line.separator")
-        def seek = Utility.seekBack(file, count , DELIM + lSep, new LogMessageBegin())
+        def seek = Utility.seekBack(channel, count , DELIM + lSep, new LogMessageBegin())
         if (seek > 0) {
             seek += "^${lSep}".getBytes("UTF-8").length
         }
@@ -0,0 +1,193 @@
+package com.dtolabs.rundeck.app.internal.workflow
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Timeline of spans recorded during an execution. Spans have a type: "workflow", "step", "nodeStep", or one of the
+ * node phases "dispatch", "fileCopy" and "command", and the step context identifier and node name they were recorded
+ * in.
+ */
+class ExecutionProfile {
+    public static final String SPAN_WORKFLOW = 'workflow'
+    public static final String SPAN_STEP = 'step'
+    public static final String SPAN_NODE_STEP = 'nodeStep'
+    public static final String SPAN_DISPATCH = 'dispatch'
+    public static final String SPAN_FILE_COPY = 'fileCopy'
+    public static final String SPAN_COMMAND = 'command'
+    public static final List<String> PHASES = [SPAN_DISPATCH, SPAN_FILE_COPY, SPAN_COMMAND]
+    public static final int DEFAULT_MAX_SPANS = 10000
+    public static final int SLOWEST_NODES = 10
+
+    static class Span {
+        String type
+        String name
+        String stepctx
+        String node
+        long startNanos
+        long endNanos
+        Boolean success
+
+        Map toMap(long profileStartNanos) {
+            [
+                    type    : type,
+                    name    : name,
+                    stepctx : stepctx,
+                    node    : node,
+                    start   : TimeUnit.NANOSECONDS.toMillis(startNanos - profileStartNanos),
+                    duration: TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos),
+                    success : success,
+            ].findAll { it.value != null }
+        }
+    }
+
+    final Long executionId
+    final long startTime = System.currentTimeMillis()
+    final long startNanos = System.nanoTime()
+    final int maxSpans
+    private final ConcurrentLinkedQueue<Span> spans = new ConcurrentLinkedQueue<>()
+    private final AtomicInteger spanCount = new AtomicInteger()
+    private final AtomicInteger dropped = new AtomicInteger()
+
+    ExecutionProfile(Long executionId, int maxSpans = DEFAULT_MAX_SPANS) {
+        this.executionId = executionId
+        this.maxSpans = maxSpans
+    }
+
+    /**
+     * Add a finished span, unless the maximum number of spans has been reached
+     * @param span span
+     */
+    void add(Span span) {
+        if (spanCount.incrementAndGet() > maxSpans) {
+            spanCount.decrementAndGet()
+            dropped.incrementAndGet()
+            return
+        }
+        spans.add(span)
+    }
+
+    /**
+     * @return serializable data for the profile
+     */
+    Map toMap() {
+        [
+                executionId : executionId,
+                startTime   : startTime,
+                droppedSpans: dropped.get(),
+                spans       : spans.collect { it.toMap(startNanos) }.sort { a, b -> a.start <=> b.start },
+        ]
+    }
+
+    /**
+     * Summarize profile data
+     * @param profile data produced by {@link #toMap()}
+     * @return summary containing duration, phase breakdown, slowest nodes, and the critical path
+     */
+    static Map summarize(Map profile) {
+        List<Map> spans = profile.spans ?: []
+        long duration = spans.collect { end(it) }.max() ?: 0
+        def top = spans.find { it.type == SPAN_WORKFLOW && !it.stepctx }
+        if (top) {
+            duration = top.duration
+        }
+        [
+                executionId : profile.executionId,
+                startTime   : profile.startTime,
+                duration    : duration,
+                spanCount   : spans.size(),
+                droppedSpans: profile.droppedSpans ?: 0,
+                phases      : phaseBreakdown(spans),
+                slowestNodes: slowestNodes(spans, SLOWEST_NODES),
+                criticalPath: criticalPath(spans),
+        ]
+    }
+
+    private static long end(Map span) {
+        (span.start as long) + (span.duration as long)
+    }
+
+    /**
+     * @return map of span type to count and total duration, for step, node step and phase spans
+     */
+    static Map phaseBreakdown(List<Map> spans) {
+        def result = [:]
+        ([SPAN_STEP, SPAN_NODE_STEP] + PHASES).each { type ->
+            def typed = spans.findAll { it.type == type }
+            result[type] = [
+                    count: typed.size(),
+                    total: typed.sum(0L) { it.duration as long },
+                    max  : typed.collect { it.duration as long }.max() ?: 0L,
+            ]
+        }
+        result
+    }
+
+    /**
+     * @return nodes ordered by total node step duration, with phase totals for each node
+     */
+    static List<Map> slowestNodes(List<Map> spans, int max) {
+        def byNode = spans.findAll { it.node && (it.type == SPAN_NODE_STEP || it.type in PHASES) }.groupBy { it.node }
+        def result = byNode.collect { String node, List<Map> nodeSpans ->
+            def steps = nodeSpans.findAll { it.type == SPAN_NODE_STEP }
+            def data = [
+                    node : node,
+                    steps: steps.size(),
+                    total: steps.sum(0L) { it.duration as long },
+                    max  : steps.collect { it.duration as long }.max() ?: 0L,
+            ]
+            PHASES.each { phase ->
+                data[phase] = nodeSpans.findAll { it.type == phase }.sum(0L) { it.duration as long }
+            }
+            data
+        }
+        result.sort { a, b -> b.total <=> a.total ?: a.node <=> b.node }.take(max)
+    }
+
+    private static String baseContext(String stepctx) {
+        stepctx?.replaceAll(/@[^\/]*/, '')
+    }
+
+    /**
+     * Determine the chain of non-overlapping leaf spans which ends with the last finished span: starting from the
+     * last span to finish, repeatedly take the latest span finishing before the current one started. Leaf spans are
+     * node steps, and steps which did not run any node steps.
+     * @return spans on the critical path, in start order
+     */
+    static List<Map> criticalPath(List<Map> spans) {
+        def nodeSteps = spans.findAll { it.type == SPAN_NODE_STEP }
+        Set<String> containers = new HashSet<>()
+        nodeSteps.each {
+            def parts = baseContext(it.stepctx)?.split('/') ?: []
+            for (int i = 1; i <= parts.length; i++) {
+                containers << parts[0..<i].join('/')
+            }
+        }
+        def leaves = nodeSteps + spans.findAll { it.type == SPAN_STEP && !(baseContext(it.stepctx) in containers) }
+        if (!leaves) {
+            return []
+        }
+        List<Map> byEnd = leaves.sort(false) { a, b -> end(a) <=> end(b) ?: a.duration <=> b.duration }
+        def path = []
+        int index = byEnd.size() - 1
+        while (index >= 0) {
+            def span = byEnd[index]
+            path << span.subMap(['type', 'name', 'stepctx', 'node', 'start', 'duration']).findAll { it.value != null }
+            long start = span.start as long
+            //find last span ending at or before this one started
+            int low = 0, high = index - 1, found = -1
+            while (low <= high) {
+                int mid = (low + high) >>> 1
+                if (end(byEnd[mid]) <= start) {
+                    found = mid
+                    low = mid + 1
+                } else {
+                    high = mid - 1
+                }
+            }
+            index = found
+        }
+        path.reverse()
+    }
+}
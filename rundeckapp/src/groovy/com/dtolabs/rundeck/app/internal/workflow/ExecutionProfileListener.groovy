@@ -0,0 +1,174 @@
+package com.dtolabs.rundeck.app.internal.workflow
+
+import com.dtolabs.rundeck.core.common.INodeEntry
+import com.dtolabs.rundeck.core.execution.ExecutionContext
+import com.dtolabs.rundeck.core.execution.StepExecutionItem
+import com.dtolabs.rundeck.core.execution.dispatch.DispatcherResult
+import com.dtolabs.rundeck.core.execution.service.NodeExecutorResult
+import com.dtolabs.rundeck.core.execution.workflow.StepContextWorkflowExecutionListener
+import com.dtolabs.rundeck.core.execution.workflow.StepExecutionContext
+import com.dtolabs.rundeck.core.execution.workflow.WorkflowExecutionItem
+import com.dtolabs.rundeck.core.execution.workflow.WorkflowExecutionResult
+import com.dtolabs.rundeck.core.execution.workflow.state.StateUtils
+import com.dtolabs.rundeck.core.execution.workflow.state.StepContextId
+import com.dtolabs.rundeck.core.execution.workflow.steps.StepExecutionResult
+import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepExecutionItem
+import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepResult
+
+/**
+ * Records workflow, step, node step and node phase spans into an {@link ExecutionProfile}. Step context identifiers
+ * are determined the same way as for the workflow state, so that spans can be matched to step states.
+ */
+class ExecutionProfileListener extends BaseWorkflowExecutionListener implements NodeExecutionPhaseListener {
+    final ExecutionProfile profile
+    /**
+     * Called when the top level workflow finishes
+     */
+    Closure onComplete
+    private StepContextWorkflowExecutionListener<INodeEntry, StepContextId> stepContext =
+            new StepContextWorkflowExecutionListener<INodeEntry, StepContextId>()
+    /**
+     * Open spans on the current thread
+     */
+    private ThreadLocal<ArrayDeque<ExecutionProfile.Span>> openSpans = new ThreadLocal<ArrayDeque<ExecutionProfile.Span>>() {
+        @Override
+        protected ArrayDeque<ExecutionProfile.Span> initialValue() {
+            new ArrayDeque<ExecutionProfile.Span>()
+        }
+    }
+
+    ExecutionProfileListener(ExecutionProfile profile) {
+        this.profile = profile
+    }
+
+    private String currentStepContext() {
+        def context = stepContext.getCurrentContext()
+        context ? StateUtils.stepIdentifierToString(StateUtils.stepIdentifier(context)) : null
+    }
+
+    private void begin(String type, String name, String node = null) {
+        openSpans.get().push(
+                new ExecutionProfile.Span(
+                        type: type,
+                        name: name,
+                        stepctx: currentStepContext(),
+                        node: node,
+                        startNanos: System.nanoTime()
+                )
+        )
+    }
+
+    private void finish(String type, Boolean success) {
+        long now = System.nanoTime()
+        def stack = openSpans.get()
+        if (!stack.any { it.type == type }) {
+            return
+        }
+        //discard spans left open by an unbalanced begin
+        def span = stack.pop()
+        while (span.type != type) {
+            span = stack.pop()
+        }
+        span.endNanos = now
+        span.success = success
+        profile.add(span)
+    }
+
+    @Override
+    void beginWorkflowExecution(StepExecutionContext executionContext, WorkflowExecutionItem item) {
+        StepContextId currentStep = stepContext.getCurrentStep()
+        INodeEntry currentNode = stepContext.getCurrentNode()
+        if (null != currentNode && null != currentStep) {
+            //sub workflow within a node step is identified by the node name parameter
+            stepContext.beginStepContext(
+                    StateUtils.stepContextId(
+                            currentStep.getStep(),
+                            !currentStep.getAspect().isMain(),
+                            [node: currentNode.nodename]
+                    )
+            )
+        }
+        begin(ExecutionProfile.SPAN_WORKFLOW, item.type)
+        stepContext.beginContext()
+    }
+
+    @Override
+    void finishWorkflowExecution(
+            WorkflowExecutionResult result,
+            StepExecutionContext executionContext,
+            WorkflowExecutionItem item
+    )
+    {
+        stepContext.finishContext()
+        finish(ExecutionProfile.SPAN_WORKFLOW, result?.isSuccess())
+        if (null == stepContext.getCurrentContext()) {
+            onComplete?.call(profile)
+        }
+    }
+
+    @Override
+    void beginWorkflowItem(int step, StepExecutionItem item) {
+        stepContext.beginStepContext(StateUtils.stepContextId(step, false))
+        begin(ExecutionProfile.SPAN_STEP, item.type)
+    }
+
+    @Override
+    void beginWorkflowItemErrorHandler(int step, StepExecutionItem item) {
+        stepContext.beginStepContext(StateUtils.stepContextId(step, true))
+        begin(ExecutionProfile.SPAN_STEP, item.type)
+    }
+
+    @Override
+    void finishWorkflowItem(int step, StepExecutionItem item, StepExecutionResult result) {
+        finish(ExecutionProfile.SPAN_STEP, result?.isSuccess())
+        stepContext.finishStepContext()
+    }
+
+    @Override
+    void finishWorkflowItemErrorHandler(int step, StepExecutionItem item, StepExecutionResult result) {
+        finish(ExecutionProfile.SPAN_STEP, result?.isSuccess())
+        stepContext.finishStepContext()
+    }
+
+    @Override
+    void beginExecuteNodeStep(ExecutionContext context, NodeStepExecutionItem item, INodeEntry node) {
+        stepContext.beginNodeContext(node)
+        begin(ExecutionProfile.SPAN_NODE_STEP, item.nodeStepType, node.nodename)
+    }
+
+    @Override
+    void finishExecuteNodeStep(NodeStepResult result, ExecutionContext context, StepExecutionItem item, INodeEntry node) {
+        finish(ExecutionProfile.SPAN_NODE_STEP, result?.isSuccess())
+        stepContext.finishNodeContext()
+    }
+
+    @Override
+    void beginNodeDispatch(ExecutionContext context, Object item) {
+        begin(ExecutionProfile.SPAN_DISPATCH, item instanceof StepExecutionItem ? item.type : null)
+    }
+
+    @Override
+    void finishNodeDispatch(DispatcherResult result, ExecutionContext context, Object item) {
+        finish(ExecutionProfile.SPAN_DISPATCH, result?.isSuccess())
+    }
+
+    @Override
+    void beginNodeExecution(ExecutionContext context, String[] command, INodeEntry node) {
+        begin(ExecutionProfile.SPAN_COMMAND, null, node?.nodename)
+    }
+
+    @Override
+    void finishNodeExecution(NodeExecutorResult result, ExecutionContext context, String[] command, INodeEntry node) {
+        finish(ExecutionProfile.SPAN_COMMAND, result?.isSuccess())
+    }
+
+    @Override
+    void beginFileCopy(ExecutionContext context, String type, INodeEntry node) {
+        begin(ExecutionProfile.SPAN_FILE_COPY, type, node?.nodename)
+    }
+
+    @Override
+    void finishFileCopy(String result, ExecutionContext context, INodeEntry node) {
+        finish(ExecutionProfile.SPAN_FILE_COPY, null != result)
+    }
+}
@@ -20,17 +20,23 @@ import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepExecutionI
 import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepResult
 
 /**
- * Calls listener methods on a list of sub listeners, and uses a reverse ordering for finish* methods.
+ * Calls listener methods on a list of sub listeners, and uses a reverse ordering for finish* methods. Node dispatch,
+ * node execution and file copy methods are sent to the delegate, and to any sub listeners implementing {@link
+ * NodeExecutionPhaseListener}.
  */
 class MultiWorkflowExecutionListener implements WorkflowExecutionListener,ExecutionListener,ExecutionListenerOverride{
     List<WorkflowExecutionListener> listenerList;
     List<WorkflowExecutionListener> reversedListenerList;
+    List<NodeExecutionPhaseListener> phaseListenerList;
+    List<NodeExecutionPhaseListener> reversedPhaseListenerList;
     ExecutionListener delegate;
 
     private MultiWorkflowExecutionListener(ExecutionListener delegate,List<WorkflowExecutionListener> listenerList) {
         this.delegate = delegate;
         this.listenerList = listenerList;
         this.reversedListenerList=listenerList.reverse()
+        this.phaseListenerList = listenerList.findAll { it instanceof NodeExecutionPhaseListener }
+        this.reversedPhaseListenerList = phaseListenerList.reverse()
     }
 
     /**
@@ -122,50 +128,60 @@ class MultiWorkflowExecutionListener implements WorkflowExecutionListener,Execut
     @Override
     void beginNodeExecution(ExecutionContext context, String[] command, INodeEntry node) {
         delegate.beginNodeExecution(context,command,node)
+        phaseListenerList*.beginNodeExecution(context, command, node)
     }
 
     @Override
     void finishNodeExecution(NodeExecutorResult result, ExecutionContext context, String[] command, INodeEntry node) {
+        reversedPhaseListenerList*.finishNodeExecution(result, context, command, node)
         delegate.finishNodeExecution(result, context, command, node)
     }
 
     @Override
     void beginNodeDispatch(ExecutionContext context, StepExecutionItem item) {
         delegate.beginNodeDispatch(context,item)
+        phaseListenerList*.beginNodeDispatch(context, item)
     }
 
     @Override
     void beginNodeDispatch(ExecutionContext context, Dispatchable item) {
         delegate.beginNodeDispatch(context, item)
+        phaseListenerList*.beginNodeDispatch(context, item)
     }
 
     @Override
     void finishNodeDispatch(DispatcherResult result, ExecutionContext context, StepExecutionItem item) {
+        reversedPhaseListenerList*.finishNodeDispatch(result, context, item)
         delegate.finishNodeDispatch(result,context,item)
     }
 
     @Override
     void finishNodeDispatch(DispatcherResult result, ExecutionContext context, Dispatchable item) {
+        reversedPhaseListenerList*.finishNodeDispatch(result, context, item)
         delegate.finishNodeDispatch(result,context,item)
     }
 
     @Override
     void beginFileCopyFileStream(ExecutionContext context, InputStream input, INodeEntry node) {
         delegate.beginFileCopyFileStream(context,input,node)
+        phaseListenerList*.beginFileCopy(context, 'stream', node)
     }
 
     @Override
     void beginFileCopyFile(ExecutionContext context, File input, INodeEntry node) {
         delegate.beginFileCopyFile(context,input,node)
+        phaseListenerList*.beginFileCopy(context, 'file', node)
     }
 
     @Override
     void beginFileCopyScriptContent(ExecutionContext context, String input, INodeEntry node) {
         delegate.beginFileCopyScriptContent(context, input, node)
+        phaseListenerList*.beginFileCopy(context, 'script', node)
     }
 
     @Override
     void finishFileCopy(String result, ExecutionContext context, INodeEntry node) {
+        reversedPhaseListenerList*.finishFileCopy(result, context, node)
         delegate.finishFileCopy(result, context, node)
     }
 
@@ -1,5 +1,6 @@
 package com.dtolabs.rundeck.app.internal.workflow
 
+import com.dtolabs.rundeck.core.execution.metrics.ExecutionMetrics
 import com.dtolabs.rundeck.core.execution.workflow.state.ExecutionState
 import com.dtolabs.rundeck.core.execution.workflow.state.StepIdentifier
 import com.dtolabs.rundeck.core.execution.workflow.state.StepState
@@ -21,16 +22,32 @@ class MutableWorkflowStateListener implements WorkflowStateListener {
 
     @Override
     void stepStateChanged(StepIdentifier identifier, StepStateChange stepStateChange, Date timestamp) {
-        mutableWorkflowState.updateStateForStep(identifier,0,stepStateChange, timestamp)
+        long start = System.nanoTime()
+        try {
+            mutableWorkflowState.updateStateForStep(identifier, 0, stepStateChange, timestamp)
+        } finally {
+            ExecutionMetrics.STATE_UPDATE.record('stepStateChanged', start)
+        }
     }
 
     @Override
     void workflowExecutionStateChanged(ExecutionState executionState, Date timestamp, List<String> nodenames) {
-        mutableWorkflowState.updateWorkflowState(executionState, timestamp, nodenames)
+        long start = System.nanoTime()
+        try {
+            mutableWorkflowState.updateWorkflowState(executionState, timestamp, nodenames)
+        } finally {
+            ExecutionMetrics.STATE_UPDATE.record('workflowExecutionStateChanged', start)
+        }
     }
 
     @Override
     void subWorkflowExecutionStateChanged(StepIdentifier identifier, ExecutionState executionState, Date timestamp, List<String> nodeSet) {
-        mutableWorkflowState.updateSubWorkflowState(identifier,0, false, executionState, timestamp, nodeSet, mutableWorkflowState)
+        long start = System.nanoTime()
+        try {
+            mutableWorkflowState.updateSubWorkflowState(identifier, 0, false, executionState, timestamp, nodeSet,
+                                                        mutableWorkflowState)
+        } finally {
+            ExecutionMetrics.STATE_UPDATE.record('subWorkflowExecutionStateChanged', start)
+        }
     }
 }
@@ -0,0 +1,33 @@
+package com.dtolabs.rundeck.app.internal.workflow
+
+import com.dtolabs.rundeck.core.common.INodeEntry
+import com.dtolabs.rundeck.core.execution.ExecutionContext
+import com.dtolabs.rundeck.core.execution.dispatch.DispatcherResult
+import com.dtolabs.rundeck.core.execution.service.NodeExecutorResult
+
+/**
+ * Receives the node dispatch, node execution and file copy callbacks of the {@link
+ * com.dtolabs.rundeck.core.execution.ExecutionListener}, when included in a {@link MultiWorkflowExecutionListener}
+ */
+interface NodeExecutionPhaseListener {
+    /**
+     * @param context context
+     * @param item step item or dispatchable
+     */
+    void beginNodeDispatch(ExecutionContext context, Object item)
+
+    void finishNodeDispatch(DispatcherResult result, ExecutionContext context, Object item)
+
+    void beginNodeExecution(ExecutionContext context, String[] command, INodeEntry node)
+
+    void finishNodeExecution(NodeExecutorResult result, ExecutionContext context, String[] command, INodeEntry node)
+
+    /**
+     * @param context context
+     * @param type kind of file copy: 'stream', 'file' or 'script'
+     * @param node node
+     */
+    void beginFileCopy(ExecutionContext context, String type, INodeEntry node)
+
+    void finishFileCopy(String result, ExecutionContext context, INodeEntry node)
+}
@@ -0,0 +1,47 @@
+package com.dtolabs.rundeck.app.support
+
+import rundeck.ScheduledExecution
+
+/**
+ * Iterates over the jobs with a list of IDs, loading a chunk of jobs at a time. The session is flushed and cleared
+ * before each chunk is loaded, so that only one chunk of jobs is held in the session. IDs of jobs which no longer
+ * exist are skipped.
+ */
+class JobChunkIterator implements Iterator<ScheduledExecution> {
+    private final Iterator<List> chunks
+    private Iterator<ScheduledExecution> current = Collections.emptyIterator()
+
+    /**
+     * @param ids job IDs, in iteration order
+     * @param chunkSize number of jobs to load at a time
+     */
+    JobChunkIterator(List ids, int chunkSize) {
+        chunks = ids.collate(chunkSize).iterator()
+    }
+
+    @Override
+    boolean hasNext() {
+        while (!current.hasNext() && chunks.hasNext()) {
+            List chunk = chunks.next()
+            ScheduledExecution.withSession { session ->
+                session.flush()
+                session.clear()
+            }
+            current = ScheduledExecution.getAll(chunk).findAll { it != null }.iterator()
+        }
+        current.hasNext()
+    }
+
+    @Override
+    ScheduledExecution next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException()
+        }
+        current.next()
+    }
+
+    @Override
+    void remove() {
+        throw new UnsupportedOperationException()
+    }
+}
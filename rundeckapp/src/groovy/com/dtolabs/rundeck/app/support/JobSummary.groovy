@@ -0,0 +1,121 @@
+package com.dtolabs.rundeck.app.support
+
+import groovy.transform.ToString
+import rundeck.ScheduledExecution
+
+/**
+ * Lightweight read model of a job, containing only the fields needed to list jobs. Loaded with a projection query so
+ * that the options, workflow and notifications of the job are not loaded.
+ */
+@ToString(includeNames = true, includes = ['id', 'uuid', 'project', 'groupPath', 'jobName'])
+class JobSummary {
+    /**
+     * Properties of {@link ScheduledExecution} loaded by the projection, in order
+     */
+    public static final List<String> PROPERTIES = [
+            'id',
+            'uuid',
+            'project',
+            'jobName',
+            'groupPath',
+            'description',
+            'scheduled',
+            'scheduleEnabled',
+            'executionEnabled',
+            'serverNodeUUID',
+            'nextExecution',
+            'totalTime',
+            'execCount',
+            'seconds',
+            'minute',
+            'hour',
+            'dayOfMonth',
+            'month',
+            'dayOfWeek',
+            'year',
+    ].asImmutable()
+
+    Long id
+    String uuid
+    String project
+    String jobName
+    String groupPath
+    String description
+    boolean scheduled
+    Boolean scheduleEnabled
+    Boolean executionEnabled
+    String serverNodeUUID
+    Date nextExecution
+    Long totalTime
+    Long execCount
+    String seconds
+    String minute
+    String hour
+    String dayOfMonth
+    String month
+    String dayOfWeek
+    String year
+
+    /**
+     * Create from a projection result row
+     * @param row values for {@link #PROPERTIES}, in order
+     */
+    static JobSummary fromRow(row) {
+        def summary = new JobSummary()
+        PROPERTIES.eachWithIndex { String prop, int i ->
+            summary[prop] = row[i]
+        }
+        summary
+    }
+
+    /**
+     * Create from a loaded job
+     */
+    static JobSummary fromJob(ScheduledExecution se) {
+        def summary = new JobSummary()
+        PROPERTIES.each { String prop ->
+            summary[prop] = se[prop]
+        }
+        summary
+    }
+
+    def getExtid() {
+        return this.uuid ?: this.id.toString()
+    }
+
+    def boolean hasScheduleEnabled() {
+        return (null == scheduleEnabled || scheduleEnabled)
+    }
+
+    def boolean hasExecutionEnabled() {
+        return (null == executionEnabled || executionEnabled)
+    }
+
+    def boolean shouldScheduleExecution() {
+        return scheduled && hasExecutionEnabled() && hasScheduleEnabled();
+    }
+
+    def String generateJobScheduledName() {
+        return [id, jobName].join(":")
+    }
+
+    def String generateJobGroupName() {
+        return [project, jobName, groupPath ? groupPath : ''].join(":")
+    }
+
+    def String generateCrontabExression() {
+        return [
+                seconds ? seconds : '0',
+                minute,
+                hour,
+                dayOfMonth.toUpperCase(),
+                month.toUpperCase(),
+                dayOfMonth == '?' ? dayOfWeek.toUpperCase() : '?',
+                year ? year : '*'
+        ].join(" ")
+    }
+
+    def String generateFullName() {
+        return ScheduledExecution.generateFullName(groupPath, jobName)
+    }
+}
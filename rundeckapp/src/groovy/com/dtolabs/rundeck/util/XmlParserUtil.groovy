@@ -2,6 +2,10 @@ package com.dtolabs.rundeck.util
 
 import org.apache.commons.lang.StringUtils
 
+import javax.xml.stream.XMLInputFactory
+import javax.xml.stream.XMLStreamConstants
+import javax.xml.stream.XMLStreamReader
+
 /*
 * Copyright 2011 DTO Labs, Inc. (http://dtolabs.com)
 *
@@ -93,6 +97,65 @@ public class XmlParserUtil {
         }
         return map
     }
+    /**
+     * Create a streaming reader for xml input
+     */
+    static XMLStreamReader createStreamReader(Reader reader) {
+        XMLInputFactory factory = XMLInputFactory.newInstance()
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false)
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true)
+        return factory.createXMLStreamReader(reader)
+    }
+
+    /**
+     * Generate data object from the element at the current position of a streaming reader, not including the element
+     * name. The result is the same as {@link #toObject(groovy.util.Node, boolean)} for the element parsed by
+     * XmlParser. The reader is left at the end of the element.
+     */
+    static Object toObject(XMLStreamReader reader, boolean analyze=true) {
+        def map = [:]
+        for (int i = 0; i < reader.attributeCount; i++) {
+            def value = reader.getAttributeValue(i)
+            map.put(reader.getAttributeLocalName(i), analyze ? analyzeText(value) : value)
+        }
+        def text = new StringBuilder()
+        def sawElems = false
+        while (reader.hasNext()) {
+            int event = reader.next()
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                sawElems = true
+                def name = reader.localName
+                def child = toObject(reader, analyze)
+                if (null != map[name] && !(map[name] instanceof Collection)) {
+                    map[name] = [map[name], child]
+                } else if (map[name] instanceof Collection) {
+                    map[name] << child
+                } else {
+                    map[name] = child
+                }
+            } else if (!sawElems && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                text.append(reader.text)
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break
+            }
+        }
+        if (!sawElems) {
+            def value = text.toString()
+            if (value.trim()) {
+                if (0 == map.size()) {
+                    return analyze ? analyzeText(value) : value
+                }
+                def textmap = ['<text>': analyze ? analyzeText(value) : value]
+                textmap.putAll(map)
+                map = textmap
+            }
+        }
+        if (0 == map.size()) {
+            return ''
+        }
+        return map
+    }
+
     static Object analyzeText(String text){
         if(text=~/^\d+$/){
             return Integer.parseInt(text)
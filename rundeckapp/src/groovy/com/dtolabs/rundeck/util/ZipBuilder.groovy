@@ -1,5 +1,9 @@
 package com.dtolabs.rundeck.util
 
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
+import java.nio.channels.WritableByteChannel
+import java.nio.file.StandardOpenOption
 import java.util.zip.ZipOutputStream
 import java.util.zip.ZipEntry
 import org.codehaus.groovy.grails.web.converters.Converter
@@ -39,6 +43,7 @@ import org.codehaus.groovy.grails.web.converters.Converter
  *                  //file method can take a string, File or closure
  *                 file("some.txt","string contents")
  *                 file("file.data",new File("file.data")) //write file contents
+ *                 file("bytes.data",byteArray) //write byte array
  *                 file("writer.txt"){ writer-> // closure is passed a writer
  *                     writer.write "text\n"
  *                     //writer also is the delegate
@@ -150,10 +155,33 @@ class ZipBuilder {
         file(name){ write source }
     }
     def ZipBuilder file(String name, File source){
-        source.withInputStream {InputStream is->
-            this.file name, is
+        privateFile(name) {
+            //write file to output using channel transfer
+            FileChannel channel = FileChannel.open(source.toPath(), StandardOpenOption.READ)
+            try {
+                transferFully(channel, Channels.newChannel(output))
+            } finally {
+                channel.close()
+            }
         }
-        this
+    }
+    def ZipBuilder file(String name, byte[] source){
+        privateFile(name) {
+            output.write source
+        }
+    }
+
+    static long transferFully(FileChannel channel, WritableByteChannel target) throws IOException {
+        long size = channel.size()
+        long position = 0
+        while (position < size) {
+            long count = channel.transferTo(position, size - position, target)
+            if (count <= 0) {
+                break
+            }
+            position += count
+        }
+        position
     }
     def ZipBuilder file(String name, Converter source){
         privateFile(name){
@@ -194,7 +222,7 @@ class ZipBuilder {
     def methodMissing(String name, args) {
         if(name.endsWith('/') && args.length==1 && args[0] instanceof Closure){
             return this.dir(name,args[0])
-        } else if(name.contains('.') && args.length == 1 && (args[0] instanceof Closure || args[0] instanceof String || args[0] instanceof File || args[0] instanceof InputStream)){
+        } else if(name.contains('.') && args.length == 1 && (args[0] instanceof Closure || args[0] instanceof String || args[0] instanceof File || args[0] instanceof InputStream || args[0] instanceof byte[])){
             return this.file(name, args[0])
         } else {
             throw new MissingMethodException(name, this.class, args)
@@ -26,6 +26,10 @@ package com.dtolabs.rundeck.core.utils;
 import com.google.common.base.Predicate;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
 
 
 /**
@@ -61,8 +65,31 @@ public class Utility {
      * @throws IOException
      */
     public static long seekBack(File f, int count, String marker, Predicate<InputStream> validity) throws IOException {
-        FileInputStream fis = new FileInputStream(f);
-        long size = fis.getChannel().size();
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            return seekBack(channel, count, marker, validity);
+        }
+    }
+
+    /**
+     * seekBack searches backwards for certain markers in a channel, and returns position of the final marker found.
+     * count specifies how many markers to search for.  if the search reaches the beginning of the channel without
+     * finding all of the markers, then 0 is returned.
+     * @param channel the channel to search
+     * @param count number of markers to find
+     * @param marker text string marker
+     * @param validity predicate to test whether the stream is at a valid position, or null
+     * @return location of marker number <i>count</i> found from the end of the channel, or 0
+     * @throws IOException
+     */
+    public static long seekBack(
+            SeekableByteChannel channel,
+            int count,
+            String marker,
+            Predicate<InputStream> validity
+    ) throws IOException
+    {
+        InputStream fis = Channels.newInputStream(channel);
+        long size = channel.size();
         long pos = size;
         long foundpos = -1;
         //seek backwards for *count occurrences of the marker
@@ -72,8 +99,8 @@ public class Utility {
         byte[] buf = new byte[marker.length()];
         int matchcount = 0;
         while (matchcount < count && !done && pos >= 0) {
-            fis.getChannel().position(pos);
-            int r = fis.read(buf);
+            channel.position(pos);
+            int r = readFully(fis, buf);
             if (r == marker.length()) {
                 //compare contents of buf with comparison, and cycle forward if marker > 1 char length
                 int cycle = 0;
@@ -117,8 +144,19 @@ public class Utility {
 //            System.err.println("setting foundpos to 0");
             foundpos=0;
         }
-        fis.close();
         return foundpos;
     }
 
+    private static int readFully(InputStream stream, byte[] buf) throws IOException {
+        int total = 0;
+        while (total < buf.length) {
+            int r = stream.read(buf, total, buf.length - total);
+            if (r < 0) {
+                break;
+            }
+            total += r;
+        }
+        return total;
+    }
+
 }
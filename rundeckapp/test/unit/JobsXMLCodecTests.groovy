@@ -6418,4 +6418,40 @@ void testDecodeBasic__no_group(){
         assertEquals "incorrect notifications onsuccess email size", 1, doc.job[0].notification[0].onfailure[0].email.size()
         assertEquals "incorrect notifications onsuccess email size", "test2@example.com", doc.job[0].notification[0].onfailure[0].email[0]['@recipients'].text()
     }
+
+    void testDecodeEach() {
+        def jobs = []
+        def count = JobsXMLCodec.decodeEach(okxml0) { job ->
+            jobs << job
+        }
+        assertEquals 1, count
+        assertEquals "incorrect size", 1, jobs.size()
+        assertEquals "incorrect jobName", "wait1", jobs[0].jobName
+        assertEquals "incorrect project", 'test1', jobs[0].project
+        assertEquals 2, jobs[0].options.size()
+    }
+    void testDecodeEach_InvalidJoblist() {
+        try {
+            JobsXMLCodec.decodeEach(badxml1) { job -> }
+            fail "Parsing shouldn't complete"
+        } catch (JobXMLException e) {
+            assertEquals "Document root tag was not 'joblist': 'wrong'", e.getMessage()
+        }
+    }
+    void testEncodeToWriter() {
+        def jobs1 = [
+                new ScheduledExecution(
+                        jobName: 'test job 1',
+                        description: 'test descrip',
+                        loglevel: 'INFO',
+                        project: 'test1',
+                        workflow: new Workflow(keepgoing: true, commands: [new CommandExec(adhocRemoteString: 'echo')]),
+                        nodeThreadcount: 1,
+                        nodeKeepgoing: true,
+                )
+        ]
+        def writer = new StringWriter()
+        JobsXMLCodec.encodeToWriter(jobs1, writer)
+        assertEquals JobsXMLCodec.encode(jobs1), writer.toString()
+    }
 }
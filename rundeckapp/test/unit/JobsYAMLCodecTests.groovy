@@ -1975,4 +1975,49 @@ public class JobsYAMLCodecTests  {
 
     }
 
+    void testEncodeToWriterSameAsEncode() {
+        def jobs = [
+                new ScheduledExecution([
+                        jobName: 'test job 1',
+                        description: 'test descrip',
+                        loglevel: 'INFO',
+                        project: 'test1',
+                        workflow: new Workflow([keepgoing: false, threadcount: 1, commands: [
+                                new CommandExec([adhocRemoteString: 'test script', description: 'test1']),
+                                new CommandExec([adhocLocalString: "#!/bin/bash\n\necho test bash\n", description: 'test2']),
+                        ]]),
+                        options: [new Option(name: 'opt1', description: "an opt", defaultValue: "xyz", enforced: true, required: true, values: new TreeSet(["a", "b"]))] as TreeSet,
+                        nodeThreadcount: 1,
+                        nodeKeepgoing: true,
+                        doNodedispatch: true,
+                        nodeInclude: "testhost1",
+                        scheduled: true,
+                        seconds: '*',
+                        minute: '0',
+                        hour: '2,15',
+                        month: '3',
+                        dayOfMonth: '?',
+                        dayOfWeek: '4',
+                        year: '2011',
+                ]),
+                new ScheduledExecution([
+                        jobName: 'test job 2',
+                        groupPath: 'some/group',
+                        description: "multi\nline",
+                        loglevel: 'DEBUG',
+                        project: 'test1',
+                        workflow: new Workflow([keepgoing: true, commands: [
+                                new JobExec([jobName: 'another job', jobGroup: 'agroup', nodeStep: true, description: 'test4']),
+                        ]]),
+                ]),
+        ]
+        def writer = new StringWriter()
+        JobsYAMLCodec.encodeToWriter(jobs, writer)
+        assertEquals(JobsYAMLCodec.encode(jobs), writer.toString())
+        assertEquals(2, JobsYAMLCodec.decode(writer.toString()).size())
+
+        def empty = new StringWriter()
+        JobsYAMLCodec.encodeToWriter([], empty)
+        assertEquals(JobsYAMLCodec.encode([]), empty.toString())
+    }
 }
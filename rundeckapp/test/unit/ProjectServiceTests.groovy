@@ -169,17 +169,8 @@ class ProjectServiceTests  {
     public void testExportExecution(){
         ProjectService svc = new ProjectService()
 
-        def outfilename = "blahfile.xml"
-
         def zipmock=mockFor(ZipBuilder)
-        def outwriter = new StringWriter()
-        zipmock.demand.file(1..1){name,Closure withwriter->
-            assertEquals(outfilename,name)
-            withwriter.call(outwriter)
-            outwriter.flush()
-        }
-//        zipmock.demand.file(1..1){name,File outfile-> }
-        def zip = zipmock.createMock()
+        def str=null
         Execution exec = new Execution(
                 argString: "-test args",
                 user: "testuser",
@@ -194,10 +185,14 @@ class ProjectServiceTests  {
                 workflow: new Workflow(commands: [new CommandExec(adhocRemoteString: 'exec command')])
         )
         assertNotNull exec.save()
+        zipmock.demand.file(1..1){String name, byte[] bytes->
+            assertEquals('execution-'+exec.id+'.xml',name)
+            str=new String(bytes,'UTF-8')
+        }
         def logmock = mockFor(LoggingService)
         logmock.demand.getLogFileForExecution(1..1){Execution e->
             assert exec==e
-            new File(outfilename)
+            new File("blahfile.xml")
         }
         svc.loggingService=logmock.createMock()
         def workflowmock = mockFor(WorkflowService)
@@ -207,25 +202,17 @@ class ProjectServiceTests  {
         }
         svc.workflowService= workflowmock.createMock()
 
-        svc.exportExecution(zip,exec,outfilename)
-        def str=outwriter.toString()
-//        println str
+        def zip = zipmock.createMock()
+        ProjectService.writeRenderedEntries(zip, svc.executionEntries(exec))
         assertEquals EXEC_XML_TEST1, str
     }
     public void  testExportExecutionOutputFile(){
         ProjectService svc = new ProjectService()
 
-        def outfilename = "blahfile.xml"
         File tempoutfile = File.createTempFile("tempout",".txt")
 
         def zipmock=mockFor(ZipBuilder)
-        def outwriter = new StringWriter()
-        zipmock.demand.file(1..1){name,Closure withwriter->
-            assertEquals(outfilename,name)
-            withwriter.call(outwriter)
-            outwriter.flush()
-        }
-//        zipmock.demand.file(1..1){name,File outfile-> }
+        def str=null
 
         Execution exec = new Execution(
                 argString: "-test args",
@@ -242,7 +229,10 @@ class ProjectServiceTests  {
                 workflow: new Workflow(commands: [new CommandExec(adhocRemoteString: 'exec command')])
         )
         assertNotNull exec.save()
-
+        zipmock.demand.file(1..1){String name, byte[] bytes->
+            assertEquals('execution-'+exec.id+'.xml',name)
+            str=new String(bytes,'UTF-8')
+        }
         zipmock.demand.file(1..1) {name, File out ->
             assertEquals('output-'+exec.id+'.rdlog', name)
             assertEquals(tempoutfile,out)
@@ -262,26 +252,17 @@ class ProjectServiceTests  {
         }
 
         svc.workflowService = workflowmock.createMock()
-        svc.exportExecution(zip,exec,outfilename)
-        def str=outwriter.toString()
-//        println str
+        ProjectService.writeRenderedEntries(zip, svc.executionEntries(exec))
         assertEquals EXEC_XML_TEST2, str
     }
     public void  testExportExecutionStateFile(){
         ProjectService svc = new ProjectService()
 
-        def outfilename = "blahfile.xml"
         File tempoutfile = File.createTempFile("tempout",".txt")
         File tempoutfile2 = File.createTempFile("tempout",".state.json")
 
         def zipmock=mockFor(ZipBuilder)
-        def outwriter = new StringWriter()
-        zipmock.demand.file(1..1){name,Closure withwriter->
-            assertEquals(outfilename,name)
-            withwriter.call(outwriter)
-            outwriter.flush()
-        }
-//        zipmock.demand.file(1..1){name,File outfile-> }
+        def str=null
 
         Execution exec = new Execution(
                 argString: "-test args",
@@ -298,6 +279,10 @@ class ProjectServiceTests  {
                 workflow: new Workflow(commands: [new CommandExec(adhocRemoteString: 'exec command')])
         )
         assertNotNull exec.save()
+        zipmock.demand.file(1..1){String name, byte[] bytes->
+            assertEquals('execution-'+exec.id+'.xml',name)
+            str=new String(bytes,'UTF-8')
+        }
         int filecalled=0
         zipmock.demand.file(2..2) {name, File out ->
             filecalled++
@@ -324,9 +309,7 @@ class ProjectServiceTests  {
         }
         svc.workflowService = workflowmock.createMock()
 
-        svc.exportExecution(zip,exec,outfilename)
-        def str=outwriter.toString()
-//        println str
+        ProjectService.writeRenderedEntries(zip, svc.executionEntries(exec))
         assertEquals(2, filecalled)
         assertEquals EXEC_XML_TEST2, str
     }
@@ -599,16 +582,8 @@ class ProjectServiceTests  {
         def oldJobId=se.id
         ProjectService svc = new ProjectService()
 
-        def outfilename = "reportout.xml"
-
         def zipmock = mockFor(ZipBuilder)
-        def outwriter = new StringWriter()
-        zipmock.demand.file(1..1) {name, Closure withwriter ->
-            assertEquals(outfilename, name)
-            withwriter.call(outwriter)
-            outwriter.flush()
-        }
-        def zip = zipmock.createMock()
+        def str = null
         ExecReport exec = new ExecReport(
                  jcExecId:'123',
                  jcJobId: oldJobId.toString(),
@@ -625,9 +600,13 @@ class ProjectServiceTests  {
                  message: 'Report message',
         )
         assertNotNull exec.save()
+        zipmock.demand.file(1..1) {String name, byte[] bytes ->
+            assertEquals('report-' + exec.id + '.xml', name)
+            str = new String(bytes, 'UTF-8')
+        }
+        def zip = zipmock.createMock()
 
-        svc.exportHistoryReport(zip, exec, outfilename)
-        def str = outwriter.toString()
+        ProjectService.writeRenderedEntries(zip, svc.historyReportEntries(exec))
         println str
         assertEquals REPORT_XML_TEST1, str
     }
@@ -681,16 +660,8 @@ class ProjectServiceTests  {
     public void  testReportRoundtrip() {
         ProjectService svc = new ProjectService()
 
-        def outfilename = "reportout.xml"
-
         def zipmock = mockFor(ZipBuilder)
-        def outwriter = new StringWriter()
-        zipmock.demand.file(1..1) {name, Closure withwriter ->
-            assertEquals(outfilename, name)
-            withwriter.call(outwriter)
-            outwriter.flush()
-        }
-        def zip = zipmock.createMock()
+        def str = null
         ExecReport exec = new ExecReport(
                 ctxController: 'ct',
                 jcExecId: '123',
@@ -708,9 +679,13 @@ class ProjectServiceTests  {
                 message: 'Report message',
                 )
         assertNotNull exec.save()
+        zipmock.demand.file(1..1) {String name, byte[] bytes ->
+            assertEquals('report-' + exec.id + '.xml', name)
+            str = new String(bytes, 'UTF-8')
+        }
+        def zip = zipmock.createMock()
 
-        svc.exportHistoryReport(zip, exec, outfilename)
-        def str = outwriter.toString()
+        ProjectService.writeRenderedEntries(zip, svc.historyReportEntries(exec))
 
         def ExecReport result = svc.loadHistoryReport(str,[(123):123],null,'test')
         assertNotNull result
@@ -28,6 +28,7 @@ import rundeck.Workflow
 import rundeck.WorkflowStep
 import rundeck.controllers.ScheduledExecutionController
 import rundeck.services.FrameworkService
+import rundeck.services.JobGroupIndexService
 import rundeck.services.ScheduledExecutionService
 
 /*
@@ -257,18 +258,25 @@ public class ScheduledExecutionServiceTests {
     }
 
     public void testGetGroups(){
-        def schedlist=[new ScheduledExecution(jobName:'test1',groupPath:'group1'),new ScheduledExecution(jobName:'test2',groupPath:null)]
-
-        ScheduledExecution.metaClass.static.findAllByProject={proj-> return schedlist}
+        def schedlist=[
+                new JobGroupIndexService.IndexedJob('test1','group1'),
+                new JobGroupIndexService.IndexedJob('test2',null)
+        ]
 
         ScheduledExecutionService test = new ScheduledExecutionService()
+        def indexControl = mockFor(JobGroupIndexService, true)
+        indexControl.demand.indexedJobs{String proj->
+            assertEquals 'proj1',proj
+            schedlist
+        }
+        test.jobGroupIndexService = indexControl.createMock()
         def fwkControl = mockFor(FrameworkService, true)
 
-        fwkControl.demand.authResourceForJob{job->
-            [type:'job',name:job.jobName,group:job.groupPath?:'']
+        fwkControl.demand.authResourceForJob{String name,String group->
+            [type:'job',name:name,group:group?:'']
         }
-        fwkControl.demand.authResourceForJob{job->
-            [type:'job',name:job.jobName,group:job.groupPath?:'']
+        fwkControl.demand.authResourceForJob{String name,String group->
+            [type:'job',name:name,group:group?:'']
         }
         fwkControl.demand.authorizeProjectResources{fwk,Set resset,actionset,proj->
             assertEquals 2,resset.size()
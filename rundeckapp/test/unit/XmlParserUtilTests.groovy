@@ -105,4 +105,42 @@ public class XmlParserUtilTests  {
         final obj = new XmlParserUtil(doc).toMap()
         assertEquals(map, obj)
     }
-}
\ No newline at end of file
+
+    private static Object streamObject(String xml, boolean analyze) {
+        def reader = XmlParserUtil.createStreamReader(new StringReader(xml))
+        reader.nextTag()
+        XmlParserUtil.toObject(reader, analyze)
+    }
+
+    private static void assertSameAsParser(String xml) {
+        [true, false].each { analyze ->
+            def doc = new XmlParser().parse(new StringReader(xml))
+            assertEquals(XmlParserUtil.toObject(doc, analyze), streamObject(xml, analyze))
+        }
+    }
+
+    void testStreamReaderShouldProduceSameObjects() {
+        assertSameAsParser("<test></test>")
+        assertSameAsParser("<test />")
+        assertSameAsParser("<test>value</test>")
+        assertSameAsParser("<test> value </test>")
+        assertSameAsParser("<test><a>b</a><c>d</c></test>")
+        assertSameAsParser("<test name='something'>value</test>")
+        assertSameAsParser("<test><multi>a</multi><multi>b</multi><multi>c</multi></test>")
+        assertSameAsParser("<test multi='a'><multi>b</multi></test>")
+        assertSameAsParser("<test><a>123</a><b>true</b><c>False</c></test>")
+        assertSameAsParser("<test>text<a>b</a>more</test>")
+        assertSameAsParser("<test><a><![CDATA[ x < y ]]></a><b>a<!-- c -->b</b><c>&amp;</c></test>")
+    }
+
+    void testStreamReaderShouldLeaveReaderAtEndOfElement() {
+        def reader = XmlParserUtil.createStreamReader(new StringReader("<root><a><b>1</b></a><c>2</c></root>"))
+        reader.nextTag()
+        reader.nextTag()
+        assertEquals([b: 1], XmlParserUtil.toObject(reader))
+        assertEquals('a', reader.localName)
+        reader.nextTag()
+        assertEquals('c', reader.localName)
+        assertEquals(2, XmlParserUtil.toObject(reader))
+    }
+}
@@ -0,0 +1,146 @@
+package com.dtolabs.rundeck.app.internal.workflow
+
+import com.dtolabs.rundeck.core.common.NodeEntryImpl
+import com.dtolabs.rundeck.core.execution.StepExecutionItem
+import com.dtolabs.rundeck.core.execution.service.NodeExecutorResult
+import com.dtolabs.rundeck.core.execution.workflow.WorkflowExecutionItem
+import com.dtolabs.rundeck.core.execution.workflow.WorkflowExecutionResult
+import com.dtolabs.rundeck.core.execution.workflow.steps.StepExecutionResult
+import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepExecutionItem
+import com.dtolabs.rundeck.core.execution.workflow.steps.node.NodeStepResult
+import spock.lang.Specification
+
+class ExecutionProfileSpec extends Specification {
+
+    private static Map span(String type, String stepctx, String node, long start, long duration) {
+        [type: type, stepctx: stepctx, node: node, start: start, duration: duration].findAll { it.value != null }
+    }
+
+    def "summarize phases and slowest nodes"() {
+        given:
+        def profile = [
+                executionId: 1,
+                spans      : [
+                        span('workflow', null, null, 0, 100),
+                        span('step', '1', null, 0, 100),
+                        span('nodeStep', '1', 'a', 0, 30),
+                        span('command', '1', 'a', 5, 20),
+                        span('nodeStep', '1', 'b', 0, 90),
+                        span('fileCopy', '1', 'b', 0, 10),
+                        span('command', '1', 'b', 10, 70),
+                ]
+        ]
+
+        when:
+        def summary = ExecutionProfile.summarize(profile)
+
+        then:
+        summary.duration == 100
+        summary.spanCount == 7
+        summary.phases.nodeStep == [count: 2, total: 120L, max: 90L]
+        summary.phases.command == [count: 2, total: 90L, max: 70L]
+        summary.phases.dispatch == [count: 0, total: 0L, max: 0L]
+        summary.slowestNodes*.node == ['b', 'a']
+        summary.slowestNodes[0].command == 70
+        summary.slowestNodes[0].fileCopy == 10
+    }
+
+    def "critical path follows the last finishing spans"() {
+        given:
+        def spans = [
+                span('step', '1', null, 0, 50),
+                span('nodeStep', '1', 'a', 0, 20),
+                span('nodeStep', '1', 'b', 0, 45),
+                span('step', '2', null, 50, 10),
+                span('step', '3', null, 60, 40),
+                span('nodeStep', '3/1', 'a', 61, 38),
+                span('nodeStep', '3/1', 'b', 61, 10),
+        ]
+
+        when:
+        def path = ExecutionProfile.criticalPath(spans)
+
+        then:
+        path*.stepctx == ['1', '2', '3/1']
+        path*.node == ['b', null, 'a']
+    }
+
+    def "listener records nested spans with step context"() {
+        given:
+        def profile = new ExecutionProfile(1)
+        def completed = null
+        def listener = new ExecutionProfileListener(profile)
+        listener.onComplete = { completed = it }
+        def wfItem = Mock(WorkflowExecutionItem) {
+            getType() >> 'workflow'
+        }
+        def item = Mock(NodeStepExecutionItem) {
+            getType() >> 'NodeDispatch'
+            getNodeStepType() >> 'exec-command'
+        }
+        def node = new NodeEntryImpl('node1')
+        def stepResult = Mock(StepExecutionResult) {
+            isSuccess() >> true
+        }
+        def nodeResult = Mock(NodeStepResult) {
+            isSuccess() >> true
+        }
+        def execResult = Mock(NodeExecutorResult) {
+            isSuccess() >> false
+        }
+        def wfResult = Mock(WorkflowExecutionResult) {
+            isSuccess() >> true
+        }
+
+        when:
+        listener.beginWorkflowExecution(null, wfItem)
+        listener.beginWorkflowItem(1, item)
+        listener.beginExecuteNodeStep(null, item, node)
+        listener.beginNodeExecution(null, ['id'] as String[], node)
+        listener.finishNodeExecution(execResult, null, ['id'] as String[], node)
+        listener.finishExecuteNodeStep(nodeResult, null, item, node)
+        listener.finishWorkflowItem(1, item, stepResult)
+        listener.beginWorkflowItem(2, item)
+        listener.beginWorkflowExecution(null, wfItem)
+        listener.beginWorkflowItem(1, item)
+        listener.finishWorkflowItem(1, item, stepResult)
+        listener.finishWorkflowExecution(wfResult, null, wfItem)
+
+        then:
+        completed == null
+
+        when:
+        listener.finishWorkflowItem(2, item, stepResult)
+        listener.finishWorkflowExecution(wfResult, null, wfItem)
+        def spans = profile.toMap().spans
+
+        then:
+        completed == profile
+        spans.size() == 7
+        spans.findAll { it.type == 'workflow' }*.stepctx == [null, '2']
+        spans.findAll { it.type == 'step' }*.stepctx.sort() == ['1', '2', '2/1']
+        def nodeStep = spans.find { it.type == 'nodeStep' }
+        nodeStep.stepctx == '1'
+        nodeStep.node == 'node1'
+        nodeStep.name == 'exec-command'
+        nodeStep.success == true
+        def command = spans.find { it.type == 'command' }
+        command.node == 'node1'
+        command.success == false
+    }
+
+    def "spans beyond the maximum are dropped"() {
+        given:
+        def profile = new ExecutionProfile(1, 2)
+
+        when:
+        3.times {
+            profile.add(new ExecutionProfile.Span(type: 'step', startNanos: profile.startNanos, endNanos: profile.startNanos))
+        }
+        def data = profile.toMap()
+
+        then:
+        data.spans.size() == 2
+        data.droppedSpans == 1
+    }
+}
@@ -0,0 +1,62 @@
+package com.dtolabs.rundeck.app.support
+
+import rundeck.ScheduledExecution
+import spock.lang.Specification
+
+class JobSummarySpec extends Specification {
+    def "from projection row"() {
+        given:
+        def row = [
+                1L, 'uuid1', 'proj1', 'job1', 'a/b', 'desc', true, false, null, null, null, 5L, 2L,
+                '0', '10', '2', '?', '*', 'MON', '*'
+        ] as Object[]
+
+        when:
+        def summary = JobSummary.fromRow(row)
+
+        then:
+        summary.id == 1L
+        summary.extid == 'uuid1'
+        summary.project == 'proj1'
+        summary.jobName == 'job1'
+        summary.groupPath == 'a/b'
+        summary.description == 'desc'
+        summary.scheduled
+        !summary.hasScheduleEnabled()
+        summary.hasExecutionEnabled()
+        summary.totalTime == 5L
+        summary.execCount == 2L
+        summary.generateFullName() == 'a/b/job1'
+        summary.generateCrontabExression() == '0 10 2 ? * MON *'
+    }
+
+    def "same schedule names as job"() {
+        given:
+        def se = new ScheduledExecution(
+                jobName: 'job1',
+                groupPath: group,
+                project: 'proj1',
+                scheduled: true,
+                minute: '5',
+                hour: '3',
+                dayOfWeek: 'tue',
+                dayOfMonth: '?'
+        )
+        se.id = 12L
+
+        when:
+        def summary = JobSummary.fromJob(se)
+
+        then:
+        summary.extid == se.extid
+        summary.generateJobScheduledName() == se.generateJobScheduledName()
+        summary.generateJobGroupName() == se.generateJobGroupName()
+        summary.generateCrontabExression() == se.generateCrontabExression()
+        summary.generateFullName() == se.generateFullName()
+
+        where:
+        group | _
+        null  | _
+        'a/b' | _
+    }
+}
@@ -2877,10 +2877,9 @@ class ScheduledExecutionControllerTests  {
         //mock the scheduledExecutionService
         def mock2 = mockFor(ScheduledExecutionService, true)
         mock2.demand.nextExecutionTimes { joblist -> return [] }
-        mock2.demand.parseUploadedFile { input,format ->
-            [jobset:[expectedJob]]
-        }
-        mock2.demand.loadJobs { jobset, dupeOption, uuidOption, changeinfo, authctx ->
+        mock2.demand.parseAndLoadJobs { input, format, dupeOption, uuidOption, changeinfo, authctx, prepare ->
+            def jobset = [expectedJob]
+            jobset.each(prepare)
             assert jobset==[expectedJob]
             [
                     jobs: [expectedJob],
@@ -2966,10 +2965,9 @@ class ScheduledExecutionControllerTests  {
         //mock the scheduledExecutionService
         def mock2 = mockFor(ScheduledExecutionService, true)
         mock2.demand.nextExecutionTimes { joblist -> return [] }
-        mock2.demand.parseUploadedFile { input,format ->
-            [jobset:[expectedJob]]
-        }
-        mock2.demand.loadJobs { jobset, dupeOption, uuidOption, changeinfo, authctx ->
+        mock2.demand.parseAndLoadJobs { input, format, dupeOption, uuidOption, changeinfo, authctx, prepare ->
+            def jobset = [expectedJob]
+            jobset.each(prepare)
             assert jobset==[expectedJob]
             [
                     jobs: [expectedJob],
@@ -3042,10 +3040,9 @@ class ScheduledExecutionControllerTests  {
         //mock the scheduledExecutionService
         def mock2 = mockFor(ScheduledExecutionService, true)
         mock2.demand.nextExecutionTimes { joblist -> return [] }
-        mock2.demand.parseUploadedFile { input,format ->
-            [jobset: [expectedJob]]
-        }
-        mock2.demand.loadJobs { jobset, dupeOption, uuidOption, changeinfo, authctx ->
+        mock2.demand.parseAndLoadJobs { input, format, dupeOption, uuidOption, changeinfo, authctx, prepare ->
+            def jobset = [expectedJob]
+            jobset.each(prepare)
             assertEquals('BProject', jobset[0].project)
             [
                     jobs: [expectedJob],
@@ -3127,10 +3124,9 @@ class ScheduledExecutionControllerTests  {
         //mock the scheduledExecutionService
         def mock2 = mockFor(ScheduledExecutionService, true)
         mock2.demand.nextExecutionTimes { joblist -> return [] }
-        mock2.demand.parseUploadedFile { input, format ->
-            [jobset: [expectedJob]]
-        }
-        mock2.demand.loadJobs { jobset, dupeOption, uuidOption, changeinfo, authctx ->
+        mock2.demand.parseAndLoadJobs { input, format, dupeOption, uuidOption, changeinfo, authctx, prepare ->
+            def jobset = [expectedJob]
+            jobset.each(prepare)
             [
                     jobs: [expectedJob],
                     jobsi: [scheduledExecution: expectedJob, entrynum: 0],
@@ -3222,10 +3218,9 @@ class ScheduledExecutionControllerTests  {
         //mock the scheduledExecutionService
         def mock2 = mockFor(ScheduledExecutionService, true)
         mock2.demand.nextExecutionTimes { joblist -> return [] }
-        mock2.demand.parseUploadedFile { input, format ->
-            [jobset: [expectedJob]]
-        }
-        mock2.demand.loadJobs { jobset, dupeOption, uuidOption, changeinfo, authctx ->
+        mock2.demand.parseAndLoadJobs { input, format, dupeOption, uuidOption, changeinfo, authctx, prepare ->
+            def jobset = [expectedJob]
+            jobset.each(prepare)
             [
                     jobs: [expectedJob],
                     jobsi: [scheduledExecution: expectedJob, entrynum: 0],
@@ -3318,10 +3313,9 @@ class ScheduledExecutionControllerTests  {
         //mock the scheduledExecutionService
         def mock2 = mockFor(ScheduledExecutionService, true)
         mock2.demand.nextExecutionTimes { joblist -> return [] }
-        mock2.demand.parseUploadedFile { input, format ->
-            [jobset: [expectedJob]]
-        }
-        mock2.demand.loadJobs { jobset, dupeOption, uuidOption, changeinfo, authctx ->
+        mock2.demand.parseAndLoadJobs { input, format, dupeOption, uuidOption, changeinfo, authctx, prepare ->
+            def jobset = [expectedJob]
+            jobset.each(prepare)
             [
                     jobs: [expectedJob],
                     jobsi: [scheduledExecution: expectedJob, entrynum: 0],
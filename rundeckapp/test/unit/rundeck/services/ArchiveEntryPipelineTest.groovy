@@ -0,0 +1,77 @@
+package rundeck.services
+
+import org.junit.After
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+@RunWith(JUnit4)
+class ArchiveEntryPipelineTest extends GroovyTestCase {
+    ExecutorService executor
+
+    @Before
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4)
+    }
+
+    @After
+    void tearDown() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    void testResultsInOrder() {
+        def pipeline = new ArchiveEntryPipeline(executor, 3)
+        def result = []
+        pipeline.run((1..50).iterator(), { int i ->
+            Thread.sleep((50 - i) % 7)
+            "item-${i}".toString()
+        }, { String s ->
+            result << s
+        })
+        Assert.assertEquals((1..50).collect { "item-${it}".toString() }, result)
+    }
+
+    @Test
+    void testBoundedPending() {
+        def pipeline = new ArchiveEntryPipeline(executor, 2)
+        def submitted = new AtomicInteger()
+        int consumed = 0
+        int maxPending = 0
+        pipeline.run((1..20).iterator(), { int i ->
+            submitted.incrementAndGet()
+            i
+        }, { int i ->
+            consumed++
+            maxPending = Math.max(maxPending, submitted.get() - consumed)
+        })
+        Assert.assertEquals(20, consumed)
+        Assert.assertTrue("pending ${maxPending}", maxPending <= 2)
+    }
+
+    @Test
+    void testRenderFailure() {
+        def pipeline = new ArchiveEntryPipeline(executor, 2)
+        def result = []
+        try {
+            pipeline.run((1..10).iterator(), { int i ->
+                if (i == 4) {
+                    throw new IllegalStateException("failed ${i}")
+                }
+                i
+            }, { int i ->
+                result << i
+            })
+            Assert.fail('expected exception')
+        } catch (ProjectServiceException e) {
+            Assert.assertTrue(e.cause instanceof IllegalStateException)
+            Assert.assertEquals([1, 2, 3], result)
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package rundeck.services
+
+import com.dtolabs.rundeck.plugins.scm.JobChangeEvent
+import grails.test.mixin.TestFor
+import rundeck.ScheduledExecution
+import spock.lang.Specification
+
+@TestFor(JobGroupIndexService)
+class JobGroupIndexServiceSpec extends Specification {
+    def loads = 0
+    def rows = [
+            [1L, 'uuid1', 'job1', 'a/b'],
+            [2L, null, 'job2', null],
+            [3L, 'uuid3', 'job3', 'a/b'],
+    ]
+    def stamp = [3L, new Date(1000)]
+    Closure onLoad
+
+    def setup() {
+        ScheduledExecution.metaClass.static.findAllJobIdentsByProject = { String project ->
+            loads++
+            def result = new ArrayList(rows)
+            onLoad?.call()
+            result
+        }
+        ScheduledExecution.metaClass.static.findJobsStampByProject = { String project ->
+            stamp
+        }
+        service.frameworkService = Mock(FrameworkService) {
+            isClusterModeEnabled() >> false
+        }
+        service.afterPropertiesSet()
+    }
+
+    def cleanup() {
+        GroovySystem.metaClassRegistry.removeMetaClass(ScheduledExecution)
+    }
+
+    private static Map groups(Collection<JobGroupIndexService.IndexedJob> jobs) {
+        jobs.collectEntries { [it.jobName, it.groupPath] }
+    }
+
+    private static JobChangeEvent event(JobChangeEvent.JobChangeEventType type, String id, String name, String group) {
+        new StoredJobChangeEvent(
+                eventType: type,
+                jobReference: new JobRevReferenceImpl(id: id, jobName: name, groupPath: group, project: 'proj1')
+        )
+    }
+
+    def "index is loaded once per project"() {
+        when:
+        def count = service.jobCount('proj1')
+        def jobs = groups(service.indexedJobs('proj1'))
+
+        then:
+        count == 3
+        jobs == [job1: 'a/b', job2: '', job3: 'a/b']
+        loads == 1
+    }
+
+    def "job change updates a loaded index"() {
+        given:
+        service.jobCount('proj1')
+
+        when:
+        service.jobChanged(event(type, id, name, group))
+        def jobs = groups(service.indexedJobs('proj1'))
+
+        then:
+        jobs == expected
+        loads == 1
+
+        where:
+        type                                            | id      | name   | group | expected
+        JobChangeEvent.JobChangeEventType.CREATE        | 'uuid4' | 'job4' | 'c'   | [job1: 'a/b', job2: '', job3: 'a/b', job4: 'c']
+        JobChangeEvent.JobChangeEventType.MODIFY_RENAME | 'uuid1' | 'job5' | null  | [job5: '', job2: '', job3: 'a/b']
+        JobChangeEvent.JobChangeEventType.DELETE        | '2'     | 'job2' | null  | [job1: 'a/b', job3: 'a/b']
+    }
+
+    def "job change does not load an index"() {
+        when:
+        service.jobChanged(event(JobChangeEvent.JobChangeEventType.CREATE, 'uuid4', 'job4', 'c'))
+
+        then:
+        loads == 0
+    }
+
+    def "index loaded while a job changes is not used"() {
+        given:
+        onLoad = {
+            onLoad = null
+            rows << [4L, 'uuid4', 'job4', 'c']
+            service.jobChanged(event(JobChangeEvent.JobChangeEventType.CREATE, 'uuid4', 'job4', 'c'))
+        }
+
+        when:
+        def count = service.jobCount('proj1')
+
+        then:
+        count == 4
+        loads == 2
+    }
+
+    def "invalidate reloads the index"() {
+        given:
+        service.jobCount('proj1')
+
+        when:
+        service.invalidate('proj1')
+        def count = service.jobCount('proj1')
+
+        then:
+        count == 3
+        loads == 2
+    }
+
+    def "index is cached in cluster mode until the project stamp changes"() {
+        given:
+        service.frameworkService = Mock(FrameworkService) {
+            isClusterModeEnabled() >> true
+        }
+
+        when:
+        service.jobCount('proj1')
+        service.indexedJobs('proj1')
+
+        then:
+        loads == 1
+
+        when:
+        rows << [4L, 'uuid4', 'job4', 'c']
+        stamp = [4L, new Date(2000)]
+        def count = service.jobCount('proj1')
+        service.indexedJobs('proj1')
+
+        then:
+        count == 4
+        loads == 2
+    }
+
+    def "job change in cluster mode discards a loaded index"() {
+        given:
+        service.frameworkService = Mock(FrameworkService) {
+            isClusterModeEnabled() >> true
+        }
+        service.jobCount('proj1')
+        rows << [4L, 'uuid4', 'job4', 'c']
+        stamp = [4L, new Date(2000)]
+
+        when:
+        service.jobChanged(event(JobChangeEvent.JobChangeEventType.CREATE, 'uuid4', 'job4', 'c'))
+        def count = service.jobCount('proj1')
+
+        then:
+        count == 4
+        loads == 2
+    }
+}
@@ -0,0 +1,59 @@
+package rundeck.services
+
+import com.dtolabs.rundeck.plugins.scm.HashedJobSerializer
+import grails.test.mixin.TestFor
+import spock.lang.Specification
+
+@TestFor(JobSerializationCacheService)
+class JobSerializationCacheServiceSpec extends Specification {
+
+    def "serializer for content does not render again"() {
+        given:
+        def serializer = service.serializerForContent('abc', 2, [xml: 'xmldata', yaml: 'yamldata'])
+        def renders = 0
+
+        when:
+        def result = service.serializedJob('abc', 2, 'xml', { renders++; 'other' })
+        def out = new ByteArrayOutputStream()
+        serializer.serialize('yaml', out)
+
+        then:
+        renders == 0
+        new String(result.content, 'UTF-8') == 'xmldata'
+        out.toString('UTF-8') == 'yamldata'
+        serializer instanceof HashedJobSerializer
+    }
+
+    def "content hash is stable for same content"() {
+        given:
+        def a = service.serializerForContent('abc', 1, [xml: 'data'])
+        def b = service.serializerForContent('def', 1, [xml: 'data'])
+        def c = service.serializerForContent('abc', 2, [xml: 'changed'])
+
+        expect:
+        a.getContentHash('xml') == b.getContentHash('xml')
+        a.getContentHash('xml') != c.getContentHash('xml')
+    }
+
+    def "invalidate removes all versions of a job"() {
+        given:
+        service.store('abc', 1, [xml: 'data1'])
+        service.store('abc', 2, [xml: 'data2'])
+        service.store('abcd', 1, [xml: 'data3'])
+
+        when:
+        service.invalidate('abc')
+
+        then:
+        service.serializedJobCache.size() == 1
+        service.serializedJobCache.getIfPresent('abcd:1:xml') != null
+    }
+
+    def "unsupported format"() {
+        when:
+        service.serializedJob('abc', 1, 'json', { 'x' })
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
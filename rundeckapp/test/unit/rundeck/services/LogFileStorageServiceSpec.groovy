@@ -1,13 +1,18 @@
 package rundeck.services
 
 import asset.pipeline.grails.LinkGenerator
+import com.dtolabs.rundeck.core.logging.ExecutionFileStorage
 import com.dtolabs.rundeck.core.plugins.configuration.PropertyScope
 import com.dtolabs.rundeck.plugins.logging.ExecutionFileStoragePlugin
 import com.dtolabs.rundeck.server.plugins.ConfiguredPlugin
 import grails.test.mixin.Mock
 import grails.test.mixin.TestFor
+import org.springframework.context.ApplicationContext
 import rundeck.Execution
 import rundeck.LogFileStorageRequest
+import rundeck.services.logging.ExecutionFileDeletePolicy
+import rundeck.services.logging.ExecutionFileProducer
+import rundeck.services.logging.ProducedExecutionFile
 import spock.lang.Specification
 
 import java.util.concurrent.ScheduledExecutorService
@@ -327,4 +332,133 @@ class LogFileStorageServiceSpec extends Specification {
         2 == LogFileStorageRequest.count()
 
     }
+
+    def "dequeue incomplete claims batch"() {
+        given:
+        grailsApplication.config.clear()
+        service.configurationService = Mock(ConfigurationService) {
+            getString('execution.logs.fileStoragePlugin', _) >> 'blah'
+            getInteger('logFileStorageService.resumeIncomplete.batchSize', _) >> 2
+        }
+        def mockPlugin = Mock(ExecutionFileStoragePlugin)
+        service.pluginService = Mock(PluginService) {
+            2 * configurePlugin('blah', _, _, PropertyScope.Instance) >> new ConfiguredPlugin(mockPlugin, [:])
+        }
+        service.frameworkService = Mock(FrameworkService)
+        service.grailsLinkGenerator = Mock(LinkGenerator)
+        def requests = (1..3).collect {
+            def e = new Execution(dateStarted: new Date(),
+                                  dateCompleted: new Date(),
+                                  user: 'user' + it,
+                                  project: 'test',
+                                  serverNodeUUID: null
+            ).save()
+            new LogFileStorageRequest(
+                    execution: e,
+                    pluginName: 'blah',
+                    filetype: '*',
+                    completed: false
+            ).save()
+        }
+        requests.each {
+            service.retryIncompleteRequests.add(it.id)
+        }
+
+        when:
+        service.dequeueIncompleteLogStorage()
+
+        then:
+        2 == service.storageRequests.size()
+        service.storageRequests*.requestId == [requests[0].id, requests[1].id]
+        1 == service.retryIncompleteRequests.size()
+
+        when: "storage queue is full"
+        service.dequeueIncompleteLogStorage()
+
+        then:
+        2 == service.storageRequests.size()
+        1 == service.retryIncompleteRequests.size()
+    }
+
+    def "process storage results in batch"() {
+        given:
+        grailsApplication.config.clear()
+        service.configurationService = Mock(ConfigurationService) {
+            getInteger('logFileStorageService.storageRequest.batchSize', _) >> 2
+        }
+        def requests = (1..3).collect {
+            def e = new Execution(dateStarted: new Date(),
+                                  dateCompleted: new Date(),
+                                  user: 'user' + it,
+                                  project: 'test',
+                                  serverNodeUUID: null
+            ).save()
+            new LogFileStorageRequest(
+                    execution: e,
+                    pluginName: 'blah',
+                    filetype: '*',
+                    completed: false
+            ).save(flush: true)
+        }
+        def tasks = requests.collect { [id: it.execution.id.toString(), requestId: it.id] }
+        service.running.addAll(tasks)
+        service.storageResults << [task: tasks[0], success: true]
+        service.storageResults << [task: tasks[1], success: false]
+        service.storageResults << [task: tasks[2], success: true]
+        service.storageResults << [task: [id: 'x', requestId: 999L], success: true]
+
+        when:
+        service.processStorageResults()
+
+        then:
+        0 == service.storageResults.size()
+        0 == service.running.size()
+        LogFileStorageRequest.get(requests[0].id).completed
+        null == LogFileStorageRequest.get(requests[1].id)
+        LogFileStorageRequest.get(requests[2].id).completed
+    }
+
+    def "execution with log but no profile"() {
+        given:
+        def e = new Execution(dateStarted: new Date(),
+                              dateCompleted: new Date(),
+                              user: 'user1',
+                              project: 'test',
+                              serverNodeUUID: null
+        ).save()
+        def logfile = File.createTempFile('LogFileStorageServiceSpec', '.rdlog')
+        logfile.deleteOnExit()
+        logfile.text = 'log'
+        def profilefile = new File(logfile.parentFile, logfile.name + '.profile.json')
+        def logging = Mock(ExecutionFileProducer) {
+            getExecutionFileType() >> 'rdlog'
+            isExecutionFileGenerated() >> false
+            produceStorageFileForExecution(e) >> new ProducedExecutionFile(
+                    localFile: logfile,
+                    fileDeletePolicy: ExecutionFileDeletePolicy.NEVER
+            )
+        }
+        def profile = new ExecutionProfileService(
+                logFileStorageService: Mock(LogFileStorageService) {
+                    getFileForExecutionFiletype(e, 'profile.json', true) >> profilefile
+                }
+        )
+        service.applicationContext = Mock(ApplicationContext) {
+            getBeansOfType(ExecutionFileProducer) >> [loggingService: logging, executionProfileService: profile]
+        }
+        def storage = Mock(ExecutionFileStorage)
+
+        when:
+        def present = service.areAllExecutionFilesPresent(e)
+        def files = service.getExecutionFiles(e, [])
+        def (success, failures) = service.storeLogFiles([], storage, '1', files)
+
+        then:
+        present
+        ['rdlog'] == files.keySet() as List
+        success
+        !failures
+        1 * storage.store('rdlog', _, 3L, _) >> true
+        0 * storage.store('profile.json', _, _, _)
+    }
 }
@@ -1,11 +1,15 @@
 package rundeck.services
 
+import com.dtolabs.rundeck.app.support.JobSummary
 import com.dtolabs.rundeck.core.authorization.UserAndRoles
 import com.dtolabs.rundeck.core.authorization.UserAndRolesAuthContext
 import grails.test.mixin.Mock
 import grails.test.mixin.TestFor
+import org.quartz.JobKey
 import org.quartz.ListenerManager
 import org.quartz.Scheduler
+import org.quartz.SchedulerException
+import org.quartz.Trigger
 import rundeck.CommandExec
 import rundeck.JobExec
 import rundeck.Notification
@@ -223,6 +227,236 @@ class ScheduledExecutionServiceSpec extends Specification {
         true                | true            | true             | true        | true
     }
 
+    def "reschedule jobs in a batch per project"() {
+        given:
+        service.executionServiceBean = Mock(ExecutionService) {
+            getExecutionsAreActive() >> true
+        }
+        service.quartzScheduler = Mock(Scheduler)
+        service.frameworkService = Mock(FrameworkService) {
+            getRundeckBase() >> ''
+        }
+        def jobs = [
+                new ScheduledExecution(createJobParams(jobName: 'a', project: 'AProject')).save(),
+                new ScheduledExecution(createJobParams(jobName: 'b', project: 'AProject')).save(),
+                new ScheduledExecution(createJobParams(jobName: 'c', project: 'AProject2')).save(),
+        ]
+
+        when:
+        def result = service.scheduleJobsBatch(jobs)
+
+        then:
+        1 * service.quartzScheduler.scheduleJobs({ it.size() == 2 }, true)
+        1 * service.quartzScheduler.scheduleJobs({ it.size() == 1 }, true)
+        0 * service.quartzScheduler.scheduleJob(*_)
+        result == [scheduled: 3, failed: 0]
+    }
+
+    def "reschedule jobs individually when batch fails"() {
+        given:
+        service.executionServiceBean = Mock(ExecutionService) {
+            getExecutionsAreActive() >> true
+        }
+        service.quartzScheduler = Mock(Scheduler)
+        service.frameworkService = Mock(FrameworkService) {
+            getRundeckBase() >> ''
+        }
+        def jobs = [
+                new ScheduledExecution(createJobParams(jobName: 'a', project: 'AProject')).save(),
+                new ScheduledExecution(createJobParams(jobName: 'b', project: 'AProject')).save(),
+        ]
+
+        when:
+        def result = service.scheduleJobsBatch(jobs)
+
+        then:
+        1 * service.quartzScheduler.scheduleJobs(_, true) >> { throw new SchedulerException('fail') }
+        1 * service.quartzScheduler.scheduleJob(_, _, true)
+        1 * service.quartzScheduler.scheduleJob(_, _, true) >> { throw new SchedulerException('fail2') }
+        result == [scheduled: 1, failed: 1]
+    }
+
+    def "schedule loaded jobs in batches"() {
+        given:
+        service.executionServiceBean = Mock(ExecutionService) {
+            getExecutionsAreActive() >> true
+        }
+        service.quartzScheduler = Mock(Scheduler)
+        service.frameworkService = Mock(FrameworkService) {
+            getRundeckBase() >> ''
+        }
+        def next = new Date(System.currentTimeMillis() + 60000)
+        def job1 = new ScheduledExecution(createJobParams(jobName: 'a')).save()
+        def job2 = new ScheduledExecution(createJobParams(jobName: 'b')).save()
+        def job3 = new ScheduledExecution(createJobParams(jobName: 'c', scheduled: false)).save()
+        def schedules = [
+                [id: job1.id],
+                [id: job2.id, renamed: true, oldjobname: 'old', oldjobgroup: 'oldgroup'],
+                [id: job3.id, oldsched: true, oldjobname: 'c', oldjobgroup: 'cgroup'],
+        ]
+
+        when:
+        service.scheduleLoadedJobs(schedules, 2)
+
+        then:
+        1 * service.quartzScheduler.deleteJob(new JobKey('old', 'oldgroup'))
+        1 * service.quartzScheduler.deleteJob(new JobKey('c', 'cgroup'))
+        1 * service.quartzScheduler.scheduleJobs({ it.size() == 2 }, true)
+        0 * service.quartzScheduler.scheduleJob(*_)
+        _ * service.quartzScheduler.getTrigger(_) >> Mock(Trigger) {
+            getNextFireTime() >> next
+        }
+        ScheduledExecution.get(job1.id).nextExecution == next
+        ScheduledExecution.get(job2.id).nextExecution == next
+        ScheduledExecution.get(job3.id).nextExecution == null
+    }
+
+    def "batched load jobs"() {
+        given:
+        setupDoUpdate()
+        def orig = new ScheduledExecution(createJobParams(jobName: 'job1', scheduled: false)).save()
+        def uploads = (1..5).collect {
+            new ScheduledExecution(createJobParams(jobName: 'job' + it, scheduled: false, description: 'new desc'))
+        }
+
+        when:
+        def result = service.loadJobs(uploads, 'update', null, [:], mockAuth(), 2)
+
+        then:
+        result.errjobs.size() == 0
+        result.jobs.size() == 5
+        result.jobsi*.entrynum == [1, 2, 3, 4, 5]
+        result.jobChangeEvents.size() == 5
+        result.jobs[0].id == orig.id
+        ScheduledExecution.count() == 5
+        ScheduledExecution.list()*.description == ['new desc'] * 5
+    }
+
+    def "batched load jobs updates a job loaded earlier in the batch"() {
+        given:
+        setupDoUpdate()
+        def uploads = [
+                new ScheduledExecution(createJobParams(jobName: 'job1', scheduled: false, description: 'first')),
+                new ScheduledExecution(createJobParams(jobName: 'job1', scheduled: false, description: 'second')),
+        ]
+
+        when:
+        def result = service.loadJobs(uploads, 'update', null, [:], mockAuth(), 10)
+
+        then:
+        result.errjobs.size() == 0
+        result.jobs.size() == 2
+        result.jobs[0].id == result.jobs[1].id
+        ScheduledExecution.count() == 1
+        ScheduledExecution.get(result.jobs[0].id).description == 'second'
+    }
+
+    private static String jobXml(String name) {
+        """  <job>
+    <name>${name}</name>
+    <description>a job</description>
+    <group>some/where</group>
+    <context>
+      <project>AProject</project>
+    </context>
+    <sequence><command><exec>test</exec></command></sequence>
+  </job>
+"""
+    }
+
+    def "parse and load jobs from xml"() {
+        given:
+        setupDoUpdate()
+        def xml = "<joblist>\n" + jobXml('job1') + jobXml('job2') + "</joblist>"
+
+        when:
+        def result = service.parseAndLoadJobs(xml, 'xml', 'update', null, [:], mockAuth(), { ScheduledExecution job ->
+            job.description = 'prepared'
+        }, 1)
+
+        then:
+        result.error == null
+        result.errjobs.size() == 0
+        result.jobs*.jobName == ['job1', 'job2']
+        result.jobChangeEvents.size() == 2
+        ScheduledExecution.list()*.description == ['prepared', 'prepared']
+    }
+
+    def "parse and load jobs returns only the error after an xml error"() {
+        given:
+        setupDoUpdate()
+        def xml = "<joblist>\n" + jobXml('job1') + "  <job><name>job2</name>\n"
+        def scheduled = false
+        service.metaClass.scheduleLoadedJobs = { List schedules, int batchSize -> scheduled = true }
+
+        when:
+        def result = service.parseAndLoadJobs(xml, 'xml', 'update', null, [:], mockAuth(), null, 10)
+
+        then:
+        result.error != null
+        result.jobs == null
+        result.jobChangeEvents == null
+        !scheduled
+    }
+
+    def "batched load jobs does not schedule jobs when loading fails"() {
+        given:
+        setupDoUpdate()
+        def scheduled = false
+        service.metaClass.scheduleLoadedJobs = { List schedules, int batchSize -> scheduled = true }
+        def source = { Closure load ->
+            load(new ScheduledExecution(createJobParams(jobName: 'job1', scheduled: false)))
+            throw new IllegalStateException('failed')
+        }
+
+        when:
+        service.loadJobsFrom(source, 'update', null, [:], mockAuth(), 10)
+
+        then:
+        IllegalStateException e = thrown()
+        e.message == 'failed'
+        !scheduled
+    }
+
+    def "iterate jobs for summaries in chunks"() {
+        given:
+        service.configurationService = Mock(ConfigurationService) {
+            getInteger('scheduledExecutionService.loadJobs.chunkSize', _) >> 2
+        }
+        def jobs = ['a', 'b', 'c'].collect {
+            new ScheduledExecution(createJobParams(jobName: it)).save()
+        }
+        def summaries = [jobs[2], jobs[0], jobs[1]].collect { JobSummary.fromJob(it) }
+        summaries.add(1, new JobSummary(id: 999L))
+
+        when:
+        def result = service.iterateJobsForSummaries(summaries).collect { it.jobName }
+        def loaded = service.loadJobsForSummaries(summaries).collect { it.jobName }
+
+        then:
+        result == ['c', 'a', 'b']
+        loaded == ['c', 'a', 'b']
+    }
+
+    def "next execution time is cached until it has passed"() {
+        given:
+        service.quartzScheduler = Mock(Scheduler)
+        service.frameworkService = Mock(FrameworkService)
+        def job = new ScheduledExecution(createJobParams()).save()
+        def next = new Date(System.currentTimeMillis() + 60000)
+
+        when:
+        def result1 = service.nextExecutionTime(job)
+        def result2 = service.nextExecutionTime(job)
+
+        then:
+        1 * service.quartzScheduler.getTrigger(_) >> Mock(Trigger) {
+            getNextFireTime() >> next
+        }
+        result1 == next
+        result2 == next
+    }
+
     @Issue('https://github.com/rundeck/rundeck/issues/1475')
     @Unroll
     def "should not scheduleJob when executionsAreActive=#executionsAreActive scheduleEnabled=#scheduleEnabled executionEnabled=#executionEnabled and hasSchedule=#hasSchedule"() {
@@ -0,0 +1,169 @@
+package rundeck.services.logging
+
+import com.dtolabs.rundeck.core.logging.ExecutionCheckpointFileStorage
+import com.dtolabs.rundeck.core.logging.ExecutionFileStorageException
+import org.junit.Assert
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@RunWith(JUnit4)
+class LogFileCheckpointTest extends GroovyTestCase {
+
+    static class TestStorage implements ExecutionCheckpointFileStorage {
+        List<String> parts = []
+        List<Long> offsets = []
+        Integer committed
+        boolean storeResult = true
+
+        @Override
+        boolean storePart(String filetype, int index, long offset, InputStream stream, long length)
+                throws IOException, ExecutionFileStorageException
+        {
+            Assert.assertEquals(parts.size(), index)
+            def text = stream.text
+            Assert.assertEquals(length, text.length())
+            if (storeResult) {
+                parts << text
+                offsets << offset
+            }
+            storeResult
+        }
+
+        @Override
+        boolean commitParts(String filetype, int count, long length, Date lastModified)
+                throws IOException, ExecutionFileStorageException
+        {
+            Assert.assertEquals(parts.size(), count)
+            Assert.assertEquals(parts.join('').length(), length)
+            committed = count
+            true
+        }
+
+        @Override
+        boolean store(String filetype, InputStream stream, long length, Date lastModified)
+                throws IOException, ExecutionFileStorageException
+        {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        boolean retrieve(String filetype, OutputStream stream) throws IOException, ExecutionFileStorageException {
+            throw new UnsupportedOperationException()
+        }
+    }
+
+    private File tempLogFile() {
+        def file = File.createTempFile('LogFileCheckpointTest', '.rdlog')
+        file.deleteOnExit()
+        LogFileCheckpoint.checkpointFileFor(file).deleteOnExit()
+        file
+    }
+
+    @Test
+    void testCheckpointCompleteParts() {
+        def file = tempLogFile()
+        file.text = 'abcdefghij'
+        def storage = new TestStorage()
+        def checkpoint = new LogFileCheckpoint(file, 'rdlog', 4)
+
+        Assert.assertEquals(2, checkpoint.checkpoint(storage))
+        Assert.assertEquals(['abcd', 'efgh'], storage.parts)
+        Assert.assertEquals([0L, 4L], storage.offsets)
+        Assert.assertEquals(8L, checkpoint.offset)
+        Assert.assertTrue(LogFileCheckpoint.hasCheckpoint(file))
+
+        Assert.assertEquals(0, checkpoint.checkpoint(storage))
+        Assert.assertNull(storage.committed)
+    }
+
+    @Test
+    void testCommitAfterRestart() {
+        def file = tempLogFile()
+        file.text = 'abcdefghij'
+        def storage = new TestStorage()
+        new LogFileCheckpoint(file, 'rdlog', 4).checkpoint(storage)
+        file << 'klmnopq'
+
+        def checkpoint = new LogFileCheckpoint(file, 'rdlog', 4)
+        Assert.assertEquals(2, checkpoint.parts)
+        Assert.assertEquals(8L, checkpoint.offset)
+        Assert.assertTrue(checkpoint.commit(storage))
+        Assert.assertEquals(['abcd', 'efgh', 'ijkl', 'mnop', 'q'], storage.parts)
+        Assert.assertEquals(5, storage.committed)
+        Assert.assertFalse(LogFileCheckpoint.hasCheckpoint(file))
+    }
+
+    @Test
+    void testStopped() {
+        def file = tempLogFile()
+        file.text = 'abcdefghij'
+        def storage = new TestStorage()
+        def checkpoint = new LogFileCheckpoint(file, 'rdlog', 4)
+        checkpoint.stop()
+        Assert.assertEquals(0, checkpoint.checkpoint(storage))
+
+        Assert.assertTrue(checkpoint.commit(storage))
+        Assert.assertEquals(['abcd', 'efgh', 'ij'], storage.parts)
+    }
+
+    @Test
+    void testCommitEmptyFile() {
+        def file = tempLogFile()
+        def storage = new TestStorage()
+        Assert.assertTrue(new LogFileCheckpoint(file, 'rdlog', 4).commit(storage))
+        Assert.assertEquals([''], storage.parts)
+        Assert.assertEquals(1, storage.committed)
+    }
+
+    @Test
+    void testStorePartFailure() {
+        def file = tempLogFile()
+        file.text = 'abcdefghij'
+        def storage = new TestStorage(storeResult: false)
+        def checkpoint = new LogFileCheckpoint(file, 'rdlog', 4)
+        try {
+            checkpoint.checkpoint(storage)
+            Assert.fail('expected exception')
+        } catch (ExecutionFileStorageException e) {
+            Assert.assertEquals(0, checkpoint.parts)
+            Assert.assertEquals(0L, checkpoint.offset)
+        }
+    }
+
+    @Test
+    void testStopDoesNotWaitForPart() {
+        def file = tempLogFile()
+        file.text = 'abcdefghij'
+        def storing = new CountDownLatch(1)
+        def proceed = new CountDownLatch(1)
+        def storage = new TestStorage() {
+            @Override
+            boolean storePart(String filetype, int index, long offset, InputStream stream, long length)
+                    throws IOException, ExecutionFileStorageException
+            {
+                storing.countDown()
+                proceed.await()
+                super.storePart(filetype, index, offset, stream, length)
+            }
+        }
+        def checkpoint = new LogFileCheckpoint(file, 'rdlog', 4)
+        def result = null
+        def thread = Thread.start {
+            result = checkpoint.checkpoint(storage)
+        }
+        Assert.assertTrue(storing.await(5, TimeUnit.SECONDS))
+
+        checkpoint.stop()
+        proceed.countDown()
+        checkpoint.waitForCheckpoint()
+        thread.join(5000)
+
+        Assert.assertEquals(1, result)
+        Assert.assertEquals(['abcd'], storage.parts)
+        Assert.assertEquals(4L, checkpoint.offset)
+    }
+}
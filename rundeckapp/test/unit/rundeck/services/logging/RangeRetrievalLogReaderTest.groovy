@@ -0,0 +1,156 @@
+package rundeck.services.logging
+
+import com.dtolabs.rundeck.app.internal.logging.FSStreamingLogReader
+import com.dtolabs.rundeck.app.internal.logging.FSStreamingLogWriter
+import com.dtolabs.rundeck.app.internal.logging.RundeckLogFormat
+import com.dtolabs.rundeck.core.logging.ExecutionFileStorageException
+import com.dtolabs.rundeck.core.logging.ExecutionRangeFileStorage
+import com.dtolabs.rundeck.core.logging.LogUtil
+import com.dtolabs.rundeck.core.logging.ReverseSeekingStreamingLogReader
+import org.junit.Assert
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+@RunWith(JUnit4)
+class RangeRetrievalLogReaderTest extends GroovyTestCase {
+
+    static class TestStorage implements ExecutionRangeFileStorage {
+        File file
+        List<List<Long>> ranges = []
+
+        @Override
+        long getLength(String filetype) throws IOException, ExecutionFileStorageException {
+            file.length()
+        }
+
+        @Override
+        boolean retrieveRange(String filetype, long offset, long length, OutputStream stream)
+                throws IOException, ExecutionFileStorageException
+        {
+            ranges << [offset, length]
+            def raf = new RandomAccessFile(file, 'r')
+            try {
+                def buf = new byte[(int) length]
+                raf.seek(offset)
+                raf.readFully(buf)
+                stream.write(buf)
+            } finally {
+                raf.close()
+            }
+            true
+        }
+
+        @Override
+        boolean store(String filetype, InputStream stream, long length, Date lastModified)
+                throws IOException, ExecutionFileStorageException
+        {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        boolean retrieve(String filetype, OutputStream stream) throws IOException, ExecutionFileStorageException {
+            throw new UnsupportedOperationException()
+        }
+    }
+
+    private File writeLog(int count) {
+        def file = File.createTempFile('RangeRetrievalLogReaderTest', '.rdlog')
+        file.deleteOnExit()
+        def writer = new FSStreamingLogWriter(new FileOutputStream(file), [:], new RundeckLogFormat())
+        writer.openStream()
+        count.times {
+            writer.addEvent(LogUtil.logNormal("message ${it}\nsecond line"))
+        }
+        writer.close()
+        file
+    }
+
+    private static List readAll(ReverseSeekingStreamingLogReader reader) {
+        def result = []
+        while (reader.hasNext()) {
+            def event = reader.next()
+            result << [event.message, reader.offset]
+        }
+        reader.close()
+        result
+    }
+
+    private RangeRetrievalLogReader rangeReader(TestStorage storage, LogFileBlockCache cache) {
+        new RangeRetrievalLogReader(storage, 'rdlog', 'test:rdlog', storage.file.length(), new Date(), cache,
+                new RundeckLogFormat())
+    }
+
+    @Test
+    void testReadSameAsLocalFile() {
+        def file = writeLog(50)
+        def storage = new TestStorage(file: file)
+        def cache = new LogFileBlockCache(17, 1000)
+
+        def local = new FSStreamingLogReader(file, 'UTF-8', new RundeckLogFormat())
+        local.openStream(0)
+        def reader = rangeReader(storage, cache)
+        reader.openStream(0)
+        def expected = readAll(local)
+        Assert.assertEquals(50, expected.size())
+        Assert.assertEquals(expected, readAll(reader))
+        Assert.assertEquals(file.length(), reader.totalSize)
+    }
+
+    @Test
+    void testTailReadsOnlyEndOfFile() {
+        def file = writeLog(1000)
+        def storage = new TestStorage(file: file)
+        def cache = new LogFileBlockCache(1024, 1000)
+
+        def local = new FSStreamingLogReader(file, 'UTF-8', new RundeckLogFormat())
+        local.openStreamFromReverseOffset(5)
+        def reader = rangeReader(storage, cache)
+        reader.openStreamFromReverseOffset(5)
+        def expected = readAll(local)
+        Assert.assertEquals(5, expected.size())
+        Assert.assertEquals(expected, readAll(reader))
+
+        long blocks = (long) Math.ceil(file.length() / 1024)
+        Assert.assertTrue("${storage.ranges.size()} of ${blocks} blocks retrieved", storage.ranges.size() < 5)
+        Assert.assertEquals([0L, 1024L], storage.ranges[0])
+    }
+
+    @Test
+    void testBlocksCached() {
+        def file = writeLog(50)
+        def storage = new TestStorage(file: file)
+        def cache = new LogFileBlockCache(64, 1000)
+
+        def reader = rangeReader(storage, cache)
+        reader.openStream(0)
+        readAll(reader)
+        long blocks = (long) Math.ceil(file.length() / 64)
+        Assert.assertEquals(blocks, storage.ranges.size())
+
+        storage.ranges.clear()
+        reader = rangeReader(storage, cache)
+        reader.openStream(0)
+        readAll(reader)
+        Assert.assertEquals(0, storage.ranges.size())
+    }
+
+    @Test
+    void testBlockCacheEviction() {
+        def file = writeLog(50)
+        def storage = new TestStorage(file: file)
+        def cache = new LogFileBlockCache(64, 2)
+
+        def reader = rangeReader(storage, cache)
+        reader.openStream(0)
+        readAll(reader)
+        Assert.assertEquals(2, cache.size())
+
+        storage.ranges.clear()
+        reader = rangeReader(storage, cache)
+        reader.openStream(0)
+        readAll(reader)
+        long blocks = (long) Math.ceil(file.length() / 64)
+        Assert.assertTrue(storage.ranges.size() >= blocks)
+    }
+}